@@ -15,6 +15,11 @@ import static org.ff4j.utils.MappingUtil.toMap;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.lang.model.type.NullType;
 
@@ -31,6 +36,8 @@ import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
@@ -39,10 +46,15 @@ import org.springframework.stereotype.Service;
  * At runtime check presence of annotation @{Flip}, then evaluate if the related feature id is enabled.
  * If the feature is enabled, the implementation is route to the correct implementation. 
  * 
+ * Annotation lookup, overriding strategy instantiation and alter target resolution are done once per method and
+ * bean, see {@link FlipDescriptor} : next invocations only cost a lookup and the feature check. Descriptors of beans
+ * proxied by {@link FeatureAutoProxy} are built with their bean name when the context is refreshed, other beans are
+ * resolved at first invocation per implementation class.
+ * 
  * @author Cedrick LUNVEN (@clunven)
  */
 @Component("ff.advisor")
-public class FeatureAdvisor implements MethodInterceptor {
+public class FeatureAdvisor implements MethodInterceptor, ApplicationListener<ContextRefreshedEvent> {
 
     /** Log with target className. */
     private final static Logger LOGGER = LoggerFactory.getLogger(FeatureAdvisor.class);
@@ -55,53 +67,281 @@ public class FeatureAdvisor implements MethodInterceptor {
     @Autowired
     private FF4j ff4j;
 
-    /** {@inheritDoc} */
+    /** Descriptors by bean name and method, for beans proxied by {@link FeatureAutoProxy}. */
+    private final ConcurrentMap < String, ConcurrentMap < Method, FlipDescriptor > > beanDescriptors = 
+            new ConcurrentHashMap<String, ConcurrentMap<Method, FlipDescriptor>>();
+
+    /** Bean names of the targets of singleton beans proxied by {@link FeatureAutoProxy} (by identity). */
+    private volatile Map < Object, String > beanNames = Collections.emptyMap();
+
+    /** Descriptors by implementation class and method, for other beans. */
+    private final ConcurrentMap < Class<?>, ConcurrentMap < Method, FlipDescriptor > > descriptors = 
+            new ConcurrentHashMap<Class<?>, ConcurrentMap<Method, FlipDescriptor>>();
+
+    /**
+     * Drop descriptors (beans may have changed) and build them for beans proxied by {@link FeatureAutoProxy}.
+     *
+     * @param event
+     *      context refreshed
+     */
     @Override
-    public Object invoke(final MethodInvocation mi) throws Throwable {
-        Flip ff4jAnnotation = getFF4jAnnotation(mi);
-        // Method is annotated and the related feature is ON
-        if (ff4jAnnotation != null && check(ff4jAnnotation, mi)) {
-            
-            // Do we use the alter bean defined in the annotation ?
-            String alterBean  = ff4jAnnotation.alterBean();
-            if (Util.hasLength(alterBean)
-                    // Bean name exist
-                    & appCtx.containsBean(alterBean)   
-                    // Bean name is not the same as current
-                    & !alterBean.equals(getExecutedBeanName(mi))) {
-                return invokeAlterBean(mi, alterBean);
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        if (event.getApplicationContext() != appCtx) {
+            return;
+        }
+        descriptors.clear();
+        beanDescriptors.clear();
+        Map < Object, String > names = new IdentityHashMap<Object, String>();
+        for (FeatureAutoProxy autoProxy : appCtx.getBeansOfType(FeatureAutoProxy.class).values()) {
+            for (Map.Entry<String, Class<?>> flippedBean : autoProxy.getFlippedBeans().entrySet()) {
+                String beanName = flippedBean.getKey();
+                try {
+                    beanDescriptors.put(beanName, createDescriptors(flippedBean.getValue(), beanName));
+                    Object target = getSingletonTarget(beanName);
+                    if (target != null) {
+                        names.put(target, beanName);
+                    }
+                } catch (RuntimeException ex) {
+                    // Will be retried at first invocation, raising the error to the caller
+                    LOGGER.warn("ff4j-aop: Cannot resolve flipped methods of bean " + beanName, ex);
+                }
             }
-            
-            // Or else do we use the alter class defined in the annotation ?
-            Class<?> alterClazz = ff4jAnnotation.alterClazz();
-            if (Util.isValidClass(alterClazz) 
-                    // Alter class is not the same as current
-                    & (alterClazz != getExecutedClass(mi))) {
-                return invokeAlterClazz(mi, ff4jAnnotation);
+        }
+        beanNames = Collections.unmodifiableMap(names);
+    }
+
+    /**
+     * Target of a singleton bean, behind its proxy.
+     *
+     * @param beanName
+     *      bean name
+     * @return
+     *      target instance or null for other scopes
+     */
+    private Object getSingletonTarget(String beanName) {
+        if (!appCtx.isSingleton(beanName)) {
+            return null;
+        }
+        Object bean = appCtx.getBean(beanName);
+        if (bean instanceof Advised) {
+            try {
+                return ((Advised) bean).getTargetSource().getTarget();
+            } catch (Exception e) {
+                throw new IllegalStateException("ff4j-aop: Cannot read behind proxy target of " + beanName, e);
             }
         }
+        return bean;
+    }
+    
+    /**
+     * Build descriptors of every method of the interfaces of a bean.
+     *
+     * @param executedClass
+     *      implementation class
+     * @param executedBeanName
+     *      bean name
+     * @return
+     *      descriptors by method
+     */
+    private ConcurrentMap < Method, FlipDescriptor > createDescriptors(Class<?> executedClass, String executedBeanName) {
+        ConcurrentMap < Method, FlipDescriptor > methods = new ConcurrentHashMap<Method, FlipDescriptor>();
+        for (Class<?> currentInterface : executedClass.getInterfaces()) {
+            if (!currentInterface.getName().startsWith("java.")) {
+                for (Method method : currentInterface.getMethods()) {
+                    methods.put(method, createDescriptor(method, executedClass, executedBeanName));
+                }
+            }
+        }
+        return methods;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Object invoke(final MethodInvocation mi) throws Throwable {
+        FlipDescriptor descriptor = getDescriptor(mi);
+        // Method is annotated, the related feature is ON and there is another implementation
+        if (descriptor.isFlipped() && check(descriptor, mi) && descriptor.hasAlterTarget()) {
+            return invokeAlterTarget(mi, descriptor);
+        }
         // No feature toggle (no annotation nor feature OFF)
         return mi.proceed();
     }
+    
+    /**
+     * Descriptor of current method, created at first invocation.
+     *
+     * @param mi
+     *      current method invocation
+     * @return
+     *      descriptor of method
+     */
+    protected FlipDescriptor getDescriptor(MethodInvocation mi) {
+        Object target = mi.getThis();
+        String beanName = (target == null) ? null : beanNames.get(target);
+        if (beanName != null) {
+            return getDescriptor(beanDescriptors, beanName, mi, beanName);
+        }
+        return getDescriptor(descriptors, getExecutedClass(mi), mi, null);
+    }
+
+    /**
+     * Descriptor of current method in a map of descriptors, created at first invocation.
+     *
+     * @param map
+     *      descriptors by key and method
+     * @param key
+     *      bean name or implementation class
+     * @param mi
+     *      current method invocation
+     * @param executedBeanName
+     *      bean name of implementation, null if unknown
+     * @return
+     *      descriptor of method
+     */
+    private < K > FlipDescriptor getDescriptor(ConcurrentMap < K, ConcurrentMap < Method, FlipDescriptor > > map, 
+            K key, MethodInvocation mi, String executedBeanName) {
+        ConcurrentMap < Method, FlipDescriptor > methods = map.get(key);
+        if (methods == null) {
+            methods = new ConcurrentHashMap<Method, FlipDescriptor>();
+            ConcurrentMap < Method, FlipDescriptor > existing = map.putIfAbsent(key, methods);
+            if (existing != null) {
+                methods = existing;
+            }
+        }
+        FlipDescriptor descriptor = methods.get(mi.getMethod());
+        if (descriptor == null) {
+            descriptor = createDescriptor(mi.getMethod(), getExecutedClass(mi), executedBeanName);
+            FlipDescriptor existing = methods.putIfAbsent(mi.getMethod(), descriptor);
+            if (existing != null) {
+                descriptor = existing;
+            }
+        }
+        return descriptor;
+    }
+
+    /**
+     * Descriptors of a bean proxied by {@link FeatureAutoProxy}, built when the context is refreshed.
+     *
+     * @param beanName
+     *      bean name
+     * @return
+     *      descriptors by method, null if not built
+     */
+    Map < Method, FlipDescriptor > getBeanDescriptors(String beanName) {
+        return beanDescriptors.get(beanName);
+    }
+    
+    /**
+     * Resolve annotation, strategy, context location and alter target.
+     *
+     * @param method
+     *      invoked method
+     * @param executedClass
+     *      implementation class
+     * @param executedBeanName
+     *      bean name of implementation, null if unknown
+     * @return
+     *      descriptor of method
+     */
+    protected FlipDescriptor createDescriptor(Method method, Class<?> executedClass, String executedBeanName) {
+        Flip ff = getFF4jAnnotation(method, executedClass);
+        if (ff == null) {
+            return FlipDescriptor.NONE;
+        }
+        FlippingStrategy strategy = null;
+        if (ff.flippingStrategy() != NullType.class) {
+            strategy = instanceFlippingStrategy(ff.name(), ff.flippingStrategy().getName(), toMap(ff.flippingInitParams()));
+        }
+        int contextParameterIndex = -1;
+        if (ContextLocation.PARAMETER == ff.contextLocation()) {
+            // We are looking for the first parameter (not argument!) 
+            // that is an instance of FlippingExecutionContext
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            for (int p = 0; p < parameterTypes.length && contextParameterIndex < 0; p++) {
+                if (FlippingExecutionContext.class.isAssignableFrom(parameterTypes[p])) {
+                    contextParameterIndex = p;
+                }
+            }
+        }
+        
+        // Do we use the alter bean defined in the annotation ?
+        String alterBean  = ff.alterBean();
+        if (Util.hasLength(alterBean)
+                // Bean name exist
+                && appCtx.containsBean(alterBean)   
+                // Bean name is not the same as current
+                && !alterBean.equals(executedBeanName != null ? executedBeanName : getExecutedBeanName(executedClass))) {
+            if (!appCtx.isSingleton(alterBean)) {
+                // New instance expected at each call
+                return new FlipDescriptor(ff, strategy, contextParameterIndex, alterBean, null, getInvoker(method));
+            }
+            Object target = appCtx.getBean(alterBean, method.getDeclaringClass());
+            return new FlipDescriptor(ff, strategy, contextParameterIndex, null, target, getInvoker(method));
+        }
+        
+        // Or else do we use the alter class defined in the annotation ?
+        Class<?> alterClazz = ff.alterClazz();
+        if (Util.isValidClass(alterClazz) 
+                // Alter class is not the same as current
+                && (alterClazz != executedClass)) {
+            Object target = getAlterClazzTarget(method, alterClazz);
+            return new FlipDescriptor(ff, strategy, contextParameterIndex, null, target, getInvoker(method));
+        }
+        return new FlipDescriptor(ff, strategy, contextParameterIndex, null, null, null);
+    }
+    
+    /**
+     * Copy of the method without access checks at invocation : after a few calls reflection uses a generated
+     * accessor and the cost is close to a direct call.
+     *
+     * @param method
+     *      invoked method
+     * @return
+     *      method to invoke on alter target
+     */
+    protected Method getInvoker(Method method) {
+        try {
+            // Copy, do not alter the method shared by proxies
+            Method invoker = method.getDeclaringClass().getMethod(method.getName(), method.getParameterTypes());
+            invoker.setAccessible(true);
+            return invoker;
+        } catch (NoSuchMethodException nsme) {
+            return method;
+        } catch (SecurityException se) {
+            return method;
+        }
+    }
    
     /**
      * Call if Flipped based on different parameters of the annotation
      * 
-     * @param ff
-     *            annotation over current method
-     * @param context
+     * @param descriptor
+     *            descriptor of current method
+     * @param mi
+     *            current method invocation
      * @return if flippinf should be considere
      */
-    protected boolean check(Flip ff, MethodInvocation mi) {
+    protected boolean check(FlipDescriptor descriptor, MethodInvocation mi) {
+        return check(descriptor, mi.getArguments());
+    }
+    
+    /**
+     * Call if Flipped based on different parameters of the annotation
+     * 
+     * @param descriptor
+     *            descriptor of current method
+     * @param arguments
+     *            arguments of current invocation
+     * @return if flippinf should be considere
+     */
+    protected boolean check(FlipDescriptor descriptor, Object[] arguments) {
         // Retrieve optional context with ThreadLocal
-        FlippingExecutionContext context = getFlippingContext(ff, mi);
+        FlippingExecutionContext context = getFlippingContext(descriptor, arguments);
         
         // Check ff4j
-        String featureId = ff.name();
-        if (ff.flippingStrategy() != NullType.class) {
-            String fsClassName  = ff.flippingStrategy().getName();
-            FlippingStrategy fs = instanceFlippingStrategy(featureId, fsClassName, toMap(ff.flippingInitParams()));
-            return getFf4j().checkOveridingStrategy(featureId, fs, context);
+        String featureId = descriptor.getAnnotation().name();
+        if (descriptor.getStrategy() != null) {
+            return getFf4j().checkOveridingStrategy(featureId, descriptor.getStrategy(), context);
         }
         return getFf4j().check(featureId, context);
     }
@@ -115,14 +355,27 @@ public class FeatureAdvisor implements MethodInterceptor {
      *      the associated annotation
      */
     protected Flip getFF4jAnnotation(MethodInvocation mi) {
-        if (mi.getMethod().isAnnotationPresent(Flip.class)) {
-            return mi.getMethod().getAnnotation(Flip.class);
+        return getFF4jAnnotation(mi.getMethod(), getExecutedClass(mi));
+    }
+    
+    /**
+     * Pick annotation from method or class.
+     *
+     * @param method
+     *      current method
+     * @param currentImplementation
+     *      implementation class
+     * @return
+     *      the associated annotation
+     */
+    protected Flip getFF4jAnnotation(Method method, Class<?> currentImplementation) {
+        if (method.isAnnotationPresent(Flip.class)) {
+            return method.getAnnotation(Flip.class);
         }
-        Class <?> currentInterface = mi.getMethod().getDeclaringClass();
+        Class <?> currentInterface = method.getDeclaringClass();
         if (currentInterface.isAnnotationPresent(Flip.class)) {
             return currentInterface.getAnnotation(Flip.class);
         }
-        Class <?> currentImplementation = getExecutedClass(mi);
         if (currentImplementation.isAnnotationPresent(Flip.class)) {
             return currentImplementation.getAnnotation(Flip.class);
         }
@@ -132,25 +385,19 @@ public class FeatureAdvisor implements MethodInterceptor {
     /**
      * Retriveve {@link FlippingExecutionContext} from FF4J or as parameter.
      * 
-     * @param ff
-     *      current annotation
-     * @param mi
-     *      invocation
+     * @param descriptor
+     *      descriptor of current method
+     * @param arguments
+     *      arguments of invocation
      * @return
      */
-    protected FlippingExecutionContext getFlippingContext(Flip ff, MethodInvocation mi) {
-        switch (ff.contextLocation()) {
+    protected FlippingExecutionContext getFlippingContext(FlipDescriptor descriptor, Object[] arguments) {
+        switch (descriptor.getAnnotation().contextLocation()) {
             case FF4J:
                 return getFf4j().getCurrentContext();
             case PARAMETER:
-                // We are looking for the first parameter (not argument!) 
-                // that is an instance of FlippingExecutionContext
-                int p = 0;
-                for (Class<?> cls : mi.getMethod().getParameterTypes()) {
-                    if (FlippingExecutionContext.class.isAssignableFrom(cls)) {
-                        return FlippingExecutionContext.class.cast(mi.getArguments()[p]);
-                    }
-                    p++;
+                if (descriptor.getContextParameterIndex() >= 0) {
+                    return FlippingExecutionContext.class.cast(arguments[descriptor.getContextParameterIndex()]);
                 }
             case NONE:
             default: return null;
@@ -185,7 +432,17 @@ public class FeatureAdvisor implements MethodInterceptor {
      *      bean name related to this method
      */
     protected String getExecutedBeanName(MethodInvocation mi) {
-        Class<?> targetClass = getExecutedClass(mi);
+        return getExecutedBeanName(getExecutedClass(mi));
+    }
+    
+    /**
+     * Find bean name related to an implementation class.
+     * @param targetClass
+     *      implementation class
+     * @return
+     *      bean name related to this class
+     */
+    protected String getExecutedBeanName(Class<?> targetClass) {
         Component component = targetClass.getAnnotation(Component.class);
         if (component != null) {
             return component.value();
@@ -222,48 +479,68 @@ public class FeatureAdvisor implements MethodInterceptor {
     }
 
     /**
-     * Invoke another Bean for the current Method.
+     * Invoke the alter bean or alter class for the current Method.
      * 
      * @param mi
      *      current method invocation
-     * @param alterBean
-     *      target bean
+     * @param descriptor
+     *      descriptor of current method
+     * @return
+     *      return of invocation
+     * @throws Throwable
+     *      erros occured
+     */
+    protected Object invokeAlterTarget(final MethodInvocation mi, FlipDescriptor descriptor) throws Throwable {
+        return invokeAlterTarget(descriptor, mi.getArguments());
+    }
+    
+    /**
+     * Invoke the alter bean or alter class.
+     * 
+     * @param descriptor
+     *      descriptor of current method
+     * @param arguments
+     *      arguments of invocation
      * @return
      *      return of invocation
      * @throws Throwable
      *      erros occured
      */
-    protected Object invokeAlterBean(final MethodInvocation mi, String alterBeanName) throws Throwable {
-        Method method = mi.getMethod();
+    protected Object invokeAlterTarget(FlipDescriptor descriptor, Object[] arguments) throws Throwable {
+        Method method = descriptor.getAlterMethod();
+        Object target = descriptor.getAlterTarget();
+        if (target == null) {
+            target = appCtx.getBean(descriptor.getAlterBeanName(), method.getDeclaringClass());
+        }
         try {
             LOGGER.debug("FeatureFlipping on method:{} class:{}", method.getName(), method.getDeclaringClass().getName());
-            Object alterbean = appCtx.getBean(alterBeanName, method.getDeclaringClass());
-            return method.invoke(alterbean, mi.getArguments());
+            return method.invoke(target, arguments);
         } catch (InvocationTargetException invocationTargetException) {
             if(!ff4j.isAlterBeanThrowInvocationTargetException() && invocationTargetException.getCause() != null) {
                 throw invocationTargetException.getCause();
             }
-            throw makeIllegalArgumentException("ff4j-aop: Cannot invoke method " + method.getName() + " on bean " + alterBeanName, invocationTargetException);
+            throw makeIllegalArgumentException("ff4j-aop: Cannot invoke method " + method.getName() + " on alterbean " 
+                    + target.getClass().getName() + " please check signatures", invocationTargetException);
+        } catch (IllegalAccessException e) {
+            throw makeIllegalArgumentException("ff4j-aop: Cannot invoke " + method.getName() + " on alterbean " 
+                    + target.getClass().getName() + " please check visibility", e);
         } catch (Exception exception) {
-            throw makeIllegalArgumentException("ff4j-aop: Cannot invoke method " + method.getName() + " on bean " + alterBeanName, exception);
+            throw makeIllegalArgumentException("ff4j-aop: Cannot invoke method " + method.getName() + " on alterbean " 
+                    + target.getClass().getName() + " please check signatures", exception);
         }
     }
 
     /**
-     * Invoke alter class.
+     * Find instance of alter class.
      *
-     * @param mi
-     *      method invocation
-     * @param ff
-     *      ff4j annotation
+     * @param method
+     *      invoked method
+     * @param alterClazz
+     *      alter class of annotation
      * @return
-     *      object returned by the 
-     * @throws Throwable
-     *      error during invocation
+     *      bean of context implementing alter class, or new instance
      */
-    protected Object invokeAlterClazz(final MethodInvocation mi, Flip ff) throws Throwable {
-        Class<?> alterClazz     = ff.alterClazz();
-        Method   method         = mi.getMethod();
+    protected Object getAlterClazzTarget(Method method, Class<?> alterClazz) {
         Class<?> declaringClass = method.getDeclaringClass();
         try {
             // Spring context may have a bean of expected type and priority of get instance
@@ -271,26 +548,29 @@ public class FeatureAdvisor implements MethodInterceptor {
                 // Correct bean implementing the same class, or proxy of existing class
                 if (AopUtils.isJdkDynamicProxy(bean) &&  ((Advised) bean).getTargetSource().getTarget().getClass().equals(alterClazz) ||
                     AopProxyUtils.ultimateTargetClass(bean).equals(alterClazz)) {
-                    return mi.getMethod().invoke(bean, mi.getArguments());
+                    return bean;
                 }
             }
             // Otherwise instanciate manually
-            return mi.getMethod().invoke(ff.alterClazz().newInstance(), mi.getArguments());
+            return alterClazz.newInstance();
         } catch (IllegalAccessException e) {
-            throw makeIllegalArgumentException("ff4j-aop: Cannot invoke " + method.getName() + " on alterbean " + declaringClass
+            throw makeIllegalArgumentException("ff4j-aop: Cannot instanciate alterbean " + alterClazz
                     + " please check visibility", e);
-        } catch (InvocationTargetException invocationTargetException) {
-            if(!ff4j.isAlterBeanThrowInvocationTargetException() && invocationTargetException.getCause() != null) {
-                throw invocationTargetException.getCause();
-            }
-            throw makeIllegalArgumentException("ff4j-aop: Cannot invoke " + method.getName() + " on alterbean " + declaringClass
-                    + " please check signatures", invocationTargetException);
         } catch (Exception exception) {
-            throw makeIllegalArgumentException("ff4j-aop: Cannot invoke " + method.getName() + " on alterbean " + declaringClass
-                    + " please check signatures", exception);
+            throw makeIllegalArgumentException("ff4j-aop: Cannot instanciate alterbean " + alterClazz
+                    + " please check constructor", exception);
         }
     }
 
+    /**
+     * Setter accessor for attribute 'appCtx', when the advisor is not created by Spring.
+     * @param appCtx
+     *      new value for 'appCtx '
+     */
+    public void setAppCtx(ApplicationContext appCtx) {
+        this.appCtx = appCtx;
+    }
+
     /**
      * Getter accessor for attribute 'ff4j'.
      * 
@@ -12,8 +12,10 @@ package org.ff4j.aop;
  */
 
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.aop.TargetSource;
 import org.springframework.aop.framework.autoproxy.AbstractAutoProxyCreator;
@@ -32,6 +34,9 @@ public class FeatureAutoProxy extends AbstractAutoProxyCreator {
 
     /** Cache to avoid two-passes on same interfaces. */
     private final Map<String, Boolean> processedInterface = new HashMap<String, Boolean>();
+    
+    /** Proxied beans (implementation class by bean name), their methods are resolved by {@link FeatureAdvisor} at startup. */
+    private final Map<String, Class<?>> flippedBeans = new ConcurrentHashMap<String, Class<?>>();
 
     /**
      * Default constructor invoked by spring.
@@ -59,6 +64,7 @@ public class FeatureAutoProxy extends AbstractAutoProxyCreator {
             for (Class<?> currentInterface : beanClass.getInterfaces()) {
                 Object[] r = scanInterface(currentInterface);
                 if (r != null) {
+                    flippedBeans.put(beanName, beanClass);
                     return r;
                 }
             }
@@ -117,4 +123,14 @@ public class FeatureAutoProxy extends AbstractAutoProxyCreator {
         processedInterface.put(currentInterfaceName, false);
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Getter accessor for attribute 'flippedBeans'.
+     *
+     * @return
+     *       proxied beans, implementation class by bean name
+     */
+    public Map<String, Class<?>> getFlippedBeans() {
+        return Collections.unmodifiableMap(flippedBeans);
+    }
+}
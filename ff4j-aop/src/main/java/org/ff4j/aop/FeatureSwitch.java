@@ -0,0 +1,113 @@
+package org.ff4j.aop;
+
+/*
+ * #%L ff4j-aop %% Copyright (C) 2013 Ff4J %% Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License. #L%
+ */
+
+import org.ff4j.FF4j;
+import org.ff4j.core.Feature;
+
+/**
+ * State of a feature, kept in memory and updated when the store is modified (see {@link FeatureSwitchRegistry}).
+ *
+ * When the result of {@link FF4j#check(String)} only depends on the feature itself (disabled feature, or enabled feature
+ * without flipping strategy, without permissions to validate and without audit) it is kept as a constant and reading it
+ * is a single volatile read. Otherwise the state is {@link #CHECK} and {@link FF4j} is invoked as usual.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public final class FeatureSwitch {
+
+    /** Feature is disabled. */
+    public static final int OFF = 0;
+
+    /** Feature is enabled for everyone. */
+    public static final int ON = 1;
+
+    /** Feature must be evaluated by {@link FF4j} for each call. */
+    public static final int CHECK = 2;
+
+    /** Feature unique identifier. */
+    private final String uid;
+
+    /** Current state. */
+    private volatile int state = CHECK;
+
+    /**
+     * Constructor with identifier, state is {@link #CHECK} until updated.
+     *
+     * @param uid
+     *      feature unique identifier
+     */
+    FeatureSwitch(String uid) {
+        this.uid = uid;
+    }
+
+    /**
+     * If the feature is toggled on.
+     *
+     * @param ff4j
+     *      current ff4j instance, used when the state is not constant
+     * @return
+     *      same result as {@link FF4j#check(String)}
+     */
+    public boolean isOn(FF4j ff4j) {
+        switch (state) {
+            case OFF:
+                return false;
+            case ON:
+                return true;
+            default:
+                return ff4j.check(uid);
+        }
+    }
+
+    /**
+     * Compute state from the feature read in store.
+     *
+     * @param ff4j
+     *      current ff4j instance
+     * @param feature
+     *      feature read in store, null if not found (autocreate or error are then handled by {@link FF4j})
+     */
+    void update(FF4j ff4j, Feature feature) {
+        if (feature == null || ff4j.isEnableAudit()) {
+            state = CHECK;
+        } else if (!feature.isEnable()) {
+            state = OFF;
+        } else if (feature.getFlippingStrategy() == null &&
+                (ff4j.getAuthorizationsManager() == null || feature.getPermissions().isEmpty())) {
+            state = ON;
+        } else {
+            state = CHECK;
+        }
+    }
+
+    /**
+     * Getter accessor for attribute 'uid'.
+     *
+     * @return
+     *       current value of 'uid'
+     */
+    public String getUid() {
+        return uid;
+    }
+
+    /**
+     * Getter accessor for attribute 'state'.
+     *
+     * @return
+     *       current value of 'state'
+     */
+    public int getState() {
+        return state;
+    }
+
+}
@@ -0,0 +1,208 @@
+package org.ff4j.aop;
+
+/*
+ * #%L ff4j-aop %% Copyright (C) 2013 Ff4J %% Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License. #L%
+ */
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.FF4j;
+import org.ff4j.cache.CacheInvalidationBus;
+import org.ff4j.cache.CacheInvalidationListener;
+import org.ff4j.cache.CacheInvalidationMessage;
+import org.ff4j.core.Feature;
+import org.ff4j.exception.FeatureNotFoundException;
+import org.ff4j.utils.Util;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds a {@link FeatureSwitch} for each feature used by switching beans and keeps them up to date.
+ *
+ * The registry listens to {@link FF4j} (see {@link FF4j#addFeatureListener(CacheInvalidationListener)}) : switches are
+ * updated after each modification done through {@link FF4j}. Modifications done directly on the store or by other nodes
+ * are received from a {@link CacheInvalidationBus} (the one of the cache proxy, see {@link FF4j#cache(org.ff4j.cache.FF4JCacheManager,
+ * CacheInvalidationBus)}), on a fixed delay with {@link #startPolling(long)} or by calling {@link #refresh()}.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class FeatureSwitchRegistry implements CacheInvalidationListener {
+
+    /** Logger for this class. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(FeatureSwitchRegistry.class);
+
+    /** Current ff4j instance. */
+    private final FF4j ff4j;
+
+    /** Switches by feature identifier. */
+    private final ConcurrentMap < String, FeatureSwitch > switches = new ConcurrentHashMap<String, FeatureSwitch>();
+
+    /** Scheduler for refresh. */
+    private ScheduledExecutorService executor;
+
+    /**
+     * Constructor with ff4j.
+     *
+     * @param ff4j
+     *      current ff4j instance
+     */
+    public FeatureSwitchRegistry(FF4j ff4j) {
+        Util.assertNotNull(ff4j);
+        this.ff4j = ff4j;
+        ff4j.addFeatureListener(this);
+    }
+
+    /**
+     * Get or create the switch of a feature, state is read from store on creation.
+     *
+     * @param uid
+     *      feature unique identifier
+     * @return
+     *      switch of the feature
+     */
+    public FeatureSwitch getSwitch(String uid) {
+        FeatureSwitch current = switches.get(uid);
+        if (current == null) {
+            FeatureSwitch created = new FeatureSwitch(uid);
+            current = switches.putIfAbsent(uid, created);
+            if (current == null) {
+                current = created;
+                refresh(uid);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Read every feature with switches in a single call to the store and update switches.
+     */
+    public void refresh() {
+        if (switches.isEmpty()) {
+            return;
+        }
+        Map < String, Feature > features = ff4j.getFeatureStore().readFeatures(new HashSet<String>(switches.keySet()));
+        for (FeatureSwitch featureSwitch : switches.values()) {
+            featureSwitch.update(ff4j, features.get(featureSwitch.getUid()));
+        }
+    }
+
+    /**
+     * Read one feature and update its switch, if any.
+     *
+     * @param uid
+     *      feature unique identifier
+     */
+    public void refresh(String uid) {
+        FeatureSwitch featureSwitch = switches.get(uid);
+        if (featureSwitch == null) {
+            return;
+        }
+        Feature feature = null;
+        try {
+            feature = ff4j.getFeatureStore().read(uid);
+        } catch (FeatureNotFoundException fnf) {
+            // Evaluated by ff4j at each call : autocreate or error
+        }
+        featureSwitch.update(ff4j, feature);
+    }
+
+    /**
+     * Refresh switches on a fixed delay basis.
+     *
+     * @param delay
+     *      delay between 2 refresh in milliseconds
+     */
+    public synchronized void startPolling(long delay) {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "FF4j_FeatureSwitchRefreshWorker");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+            executor.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        refresh();
+                    } catch (RuntimeException ex) {
+                        // Keep previous states, retry at next run
+                        LOGGER.warn("Cannot refresh feature switches", ex);
+                    }
+                }
+            }, delay, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stop refresh.
+     */
+    public synchronized void stopPolling() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Stop refresh and stop listening to {@link FF4j}.
+     */
+    public void close() {
+        stopPolling();
+        ff4j.removeFeatureListener(this);
+    }
+
+    /**
+     * Refresh switches when features are modified, the registry subscribes to the bus.
+     *
+     * @param bus
+     *      invalidation bus
+     */
+    public void setInvalidationBus(CacheInvalidationBus bus) {
+        if (bus != null) {
+            bus.subscribe(this);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onInvalidation(CacheInvalidationMessage message) {
+        switch (message.getType()) {
+            case FEATURE:
+                refresh(message.getName());
+            break;
+            case ALL_FEATURES:
+                refresh();
+            break;
+            default:
+            break;
+        }
+    }
+
+    /**
+     * Getter accessor for attribute 'ff4j'.
+     *
+     * @return
+     *       current value of 'ff4j'
+     */
+    public FF4j getFf4j() {
+        return ff4j;
+    }
+
+}
@@ -0,0 +1,240 @@
+package org.ff4j.aop;
+
+/*
+ * #%L ff4j-aop %% Copyright (C) 2013 Ff4J %% Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License. #L%
+ */
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.ff4j.FF4j;
+import org.ff4j.cache.FF4jCacheProxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+/**
+ * Alternative to {@link FeatureAutoProxy} and {@link FeatureAdvisor} : each bean implementing an interface annotated with
+ * {@link Flip} is replaced at startup by a switching delegate implementing the same interfaces. The delegate has no
+ * interceptor chain and, for features evaluated without context nor overriding strategy, reads the state of the feature
+ * from a {@link FeatureSwitch} kept in memory instead of reading the store for each call.
+ *
+ * Switches are updated after each modification done through {@link FF4j}, through the invalidation bus of the cache proxy
+ * if any (see {@link FF4j#cache(org.ff4j.cache.FF4JCacheManager, org.ff4j.cache.CacheInvalidationBus)}) and every
+ * 'refreshDelay' milliseconds if set. Without bus nor polling, call {@link FeatureSwitchRegistry#refresh()} after
+ * modifying the store directly.
+ *
+ * This bean is not scanned, declare it explicitly and do not declare {@link FeatureAutoProxy} in the same context.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class FeatureSwitchingPostProcessor implements BeanPostProcessor, ApplicationContextAware,
+        ApplicationListener<ContextRefreshedEvent>, DisposableBean {
+
+    /** Logger for this class. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(FeatureSwitchingPostProcessor.class);
+
+    /** Spring context. */
+    private ApplicationContext appCtx;
+
+    /** Current ff4j instance, read from context if not set. */
+    private FF4j ff4j;
+
+    /** Delay between 2 refresh of switches (milliseconds), 0 or negative to disable polling. */
+    private long refreshDelay = 0;
+
+    /** Switches of features. */
+    private FeatureSwitchRegistry registry;
+
+    /** Resolves descriptors and invokes alter targets. */
+    private FeatureAdvisor advisor;
+
+    /** If the registry already listens to the invalidation bus. */
+    private boolean subscribed = false;
+
+    /** Handlers of created delegates. */
+    private final List < SwitchingInvocationHandler > handlers = new ArrayList<SwitchingInvocationHandler>();
+
+    /** {@inheritDoc} */
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        this.appCtx = applicationContext;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof FF4j) {
+            return bean;
+        }
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        Class<?>[] interfaces = targetClass.getInterfaces();
+        if (targetClass.isInterface() || !isFlipped(interfaces)) {
+            return bean;
+        }
+        SwitchingInvocationHandler handler = new SwitchingInvocationHandler(bean, targetClass, beanName, interfaces,
+                getAdvisor(), getRegistry());
+        synchronized (handlers) {
+            handlers.add(handler);
+        }
+        return Proxy.newProxyInstance(targetClass.getClassLoader(), interfaces, handler);
+    }
+
+    /**
+     * Resolve routes of every delegate, now that alter beans exist, and subscribe to the invalidation bus.
+     *
+     * @param event
+     *      context refreshed
+     */
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        if (event.getApplicationContext() != appCtx) {
+            return;
+        }
+        synchronized (handlers) {
+            for (SwitchingInvocationHandler handler : handlers) {
+                try {
+                    handler.resolve();
+                } catch (RuntimeException ex) {
+                    // Will be retried at first invocation, raising the error to the caller
+                    LOGGER.warn("ff4j-aop: Cannot resolve switching methods", ex);
+                }
+            }
+        }
+        FF4jCacheProxy cacheProxy = getFf4j().getCacheProxy();
+        if (!subscribed && cacheProxy != null && cacheProxy.getInvalidationBus() != null) {
+            getRegistry().setInvalidationBus(cacheProxy.getInvalidationBus());
+            subscribed = true;
+        }
+        if (refreshDelay > 0) {
+            getRegistry().startPolling(refreshDelay);
+        }
+    }
+
+    /**
+     * Stop polling and listening to {@link FF4j} when the context is closed.
+     */
+    @Override
+    public synchronized void destroy() {
+        if (registry != null) {
+            registry.close();
+        }
+    }
+
+    /**
+     * If one of the interfaces is annotated, on type or on methods.
+     *
+     * @param interfaces
+     *      interfaces of bean
+     * @return
+     *      if a delegate is required
+     */
+    private boolean isFlipped(Class<?>[] interfaces) {
+        for (Class<?> currentInterface : interfaces) {
+            if (currentInterface.getName().startsWith("java.")) {
+                continue;
+            }
+            if (currentInterface.isAnnotationPresent(Flip.class)) {
+                return true;
+            }
+            for (Method method : currentInterface.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Flip.class)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Advisor not registered in context, used to resolve descriptors.
+     *
+     * @return
+     *      advisor
+     */
+    private synchronized FeatureAdvisor getAdvisor() {
+        if (advisor == null) {
+            advisor = new FeatureAdvisor();
+            advisor.setFf4j(getFf4j());
+            advisor.setAppCtx(appCtx);
+        }
+        return advisor;
+    }
+
+    /**
+     * Getter accessor for attribute 'registry', created at first use.
+     *
+     * @return
+     *       current value of 'registry'
+     */
+    public synchronized FeatureSwitchRegistry getRegistry() {
+        if (registry == null) {
+            registry = new FeatureSwitchRegistry(getFf4j());
+        }
+        return registry;
+    }
+
+    /**
+     * Getter accessor for attribute 'ff4j', read from context if not set.
+     *
+     * @return
+     *       current value of 'ff4j'
+     */
+    public synchronized FF4j getFf4j() {
+        if (ff4j == null) {
+            ff4j = appCtx.getBean(FF4j.class);
+        }
+        return ff4j;
+    }
+
+    /**
+     * Setter accessor for attribute 'ff4j'.
+     * @param ff4j
+     *      new value for 'ff4j '
+     */
+    public void setFf4j(FF4j ff4j) {
+        this.ff4j = ff4j;
+    }
+
+    /**
+     * Getter accessor for attribute 'refreshDelay'.
+     *
+     * @return
+     *       current value of 'refreshDelay'
+     */
+    public long getRefreshDelay() {
+        return refreshDelay;
+    }
+
+    /**
+     * Setter accessor for attribute 'refreshDelay'.
+     * @param refreshDelay
+     *      new value for 'refreshDelay '
+     */
+    public void setRefreshDelay(long refreshDelay) {
+        this.refreshDelay = refreshDelay;
+    }
+
+}
@@ -0,0 +1,154 @@
+package org.ff4j.aop;
+
+/*
+ * #%L ff4j-aop %% Copyright (C) 2013 Ff4J %% Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License. #L%
+ */
+
+import java.lang.reflect.Method;
+
+import org.ff4j.core.FlippingStrategy;
+
+/**
+ * What the {@link FeatureAdvisor} has to do for a method of a bean, resolved at context refresh or first invocation :
+ * annotation, overriding strategy (instantiated once), position of the execution context, target and method to invoke
+ * when the feature is enabled.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public final class FlipDescriptor {
+
+    /** Descriptor of methods without annotation. */
+    public static final FlipDescriptor NONE = new FlipDescriptor(null, null, -1, null, null, null);
+
+    /** Annotation on method, interface or implementation. */
+    private final Flip annotation;
+
+    /** Overriding strategy, null to use the one of the feature. */
+    private final FlippingStrategy strategy;
+
+    /** Index of {@link FlippingExecutionContext} in parameters, -1 if not read from parameters. */
+    private final int contextParameterIndex;
+
+    /** Name of alter bean to look up at each call (not a singleton), null otherwise. */
+    private final String alterBeanName;
+
+    /** Resolved target when feature is enabled, null to proceed with current bean. */
+    private final Object alterTarget;
+
+    /** Method to invoke on alter target. */
+    private final Method alterMethod;
+
+    /**
+     * Full constructor.
+     *
+     * @param annotation
+     *      annotation
+     * @param strategy
+     *      overriding strategy
+     * @param contextParameterIndex
+     *      index of context in parameters
+     * @param alterBeanName
+     *      name of a non singleton alter bean
+     * @param alterTarget
+     *      resolved alter target
+     * @param alterMethod
+     *      method to invoke on alter target
+     */
+    FlipDescriptor(Flip annotation, FlippingStrategy strategy, int contextParameterIndex, 
+            String alterBeanName, Object alterTarget, Method alterMethod) {
+        this.annotation            = annotation;
+        this.strategy              = strategy;
+        this.contextParameterIndex = contextParameterIndex;
+        this.alterBeanName         = alterBeanName;
+        this.alterTarget           = alterTarget;
+        this.alterMethod           = alterMethod;
+    }
+
+    /**
+     * If the feature must be checked when invoking the method.
+     *
+     * @return
+     *      if the method is annotated
+     */
+    public boolean isFlipped() {
+        return annotation != null;
+    }
+
+    /**
+     * If another bean has to be invoked when the feature is enabled.
+     *
+     * @return
+     *      if there is an alter bean or alter class
+     */
+    public boolean hasAlterTarget() {
+        return alterTarget != null || alterBeanName != null;
+    }
+
+    /**
+     * Getter accessor for attribute 'annotation'.
+     *
+     * @return
+     *       current value of 'annotation'
+     */
+    public Flip getAnnotation() {
+        return annotation;
+    }
+
+    /**
+     * Getter accessor for attribute 'strategy'.
+     *
+     * @return
+     *       current value of 'strategy'
+     */
+    public FlippingStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Getter accessor for attribute 'contextParameterIndex'.
+     *
+     * @return
+     *       current value of 'contextParameterIndex'
+     */
+    public int getContextParameterIndex() {
+        return contextParameterIndex;
+    }
+
+    /**
+     * Getter accessor for attribute 'alterBeanName'.
+     *
+     * @return
+     *       current value of 'alterBeanName'
+     */
+    public String getAlterBeanName() {
+        return alterBeanName;
+    }
+
+    /**
+     * Getter accessor for attribute 'alterTarget'.
+     *
+     * @return
+     *       current value of 'alterTarget'
+     */
+    public Object getAlterTarget() {
+        return alterTarget;
+    }
+
+    /**
+     * Getter accessor for attribute 'alterMethod'.
+     *
+     * @return
+     *       current value of 'alterMethod'
+     */
+    public Method getAlterMethod() {
+        return alterMethod;
+    }
+
+}
@@ -0,0 +1,190 @@
+package org.ff4j.aop;
+
+/*
+ * #%L ff4j-aop %% Copyright (C) 2013 Ff4J %% Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License. #L%
+ */
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Invocation handler of a switching delegate : each method of the flipped interfaces is routed, without interceptor chain,
+ * to the bean or to its alter target depending on the {@link FeatureSwitch} of the feature.
+ *
+ * Routes are resolved by {@link FeatureSwitchingPostProcessor} once the context is refreshed (alter beans must exist), or at
+ * first invocation if the bean is used before.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+final class SwitchingInvocationHandler implements InvocationHandler {
+
+    /** Wrapped bean. */
+    private final Object target;
+
+    /** Class of wrapped bean, where annotations are looked for. */
+    private final Class<?> targetClass;
+
+    /** Bean name. */
+    private final String beanName;
+
+    /** Interfaces implemented by the delegate. */
+    private final Class<?>[] interfaces;
+
+    /** Resolves descriptors, evaluates contexts and overriding strategies, invokes alter targets. */
+    private final FeatureAdvisor advisor;
+
+    /** Switches of features. */
+    private final FeatureSwitchRegistry registry;
+
+    /** Routes by interface method, null until resolved. */
+    private volatile Map < Method, Route > routes;
+
+    /**
+     * Constructor with bean.
+     *
+     * @param target
+     *      wrapped bean
+     * @param targetClass
+     *      class of wrapped bean
+     * @param beanName
+     *      bean name
+     * @param interfaces
+     *      interfaces implemented by the delegate
+     * @param advisor
+     *      advisor used to resolve descriptors
+     * @param registry
+     *      switches of features
+     */
+    SwitchingInvocationHandler(Object target, Class<?> targetClass, String beanName, Class<?>[] interfaces,
+            FeatureAdvisor advisor, FeatureSwitchRegistry registry) {
+        this.target      = target;
+        this.targetClass = targetClass;
+        this.beanName    = beanName;
+        this.interfaces  = interfaces;
+        this.advisor     = advisor;
+        this.registry    = registry;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Map < Method, Route > current = routes;
+        if (current == null) {
+            current = resolve();
+        }
+        Route route = current.get(method);
+        if (route == null) {
+            if ("equals".equals(method.getName()) && args != null && args.length == 1) {
+                return equalsDelegate(args[0]);
+            }
+            // hashCode, toString
+            return invokeTarget(method, args);
+        }
+        if (route.descriptor.isFlipped() && route.isOn(args) && route.descriptor.hasAlterTarget()) {
+            return advisor.invokeAlterTarget(route.descriptor, args);
+        }
+        return invokeTarget(route.invoker, args);
+    }
+
+    /**
+     * Invoke wrapped bean as a direct call would : exceptions are not wrapped.
+     *
+     * @param method
+     *      method to invoke
+     * @param args
+     *      arguments
+     * @return
+     *      result of invocation
+     * @throws Throwable
+     *      error raised by bean
+     */
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ite) {
+            throw ite.getCause();
+        }
+    }
+
+    /**
+     * Two delegates are equal if they wrap the same bean.
+     *
+     * @param other
+     *      compared object
+     * @return
+     *      if other is a delegate of same bean
+     */
+    private boolean equalsDelegate(Object other) {
+        if (other == null || !Proxy.isProxyClass(other.getClass())) {
+            return false;
+        }
+        InvocationHandler otherHandler = Proxy.getInvocationHandler(other);
+        return otherHandler instanceof SwitchingInvocationHandler
+                && ((SwitchingInvocationHandler) otherHandler).target.equals(target);
+    }
+
+    /**
+     * Resolve annotations, alter targets and switches of every method of the interfaces.
+     *
+     * @return
+     *      routes by interface method
+     */
+    synchronized Map < Method, Route > resolve() {
+        Map < Method, Route > resolved = new HashMap<Method, Route>();
+        for (Class<?> currentInterface : interfaces) {
+            for (Method method : currentInterface.getMethods()) {
+                FlipDescriptor descriptor = advisor.createDescriptor(method, targetClass, beanName);
+                FeatureSwitch featureSwitch = null;
+                if (descriptor.isFlipped() && descriptor.getStrategy() == null
+                        && descriptor.getAnnotation().contextLocation() == ContextLocation.NONE) {
+                    featureSwitch = registry.getSwitch(descriptor.getAnnotation().name());
+                }
+                resolved.put(method, new Route(descriptor, featureSwitch, advisor.getInvoker(method)));
+            }
+        }
+        this.routes = resolved;
+        return resolved;
+    }
+
+    /**
+     * What to do for a method.
+     */
+    private final class Route {
+
+        /** Annotation, strategy, context and alter target. */
+        private final FlipDescriptor descriptor;
+
+        /** Switch of feature, null when the check depends on invocation (context or overriding strategy). */
+        private final FeatureSwitch featureSwitch;
+
+        /** Method to invoke on wrapped bean. */
+        private final Method invoker;
+
+        /** Constructor with fields. */
+        private Route(FlipDescriptor descriptor, FeatureSwitch featureSwitch, Method invoker) {
+            this.descriptor    = descriptor;
+            this.featureSwitch = featureSwitch;
+            this.invoker       = invoker;
+        }
+
+        /** If the feature is toggled on for this invocation. */
+        private boolean isOn(Object[] args) {
+            if (featureSwitch != null) {
+                return featureSwitch.isOn(registry.getFf4j());
+            }
+            return advisor.check(descriptor, args);
+        }
+    }
+
+}
@@ -1,7 +1,10 @@
 package org.ff4j.aop;
 
+import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /*
  * #%L
@@ -23,6 +26,7 @@ import java.lang.reflect.InvocationTargetException;
  * #L%
  */
 
+import org.aopalliance.intercept.MethodInvocation;
 import org.ff4j.FF4j;
 import org.ff4j.aop.test.goodbye.GoodbyeService;
 import org.ff4j.aop.test.greeting.GreetingService;
@@ -33,10 +37,14 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.aop.framework.Advised;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration("classpath:applicationContext-ff4j-aop-test.xml")
@@ -53,6 +61,12 @@ public class FeatureAdvisorTest {
     @Qualifier("goodbye.french")
     private GoodbyeService goodbye;
 
+    @Autowired
+    private FeatureAdvisor advisor;
+
+    @Autowired
+    private ApplicationContext appCtx;
+
     @Before
     public void createFeatures() {
         if (!ff4j.exist("language-english")) {
@@ -101,6 +115,66 @@ public class FeatureAdvisorTest {
         Assert.assertTrue("Service did not flipped", goodbye.sayGoodbyeWithClass("CLU").startsWith("See you"));
     }
 
+    @Test
+    public void testFlippingAfterDescriptorIsCached() {
+        for (int i = 0; i < 3; i++) {
+            ff4j.disable("language-french");
+            Assert.assertTrue(greeting.sayHello("CLU").startsWith("Hello"));
+            ff4j.enable("language-french");
+            Assert.assertTrue(greeting.sayHello("CLU").startsWith("Bonjour"));
+        }
+    }
+
+    @Test
+    public void testDescriptorsBuiltOnRefreshWithBeanName() throws Exception {
+        advisor.onApplicationEvent(new ContextRefreshedEvent(appCtx));
+        Method sayHello = GreetingService.class.getMethod("sayHello", String.class);
+        // Alter bean of 'greeting.english' is 'greeting.french'
+        Assert.assertTrue(advisor.getBeanDescriptors("greeting.english").get(sayHello).hasAlterTarget());
+        // Same annotation but 'greeting.french' is the alter bean itself
+        Assert.assertFalse(advisor.getBeanDescriptors("greeting.french").get(sayHello).hasAlterTarget());
+    }
+
+    @Test
+    public void testFlippedCallsSkipBeanLookup() throws Throwable {
+        final AtomicInteger lookups = new AtomicInteger();
+        FeatureAdvisor countingAdvisor = new FeatureAdvisor() {
+            @Override
+            protected String getExecutedBeanName(Class<?> targetClass) {
+                lookups.incrementAndGet();
+                return super.getExecutedBeanName(targetClass);
+            }
+        };
+        ReflectionTestUtils.setField(countingAdvisor, "appCtx", appCtx);
+        ReflectionTestUtils.setField(countingAdvisor, "ff4j", ff4j);
+        countingAdvisor.onApplicationEvent(new ContextRefreshedEvent(appCtx));
+
+        final Object target = ((Advised) greeting).getTargetSource().getTarget();
+        final Method sayHello = GreetingService.class.getMethod("sayHello", String.class);
+        MethodInvocation mi = new MethodInvocation() {
+            public Method getMethod() {
+                return sayHello;
+            }
+            public Object[] getArguments() {
+                return new Object[] {"CLU"};
+            }
+            public Object proceed() throws Throwable {
+                return sayHello.invoke(target, getArguments());
+            }
+            public Object getThis() {
+                return target;
+            }
+            public AccessibleObject getStaticPart() {
+                return sayHello;
+            }
+        };
+        ff4j.enable("language-french");
+        Assert.assertTrue(((String) countingAdvisor.invoke(mi)).startsWith("Bonjour"));
+        ff4j.disable("language-french");
+        Assert.assertTrue(((String) countingAdvisor.invoke(mi)).startsWith("Hello"));
+        Assert.assertEquals(0, lookups.get());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testAlterBeanInvokeThrowInvocationTargetExceptionNull() throws Exception {
         ff4j.enable("language-english");
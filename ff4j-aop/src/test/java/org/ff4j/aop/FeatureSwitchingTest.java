@@ -0,0 +1,109 @@
+package org.ff4j.aop;
+
+/*
+ * #%L
+ * ff4j-aop
+ * %%
+ * Copyright (C) 2013 Ff4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.lang.reflect.Proxy;
+
+import org.ff4j.FF4j;
+import org.ff4j.aop.test.greeting.GreetingService;
+import org.ff4j.cache.CacheInvalidationBus;
+import org.ff4j.cache.CacheInvalidationMessage;
+import org.ff4j.cache.CacheInvalidationMessage.Type;
+import org.ff4j.cache.InMemoryCacheInvalidationBus;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("classpath:applicationContext-ff4j-switching-test.xml")
+public class FeatureSwitchingTest {
+
+    @Autowired
+    private FF4j ff4j;
+
+    @Autowired
+    private FeatureSwitchingPostProcessor switching;
+
+    @Autowired
+    @Qualifier("greeting.english")
+    private GreetingService greeting;
+
+    @Before
+    public void createFeatures() {
+        if (!ff4j.exist("language-french")) {
+            ff4j.createFeature("language-french");
+        }
+    }
+
+    @After
+    public void disableFeatures() {
+        ff4j.disable("language-french");
+    }
+
+    @Test
+    public void testBeanIsSwitchingDelegate() {
+        Assert.assertTrue(Proxy.isProxyClass(greeting.getClass()));
+        Assert.assertTrue(Proxy.getInvocationHandler(greeting) instanceof SwitchingInvocationHandler);
+        Assert.assertEquals(greeting, greeting);
+    }
+
+    @Test
+    public void testSwitchingWithAlterBean() {
+        Assert.assertTrue(greeting.sayHello("CLU").startsWith("Hello"));
+        Assert.assertEquals(FeatureSwitch.OFF, switching.getRegistry().getSwitch("language-french").getState());
+
+        ff4j.enable("language-french");
+        Assert.assertEquals(FeatureSwitch.ON, switching.getRegistry().getSwitch("language-french").getState());
+        Assert.assertTrue("Service did not flipped", greeting.sayHello("CLU").startsWith("Bonjour"));
+    }
+
+    @Test
+    public void testSwitchUpdatedByInvalidationBus() {
+        CacheInvalidationBus bus = new InMemoryCacheInvalidationBus();
+        switching.getRegistry().setInvalidationBus(bus);
+        ff4j.getFeatureStore().enable("language-french");
+        bus.publish(new CacheInvalidationMessage(Type.FEATURE, "otherNode", "language-french"));
+        Assert.assertTrue("Service did not flipped", greeting.sayHello("CLU").startsWith("Bonjour"));
+        ff4j.getFeatureStore().disable("language-french");
+        bus.publish(new CacheInvalidationMessage(Type.ALL_FEATURES, "otherNode", null));
+        Assert.assertTrue(greeting.sayHello("CLU").startsWith("Hello"));
+    }
+
+    @Test
+    public void testDestroyStopsRegistry() {
+        FeatureSwitchingPostProcessor other = new FeatureSwitchingPostProcessor();
+        other.setFf4j(ff4j);
+        FeatureSwitchRegistry registry = other.getRegistry();
+        Assert.assertEquals(FeatureSwitch.OFF, registry.getSwitch("language-french").getState());
+        registry.startPolling(60000);
+        other.destroy();
+        ff4j.enable("language-french");
+        Assert.assertEquals(FeatureSwitch.OFF, registry.getSwitch("language-french").getState());
+        Assert.assertEquals(FeatureSwitch.ON, switching.getRegistry().getSwitch("language-french").getState());
+    }
+
+}
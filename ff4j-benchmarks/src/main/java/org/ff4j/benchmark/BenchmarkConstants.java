@@ -0,0 +1,61 @@
+package org.ff4j.benchmark;
+
+/*
+ * #%L
+ * ff4j-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Shared values of benchmarks.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public final class BenchmarkConstants {
+
+    /** Configuration file loaded by every benchmark. */
+    public static final String XML_FILE = "ff4j-benchmark.xml";
+
+    /** Enabled feature without strategy. */
+    public static final String FEATURE_ON = "on";
+
+    /** Disabled feature without strategy. */
+    public static final String FEATURE_OFF = "off";
+
+    /** Feature with permissions and custom properties. */
+    public static final String FEATURE_SECURED = "secured";
+
+    /** Feature flipped with an expression. */
+    public static final String FEATURE_EXPRESSION = "expression";
+
+    /** Group of features holding a strategy. */
+    public static final String GROUP_STRATEGIES = "strategies";
+
+    /** Property available in configuration file. */
+    public static final String PROPERTY_REGION = "region";
+
+    /** Client matching 'grantedClients' parameters. */
+    public static final String CLIENT = "c2";
+
+    /** Server matching 'grantedServers' parameters. */
+    public static final String SERVER = "s2";
+
+    /** Hide constructor. */
+    private BenchmarkConstants() {
+    }
+
+}
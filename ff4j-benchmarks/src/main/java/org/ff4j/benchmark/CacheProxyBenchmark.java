@@ -0,0 +1,109 @@
+package org.ff4j.benchmark;
+
+/*
+ * #%L
+ * ff4j-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.cache.ConcurrentInMemoryCacheManager;
+import org.ff4j.cache.FF4JCacheManager;
+import org.ff4j.cache.FF4jCacheProxy;
+import org.ff4j.cache.InMemoryCacheManager;
+import org.ff4j.core.Feature;
+import org.ff4j.property.Property;
+import org.ff4j.property.store.InMemoryPropertyStore;
+import org.ff4j.store.InMemoryFeatureStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Hit and miss paths of {@link FF4jCacheProxy}. A miss is forced by evicting the element before reading it,
+ * the cost of the eviction is part of the measure.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheProxyBenchmark {
+
+    /** Cache implementation. */
+    @Param({"inmemory", "concurrent"})
+    private String cacheManager;
+
+    /** Cache manager. */
+    private FF4JCacheManager cache;
+
+    /** Proxy under test. */
+    private FF4jCacheProxy proxy;
+
+    /**
+     * Initialize proxy and fill cache.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        if ("concurrent".equals(cacheManager)) {
+            cache = new ConcurrentInMemoryCacheManager();
+        } else {
+            cache = new InMemoryCacheManager();
+        }
+        proxy = new FF4jCacheProxy(
+                new InMemoryFeatureStore(BenchmarkConstants.XML_FILE),
+                new InMemoryPropertyStore(BenchmarkConstants.XML_FILE), cache);
+        proxy.read(BenchmarkConstants.FEATURE_SECURED);
+        proxy.readProperty(BenchmarkConstants.PROPERTY_REGION);
+    }
+
+    @Benchmark
+    public Feature readFeatureHit() {
+        return proxy.read(BenchmarkConstants.FEATURE_SECURED);
+    }
+
+    @Benchmark
+    public Feature readFeatureMiss() {
+        cache.evictFeature(BenchmarkConstants.FEATURE_SECURED);
+        return proxy.read(BenchmarkConstants.FEATURE_SECURED);
+    }
+
+    @Benchmark
+    public Property<?> readPropertyHit() {
+        return proxy.readProperty(BenchmarkConstants.PROPERTY_REGION);
+    }
+
+    @Benchmark
+    public Property<?> readPropertyMiss() {
+        cache.evictProperty(BenchmarkConstants.PROPERTY_REGION);
+        return proxy.readProperty(BenchmarkConstants.PROPERTY_REGION);
+    }
+
+}
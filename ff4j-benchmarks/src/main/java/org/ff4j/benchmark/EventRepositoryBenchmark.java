@@ -0,0 +1,113 @@
+package org.ff4j.benchmark;
+
+/*
+ * #%L
+ * ff4j-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventConstants;
+import org.ff4j.audit.repository.EventRepository;
+import org.ff4j.audit.repository.InMemoryEventRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of {@link InMemoryEventRepository#saveEvent(Event)}, with events built upfront or within the operation.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventRepositoryBenchmark {
+
+    /** Number of distinct events, power of 2. */
+    private static final int NB_EVENTS = 1024;
+
+    /** Feature names used in events. */
+    private static final String[] FEATURES = {"f0", "f1", "f2", "f3", "f4", "f5", "f6", "f7"};
+
+    /** Repository, new for each iteration to keep a constant size. */
+    private EventRepository repository;
+
+    /** Events built upfront. */
+    private Event[] events;
+
+    /** Current event. */
+    private int idx = 0;
+
+    /**
+     * Build events.
+     */
+    @Setup(Level.Trial)
+    public void setupEvents() {
+        events = new Event[NB_EVENTS];
+        for (int i = 0; i < NB_EVENTS; i++) {
+            events[i] = newEvent(i);
+        }
+    }
+
+    /**
+     * New repository.
+     */
+    @Setup(Level.Iteration)
+    public void setupRepository() {
+        repository = new InMemoryEventRepository();
+    }
+
+    /**
+     * Mostly check ON, some check OFF and some audit trail events.
+     */
+    private static Event newEvent(int i) {
+        String action = EventConstants.ACTION_CHECK_OK;
+        if (i % 8 == 6) {
+            action = EventConstants.ACTION_CHECK_OFF;
+        } else if (i % 8 == 7) {
+            action = EventConstants.ACTION_UPDATE;
+        }
+        return new Event(EventConstants.SOURCE_JAVA, EventConstants.TARGET_FEATURE, FEATURES[i % FEATURES.length], action);
+    }
+
+    @Benchmark
+    public boolean saveEvent() {
+        idx = (idx + 1) & (NB_EVENTS - 1);
+        return repository.saveEvent(events[idx]);
+    }
+
+    @Benchmark
+    public boolean createAndSaveEvent() {
+        idx = (idx + 1) & (NB_EVENTS - 1);
+        return repository.saveEvent(newEvent(idx));
+    }
+
+}
@@ -0,0 +1,113 @@
+package org.ff4j.benchmark;
+
+/*
+ * #%L
+ * ff4j-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.FF4j;
+import org.ff4j.audit.repository.InMemoryEventRepository;
+import org.ff4j.core.FlippingExecutionContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of {@link FF4j#check(String)}, the hot path of applications, with and without audit.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FF4jCheckBenchmark {
+
+    /** Default instance. */
+    private FF4j ff4j;
+
+    /** Instance with audit enabled. */
+    private FF4j ff4jAudit;
+
+    /** Context for strategies. */
+    private FlippingExecutionContext context;
+
+    /**
+     * Load features.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        ff4j = new FF4j(BenchmarkConstants.XML_FILE);
+        ff4jAudit = new FF4j(BenchmarkConstants.XML_FILE);
+        ff4jAudit.setEventRepository(new InMemoryEventRepository());
+        ff4jAudit.audit(true);
+        context = new FlippingExecutionContext();
+    }
+
+    /**
+     * Release audit threads.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ff4jAudit.stop();
+    }
+
+    @Benchmark
+    public boolean checkEnabled() {
+        return ff4j.check(BenchmarkConstants.FEATURE_ON);
+    }
+
+    @Benchmark
+    public boolean checkDisabled() {
+        return ff4j.check(BenchmarkConstants.FEATURE_OFF);
+    }
+
+    @Benchmark
+    public boolean checkWithStrategy() {
+        return ff4j.check(BenchmarkConstants.FEATURE_EXPRESSION, context);
+    }
+
+    @Benchmark
+    public boolean checkEnabledAudited() {
+        return ff4jAudit.check(BenchmarkConstants.FEATURE_ON);
+    }
+
+    @Benchmark
+    public boolean checkDisabledAudited() {
+        return ff4jAudit.check(BenchmarkConstants.FEATURE_OFF);
+    }
+
+    @Benchmark
+    public boolean checkWithStrategyAudited() {
+        return ff4jAudit.check(BenchmarkConstants.FEATURE_EXPRESSION, context);
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.ff4j.benchmark;
+
+/*
+ * #%L
+ * ff4j-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.core.FeatureStore;
+import org.ff4j.core.FlippingExecutionContext;
+import org.ff4j.core.FlippingStrategy;
+import org.ff4j.store.InMemoryFeatureStore;
+import org.ff4j.strategy.ClientFilterStrategy;
+import org.ff4j.strategy.ServerFilterStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of {@link FlippingStrategy#evaluate(String, FeatureStore, FlippingExecutionContext)} for each strategy
+ * of 'org.ff4j.strategy', strategies are initialized from the XML file as in applications.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlipStrategyBenchmark {
+
+    /** Feature holding the strategy, see 'ff4j-benchmark.xml'. */
+    @Param({"blacklist", "whitelist", "clientfilter", "serverfilter", "ponderation",
+            "darklaunch", "releasedate", "officehour", "expression"})
+    private String featureName;
+
+    /** Store, read by expressions. */
+    private FeatureStore store;
+
+    /** Strategy under test. */
+    private FlippingStrategy strategy;
+
+    /** Context with client and server names. */
+    private FlippingExecutionContext context;
+
+    /**
+     * Load strategy.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        store    = new InMemoryFeatureStore(BenchmarkConstants.XML_FILE);
+        strategy = store.read(featureName).getFlippingStrategy();
+        context  = new FlippingExecutionContext();
+        context.addValue(ClientFilterStrategy.CLIENT_HOSTNAME, BenchmarkConstants.CLIENT);
+        context.addValue(ServerFilterStrategy.SERVER_HOSTNAME, BenchmarkConstants.SERVER);
+    }
+
+    @Benchmark
+    public boolean evaluate() {
+        return strategy.evaluate(featureName, store, context);
+    }
+
+}
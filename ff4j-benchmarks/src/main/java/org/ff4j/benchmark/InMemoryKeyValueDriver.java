@@ -0,0 +1,160 @@
+package org.ff4j.benchmark;
+
+/*
+ * #%L
+ * ff4j-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.ff4j.audit.Event;
+import org.ff4j.store.kv.KeyValueDriver;
+
+/**
+ * In-process stand-in for Key/Value stores (Consul, Redis...) : values are JSON strings in a map, features and
+ * properties are listed in dictionaries. It measures the cost of key building and mapping without network.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class InMemoryKeyValueDriver implements KeyValueDriver < String, String > {
+
+    /** Prefix for features. */
+    private static final String PREFIX_FEATURES = "FF4J/FEATURES/";
+
+    /** Prefix for properties. */
+    private static final String PREFIX_PROPERTIES = "FF4J/PROPERTIES/";
+
+    /** Prefix for audit. */
+    private static final String PREFIX_AUDIT = "FF4J/AUDIT/";
+
+    /** Values. */
+    private final Map < String, String > values = new ConcurrentHashMap<String, String>();
+
+    /** Dictionary of features. */
+    private final Set < String > features = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    /** Dictionary of properties. */
+    private final Set < String > properties = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean existKey(String key) {
+        return values.containsKey(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void deleteKey(String key) {
+        values.remove(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void putValue(String key, String value) {
+        values.put(key, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getValue(String key) {
+        return values.get(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getFeatureKey(String featureName) {
+        return PREFIX_FEATURES + featureName;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getFeatureName(String key) {
+        return key.substring(PREFIX_FEATURES.length());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void registerFeature(String featureName) {
+        features.add(featureName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void unregisterFeature(String featureName) {
+        features.remove(featureName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<String> getFeatureList() {
+        return new HashSet<String>(features);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getPropertyKey(String propertyName) {
+        return PREFIX_PROPERTIES + propertyName;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getPropertyName(String key) {
+        return key.substring(PREFIX_PROPERTIES.length());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void registerProperty(String propertyName) {
+        properties.add(propertyName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void unregisterProperty(String propertyName) {
+        properties.remove(propertyName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<String> getPropertyList() {
+        return new HashSet<String>(properties);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getHitCountKey(Event e) {
+        return PREFIX_AUDIT + "HITS/" + e.getName() + "/" + e.getUuid();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getMissKey(Event e) {
+        return PREFIX_AUDIT + "MISS/" + e.getName() + "/" + e.getUuid();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getAuditTrailKey(Event e) {
+        return PREFIX_AUDIT + "TRAIL/" + e.getName() + "/" + e.getUuid();
+    }
+
+}
@@ -0,0 +1,136 @@
+package org.ff4j.benchmark;
+
+/*
+ * #%L
+ * ff4j-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.conf.XmlConfig;
+import org.ff4j.conf.XmlParser;
+import org.ff4j.core.Feature;
+import org.ff4j.core.FeatureStore;
+import org.ff4j.property.Property;
+import org.ff4j.property.store.InMemoryPropertyStore;
+import org.ff4j.property.store.JdbcPropertyStore;
+import org.ff4j.property.store.PropertyStore;
+import org.ff4j.store.InMemoryFeatureStore;
+import org.ff4j.store.JdbcFeatureStore;
+import org.ff4j.store.kv.KeyValueFeatureStore;
+import org.ff4j.store.kv.KeyValuePropertyStore;
+import org.ff4j.utils.mapping.JsonStringFeatureMapper;
+import org.ff4j.utils.mapping.JsonStringPropertyMapper;
+import org.hsqldb.jdbc.JDBCDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Read operations of feature and property stores. External stores are replaced by in-process stand-ins : an in-memory
+ * HSQLDB database for JDBC and {@link InMemoryKeyValueDriver} for Key/Value stores.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StoreBenchmark {
+
+    /** Store implementation. */
+    @Param({"inmemory", "jdbc", "keyvalue"})
+    private String storeType;
+
+    /** Feature store under test. */
+    private FeatureStore featureStore;
+
+    /** Property store under test. */
+    private PropertyStore propertyStore;
+
+    /**
+     * Create stores and import configuration file.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        if ("jdbc".equals(storeType)) {
+            JDBCDataSource ds = new JDBCDataSource();
+            ds.setUrl("jdbc:hsqldb:mem:ff4j-benchmark");
+            ds.setUser("sa");
+            ds.setPassword("");
+            featureStore  = new JdbcFeatureStore(ds);
+            propertyStore = new JdbcPropertyStore(ds);
+        } else if ("keyvalue".equals(storeType)) {
+            InMemoryKeyValueDriver driver = new InMemoryKeyValueDriver();
+            featureStore  = new KeyValueFeatureStore<String>(driver, new JsonStringFeatureMapper()) {};
+            propertyStore = new KeyValuePropertyStore<String>(driver, new JsonStringPropertyMapper());
+        } else {
+            featureStore  = new InMemoryFeatureStore();
+            propertyStore = new InMemoryPropertyStore();
+        }
+        XmlConfig conf = new XmlParser().parseConfigurationFile(
+                getClass().getClassLoader().getResourceAsStream(BenchmarkConstants.XML_FILE));
+        featureStore.createSchema();
+        featureStore.importFeatures(conf.getFeatures().values());
+        propertyStore.createSchema();
+        propertyStore.importProperties(conf.getProperties().values());
+    }
+
+    @Benchmark
+    public boolean existFeature() {
+        return featureStore.exist(BenchmarkConstants.FEATURE_SECURED);
+    }
+
+    @Benchmark
+    public Feature readFeature() {
+        return featureStore.read(BenchmarkConstants.FEATURE_SECURED);
+    }
+
+    @Benchmark
+    public Map<String, Feature> readAllFeatures() {
+        return featureStore.readAll();
+    }
+
+    @Benchmark
+    public Map<String, Feature> readGroup() {
+        return featureStore.readGroup(BenchmarkConstants.GROUP_STRATEGIES);
+    }
+
+    @Benchmark
+    public Property<?> readProperty() {
+        return propertyStore.readProperty(BenchmarkConstants.PROPERTY_REGION);
+    }
+
+    @Benchmark
+    public Map<String, Property<?>> readAllProperties() {
+        return propertyStore.readAllProperties();
+    }
+
+}
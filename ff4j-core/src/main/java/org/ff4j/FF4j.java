@@ -27,8 +27,12 @@ import static org.ff4j.audit.EventConstants.SOURCE_JAVA;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.ff4j.audit.EventBuilder;
 import org.ff4j.audit.EventPublisher;
@@ -36,8 +40,12 @@ import org.ff4j.audit.proxy.FeatureStoreAuditProxy;
 import org.ff4j.audit.proxy.PropertyStoreAuditProxy;
 import org.ff4j.audit.repository.EventRepository;
 import org.ff4j.audit.repository.InMemoryEventRepository;
+import org.ff4j.cache.CacheInvalidationBus;
+import org.ff4j.cache.CacheInvalidationListener;
+import org.ff4j.cache.CacheInvalidationMessage;
 import org.ff4j.cache.FF4JCacheManager;
 import org.ff4j.cache.FF4jCacheProxy;
+import org.ff4j.cache.FeatureStoreSnapshotProxy;
 import org.ff4j.conf.XmlConfig;
 import org.ff4j.conf.XmlParser;
 import org.ff4j.core.Feature;
@@ -50,6 +58,7 @@ import org.ff4j.property.store.InMemoryPropertyStore;
 import org.ff4j.property.store.PropertyStore;
 import org.ff4j.security.AuthorizationsManager;
 import org.ff4j.store.InMemoryFeatureStore;
+import org.ff4j.utils.Util;
 
 /**
  * Principal class stands as public api to work with FF4J.
@@ -127,6 +136,9 @@ public class FF4j {
      * or the wraps exception thrown by an invoked method or constructor
      */
     private boolean alterBeanThrowInvocationTargetException = true;
+
+    /** Notified of features written through this bean. */
+    private final List < CacheInvalidationListener > featureListeners = new CopyOnWriteArrayList<CacheInvalidationListener>();
     
     
     /**
@@ -174,7 +186,56 @@ public class FF4j {
      * @return current feature status
      */
     public boolean check(String featureID, FlippingExecutionContext executionContext) {
-        Feature fp = getFeature(featureID);
+        FeatureStoreSnapshotProxy snapshotProxy = getSnapshotProxy();
+        Feature fp = null;
+        if (snapshotProxy != null) {
+            fp = snapshotProxy.lookup(featureID);
+        }
+        if (fp == null) {
+            fp = getFeature(featureID);
+        }
+        return check(fp, executionContext);
+    }
+
+    /**
+     * Ask for flipping of several features, they are read from store in a single call.
+     * 
+     * @param featureIDs
+     *            features unique identifiers.
+     * @param executionContext
+     *            current execution context
+     * @return status of features, in the order of identifiers
+     */
+    public Map<String, Boolean> checkAll(Collection<String> featureIDs, FlippingExecutionContext executionContext) {
+        Util.assertNotNull(featureIDs);
+        FeatureStoreSnapshotProxy snapshotProxy = getSnapshotProxy();
+        Map<String, Feature> features = null;
+        if (snapshotProxy == null) {
+            features = getFeatureStore().readFeatures(new HashSet<String>(featureIDs));
+        }
+        Map<String, Boolean> statuses = new LinkedHashMap<String, Boolean>();
+        for (String featureID : featureIDs) {
+            Feature fp = (snapshotProxy != null) ? snapshotProxy.lookup(featureID) : features.get(featureID);
+            if (fp == null) {
+                // Autocreate or FeatureNotFoundException, as check
+                fp = getFeature(featureID);
+            }
+            statuses.put(featureID, check(fp, executionContext));
+        }
+        return statuses;
+    }
+
+    /**
+     * Evaluate a feature already read from store.
+     * 
+     * @param fp
+     *            current feature
+     * @param executionContext
+     *            current execution context
+     * @return current feature status
+     */
+    private boolean check(Feature fp, FlippingExecutionContext executionContext) {
+        String featureID = fp.getUid();
         boolean flipped = fp.isEnable();
 
         // If authorization manager provided, apply security filter
@@ -289,6 +350,53 @@ public class FF4j {
     	return getPropertiesStore().readAllProperties();
     }
 
+    /**
+     * Invoked after features are written through this bean, listeners are notified.
+     *
+     * @param uid
+     *      updated feature, null if several features may have changed
+     */
+    private void featuresUpdated(String uid) {
+        if (featureListeners.isEmpty()) {
+            return;
+        }
+        CacheInvalidationMessage message = (uid == null) ?
+                new CacheInvalidationMessage(CacheInvalidationMessage.Type.ALL_FEATURES, SOURCE_JAVA, null) :
+                new CacheInvalidationMessage(CacheInvalidationMessage.Type.FEATURE, SOURCE_JAVA, uid);
+        for (CacheInvalidationListener listener : featureListeners) {
+            listener.onInvalidation(message);
+        }
+    }
+
+    /**
+     * Register a listener notified after each modification of features done through this bean (enable, disable,
+     * create, update, delete, groups, import) : the web console and the REST API write through it. Modifications done
+     * directly on the store or by other nodes are not notified.
+     *
+     * @param listener
+     *      listener to notify
+     * @return
+     *      current ff4j bean
+     */
+    public FF4j addFeatureListener(CacheInvalidationListener listener) {
+        Util.assertNotNull(listener);
+        featureListeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Unregister a listener.
+     *
+     * @param listener
+     *      listener to remove
+     * @return
+     *      current ff4j bean
+     */
+    public FF4j removeFeatureListener(CacheInvalidationListener listener) {
+        featureListeners.remove(listener);
+        return this;
+    }
+
     /**
      * Enable Feature.
      * 
@@ -305,6 +413,7 @@ public class FF4j {
             	throw fnfe;
             }
         }
+        featuresUpdated(featureID);
         return this;
     }
 
@@ -317,6 +426,7 @@ public class FF4j {
      */
     public FF4j enableGroup(String groupName) {
         getFeatureStore().enableGroup(groupName);
+        featuresUpdated(null);
         return this;
     }
 
@@ -329,6 +439,7 @@ public class FF4j {
      */
     public FF4j disableGroup(String groupName) {
         getFeatureStore().disableGroup(groupName);
+        featuresUpdated(null);
         return this;
     }
     
@@ -340,6 +451,20 @@ public class FF4j {
      */
     public FF4j createFeature(Feature fp) {
         getFeatureStore().create(fp);
+        featuresUpdated(fp.getUid());
+        return this;
+    }
+
+    /**
+     * Update existing Feature.
+     * 
+     * @param fp
+     *            new value of the feature
+     * @return current instance
+     */
+    public FF4j updateFeature(Feature fp) {
+        getFeatureStore().update(fp);
+        featuresUpdated(fp.getUid());
         return this;
     }
     
@@ -401,6 +526,7 @@ public class FF4j {
              	throw fnfe;
              }
         }
+        featuresUpdated(featureID);
         return this;
     }
 
@@ -471,6 +597,7 @@ public class FF4j {
      */
     public FF4j importFeatures(Collection < Feature> features) {
         getFeatureStore().importFeatures(features);
+        featuresUpdated(null);
         return this;
     }
     
@@ -557,6 +684,7 @@ public class FF4j {
      */
     public FF4j delete(String fpId) {
         getFeatureStore().delete(fpId);
+        featuresUpdated(fpId);
         return this;
     }
     
@@ -586,6 +714,52 @@ public class FF4j {
         return this;
     }
     
+    /**
+     * Enable a cache proxy, invalidations are propagated to the other nodes through a bus.
+     * 
+     * @param cm
+     *      current cache manager
+     * @param bus
+     *      invalidation bus shared by all nodes
+     * @return
+     *      current ff4j bean
+     */
+    public FF4j cache(FF4JCacheManager cm, CacheInvalidationBus bus) {
+        FF4jCacheProxy cp = new FF4jCacheProxy(getFeatureStore(), getPropertiesStore(), cm);
+        cp.setInvalidationBus(bus);
+        setFeatureStore(cp);
+        setPropertiesStore(cp);
+        return this;
+    }
+    
+    /**
+     * Enable the snapshot mode : features are read from an immutable copy of the store swapped on each modification,
+     * check is a volatile read and a hash lookup.
+     * 
+     * @return
+     *      current ff4j bean
+     */
+    public FF4j snapshot() {
+        if (!(getFeatureStore() instanceof FeatureStoreSnapshotProxy)) {
+            setFeatureStore(new FeatureStoreSnapshotProxy(getFeatureStore()));
+        }
+        return this;
+    }
+    
+    /**
+     * Enable the snapshot mode with refresh from store on a fixed delay basis.
+     * 
+     * @param delay
+     *      delay between 2 refresh in milliseconds
+     * @return
+     *      current ff4j bean
+     */
+    public FF4j snapshot(long delay) {
+        snapshot();
+        ((FeatureStoreSnapshotProxy) getFeatureStore()).startPolling(delay);
+        return this;
+    }
+    
     /**
      * Parse configuration file.
      *
@@ -902,12 +1076,47 @@ public class FF4j {
 
     /**
      * Shuts down the event publisher if we actually started it (As opposed to
-     * having it dependency-injected).
+     * having it dependency-injected) and the refresh of features snapshot.
      */
     public void stop() {
         if (this.eventPublisher != null && this.shutdownEventPublisher) {
             this.eventPublisher.stop();
         }
+        stopPolling(fstore);
+    }
+
+    /**
+     * Snapshot proxy used for read-only lookups of {@link #check(String)}, audit proxy is skipped as reads are not audited.
+     *
+     * @return
+     *      snapshot proxy or null if snapshot mode is not enabled
+     */
+    private FeatureStoreSnapshotProxy getSnapshotProxy() {
+        FeatureStore fs = getFeatureStore();
+        if (fs instanceof FeatureStoreAuditProxy) {
+            fs = ((FeatureStoreAuditProxy) fs).getTarget();
+        }
+        if (fs instanceof FeatureStoreSnapshotProxy) {
+            return (FeatureStoreSnapshotProxy) fs;
+        }
+        return null;
+    }
+
+    /**
+     * Stop refresh of snapshot proxies, polling and invalidation bus of cache proxies in the chain of stores.
+     *
+     * @param fs
+     *      current feature store
+     */
+    private void stopPolling(FeatureStore fs) {
+        if (fs instanceof FeatureStoreAuditProxy) {
+            stopPolling(((FeatureStoreAuditProxy) fs).getTarget());
+        } else if (fs instanceof FeatureStoreSnapshotProxy) {
+            ((FeatureStoreSnapshotProxy) fs).stopPolling();
+            stopPolling(((FeatureStoreSnapshotProxy) fs).getTarget());
+        } else if (fs instanceof FF4jCacheProxy) {
+            ((FF4jCacheProxy) fs).stop();
+        }
     }
 
     /**
@@ -945,9 +1154,13 @@ public class FF4j {
      */
     public FF4jCacheProxy getCacheProxy() {
         FeatureStore fs = getFeatureStore();
-        // Pass through audit proxy if exists
-        if (fs instanceof FeatureStoreAuditProxy) {
-            fs = ((FeatureStoreAuditProxy) fs).getTarget();
+        // Pass through audit and snapshot proxies if exist
+        while (fs instanceof FeatureStoreAuditProxy || fs instanceof FeatureStoreSnapshotProxy) {
+            if (fs instanceof FeatureStoreAuditProxy) {
+                fs = ((FeatureStoreAuditProxy) fs).getTarget();
+            } else {
+                fs = ((FeatureStoreSnapshotProxy) fs).getTarget();
+            }
         }
         if (fs instanceof FF4jCacheProxy) {
             return (FF4jCacheProxy) fs;
@@ -966,6 +1179,8 @@ public class FF4j {
     private FeatureStore getConcreteFeatureStore(FeatureStore fs) {
         if (fs instanceof FeatureStoreAuditProxy) {
             return getConcreteFeatureStore(((FeatureStoreAuditProxy) fs).getTarget());
+        } else if (fs instanceof FeatureStoreSnapshotProxy) {
+            return getConcreteFeatureStore(((FeatureStoreSnapshotProxy) fs).getTarget());
         } else if (fs instanceof FF4jCacheProxy) {
             return getConcreteFeatureStore(((FF4jCacheProxy) fs).getTargetFeatureStore());
         }
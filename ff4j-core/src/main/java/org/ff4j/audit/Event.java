@@ -24,7 +24,6 @@ import java.io.Serializable;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 import org.ff4j.utils.IOUtil;
 
@@ -68,17 +67,33 @@ public class Event implements Serializable, Comparable < Event > {
     /** Common element. */
     private String value;
     
-    /** Specific parameters. */
-    private Map < String, String > customKeys = new HashMap<String, String>();
+    /** Specific parameters, created when first used. */
+    private Map < String, String > customKeys;
     
     /**
-     * Default constructor.
+     * Default constructor : time-ordered identifier (see {@link EventIdGenerator}) and cached hostname, no lookup.
      * 
      */
     public Event() {
-        uuid        = UUID.randomUUID().toString();
         timestamp   = System.currentTimeMillis();
-        hostName    = IOUtil.resolveHostName();
+        uuid        = EventIdGenerator.nextId(timestamp);
+        hostName    = IOUtil.getHostName();
+    }
+    
+    /**
+     * Constructor for decoders, nothing is generated.
+     *
+     * @param uuid
+     *      unique identifier
+     * @param timestamp
+     *      time of event creation
+     * @param hostName
+     *      hostname
+     */
+    Event(String uuid, long timestamp, String hostName) {
+        this.uuid       = uuid;
+        this.timestamp  = timestamp;
+        this.hostName   = hostName;
     }
     
     /** Default constructor. */
@@ -90,6 +105,28 @@ public class Event implements Serializable, Comparable < Event > {
         this.action = pAction;
     }
 
+    /**
+     * Reinitialize the event as if it was created now, to reuse instances that are not referenced anymore
+     * (see {@link EventBuilder#EventBuilder(org.ff4j.FF4j, Event)}).
+     *
+     * @return
+     *      current event
+     */
+    public Event reset() {
+        timestamp   = System.currentTimeMillis();
+        uuid        = EventIdGenerator.nextId(timestamp);
+        hostName    = IOUtil.getHostName();
+        duration    = 0;
+        source      = null;
+        user        = null;
+        name        = null;
+        type        = null;
+        action      = null;
+        value       = null;
+        customKeys  = null;
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override
     public String toString() {
@@ -143,7 +180,17 @@ public class Event implements Serializable, Comparable < Event > {
      * @return
      */
     public String getKey(String key) {
-        return getCustomKeys().get(key);
+        return (customKeys == null) ? null : customKeys.get(key);
+    }
+    
+    /**
+     * If custom keys have been defined, without creating the map.
+     *
+     * @return
+     *      if there is at least one custom key
+     */
+    public boolean hasCustomKeys() {
+        return customKeys != null && !customKeys.isEmpty();
     }
     
     /**
@@ -314,12 +361,15 @@ public class Event implements Serializable, Comparable < Event > {
     }
 
     /**
-     * Getter accessor for attribute 'customKeys'.
+     * Getter accessor for attribute 'customKeys', the map is created at first access.
      *
      * @return
      *       current value of 'customKeys'
      */
     public Map<String, String> getCustomKeys() {
+        if (customKeys == null) {
+            customKeys = new HashMap<String, String>();
+        }
         return customKeys;
     }
 
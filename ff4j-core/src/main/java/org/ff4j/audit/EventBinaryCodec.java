@@ -0,0 +1,528 @@
+package org.ff4j.audit;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.ff4j.utils.Util;
+
+/**
+ * Compact binary representation of {@link Event}, for repositories (Redis), append-only log files and transports.
+ *
+ * A frame holds a batch of events : magic byte, version, number of events (varint) then the events. Within a frame,
+ * strings (hostname, source, user, name, type, action, value, custom keys) are written once and then referenced by
+ * their index, timestamps are written as a difference with the previous event (zigzag varint), identifiers in UUID
+ * format take 16 bytes. A frame of one event is about 60 bytes instead of 250 in Json, and much smaller per event
+ * for batches as hostname, source and feature names are shared.
+ *
+ * <pre>
+ * frame  := MAGIC VERSION varint(count) event*
+ * event  := uuid varint(timestamp delta) varint(duration) string(hostName) string(source) string(user)
+ *           string(name) string(type) string(action) string(value) varint(nbKeys) (string(key) string(value))*
+ * string := varint(0) null | varint(1) varint(length) utf8 bytes, added to dictionary | varint(2 + index in dictionary)
+ * uuid   := byte(0) null | byte(1) 16 bytes | byte(2) string
+ * </pre>
+ *
+ * Frames can be written to a stream with their length ({@link #writeFrame(OutputStream, Collection)}) and read back
+ * one by one ({@link #readFrame(InputStream)}). Malformed frames raise {@link IllegalArgumentException} : counts and
+ * lengths are checked against the remaining bytes before allocating anything.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public final class EventBinaryCodec {
+
+    /** First byte of a frame, cannot start a Json document nor an UTF-8 text. */
+    public static final byte MAGIC = (byte) 0xF4;
+
+    /** Format version. */
+    public static final byte VERSION = 1;
+
+    /** Maximum length of a frame read from a stream, in bytes. */
+    public static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+
+    /** Maximum length of a varint, in bytes. */
+    private static final int MAX_VARINT_SIZE = 10;
+
+    /** Encoding of strings. */
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /** Null string. */
+    private static final int STRING_NULL = 0;
+
+    /** New string. */
+    private static final int STRING_LITERAL = 1;
+
+    /** First reference to dictionary. */
+    private static final int STRING_REF = 2;
+
+    /** Null identifier. */
+    private static final int UUID_NULL = 0;
+
+    /** Identifier in UUID format. */
+    private static final int UUID_BINARY = 1;
+
+    /** Other identifier. */
+    private static final int UUID_STRING = 2;
+
+    /** Hide default constructor. */
+    private EventBinaryCodec() {
+    }
+
+    /**
+     * Check if bytes are a binary frame (and not Json for instance).
+     *
+     * @param bytes
+     *      serialized value
+     * @return
+     *      if bytes start with {@link #MAGIC}
+     */
+    public static boolean isBinary(byte[] bytes) {
+        return bytes != null && bytes.length > 1 && bytes[0] == MAGIC;
+    }
+
+    /**
+     * Encode a single event.
+     *
+     * @param evt
+     *      event
+     * @return
+     *      frame of one event
+     */
+    public static byte[] encode(Event evt) {
+        Util.assertNotNull(evt);
+        return encodeBatch(Collections.singletonList(evt));
+    }
+
+    /**
+     * Decode a frame of one event.
+     *
+     * @param bytes
+     *      frame
+     * @return
+     *      event
+     */
+    public static Event decode(byte[] bytes) {
+        List < Event > events = decodeBatch(bytes);
+        if (events.size() != 1) {
+            throw new IllegalArgumentException("Expecting one event in frame but found " + events.size());
+        }
+        return events.get(0);
+    }
+
+    /**
+     * Encode several events in a single frame.
+     *
+     * @param events
+     *      events
+     * @return
+     *      frame
+     */
+    public static byte[] encodeBatch(Collection < Event > events) {
+        Util.assertNotNull(events);
+        Writer out = new Writer(64 + events.size() * 48);
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        out.writeVarLong(events.size());
+        Map < String, Integer > dictionary = new HashMap<String, Integer>();
+        long previous = 0;
+        for (Event evt : events) {
+            writeUuid(out, evt.getUuid());
+            out.writeVarLong(zigzag(evt.getTimestamp() - previous));
+            previous = evt.getTimestamp();
+            out.writeVarLong(zigzag(evt.getDuration()));
+            writeString(out, dictionary, evt.getHostName());
+            writeString(out, dictionary, evt.getSource());
+            writeString(out, dictionary, evt.getUser());
+            writeString(out, dictionary, evt.getName());
+            writeString(out, dictionary, evt.getType());
+            writeString(out, dictionary, evt.getAction());
+            writeString(out, dictionary, evt.getValue());
+            if (evt.hasCustomKeys()) {
+                out.writeVarLong(evt.getCustomKeys().size());
+                for (Map.Entry<String, String> customKey : evt.getCustomKeys().entrySet()) {
+                    writeString(out, dictionary, customKey.getKey());
+                    writeString(out, dictionary, customKey.getValue());
+                }
+            } else {
+                out.writeVarLong(0);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode a frame.
+     *
+     * @param bytes
+     *      frame
+     * @return
+     *      events in the order they have been encoded
+     */
+    public static List < Event > decodeBatch(byte[] bytes) {
+        Util.assertNotNull(bytes);
+        if (!isBinary(bytes)) {
+            throw new IllegalArgumentException("Cannot decode events : not a binary frame");
+        }
+        if (bytes[1] != VERSION) {
+            throw new IllegalArgumentException("Cannot decode events : unsupported version " + bytes[1]);
+        }
+        Reader in = new Reader(bytes, 2);
+        // Each event takes at least one byte
+        int count = in.readSize();
+        List < Event > events = new ArrayList<Event>(count);
+        List < String > dictionary = new ArrayList<String>();
+        long timestamp = 0;
+        for (int i = 0; i < count; i++) {
+            String uuid = readUuid(in);
+            timestamp += unzigzag(in.readVarLong());
+            Event evt = new Event(uuid, timestamp, null);
+            evt.setDuration(unzigzag(in.readVarLong()));
+            evt.setHostName(readString(in, dictionary));
+            evt.setSource(readString(in, dictionary));
+            evt.setUser(readString(in, dictionary));
+            evt.setName(readString(in, dictionary));
+            evt.setType(readString(in, dictionary));
+            evt.setAction(readString(in, dictionary));
+            evt.setValue(readString(in, dictionary));
+            int nbKeys = in.readSize();
+            for (int k = 0; k < nbKeys; k++) {
+                evt.put(readString(in, dictionary), readString(in, dictionary));
+            }
+            events.add(evt);
+        }
+        return events;
+    }
+
+    /**
+     * Write a frame prefixed by its length, to append batches to a log file or a socket.
+     *
+     * @param out
+     *      target stream
+     * @param events
+     *      events of the frame
+     * @throws IOException
+     *      cannot write
+     */
+    public static void writeFrame(OutputStream out, Collection < Event > events) throws IOException {
+        byte[] frame = encodeBatch(events);
+        Writer length = new Writer(5);
+        length.writeVarLong(frame.length);
+        out.write(length.toByteArray());
+        out.write(frame);
+    }
+
+    /**
+     * Read next frame written by {@link #writeFrame(OutputStream, Collection)}.
+     *
+     * @param in
+     *      source stream
+     * @return
+     *      events of the frame, null at end of stream
+     * @throws IOException
+     *      cannot read, or stream ends within a frame
+     * @throws IllegalArgumentException
+     *      frame length is invalid or above {@link #MAX_FRAME_SIZE}, or frame is malformed
+     */
+    public static List < Event > readFrame(InputStream in) throws IOException {
+        long length = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift >= 7 * MAX_VARINT_SIZE) {
+                throw new IllegalArgumentException("Cannot decode events : invalid frame length");
+            }
+            b = in.read();
+            if (b < 0) {
+                if (shift == 0) {
+                    return null;
+                }
+                throw new EOFException("Stream ends within frame length");
+            }
+            length |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        if (length < 0 || length > MAX_FRAME_SIZE) {
+            throw new IllegalArgumentException("Cannot decode events : invalid frame length " + length);
+        }
+        byte[] frame = new byte[(int) length];
+        int offset = 0;
+        while (offset < frame.length) {
+            int read = in.read(frame, offset, frame.length - offset);
+            if (read < 0) {
+                throw new EOFException("Stream ends within frame");
+            }
+            offset += read;
+        }
+        return decodeBatch(frame);
+    }
+
+    /**
+     * Write a string, or its index if already written in the frame.
+     */
+    private static void writeString(Writer out, Map < String, Integer > dictionary, String value) {
+        if (value == null) {
+            out.writeVarLong(STRING_NULL);
+            return;
+        }
+        Integer index = dictionary.get(value);
+        if (index != null) {
+            out.writeVarLong(STRING_REF + index);
+            return;
+        }
+        dictionary.put(value, dictionary.size());
+        out.writeVarLong(STRING_LITERAL);
+        byte[] bytes = value.getBytes(UTF8);
+        out.writeVarLong(bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    /**
+     * Read a string written by {@link #writeString(Writer, Map, String)}.
+     */
+    private static String readString(Reader in, List < String > dictionary) {
+        long tag = in.readVarLong();
+        if (tag == STRING_NULL) {
+            return null;
+        }
+        if (tag == STRING_LITERAL) {
+            String value = new String(in.readBytes(in.readSize()), UTF8);
+            dictionary.add(value);
+            return value;
+        }
+        long index = tag - STRING_REF;
+        if (index < 0 || index >= dictionary.size()) {
+            throw new IllegalArgumentException("Cannot decode events : invalid string reference " + index);
+        }
+        return dictionary.get((int) index);
+    }
+
+    /**
+     * Write identifier, on 16 bytes if it has the canonical (lower case) UUID format.
+     */
+    private static void writeUuid(Writer out, String uuid) {
+        if (uuid == null) {
+            out.writeByte((byte) UUID_NULL);
+        } else if (isCanonicalUuid(uuid)) {
+            out.writeByte((byte) UUID_BINARY);
+            for (int i = 0; i < uuid.length(); i++) {
+                char c = uuid.charAt(i);
+                if (c != '-') {
+                    char low = uuid.charAt(++i);
+                    out.writeByte((byte) ((Character.digit(c, 16) << 4) | Character.digit(low, 16)));
+                }
+            }
+        } else {
+            out.writeByte((byte) UUID_STRING);
+            byte[] bytes = uuid.getBytes(UTF8);
+            out.writeVarLong(bytes.length);
+            out.writeBytes(bytes);
+        }
+    }
+
+    /**
+     * Read identifier written by {@link #writeUuid(Writer, String)}.
+     */
+    private static String readUuid(Reader in) {
+        int tag = in.readByte();
+        switch (tag) {
+            case UUID_NULL:
+                return null;
+            case UUID_BINARY:
+                byte[] bytes = in.readBytes(16);
+                char[] chars = new char[36];
+                int c = 0;
+                for (int i = 0; i < 16; i++) {
+                    if (i == 4 || i == 6 || i == 8 || i == 10) {
+                        chars[c++] = '-';
+                    }
+                    chars[c++] = Character.forDigit((bytes[i] >> 4) & 0xF, 16);
+                    chars[c++] = Character.forDigit(bytes[i] & 0xF, 16);
+                }
+                return new String(chars);
+            case UUID_STRING:
+                return new String(in.readBytes(in.readSize()), UTF8);
+            default:
+                throw new IllegalArgumentException("Cannot decode events : invalid identifier tag " + tag);
+        }
+    }
+
+    /**
+     * Identifier can be written on 16 bytes and read back identical.
+     */
+    private static boolean isCanonicalUuid(String uuid) {
+        if (uuid.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = uuid.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Signed to unsigned, small negative values stay small. */
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /** Unsigned to signed. */
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Growable output buffer.
+     */
+    private static final class Writer {
+
+        /** Content. */
+        private byte[] buffer;
+
+        /** Current size. */
+        private int size;
+
+        /** Initial capacity. */
+        private Writer(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        /** Make room. */
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                byte[] larger = new byte[Math.max(buffer.length * 2, size + extra)];
+                System.arraycopy(buffer, 0, larger, 0, size);
+                buffer = larger;
+            }
+        }
+
+        /** Write a byte. */
+        private void writeByte(byte b) {
+            ensure(1);
+            buffer[size++] = b;
+        }
+
+        /** Write bytes. */
+        private void writeBytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        /** Write unsigned value, 7 bits per byte. */
+        private void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        /** Copy of content. */
+        private byte[] toByteArray() {
+            byte[] result = new byte[size];
+            System.arraycopy(buffer, 0, result, 0, size);
+            return result;
+        }
+    }
+
+    /**
+     * Input buffer with bound checks.
+     */
+    private static final class Reader {
+
+        /** Content. */
+        private final byte[] buffer;
+
+        /** Current position. */
+        private int position;
+
+        /** Read from position. */
+        private Reader(byte[] buffer, int position) {
+            this.buffer   = buffer;
+            this.position = position;
+        }
+
+        /** Check remaining bytes. */
+        private void require(int length) {
+            if (length < 0 || position + length > buffer.length) {
+                throw new IllegalArgumentException("Cannot decode events : truncated frame");
+            }
+        }
+
+        /** Read a byte. */
+        private int readByte() {
+            require(1);
+            return buffer[position++] & 0xFF;
+        }
+
+        /** Read bytes. */
+        private byte[] readBytes(int length) {
+            require(length);
+            byte[] bytes = new byte[length];
+            System.arraycopy(buffer, position, bytes, 0, length);
+            position += length;
+            return bytes;
+        }
+
+        /** Read unsigned value, 7 bits per byte, at most {@link EventBinaryCodec#MAX_VARINT_SIZE} bytes. */
+        private long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            int b;
+            do {
+                if (shift >= 7 * MAX_VARINT_SIZE) {
+                    throw new IllegalArgumentException("Cannot decode events : invalid varint");
+                }
+                b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        /** Read a count or a length, cannot exceed remaining bytes. */
+        private int readSize() {
+            long size = readVarLong();
+            if (size < 0 || size > buffer.length - position) {
+                throw new IllegalArgumentException("Cannot decode events : invalid size " + size);
+            }
+            return (int) size;
+        }
+    }
+
+}
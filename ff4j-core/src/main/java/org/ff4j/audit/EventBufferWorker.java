@@ -0,0 +1,121 @@
+package org.ff4j.audit;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.ff4j.audit.repository.EventRepository;
+
+/**
+ * Long running worker consuming the {@link EventRingBuffer} of an asynchronous {@link EventPublisher}
+ * and saving events into the {@link EventRepository} by batches : a batch is flushed when full
+ * or when its oldest event has waited for 'batchWindow' milliseconds.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class EventBufferWorker implements Runnable {
+
+    /** Wait when buffer is empty. */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** Owner publisher. */
+    private final EventPublisher publisher;
+
+    /** Source of events. */
+    private final EventRingBuffer buffer;
+
+    /** Maximum number of events saved in a single call. */
+    private final int batchSize;
+
+    /** Maximum time (ms) an event waits in a partial batch. */
+    private final long batchWindow;
+
+    /**
+     * Worker constructor.
+     *
+     * @param publisher
+     *      owner publisher (running flag, repository)
+     * @param buffer
+     *      source of events
+     * @param batchSize
+     *      maximum number of events per batch
+     * @param batchWindow
+     *      maximum time in milliseconds before flushing a partial batch
+     */
+    public EventBufferWorker(EventPublisher publisher, EventRingBuffer buffer, int batchSize, long batchWindow) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.publisher   = publisher;
+        this.buffer      = buffer;
+        this.batchSize   = batchSize;
+        this.batchWindow = batchWindow;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void run() {
+        List < Event > batch = new ArrayList<Event>(batchSize);
+        long batchStart = 0;
+        while (true) {
+            Event evt = buffer.poll();
+            if (evt != null) {
+                if (batch.isEmpty()) {
+                    batchStart = System.currentTimeMillis();
+                }
+                batch.add(evt);
+                if (batch.size() >= batchSize) {
+                    flush(batch);
+                }
+            } else {
+                boolean stopping = !publisher.isRunning() || Thread.currentThread().isInterrupted();
+                if (!batch.isEmpty() && (stopping || System.currentTimeMillis() - batchStart >= batchWindow)) {
+                    flush(batch);
+                }
+                if (stopping) {
+                    // Stopped and buffer flushed
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Save current batch, error are not propagated.
+     *
+     * @param batch
+     *      current batch (cleared)
+     */
+    private void flush(List < Event > batch) {
+        try {
+            publisher.getRepository().saveEvents(batch);
+        } catch (RuntimeException re) {
+            // Do not propagate error, it's monitoring (aside business logic)
+        } finally {
+            batch.clear();
+        }
+    }
+
+}
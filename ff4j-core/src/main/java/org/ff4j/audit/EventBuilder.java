@@ -42,7 +42,19 @@ public class EventBuilder {
      * @param ff4j
      */
     public EventBuilder(FF4j ff4j) {
-        this();
+        this(ff4j, new Event());
+    }
+    
+    /**
+     * Constructor with ff4J and an event taken from a pool, it is reinitialized.
+     *
+     * @param ff4j
+     *      current ff4j instance
+     * @param recycled
+     *      event not referenced anymore (published events are kept by repositories)
+     */
+    public EventBuilder(FF4j ff4j, Event recycled) {
+        this.event = recycled.reset();
         
         // Source can be WEB, SSH, JAVA etc
         this.event.setSource(ff4j.getSource());
@@ -0,0 +1,160 @@
+package org.ff4j.audit;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Random;
+
+/**
+ * Generates time-ordered identifiers for {@link Event} with the layout of UUID version 7 : 48 bits of timestamp
+ * (milliseconds), 12 bits of counter and 62 random bits, formatted as a standard 36 characters UUID.
+ *
+ * Each thread has its own generator and random source, there is no contention (unlike {@link java.util.UUID#randomUUID()}
+ * and its shared SecureRandom). Identifiers of a thread are strictly increasing, even within the same millisecond or if
+ * the clock goes backward. They are unique but not unpredictable : do not use them as secrets.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public final class EventIdGenerator {
+
+    /** Maximum value of counter (12 bits). */
+    private static final int MAX_COUNTER = 0xFFF;
+
+    /** Counter starts randomly in the lower half to leave room for increments. */
+    private static final int COUNTER_START_RANGE = 0x800;
+
+    /** Hexadecimal digits. */
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /** One generator per thread. */
+    private static final ThreadLocal < EventIdGenerator > GENERATORS = new ThreadLocal<EventIdGenerator>() {
+        @Override
+        protected EventIdGenerator initialValue() {
+            return new EventIdGenerator(new Random(System.nanoTime() ^ (Thread.currentThread().getId() * 0x9E3779B97F4A7C15L)));
+        }
+    };
+
+    /** Random source of the thread. */
+    private final Random random;
+
+    /** Timestamp of last identifier. */
+    private long lastTimestamp = -1;
+
+    /** Counter within last timestamp. */
+    private int counter;
+
+    /**
+     * Constructor with random source.
+     *
+     * @param random
+     *      random source
+     */
+    EventIdGenerator(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * New identifier for current time.
+     *
+     * @return
+     *      time-ordered identifier
+     */
+    public static String nextId() {
+        return nextId(System.currentTimeMillis());
+    }
+
+    /**
+     * New identifier for a timestamp.
+     *
+     * @param timestamp
+     *      time in milliseconds, usually the timestamp of the event
+     * @return
+     *      time-ordered identifier
+     */
+    public static String nextId(long timestamp) {
+        return GENERATORS.get().next(timestamp);
+    }
+
+    /**
+     * New identifier.
+     *
+     * @param timestamp
+     *      time in milliseconds
+     * @return
+     *      identifier
+     */
+    String next(long timestamp) {
+        if (timestamp > lastTimestamp) {
+            lastTimestamp = timestamp;
+            counter       = random.nextInt(COUNTER_START_RANGE);
+        } else if (++counter > MAX_COUNTER) {
+            // Counter exhausted (or clock went backward too long), borrow next millisecond
+            lastTimestamp++;
+            counter = random.nextInt(COUNTER_START_RANGE);
+        }
+        long msb = (lastTimestamp << 16) | 0x7000L | counter;
+        long lsb = 0x8000000000000000L | (random.nextLong() & 0x3FFFFFFFFFFFFFFFL);
+        return format(msb, lsb);
+    }
+
+    /**
+     * Format as UUID (8-4-4-4-12 hexadecimal digits).
+     *
+     * @param msb
+     *      most significant bits
+     * @param lsb
+     *      least significant bits
+     * @return
+     *      formatted identifier
+     */
+    private static String format(long msb, long lsb) {
+        char[] chars = new char[36];
+        writeHex(chars, 0,  msb >>> 32, 8);
+        chars[8] = '-';
+        writeHex(chars, 9,  msb >>> 16, 4);
+        chars[13] = '-';
+        writeHex(chars, 14, msb, 4);
+        chars[18] = '-';
+        writeHex(chars, 19, lsb >>> 48, 4);
+        chars[23] = '-';
+        writeHex(chars, 24, lsb, 12);
+        return new String(chars);
+    }
+
+    /**
+     * Write lower digits of a value.
+     *
+     * @param chars
+     *      target
+     * @param offset
+     *      first position
+     * @param value
+     *      value
+     * @param digits
+     *      number of hexadecimal digits
+     */
+    private static void writeHex(char[] chars, int offset, long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+}
@@ -23,6 +23,7 @@ package org.ff4j.audit;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadFactory;
@@ -45,6 +46,12 @@ public class EventPublisher {
     /** DEFAULT. */
     public static final int DEFAULT_POOL_SIZE = 4;
     
+    /** DEFAULT. */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    
+    /** DEFAULT. */
+    public static final long DEFAULT_BATCH_WINDOW = 50L;
+    
     /** 2s to save the event other wize skip. */
     public static final long timeout = 2000L;
     
@@ -60,6 +67,12 @@ public class EventPublisher {
     /** flag to shiutdown executor on failure. */
     private final boolean shutdownExecutor;
 
+    /** Asynchronous mode : buffer between publishers and workers (null for synchronous mode). */
+    private final EventRingBuffer ringBuffer;
+
+    /** Asynchronous mode : workers stop when flag is false and buffer is empty. */
+    private volatile boolean running = true;
+
     /**
      * Default constructor.
      */
@@ -96,6 +109,65 @@ public class EventPublisher {
         this.repository = er;
         this.submitTimeout = submitTimeout;
         this.shutdownExecutor = true;
+        this.ringBuffer = null;
+    }
+
+    /**
+     * Asynchronous constructor : {@link #publish(Event)} only puts the event into a bounded
+     * {@link EventRingBuffer} and returns, dedicated workers save events into the repository.
+     *
+     * @param er
+     *      the event repository to use
+     * @param ringBuffer
+     *      buffer between callers and workers
+     * @param poolSize
+     *      number of workers
+     */
+    public EventPublisher(EventRepository er, EventRingBuffer ringBuffer, int poolSize) {
+        this(er, ringBuffer, poolSize, DEFAULT_BATCH_SIZE, DEFAULT_BATCH_WINDOW);
+    }
+
+    /**
+     * Asynchronous constructor with batches : workers drain the buffer and save events with
+     * {@link EventRepository#saveEvents(java.util.Collection)}.
+     *
+     * @param er
+     *      the event repository to use
+     * @param ringBuffer
+     *      buffer between callers and workers
+     * @param poolSize
+     *      number of workers
+     * @param batchSize
+     *      maximum number of events saved in a single call
+     * @param batchWindow
+     *      maximum time in milliseconds before flushing a partial batch
+     */
+    public EventPublisher(EventRepository er, EventRingBuffer ringBuffer, int poolSize, int batchSize, long batchWindow) {
+        if (ringBuffer == null) {
+            throw new IllegalArgumentException("Ring buffer is required for asynchronous publisher");
+        }
+        this.repository       = er;
+        this.ringBuffer       = ringBuffer;
+        this.submitTimeout    = 0;
+        this.shutdownExecutor = true;
+        this.executor         = Executors.newFixedThreadPool(poolSize, new PublisherThreadFactory());
+        for (int i = 0; i < poolSize; i++) {
+            executor.execute(new EventBufferWorker(this, ringBuffer, batchSize, batchWindow));
+        }
+    }
+
+    /**
+     * Asynchronous constructor.
+     *
+     * @param er
+     *      the event repository to use
+     * @param capacity
+     *      capacity of the ring buffer
+     * @param policy
+     *      behaviour when ring buffer is full
+     */
+    public EventPublisher(EventRepository er, int capacity, EventOverflowPolicy policy) {
+        this(er, new EventRingBuffer(capacity, policy), DEFAULT_POOL_SIZE);
     }
 
     /**
@@ -116,6 +188,7 @@ public class EventPublisher {
         executor = executorService;
         this.submitTimeout = submitTimeout;
         this.shutdownExecutor = false;
+        this.ringBuffer = null;
     }
 
     /**
@@ -125,6 +198,11 @@ public class EventPublisher {
      *            event.
      */
     public void publish(Event e) {
+        if (ringBuffer != null) {
+            // Asynchronous mode, never wait for the repository
+            ringBuffer.publish(e);
+            return;
+        }
         try {
             EventWorker ew = new EventWorker(e, repository);
             final Future<Boolean> check = executor.submit(ew);
@@ -141,11 +219,65 @@ public class EventPublisher {
      * be shutdown here.
      */
     public void stop() {
-        if (this.shutdownExecutor) {
+        this.running = false;
+        if (ringBuffer != null) {
+            // Workers flush pending events before leaving
+            this.executor.shutdown();
+        } else if (this.shutdownExecutor) {
             this.executor.shutdownNow();
         }
     }
 
+    /**
+     * Check if events are published asynchronously through a ring buffer.
+     *
+     * @return
+     *      if publisher is asynchronous
+     */
+    public boolean isAsynchronous() {
+        return ringBuffer != null;
+    }
+
+    /**
+     * Number of events accepted by the ring buffer (asynchronous mode only).
+     *
+     * @return
+     *      number of enqueued events
+     */
+    public long getEnqueuedCount() {
+        return (ringBuffer == null) ? 0 : ringBuffer.getEnqueuedCount();
+    }
+
+    /**
+     * Number of events discarded by the ring buffer overflow policy (asynchronous mode only).
+     *
+     * @return
+     *      number of dropped events
+     */
+    public long getDroppedCount() {
+        return (ringBuffer == null) ? 0 : ringBuffer.getDroppedCount();
+    }
+
+    /**
+     * Getter accessor for attribute 'ringBuffer'.
+     *
+     * @return
+     *       current value of 'ringBuffer'
+     */
+    public EventRingBuffer getRingBuffer() {
+        return ringBuffer;
+    }
+
+    /**
+     * Getter accessor for attribute 'running'.
+     *
+     * @return
+     *       current value of 'running'
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
     /**
      * Setter accessor for attribute 'repository'.
      * 
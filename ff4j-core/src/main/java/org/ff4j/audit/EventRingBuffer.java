@@ -0,0 +1,316 @@
+package org.ff4j.audit;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer / multi-consumer queue of {@link Event} used between
+ * {@link org.ff4j.FF4j#check(String)} and the audit workers.
+ *
+ * Each slot carries a sequence number telling producers and consumers whether the slot
+ * is free or filled for the current lap, threads only compete with a CAS on the head or
+ * the tail index. Publishing never blocks : when the buffer is full the {@link EventOverflowPolicy}
+ * decides which event is discarded.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class EventRingBuffer {
+
+    /** DEFAULT. */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    /** DEFAULT. */
+    public static final int DEFAULT_SAMPLE_RATE = 10;
+
+    /** Number of attempts to evict oldest event before giving up. */
+    private static final int MAX_EVICTION = 8;
+
+    /** Events. */
+    private final AtomicReferenceArray < Event > slots;
+
+    /** Sequence of each slot. */
+    private final AtomicLongArray sequences;
+
+    /** capacity - 1 (capacity is a power of 2). */
+    private final int mask;
+
+    /** Next position to write. */
+    private final AtomicLong tail = new AtomicLong(0);
+
+    /** Next position to read. */
+    private final AtomicLong head = new AtomicLong(0);
+
+    /** Behaviour when full. */
+    private final EventOverflowPolicy overflowPolicy;
+
+    /** Keep 1 out of 'sampleRate' events when full and policy is SAMPLE. */
+    private final int sampleRate;
+
+    /** Count rejected publications to sample them. */
+    private final AtomicLong overflowCount = new AtomicLong(0);
+
+    /** Events successfully put in the buffer. */
+    private final AtomicLong enqueuedCount = new AtomicLong(0);
+
+    /** Events discarded (rejected or evicted). */
+    private final AtomicLong droppedCount = new AtomicLong(0);
+
+    /**
+     * Default constructor.
+     */
+    public EventRingBuffer() {
+        this(DEFAULT_CAPACITY, EventOverflowPolicy.DROP_NEWEST);
+    }
+
+    /**
+     * Constructor with capacity and policy.
+     *
+     * @param capacity
+     *      expected capacity, rounded to the next power of 2
+     * @param policy
+     *      behaviour when full
+     */
+    public EventRingBuffer(int capacity, EventOverflowPolicy policy) {
+        this(capacity, policy, DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * Full constructor.
+     *
+     * @param capacity
+     *      expected capacity, rounded to the next power of 2
+     * @param policy
+     *      behaviour when full
+     * @param sampleRate
+     *      when policy is SAMPLE, keep one event out of sampleRate
+     */
+    public EventRingBuffer(int capacity, EventOverflowPolicy policy, int sampleRate) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Overflow policy is required");
+        }
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("Sample rate must be positive");
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.mask           = size - 1;
+        this.slots          = new AtomicReferenceArray<Event>(size);
+        this.sequences      = new AtomicLongArray(size);
+        this.overflowPolicy = policy;
+        this.sampleRate     = sampleRate;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Publish an event without blocking, the overflow policy is applied if the buffer is full.
+     *
+     * @param evt
+     *      current event
+     * @return
+     *      if the event has been enqueued
+     */
+    public boolean publish(Event evt) {
+        if (evt == null) {
+            return false;
+        }
+        if (tryOffer(evt)) {
+            enqueuedCount.incrementAndGet();
+            return true;
+        }
+        switch (overflowPolicy) {
+            case SAMPLE:
+                if (overflowCount.getAndIncrement() % sampleRate != 0) {
+                    droppedCount.incrementAndGet();
+                    return false;
+                }
+                return evictAndOffer(evt);
+            case DROP_OLDEST:
+                return evictAndOffer(evt);
+            default:
+                droppedCount.incrementAndGet();
+                return false;
+        }
+    }
+
+    /**
+     * Remove oldest events until the new one fits.
+     *
+     * @param evt
+     *      current event
+     * @return
+     *      if the event has been enqueued
+     */
+    private boolean evictAndOffer(Event evt) {
+        for (int i = 0; i < MAX_EVICTION; i++) {
+            if (poll() != null) {
+                droppedCount.incrementAndGet();
+            }
+            if (tryOffer(evt)) {
+                enqueuedCount.incrementAndGet();
+                return true;
+            }
+        }
+        droppedCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Insert event if a slot is available.
+     *
+     * @param evt
+     *      current event
+     * @return
+     *      false if buffer is full
+     */
+    private boolean tryOffer(Event evt) {
+        long pos = tail.get();
+        while (true) {
+            int idx  = (int) (pos & mask);
+            long dif = sequences.get(idx) - pos;
+            if (dif == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(idx, evt);
+                    sequences.lazySet(idx, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (dif < 0) {
+                // Slot still used by previous lap : full
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Retrieve and remove oldest event.
+     *
+     * @return
+     *      oldest event or null if empty
+     */
+    public Event poll() {
+        long pos = head.get();
+        while (true) {
+            int idx  = (int) (pos & mask);
+            long dif = sequences.get(idx) - (pos + 1);
+            if (dif == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    Event evt = slots.get(idx);
+                    slots.lazySet(idx, null);
+                    sequences.lazySet(idx, pos + mask + 1);
+                    return evt;
+                }
+                pos = head.get();
+            } else if (dif < 0) {
+                // Slot not yet written : empty
+                return null;
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+
+    /**
+     * Approximative number of pending events.
+     *
+     * @return
+     *      pending events
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        if (size < 0) {
+            return 0;
+        }
+        return (int) Math.min(size, getCapacity());
+    }
+
+    /**
+     * Check if there is no pending events.
+     *
+     * @return
+     *      if empty
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Getter accessor for attribute 'capacity'.
+     *
+     * @return
+     *       current value of 'capacity'
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Getter accessor for attribute 'overflowPolicy'.
+     *
+     * @return
+     *       current value of 'overflowPolicy'
+     */
+    public EventOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Getter accessor for attribute 'sampleRate'.
+     *
+     * @return
+     *       current value of 'sampleRate'
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Getter accessor for attribute 'enqueuedCount'.
+     *
+     * @return
+     *       current value of 'enqueuedCount'
+     */
+    public long getEnqueuedCount() {
+        return enqueuedCount.get();
+    }
+
+    /**
+     * Getter accessor for attribute 'droppedCount'.
+     *
+     * @return
+     *       current value of 'droppedCount'
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+}
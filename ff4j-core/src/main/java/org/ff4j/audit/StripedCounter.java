@@ -0,0 +1,111 @@
+package org.ff4j.audit;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Thread-safe counter optimized for many writers and few readers (same idea as LongAdder).
+ *
+ * Threads first increment a single base value, if a CAS fails because of contention the
+ * counter switches to striped cells (one per thread hash) spaced to avoid false sharing.
+ * Reading sums base and cells, uncontended counters never allocate cells.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public final class StripedCounter {
+
+    /** Number of longs between 2 cells (64 bytes cache line). */
+    private static final int PADDING = 8;
+
+    /** Number of cells (power of 2). */
+    private static final int NB_CELLS;
+
+    static {
+        int cells = 1;
+        int cpus  = Runtime.getRuntime().availableProcessors();
+        while (cells < cpus) {
+            cells <<= 1;
+        }
+        NB_CELLS = cells;
+    }
+
+    /** Uncontended value. */
+    private final AtomicLong base = new AtomicLong(0);
+
+    /** Striped values, created on first contention. */
+    private final AtomicReference < AtomicLongArray > cells = new AtomicReference<AtomicLongArray>();
+
+    /**
+     * Increment counter.
+     */
+    public void inc() {
+        add(1);
+    }
+
+    /**
+     * Add value to counter.
+     *
+     * @param x
+     *      value to add
+     */
+    public void add(long x) {
+        AtomicLongArray cs = cells.get();
+        if (cs == null) {
+            long b = base.get();
+            if (base.compareAndSet(b, b + x)) {
+                return;
+            }
+            // Contention detected, stripe
+            cells.compareAndSet(null, new AtomicLongArray(NB_CELLS * PADDING));
+            cs = cells.get();
+        }
+        int h = (int) Thread.currentThread().getId();
+        h ^= (h >>> 16);
+        cs.addAndGet((h & (NB_CELLS - 1)) * PADDING, x);
+    }
+
+    /**
+     * Current value (not an atomic snapshot under concurrent updates).
+     *
+     * @return
+     *      sum of base and cells
+     */
+    public long sum() {
+        long sum = base.get();
+        AtomicLongArray cs = cells.get();
+        if (cs != null) {
+            for (int i = 0; i < NB_CELLS; i++) {
+                sum += cs.get(i * PADDING);
+            }
+        }
+        return sum;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return String.valueOf(sum());
+    }
+
+}
@@ -134,6 +134,26 @@ public class TimeSeriesChart extends AbstractChart {
     }
     
     
+    /**
+     * Add hits already counted for a slot (e.g. aggregated by a database).
+     *
+     * @param serieName
+     *      target serie id
+     * @param slot
+     *      slot label, formatted with {@link #getSdf()}
+     * @param hits
+     *      number of hits
+     */
+    public void addHits(String serieName, String slot, int hits) {
+        if (!series.containsKey(serieName)) {
+            createNewSerie(serieName);
+        }
+        MutableHitCount mhc = series.get(serieName).getValue().get(slot);
+        if (mhc != null) {
+            mhc.incBy(hits);
+        }
+    }
+    
     /**
      * Create new Serie with existing slots.
      *
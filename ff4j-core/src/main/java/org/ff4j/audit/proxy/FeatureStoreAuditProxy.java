@@ -40,13 +40,14 @@ import org.ff4j.audit.EventBuilder;
 import org.ff4j.audit.EventPublisher;
 import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
+import org.ff4j.store.VersionedFeatureStore;
 
 /**
  * Proxy to publish operation to audit.
  *
  * @author Cedrick Lunven (@clunven)
  */
-public class FeatureStoreAuditProxy implements FeatureStore {
+public class FeatureStoreAuditProxy implements VersionedFeatureStore {
 
     /** Current FeatureStore. */
     private FeatureStore target = null;
@@ -213,6 +214,12 @@ public class FeatureStoreAuditProxy implements FeatureStore {
         return target.read(uid);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readFeatures(Set<String> featureUids) {
+        return target.readFeatures(featureUids);
+    }
+
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
@@ -260,4 +267,18 @@ public class FeatureStoreAuditProxy implements FeatureStore {
 	public FeatureStore getTarget() {
 		return target;
 	}
+
+    /**
+     * Version of the target store, constant if the target store is not versioned.
+     *
+     * @return
+     *      current version
+     */
+    @Override
+    public long getVersion() {
+        if (target instanceof VersionedFeatureStore) {
+            return ((VersionedFeatureStore) target).getVersion();
+        }
+        return 0;
+    }
 }
\ No newline at end of file
@@ -115,6 +115,12 @@ public class PropertyStoreAuditProxy implements PropertyStore {
         return target.readProperty(name);
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Property<?>> readProperties(Set<String> names) {
+        return target.readProperties(names);
+    }
+    
     /** {@inheritDoc} */
     @Override
     public Property<?> readProperty(String name, Property<?> defaultValue) {
@@ -21,6 +21,7 @@ package org.ff4j.audit.repository;
  */
 
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -48,6 +49,15 @@ public interface EventRepository {
      */
     boolean saveEvent(Event e);
     
+    /**
+     * Save a batch of events into store synchronously.
+     * 
+     * @param events
+     *            target events to store
+     * @return if all events have been saved
+     */
+    boolean saveEvents(Collection < Event > events);
+    
     /**
      * Retrieve an event by its unique identifer.
      *
@@ -124,9 +134,12 @@ public interface EventRepository {
     
     /**
      * Search over events.
+     * 
+     * Repositories aggregating feature usage as counters (see {@link InMemoryCounterEventRepository}) do not keep
+     * events and return an empty series : use hit counts and history to count usage.
      *
      * @return
-     *      a list of events
+     *      a list of events, may be empty even if features were used
      */
     EventSeries searchFeatureUsageEvents(EventQueryDefinition query);
     
@@ -0,0 +1,576 @@
+package org.ff4j.audit.repository;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OFF;
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.EventSeries;
+import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.StripedCounter;
+import org.ff4j.audit.chart.Serie;
+import org.ff4j.audit.chart.TimeSeriesChart;
+import org.ff4j.utils.Util;
+
+/**
+ * Implementation of in memory {@link EventRepository} where feature usage is not stored as events
+ * but as pre-aggregated counters.
+ *
+ * Each CHECK_OK event increments a {@link StripedCounter} per time bucket and feature, broken down by
+ * host, source and user. Buckets older than the retention are evicted : memory depends on the number
+ * of features and buckets, not on traffic. Audit trail events (create, toggle...) are still stored as
+ * events by the parent {@link InMemoryEventRepository}, CHECK_OFF events are ignored.
+ *
+ * Hit counts and history are computed from counters, as a consequence {@link #searchFeatureUsageEvents(EventQueryDefinition)}
+ * returns no event. Users are counted up to 'maxUsers' distinct users per feature and bucket, next ones are counted as
+ * {@link #OTHER_USERS} ; set 0 to disable the breakdown by user. Hit counts are clamped to {@link Integer#MAX_VALUE}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class InMemoryCounterEventRepository extends InMemoryEventRepository {
+
+    /** default bucket width : 1 minute. */
+    public static final long DEFAULT_BUCKET_WIDTH = 60 * 1000L;
+
+    /** default retention : 1 day of 1 minute buckets. */
+    public static final int DEFAULT_RETENTION = 24 * 60;
+
+    /** default number of distinct users counted per feature and bucket. */
+    public static final int DEFAULT_MAX_USERS = 1000;
+
+    /** User name of hits beyond 'maxUsers'. */
+    public static final String OTHER_USERS = "others";
+
+    /** User name when not provided. */
+    private static final String ANONYMOUS = "anonymous";
+
+    /** Separator of host and source in combined key. */
+    private static final char KEY_SEPARATOR = '\n';
+
+    /** Breakdown dimensions. */
+    private static final int DIM_HOST = 0;
+    private static final int DIM_SOURCE = 1;
+    private static final int DIM_USER = 2;
+
+    /** Width of a bucket in milliseconds. */
+    private final long bucketWidth;
+
+    /** Number of buckets kept. */
+    private final int retention;
+
+    /** BucketId (timestamp / bucketWidth) -> featureUID -> counters. */
+    private final ConcurrentMap < Long, ConcurrentMap < String, FeatureHitCounters > > buckets =
+            new ConcurrentHashMap<Long, ConcurrentMap<String, FeatureHitCounters>>();
+
+    /** Most recent bucket, used to evict old ones. */
+    private final AtomicLong newestBucket = new AtomicLong(Long.MIN_VALUE);
+
+    /** Distinct users counted per feature and bucket, 0 to disable the breakdown by user. */
+    private volatile int maxUsers = DEFAULT_MAX_USERS;
+
+    /**
+     * Default constructor with 1 minute buckets kept for 1 day.
+     */
+    public InMemoryCounterEventRepository() {
+        this(DEFAULT_BUCKET_WIDTH, DEFAULT_RETENTION);
+    }
+
+    /**
+     * Constructor to tune buckets.
+     *
+     * @param bucketWidth
+     *      width of a bucket in milliseconds
+     * @param retention
+     *      number of buckets kept
+     */
+    public InMemoryCounterEventRepository(long bucketWidth, int retention) {
+        if (bucketWidth < 1 || retention < 1) {
+            throw new IllegalArgumentException("Bucket width and retention must be positive");
+        }
+        this.bucketWidth = bucketWidth;
+        this.retention   = retention;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean saveEvent(Event e) {
+        Util.assertEvent(e);
+        if (ACTION_CHECK_OK.equalsIgnoreCase(e.getAction())) {
+            return count(e);
+        } else if (ACTION_CHECK_OFF.equalsIgnoreCase(e.getAction())) {
+            // Not used by any chart
+            return true;
+        }
+        return super.saveEvent(e);
+    }
+
+    /**
+     * Increment counters for a feature usage.
+     *
+     * @param e
+     *      current event
+     * @return
+     *      false if the event is older than retention
+     */
+    private boolean count(Event e) {
+        long bucketId = e.getTimestamp() / bucketWidth;
+        rollover(bucketId);
+        if (bucketId <= newestBucket.get() - retention) {
+            return false;
+        }
+        ConcurrentMap < String, FeatureHitCounters > features = buckets.get(bucketId);
+        if (features == null) {
+            ConcurrentMap < String, FeatureHitCounters > newFeatures = new ConcurrentHashMap<String, FeatureHitCounters>();
+            features = buckets.putIfAbsent(bucketId, newFeatures);
+            if (features == null) {
+                features = newFeatures;
+            }
+        }
+        FeatureHitCounters counters = features.get(e.getName());
+        if (counters == null) {
+            FeatureHitCounters newCounters = new FeatureHitCounters();
+            counters = features.putIfAbsent(e.getName(), newCounters);
+            if (counters == null) {
+                counters = newCounters;
+            }
+        }
+        counters.inc(e, maxUsers);
+        return true;
+    }
+
+    /**
+     * Evict buckets out of retention when a new bucket is started.
+     *
+     * @param bucketId
+     *      current bucket
+     */
+    private void rollover(long bucketId) {
+        long newest = newestBucket.get();
+        while (bucketId > newest) {
+            if (newestBucket.compareAndSet(newest, bucketId)) {
+                Iterator < Long > keys = buckets.keySet().iterator();
+                while (keys.hasNext()) {
+                    if (keys.next().longValue() <= bucketId - retention) {
+                        keys.remove();
+                    }
+                }
+                return;
+            }
+            newest = newestBucket.get();
+        }
+    }
+
+    /**
+     * Check if a bucket intersects the query.
+     *
+     * @param bucketId
+     *      current bucket
+     * @param query
+     *      current query
+     * @return
+     *      if bucket should be read
+     */
+    private boolean isBucketInQuery(long bucketId, EventQueryDefinition query) {
+        long start = bucketId * bucketWidth;
+        return (start + bucketWidth > query.getFrom()) && (start <= query.getTo());
+    }
+
+    /**
+     * Feature usage only counts CHECK_OK.
+     *
+     * @param query
+     *      current query
+     * @return
+     *      if counters can match
+     */
+    private boolean isCheckQuery(EventQueryDefinition query) {
+        return query.getActionFilters().isEmpty() || query.getActionFilters().contains(ACTION_CHECK_OK);
+    }
+
+    /**
+     * Count hits of a feature in a bucket applying host and source filters.
+     *
+     * @param counters
+     *      counters of the feature
+     * @param query
+     *      current query
+     * @return
+     *      hit count
+     */
+    private long countHits(FeatureHitCounters counters, EventQueryDefinition query) {
+        if (!query.getHostFilters().isEmpty() && !query.getSourceFilters().isEmpty()) {
+            return counters.sum(query.getHostFilters(), query.getSourceFilters());
+        }
+        if (!query.getHostFilters().isEmpty()) {
+            return counters.sum(DIM_HOST, query.getHostFilters());
+        }
+        if (!query.getSourceFilters().isEmpty()) {
+            return counters.sum(DIM_SOURCE, query.getSourceFilters());
+        }
+        return counters.total.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, MutableHitCount> getFeatureUsageHitCount(EventQueryDefinition query) {
+        Map<String, MutableHitCount> hitRatio = new TreeMap<String, MutableHitCount>();
+        if (!isCheckQuery(query)) {
+            return hitRatio;
+        }
+        for (Map.Entry < Long, ConcurrentMap < String, FeatureHitCounters > > bucket : buckets.entrySet()) {
+            if (isBucketInQuery(bucket.getKey(), query)) {
+                for (Map.Entry < String, FeatureHitCounters > feature : bucket.getValue().entrySet()) {
+                    if (query.matchName(feature.getKey())) {
+                        incrementHitCount(hitRatio, feature.getKey(), countHits(feature.getValue(), query));
+                    }
+                }
+            }
+        }
+        return hitRatio;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, MutableHitCount> getHostHitCount(EventQueryDefinition query) {
+        return getDimensionHitCount(query, DIM_HOST);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, MutableHitCount> getSourceHitCount(EventQueryDefinition query) {
+        return getDimensionHitCount(query, DIM_SOURCE);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, MutableHitCount> getUserHitCount(EventQueryDefinition query) {
+        return getDimensionHitCount(query, DIM_USER);
+    }
+
+    /**
+     * Aggregate breakdown counters over features and buckets.
+     *
+     * @param query
+     *      current query
+     * @param dimension
+     *      host, source or user
+     * @return
+     *      hit count per value of the dimension
+     */
+    private Map<String, MutableHitCount> getDimensionHitCount(EventQueryDefinition query, int dimension) {
+        Map<String, MutableHitCount> hitRatio = new TreeMap<String, MutableHitCount>();
+        if (!isCheckQuery(query)) {
+            return hitRatio;
+        }
+        for (Map.Entry < Long, ConcurrentMap < String, FeatureHitCounters > > bucket : buckets.entrySet()) {
+            if (isBucketInQuery(bucket.getKey(), query)) {
+                for (Map.Entry < String, FeatureHitCounters > feature : bucket.getValue().entrySet()) {
+                    if (query.matchName(feature.getKey())) {
+                        for (Map.Entry < String, StripedCounter > entry : feature.getValue().get(dimension).entrySet()) {
+                            incrementHitCount(hitRatio, entry.getKey(), entry.getValue().sum());
+                        }
+                    }
+                }
+            }
+        }
+        return hitRatio;
+    }
+
+    /**
+     * Add value to hit count map.
+     *
+     * @param hitRatio
+     *      target map
+     * @param key
+     *      current key
+     * @param value
+     *      value to add
+     */
+    private void incrementHitCount(Map<String, MutableHitCount> hitRatio, String key, long value) {
+        if (value == 0) {
+            return;
+        }
+        if (!hitRatio.containsKey(key)) {
+            hitRatio.put(key, new MutableHitCount());
+        }
+        incrementClamped(hitRatio.get(key), value);
+    }
+
+    /**
+     * Add a long value to an int hit count, clamped to {@link Integer#MAX_VALUE}.
+     *
+     * @param hitCount
+     *      target hit count
+     * @param value
+     *      value to add (positive)
+     */
+    private static void incrementClamped(MutableHitCount hitCount, long value) {
+        hitCount.incBy((int) Math.min(value, (long) Integer.MAX_VALUE - hitCount.get()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TimeSeriesChart getFeatureUsageHistory(EventQueryDefinition query, TimeUnit units) {
+        TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
+        if (isCheckQuery(query)) {
+            for (Map.Entry < Long, ConcurrentMap < String, FeatureHitCounters > > bucket : buckets.entrySet()) {
+                if (isBucketInQuery(bucket.getKey(), query)) {
+                    String slotName = tsc.getSdf().format(new Date(bucket.getKey() * bucketWidth));
+                    for (Map.Entry < String, FeatureHitCounters > feature : bucket.getValue().entrySet()) {
+                        String currentFeatureName = feature.getKey();
+                        if (query.matchName(currentFeatureName)) {
+                            if (!tsc.getSeries().containsKey(currentFeatureName)) {
+                                tsc.createNewSerie(currentFeatureName);
+                            }
+                            MutableHitCount slot = tsc.getSeries().get(currentFeatureName).getValue().get(slotName);
+                            if (slot != null) {
+                                incrementClamped(slot, countHits(feature.getValue(), query));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        // Recolor series
+        List < String > colors = Util.generateHSVGradient("ee1100", "442299", tsc.getSeries().size());
+        int idxColor = 0;
+        for (Map.Entry<String, Serie<Map<String, MutableHitCount>>> serie : tsc.getSeries().entrySet()) {
+            serie.getValue().setColor(colors.get(idxColor));
+            idxColor++;
+        }
+        return tsc;
+    }
+
+    /**
+     * Feature usage is not stored as events : the result is always empty, use hit counts and history instead.
+     *
+     * @param query
+     *      current query
+     * @return
+     *      empty series
+     */
+    @Override
+    public EventSeries searchFeatureUsageEvents(EventQueryDefinition query) {
+        // Feature usage is not stored as events
+        return new EventSeries();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void purgeFeatureUsage(EventQueryDefinition query) {
+        Iterator < Map.Entry < Long, ConcurrentMap < String, FeatureHitCounters > > > iterBuckets = buckets.entrySet().iterator();
+        while (iterBuckets.hasNext()) {
+            Map.Entry < Long, ConcurrentMap < String, FeatureHitCounters > > bucket = iterBuckets.next();
+            if (isBucketInQuery(bucket.getKey(), query)) {
+                if (query.getNamesFilter().isEmpty()) {
+                    iterBuckets.remove();
+                } else {
+                    bucket.getValue().keySet().removeAll(query.getNamesFilter());
+                }
+            }
+        }
+    }
+
+    /**
+     * Getter accessor for attribute 'bucketWidth'.
+     *
+     * @return
+     *       current value of 'bucketWidth'
+     */
+    public long getBucketWidth() {
+        return bucketWidth;
+    }
+
+    /**
+     * Getter accessor for attribute 'retention'.
+     *
+     * @return
+     *       current value of 'retention'
+     */
+    public int getRetention() {
+        return retention;
+    }
+
+    /**
+     * Getter accessor for attribute 'maxUsers'.
+     *
+     * @return
+     *       current value of 'maxUsers'
+     */
+    public int getMaxUsers() {
+        return maxUsers;
+    }
+
+    /**
+     * Setter accessor for attribute 'maxUsers', 0 to disable the breakdown by user.
+     * @param maxUsers
+     *      new value for 'maxUsers '
+     */
+    public void setMaxUsers(int maxUsers) {
+        if (maxUsers < 0) {
+            throw new IllegalArgumentException("Max users must be positive or 0");
+        }
+        this.maxUsers = maxUsers;
+    }
+
+    /**
+     * Counters of a feature for a bucket.
+     */
+    private static final class FeatureHitCounters {
+
+        /** All hits. */
+        private final StripedCounter total = new StripedCounter();
+
+        /** Hits per host, source and user. */
+        private final ConcurrentMap < String, StripedCounter > hosts   = new ConcurrentHashMap<String, StripedCounter>();
+        private final ConcurrentMap < String, StripedCounter > sources = new ConcurrentHashMap<String, StripedCounter>();
+        private final ConcurrentMap < String, StripedCounter > users   = new ConcurrentHashMap<String, StripedCounter>();
+
+        /** Hits per host and source, to apply both filters. */
+        private final ConcurrentMap < String, StripedCounter > hostSources = new ConcurrentHashMap<String, StripedCounter>();
+
+        /**
+         * Count an event.
+         *
+         * @param e
+         *      current event
+         * @param maxUsers
+         *      distinct users counted, 0 to skip users
+         */
+        private void inc(Event e, int maxUsers) {
+            total.inc();
+            inc(hosts, e.getHostName());
+            inc(sources, e.getSource());
+            if (Util.hasLength(e.getHostName()) && Util.hasLength(e.getSource())) {
+                inc(hostSources, e.getHostName() + KEY_SEPARATOR + e.getSource());
+            }
+            if (maxUsers > 0) {
+                String user = Util.hasLength(e.getUser()) ? e.getUser() : ANONYMOUS;
+                // Size is approximate under contention, the cap can be exceeded by a few users
+                if (users.size() >= maxUsers && !users.containsKey(user)) {
+                    user = OTHER_USERS;
+                }
+                inc(users, user);
+            }
+        }
+
+        /**
+         * Count a value of a dimension.
+         *
+         * @param dimension
+         *      target counters
+         * @param key
+         *      dimension value
+         */
+        private static void inc(ConcurrentMap < String, StripedCounter > dimension, String key) {
+            if (!Util.hasLength(key)) {
+                return;
+            }
+            StripedCounter counter = dimension.get(key);
+            if (counter == null) {
+                StripedCounter newCounter = new StripedCounter();
+                counter = dimension.putIfAbsent(key, newCounter);
+                if (counter == null) {
+                    counter = newCounter;
+                }
+            }
+            counter.inc();
+        }
+
+        /**
+         * Access a dimension.
+         *
+         * @param dimension
+         *      dimension code
+         * @return
+         *      counters of the dimension
+         */
+        private ConcurrentMap < String, StripedCounter > get(int dimension) {
+            switch (dimension) {
+                case DIM_HOST:
+                    return hosts;
+                case DIM_SOURCE:
+                    return sources;
+                default:
+                    return users;
+            }
+        }
+
+        /**
+         * Sum counters of a dimension for some values.
+         *
+         * @param dimension
+         *      dimension code
+         * @param keys
+         *      expected values
+         * @return
+         *      sum of hits
+         */
+        private long sum(int dimension, Set < String > keys) {
+            long sum = 0;
+            ConcurrentMap < String, StripedCounter > counters = get(dimension);
+            for (String key : keys) {
+                StripedCounter counter = counters.get(key);
+                if (counter != null) {
+                    sum += counter.sum();
+                }
+            }
+            return sum;
+        }
+
+        /**
+         * Sum counters of hits matching both host and source values.
+         *
+         * @param hostKeys
+         *      expected hosts
+         * @param sourceKeys
+         *      expected sources
+         * @return
+         *      sum of hits
+         */
+        private long sum(Set < String > hostKeys, Set < String > sourceKeys) {
+            long sum = 0;
+            for (String host : hostKeys) {
+                for (String source : sourceKeys) {
+                    StripedCounter counter = hostSources.get(host + KEY_SEPARATOR + source);
+                    if (counter != null) {
+                        sum += counter.sum();
+                    }
+                }
+            }
+            return sum;
+        }
+    }
+
+}
@@ -27,9 +27,15 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import javax.sql.DataSource;
@@ -67,6 +73,15 @@ public class JdbcEventRepository extends AbstractEventRepository {
     
     /** Mapper to read from SQL result. */
     private static final JdbcEventMapper EVENT_MAPPER = new JdbcEventMapper();
+    
+    /** Rows fetched at once when reading a cursor. */
+    private static final int FETCH_SIZE = 500;
+    
+    /** Database product, read from metadata at first use to select SQL functions. */
+    private volatile String databaseProductName;
+    
+    /** Hits aggregated by minute, hour and day, null if disabled. */
+    private JdbcEventRollup rollup;
 
     /**
      * Constructor from DataSource.
@@ -86,64 +101,56 @@ public class JdbcEventRepository extends AbstractEventRepository {
         if (!isTableExist(ds, qb.getTableNameAudit())) {
             executeUpdate(ds, qb.sqlCreateTableAudit());
         }
+        if (rollup != null) {
+            rollup.createSchema();
+        }
     }
     
     /** {@inheritDoc} */
-    // FIXME Stop dynamic query !
     @Override
     public boolean saveEvent(Event evt) {
         Util.assertEvent(evt);
-        
+        return saveEvents(Collections.singletonList(evt));
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public boolean saveEvents(Collection < Event > events) {
+        if (events == null || events.isEmpty()) {
+            return true;
+        }
         Connection        sqlConn = null;
         PreparedStatement stmt = null;
+        Boolean           previousAutoCommit = null;
         try {
             // Get collection from Pool
             sqlConn = dataSource.getConnection();
            
-            // Open TX Bloc
+            // Open TX Bloc, one commit for the whole batch
+            previousAutoCommit = sqlConn.getAutoCommit();
             sqlConn.setAutoCommit(false);
-            int idx = 9;
-            Map < Integer, String > statementParams = new HashMap<Integer, String>();
             
-            StringBuilder sb = new StringBuilder("INSERT INTO " + getQueryBuilder().getTableNameAudit() + 
-            		"(EVT_UUID,EVT_TIME,EVT_TYPE,EVT_NAME,EVT_ACTION,EVT_HOSTNAME,EVT_SOURCE,EVT_DURATION");
-            if (Util.hasLength(evt.getUser())) {
-                sb.append(", EVT_USER");
-                statementParams.put(idx, evt.getUser());
-                idx++;
-            }
-            if (Util.hasLength(evt.getValue())) {
-                sb.append(", EVT_VALUE");
-                statementParams.put(idx, evt.getValue());
-                idx++;
-            }
-            if (!evt.getCustomKeys().isEmpty()) {
-                sb.append(", EVT_KEYS");
-                statementParams.put(idx, MappingUtil.fromMap(evt.getCustomKeys()));
-                idx++;
-            }
-            
-            sb.append(") VALUES (?");
-            for(int offset = 1; offset < idx-1;offset++) {
-                sb.append(",?");
-            }
-            sb.append(")");
-            
-            stmt = sqlConn.prepareStatement(sb.toString());
-            stmt.setString(1, evt.getUuid());
-            stmt.setTimestamp(2, new java.sql.Timestamp(evt.getTimestamp()));
-            stmt.setString(3, evt.getType());
-            stmt.setString(4, evt.getName());
-            stmt.setString(5, evt.getAction());
-            stmt.setString(6, evt.getHostName());
-            stmt.setString(7, evt.getSource());
-            stmt.setLong(8, evt.getDuration());
-            for (int id = 9;id < idx;id++) {
-                stmt.setString(id, statementParams.get(id));
+            // Same statement for all events, unused columns are set to null
+            stmt = sqlConn.prepareStatement(getQueryBuilder().sqlSaveAudit());
+            for (Event evt : events) {
+                Util.assertEvent(evt);
+                stmt.setString(1, evt.getUuid());
+                stmt.setTimestamp(2, new java.sql.Timestamp(evt.getTimestamp()));
+                stmt.setString(3, evt.getType());
+                stmt.setString(4, evt.getName());
+                stmt.setString(5, evt.getAction());
+                stmt.setString(6, evt.getHostName());
+                stmt.setString(7, evt.getSource());
+                stmt.setLong(8, evt.getDuration());
+                setStringOrNull(stmt, 9,  evt.getUser());
+                setStringOrNull(stmt, 10, evt.getValue());
+                setStringOrNull(stmt, 11, !evt.hasCustomKeys() ? 
+                        null : MappingUtil.fromMap(evt.getCustomKeys()));
+                stmt.addBatch();
             }
             
             // Execute Query
-            stmt.executeUpdate();
+            stmt.executeBatch();
             
             // Commit TX
             sqlConn.commit();
@@ -153,11 +160,31 @@ public class JdbcEventRepository extends AbstractEventRepository {
             throw new AuditAccessException("Cannot insert event into DB (" + exc.getClass() + ") "+ exc.getCause(), exc);
         } finally {
            closeStatement(stmt);
-           closeConnection(sqlConn);
+           closeConnection(sqlConn, previousAutoCommit);
         }
         return true;
     }
     
+    /**
+     * Set optional parameter.
+     *
+     * @param stmt
+     *      current statement
+     * @param idx
+     *      parameter index
+     * @param value
+     *      parameter value
+     * @throws SQLException
+     *      error when setting parameter
+     */
+    private void setStringOrNull(PreparedStatement stmt, int idx, String value) throws SQLException {
+        if (Util.hasLength(value)) {
+            stmt.setString(idx, value);
+        } else {
+            stmt.setNull(idx, Types.VARCHAR);
+        }
+    }
+    
     /** {@inheritDoc} */
     @Override
     public Event getEventByUUID(String uuid, Long timestamp) {
@@ -211,6 +238,10 @@ public class JdbcEventRepository extends AbstractEventRepository {
         Util.assertNotNull(qDef);
         // Enforce remove "checks"
         qDef.getActionFilters().add(ACTION_CHECK_OK);
+        if (rollup != null) {
+            // Before deleting anything
+            rollup.checkPurge(qDef.getFrom(), qDef.getTo());
+        }
         
         Connection          sqlConn = null;
         PreparedStatement   ps = null;
@@ -228,6 +259,9 @@ public class JdbcEventRepository extends AbstractEventRepository {
             closeStatement(ps);
             closeConnection(sqlConn);
         }
+        if (rollup != null) {
+            rollup.purge(qDef.getFrom(), qDef.getTo());
+        }
     }
     
     /** {@inheritDoc} */
@@ -281,6 +315,40 @@ public class JdbcEventRepository extends AbstractEventRepository {
         return hitCount;
     }
     
+    /**
+     * Hit count on a window, read from rollups for compacted slots if enabled.
+     *
+     * @param sqlQuery
+     *      query on raw hits
+     * @param columnName
+     *      grouping column
+     * @param query
+     *      window
+     * @return
+     *      hit count by value of column
+     */
+    private Map<String, MutableHitCount> computeHitCount(String sqlQuery, String columnName, EventQueryDefinition query) {
+        if (rollup == null) {
+            return computeHitCount(sqlQuery, columnName, query.getFrom(), query.getTo());
+        }
+        Map<String, MutableHitCount> hitCount = new HashMap<String, MutableHitCount>();
+        // Raw queries exclude bounds : segment [from, to) is read as ]from - 1, to[
+        for (JdbcEventRollup.Segment segment : rollup.split(query.getFrom() + 1, query.getTo(), TimeUnit.DAYS)) {
+            Map<String, MutableHitCount> segmentHits = (segment.units == null) ? 
+                    computeHitCount(sqlQuery, columnName, segment.from - 1, segment.to) :
+                    rollup.getHitCount(segment, columnName);
+            for (Map.Entry<String, MutableHitCount> hits : segmentHits.entrySet()) {
+                MutableHitCount mhc = hitCount.get(hits.getKey());
+                if (mhc == null) {
+                    hitCount.put(hits.getKey(), hits.getValue());
+                } else {
+                    mhc.incBy(hits.getValue().get());
+                }
+            }
+        }
+        return hitCount;
+    }
+    
     /** {@inheritDoc} */
     @Override
     public EventSeries getAuditTrail(EventQueryDefinition qDef) {
@@ -296,25 +364,25 @@ public class JdbcEventRepository extends AbstractEventRepository {
     /** {@inheritDoc} */
     @Override
     public Map<String, MutableHitCount> getFeatureUsageHitCount(EventQueryDefinition query) {
-        return computeHitCount(getQueryBuilder().getFeaturesHitCount(), COL_EVENT_NAME, query.getFrom(), query.getTo());
+        return computeHitCount(getQueryBuilder().getFeaturesHitCount(), COL_EVENT_NAME, query);
     }
     
     /** {@inheritDoc} */
     @Override
     public Map<String, MutableHitCount> getHostHitCount(EventQueryDefinition query) {
-        return computeHitCount(getQueryBuilder().getHostHitCount(), COL_EVENT_HOSTNAME, query.getFrom(), query.getTo());
+        return computeHitCount(getQueryBuilder().getHostHitCount(), COL_EVENT_HOSTNAME, query);
     }
 
     /** {@inheritDoc} */
     @Override
     public Map<String, MutableHitCount> getUserHitCount(EventQueryDefinition query) {
-        return computeHitCount(getQueryBuilder().getUserHitCount(), COL_EVENT_USER, query.getFrom(), query.getTo());
+        return computeHitCount(getQueryBuilder().getUserHitCount(), COL_EVENT_USER, query);
     }
 
     /** {@inheritDoc} */
     @Override
     public Map<String, MutableHitCount> getSourceHitCount(EventQueryDefinition query) {
-        return computeHitCount(getQueryBuilder().getSourceHitCount(), COL_EVENT_SOURCE, query.getFrom(), query.getTo());
+        return computeHitCount(getQueryBuilder().getSourceHitCount(), COL_EVENT_SOURCE, query);
     }
 
     /** {@inheritDoc} */
@@ -322,14 +390,203 @@ public class JdbcEventRepository extends AbstractEventRepository {
     public TimeSeriesChart getFeatureUsageHistory(EventQueryDefinition query, TimeUnit units) {
         // Create the interval depending on units
         TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
-        // Search All events
-        Iterator<Event> iterEvent = searchFeatureUsageEvents(query).iterator();
-        // Dispatch events into time slots
-        while (iterEvent.hasNext()) {
-            tsc.addEvent(iterEvent.next());
+        Set<String> actions = query.getActionFilters();
+        if (rollup == null || !(actions.isEmpty() || (actions.size() == 1 && actions.contains(ACTION_CHECK_OK)))) {
+            addFeatureUsageHistory(tsc, query, units);
+            return tsc;
+        }
+        // Rollups only hold checks, raw queries exclude bounds : segment [from, to) is read as ]from - 1, to[
+        for (JdbcEventRollup.Segment segment : rollup.split(query.getFrom() + 1, query.getTo(), units)) {
+            if (segment.units == null) {
+                EventQueryDefinition segmentQuery = new EventQueryDefinition(segment.from - 1, segment.to);
+                segmentQuery.setNamesFilter(new HashSet<String>(query.getNamesFilter()));
+                segmentQuery.setActionFilters(new HashSet<String>(actions));
+                segmentQuery.setHostFilters(new HashSet<String>(query.getHostFilters()));
+                segmentQuery.setSourceFilters(new HashSet<String>(query.getSourceFilters()));
+                addFeatureUsageHistory(tsc, segmentQuery, units);
+            } else {
+                rollup.addHistory(tsc, segment, query);
+            }
         }
         return tsc;
     }
+    
+    /**
+     * Add hits of raw events to a chart, counted by the database if possible.
+     *
+     * @param tsc
+     *      target chart
+     * @param query
+     *      window and filters
+     * @param units
+     *      width of time slot
+     */
+    private void addFeatureUsageHistory(TimeSeriesChart tsc, EventQueryDefinition query, TimeUnit units) {
+        Connection          sqlConn = null;
+        PreparedStatement   ps = null;
+        ResultSet           rs = null;
+        Boolean             previousAutoCommit = null;
+        try {
+            sqlConn = getDataSource().getConnection();
+            String truncatedTime = getQueryBuilder().sqlTruncateEventTime(getDatabaseProductName(sqlConn), units);
+            if (truncatedTime != null) {
+                // Hits are counted by the database, one row per feature and slot
+                ps = prepareCursor(sqlConn, getQueryBuilder().getFeatureUsageHistoryQuery(query, truncatedTime), query);
+                rs = ps.executeQuery();
+                long   lastSlotTime = 0;
+                String lastSlot     = null;
+                while (rs.next()) {
+                    long slotTime = rs.getTimestamp("SLOT").getTime();
+                    if (lastSlot == null || slotTime != lastSlotTime) {
+                        lastSlot     = tsc.getSdf().format(new Date(slotTime));
+                        lastSlotTime = slotTime;
+                    }
+                    tsc.addHits(rs.getString(COL_EVENT_NAME), lastSlot, rs.getInt("NB"));
+                }
+            } else {
+                // Some drivers (PostgreSQL) only stream a cursor within a transaction
+                previousAutoCommit = sqlConn.getAutoCommit();
+                sqlConn.setAutoCommit(false);
+                ps = prepareCursor(sqlConn, getQueryBuilder().getFeatureUsageTimesQuery(query), query);
+                rs = ps.executeQuery();
+                countHitsBySlot(rs, tsc, units);
+                sqlConn.commit();
+            }
+        } catch (SQLException sqlEX) {
+            throw new AuditAccessException(CANNOT_READ_AUDITTABLE, sqlEX);
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+            closeConnection(sqlConn, previousAutoCommit);
+        }
+    }
+    
+    /**
+     * Forward-only statement, rows are fetched by chunks and never all held in memory.
+     *
+     * @param sqlConn
+     *      current connection
+     * @param sqlQuery
+     *      query with time interval as first parameters
+     * @param query
+     *      query definition
+     * @return
+     *      statement ready to execute
+     * @throws SQLException
+     *      error when preparing statement
+     */
+    private PreparedStatement prepareCursor(Connection sqlConn, String sqlQuery, EventQueryDefinition query) 
+    throws SQLException {
+        PreparedStatement ps = sqlConn.prepareStatement(sqlQuery, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(FETCH_SIZE);
+        ps.setTimestamp(1, new Timestamp(query.getFrom()));
+        ps.setTimestamp(2, new Timestamp(query.getTo()));
+        return ps;
+    }
+    
+    /**
+     * Count hits of events ordered by time : only the counters of current slot are kept and the slot label is computed
+     * once per slot.
+     *
+     * @param rs
+     *      names and times of events, ordered by time
+     * @param tsc
+     *      target chart
+     * @param units
+     *      width of time slot
+     * @throws SQLException
+     *      error when reading results
+     */
+    private void countHitsBySlot(ResultSet rs, TimeSeriesChart tsc, TimeUnit units) throws SQLException {
+        Map < String, MutableHitCount > slotHits = new HashMap<String, MutableHitCount>();
+        String slot      = null;
+        long   slotStart = 0;
+        long   slotEnd   = 0;
+        while (rs.next()) {
+            long time = rs.getTimestamp(COL_EVENT_TIME).getTime();
+            if (slot == null || time < slotStart || time >= slotEnd) {
+                addHits(tsc, slot, slotHits);
+                Calendar c = startOfSlot(time, units);
+                slotStart = c.getTimeInMillis();
+                slot      = tsc.getSdf().format(c.getTime());
+                c.add(slotField(units), 1);
+                slotEnd   = c.getTimeInMillis();
+            }
+            String name = rs.getString(COL_EVENT_NAME);
+            MutableHitCount mhc = slotHits.get(name);
+            if (mhc == null) {
+                slotHits.put(name, new MutableHitCount(1));
+            } else {
+                mhc.inc();
+            }
+        }
+        addHits(tsc, slot, slotHits);
+    }
+    
+    /**
+     * Flush counters of a slot into chart.
+     */
+    private void addHits(TimeSeriesChart tsc, String slot, Map < String, MutableHitCount > slotHits) {
+        for (Map.Entry < String, MutableHitCount > hits : slotHits.entrySet()) {
+            tsc.addHits(hits.getKey(), slot, hits.getValue().get());
+        }
+        slotHits.clear();
+    }
+    
+    /**
+     * Beginning of the time slot of an instant, as {@link TimeSeriesChart} slots.
+     */
+    private static Calendar startOfSlot(long time, TimeUnit units) {
+        Calendar c = Calendar.getInstance();
+        c.setTimeInMillis(time);
+        c.set(Calendar.MILLISECOND, 0);
+        switch (units) {
+            case DAYS:
+                c.set(Calendar.HOUR_OF_DAY, 0);
+                c.set(Calendar.MINUTE, 0);
+                c.set(Calendar.SECOND, 0);
+            break;
+            case HOURS:
+                c.set(Calendar.MINUTE, 0);
+                c.set(Calendar.SECOND, 0);
+            break;
+            case MINUTES:
+                c.set(Calendar.SECOND, 0);
+            break;
+            default:
+            break;
+        }
+        return c;
+    }
+    
+    /**
+     * Calendar field of the time slot, as {@link TimeSeriesChart} slots.
+     */
+    private static int slotField(TimeUnit units) {
+        switch (units) {
+            case DAYS:    return Calendar.DAY_OF_MONTH;
+            case HOURS:   return Calendar.HOUR_OF_DAY;
+            case MINUTES: return Calendar.MINUTE;
+            default:      return Calendar.SECOND;
+        }
+    }
+    
+    /**
+     * Database product name, read once.
+     *
+     * @param sqlConn
+     *      current connection
+     * @return
+     *      product name
+     * @throws SQLException
+     *      error when reading metadata
+     */
+    private String getDatabaseProductName(Connection sqlConn) throws SQLException {
+        if (databaseProductName == null) {
+            databaseProductName = sqlConn.getMetaData().getDatabaseProductName();
+        }
+        return databaseProductName;
+    }
    
     /**
      * Getter accessor for attribute 'dataSource'.
@@ -366,4 +623,37 @@ public class JdbcEventRepository extends AbstractEventRepository {
 	public void setQueryBuilder(JdbcQueryBuilder queryBuilder) {
 		this.queryBuilder = queryBuilder;
 	}
+
+    /**
+     * Getter accessor for attribute 'rollup'.
+     *
+     * @return
+     *       current value of 'rollup'
+     */
+    public JdbcEventRollup getRollup() {
+        return rollup;
+    }
+
+    /**
+     * Setter accessor for attribute 'rollup', create it with {@link #enableRollup()}.
+     * @param rollup
+     *      new value for 'rollup '
+     */
+    public void setRollup(JdbcEventRollup rollup) {
+        this.rollup = rollup;
+    }
+    
+    /**
+     * Aggregate hits by minute, hour and day on the datasource and query builder of this repository : call
+     * {@link #createSchema()} then {@link JdbcEventRollup#startCompaction(long)} or {@link JdbcEventRollup#compact()}.
+     *
+     * @return
+     *      rollup, to configure retention and compaction
+     */
+    public JdbcEventRollup enableRollup() {
+        if (rollup == null) {
+            rollup = new JdbcEventRollup(getDataSource(), getQueryBuilder());
+        }
+        return rollup;
+    }
 }
@@ -0,0 +1,820 @@
+package org.ff4j.audit.repository;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_HOSTNAME;
+import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_NAME;
+import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_SOURCE;
+import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_TIME;
+import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_USER;
+import static org.ff4j.store.JdbcStoreConstants.COL_ROLLUP_HITS;
+import static org.ff4j.store.JdbcStoreConstants.COL_ROLLUP_SLOT;
+import static org.ff4j.store.JdbcStoreConstants.ROLLUP_NO_USER;
+import static org.ff4j.utils.JdbcUtils.closeConnection;
+import static org.ff4j.utils.JdbcUtils.closeResultSet;
+import static org.ff4j.utils.JdbcUtils.closeStatement;
+import static org.ff4j.utils.JdbcUtils.executeUpdate;
+import static org.ff4j.utils.JdbcUtils.isTableExist;
+import static org.ff4j.utils.JdbcUtils.rollback;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.chart.TimeSeriesChart;
+import org.ff4j.exception.AuditAccessException;
+import org.ff4j.store.JdbcQueryBuilder;
+
+/**
+ * Hits of features aggregated by minute, hour and day for {@link JdbcEventRepository}.
+ *
+ * {@link #compact()} counts the hits of closed minutes by feature, host, source and user into the minute table, then the
+ * closed hours and days from the finer table. Raw hits are purged once compacted and older than 'retention'. Each table
+ * covers everything before its last slot : hit counts and history read the coarsest table for the slots it covers and
+ * finer tables, then raw events, for the edges of the window.
+ *
+ * Compaction can run on several nodes, the primary keys of rollup tables reject a slot compacted twice and the node
+ * rolls back. Failures of background compaction are counted and the last one is kept, see {@link #getCompactionErrors()}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class JdbcEventRollup {
+
+    /** Rollup levels, from finest. */
+    static final TimeUnit[] LEVELS = { TimeUnit.MINUTES, TimeUnit.HOURS, TimeUnit.DAYS };
+
+    /** Default retention of compacted raw hits : 7 days. */
+    public static final long DEFAULT_RETENTION = 7L * 24 * 60 * 60 * 1000;
+
+    /** Default delay before compacting a minute, for events saved late : 1 minute. */
+    public static final long DEFAULT_COMPACTION_DELAY = 60 * 1000;
+
+    /** Rows fetched at once when reading a cursor. */
+    private static final int FETCH_SIZE = 500;
+
+    /** Access to storage. */
+    private final DataSource dataSource;
+
+    /** Query builder. */
+    private final JdbcQueryBuilder queryBuilder;
+
+    /** Raw hits older than this delay (milliseconds) are purged once compacted, 0 or negative to keep them. */
+    private long retention = DEFAULT_RETENTION;
+
+    /** Minutes are compacted this delay (milliseconds) after their end. */
+    private long compactionDelay = DEFAULT_COMPACTION_DELAY;
+
+    /** Background compaction. */
+    private ScheduledExecutorService executor;
+
+    /** Failed background compactions. */
+    private final AtomicLong compactionErrors = new AtomicLong();
+
+    /** Last failure of background compaction, null if none. */
+    private volatile RuntimeException lastCompactionError;
+
+    /**
+     * Constructor with storage.
+     *
+     * @param dataSource
+     *      datasource of audit table
+     * @param queryBuilder
+     *      query builder of repository (table names)
+     */
+    public JdbcEventRollup(DataSource dataSource, JdbcQueryBuilder queryBuilder) {
+        this.dataSource   = dataSource;
+        this.queryBuilder = queryBuilder;
+    }
+
+    /**
+     * Create rollup tables if they do not exist.
+     */
+    public void createSchema() {
+        for (TimeUnit level : LEVELS) {
+            if (!isTableExist(dataSource, queryBuilder.getTableNameAuditRollup(level))) {
+                executeUpdate(dataSource, queryBuilder.sqlCreateTableAuditRollup(level));
+            }
+        }
+    }
+
+    /**
+     * Compact closed slots of every level and purge compacted raw hits older than retention.
+     */
+    public synchronized void compact() {
+        long now = System.currentTimeMillis();
+        // Raw hits into minutes
+        Long start = readSlot(queryBuilder.getRollupLastSlot(TimeUnit.MINUTES), TimeUnit.MINUTES);
+        if (start == null) {
+            start = readTime(queryBuilder.getFeatureUsageFirstTime());
+        }
+        compact(null, TimeUnit.MINUTES, start, floor(now - compactionDelay, TimeUnit.MINUTES));
+        // Minutes into hours, then hours into days
+        for (int level = 1; level < LEVELS.length; level++) {
+            TimeUnit source = LEVELS[level - 1];
+            TimeUnit target = LEVELS[level];
+            Long end = readSlot(queryBuilder.getRollupLastSlot(source), source);
+            start = readSlot(queryBuilder.getRollupLastSlot(target), target);
+            if (start == null) {
+                start = readTime(queryBuilder.getRollupFirstSlot(source));
+            }
+            if (end != null) {
+                compact(source, target, start, floor(end, target));
+            }
+        }
+        // Purge raw hits
+        Long compacted = readSlot(queryBuilder.getRollupLastSlot(TimeUnit.MINUTES), TimeUnit.MINUTES);
+        if (retention > 0 && compacted != null) {
+            purgeRaw(Math.min(compacted, now - retention));
+        }
+    }
+
+    /**
+     * Compact a level chunk by chunk, each chunk in its own transaction.
+     *
+     * @param source
+     *      finer level, null for raw hits
+     * @param target
+     *      compacted level
+     * @param from
+     *      first time to compact (included), null if nothing to compact
+     * @param to
+     *      end of last slot to compact (excluded)
+     */
+    private void compact(TimeUnit source, TimeUnit target, Long from, long to) {
+        if (from == null) {
+            return;
+        }
+        long chunkStart = floor(from, target);
+        while (chunkStart < to) {
+            long chunkEnd = Math.min(to, floor(chunkStart + chunkWidth(target), target));
+            compactChunk(source, target, chunkStart, chunkEnd, false);
+            chunkStart = chunkEnd;
+        }
+    }
+
+    /**
+     * Aggregate hits of a chunk by slot and key, then save them.
+     *
+     * @param source
+     *      finer level, null for raw hits
+     * @param target
+     *      compacted level
+     * @param from
+     *      beginning of first slot
+     * @param to
+     *      end of last slot
+     * @param replace
+     *      delete existing slots of target in the same transaction (compute them again)
+     */
+    private void compactChunk(TimeUnit source, TimeUnit target, long from, long to, boolean replace) {
+        Connection          sqlConn = null;
+        PreparedStatement   ps = null;
+        ResultSet           rs = null;
+        Boolean             previousAutoCommit = null;
+        Map < RollupKey, MutableHitCount > hits = new HashMap<RollupKey, MutableHitCount>();
+        try {
+            sqlConn = dataSource.getConnection();
+            previousAutoCommit = sqlConn.getAutoCommit();
+            sqlConn.setAutoCommit(false);
+            if (replace) {
+                ps = sqlConn.prepareStatement(queryBuilder.getPurgeAuditRollup(target));
+                ps.setTimestamp(1, new Timestamp(from));
+                ps.setTimestamp(2, new Timestamp(to));
+                ps.executeUpdate();
+                closeStatement(ps);
+            }
+            ps = prepareCursor(sqlConn, (source == null) ?
+                    queryBuilder.getFeatureUsageToCompact() : queryBuilder.getRollupToCompact(source), from, to);
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                long time = rs.getTimestamp((source == null) ? COL_EVENT_TIME : COL_ROLLUP_SLOT).getTime();
+                RollupKey key = new RollupKey(floor(time, target),
+                        rs.getString(COL_EVENT_NAME), rs.getString(COL_EVENT_HOSTNAME),
+                        rs.getString(COL_EVENT_SOURCE), rs.getString(COL_EVENT_USER));
+                int count = (source == null) ? 1 : rs.getInt(COL_ROLLUP_HITS);
+                MutableHitCount mhc = hits.get(key);
+                if (mhc == null) {
+                    hits.put(key, new MutableHitCount(count));
+                } else {
+                    mhc.incBy(count);
+                }
+            }
+            closeResultSet(rs);
+            rs = null;
+            closeStatement(ps);
+            ps = null;
+            if (!hits.isEmpty()) {
+                ps = sqlConn.prepareStatement(queryBuilder.sqlSaveAuditRollup(target));
+                for (Map.Entry < RollupKey, MutableHitCount > hit : hits.entrySet()) {
+                    RollupKey key = hit.getKey();
+                    ps.setTimestamp(1, new Timestamp(key.slot));
+                    ps.setString(2, key.name);
+                    ps.setString(3, key.host);
+                    ps.setString(4, key.source);
+                    ps.setString(5, key.user);
+                    ps.setInt(6, hit.getValue().get());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            sqlConn.commit();
+        } catch (SQLException sqlEX) {
+            rollback(sqlConn);
+            throw new AuditAccessException("Cannot compact hits into " + queryBuilder.getTableNameAuditRollup(target), sqlEX);
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+            closeConnection(sqlConn, previousAutoCommit);
+        }
+    }
+
+    /**
+     * Delete compacted raw hits.
+     *
+     * @param before
+     *      raw hits before this time are deleted
+     */
+    private void purgeRaw(long before) {
+        Connection          sqlConn = null;
+        PreparedStatement   ps = null;
+        try {
+            sqlConn = dataSource.getConnection();
+            ps = sqlConn.prepareStatement(queryBuilder.getPurgeCompactedFeatureUsage());
+            ps.setTimestamp(1, new Timestamp(before));
+            ps.executeUpdate();
+        } catch (SQLException sqlEX) {
+            throw new AuditAccessException("Cannot purge compacted hits", sqlEX);
+        } finally {
+            closeStatement(ps);
+            closeConnection(sqlConn);
+        }
+    }
+
+    /**
+     * Delete rollups of a window, as raw hits are purged. Slots inside the window are deleted, compacted slots cut by the
+     * window are computed again from the finer level (raw hits for minutes), finest level first.
+     *
+     * @param from
+     *      beginning of window (excluded)
+     * @param to
+     *      end of window (excluded)
+     * @throws IllegalArgumentException
+     *      the window cuts a compacted minute whose raw hits may be purged, see {@link #checkPurge(long, long)}
+     */
+    public synchronized void purge(long from, long to) {
+        checkPurge(from, to);
+        long first = from + 1;
+        if (first >= to) {
+            return;
+        }
+        for (int level = 0; level < LEVELS.length; level++) {
+            TimeUnit units = LEVELS[level];
+            long start = ceil(first, units);
+            long end   = floor(to, units);
+            if (start < end) {
+                deleteSlots(units, start, end);
+            }
+            Long compactedUntil = readSlot(queryBuilder.getRollupLastSlot(units), units);
+            for (long slot : cutSlots(first, to, units)) {
+                // Slots not compacted yet will be computed from purged finer level
+                if (compactedUntil != null && slot < compactedUntil) {
+                    compactChunk((level == 0) ? null : LEVELS[level - 1], units, slot, next(slot, units), true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check that rollups can be purged on a window : a compacted minute cut by the window is computed again from raw hits,
+     * which must not have been purged (older than 'retention'). Windows aligned on minutes can always be purged.
+     *
+     * @param from
+     *      beginning of window (excluded)
+     * @param to
+     *      end of window (excluded)
+     * @throws IllegalArgumentException
+     *      window cannot be purged
+     */
+    void checkPurge(long from, long to) {
+        if (retention <= 0 || from + 1 >= to) {
+            return;
+        }
+        Long compactedUntil = readSlot(queryBuilder.getRollupLastSlot(TimeUnit.MINUTES), TimeUnit.MINUTES);
+        long rawKeptFrom    = System.currentTimeMillis() - retention;
+        for (long slot : cutSlots(from + 1, to, TimeUnit.MINUTES)) {
+            if (compactedUntil != null && slot < compactedUntil && slot < rawKeptFrom) {
+                throw new IllegalArgumentException("Cannot purge hits between " + from + " and " + to
+                        + " : raw hits of minute " + new Date(slot) + " may be purged, align window on minutes");
+            }
+        }
+    }
+
+    /**
+     * Slots containing the first or the last time of a window, and not inside the window.
+     *
+     * @param first
+     *      first time of window (included)
+     * @param to
+     *      end of window (excluded)
+     * @param units
+     *      width of slots
+     * @return
+     *      beginning of slots cut by the window
+     */
+    private List < Long > cutSlots(long first, long to, TimeUnit units) {
+        List < Long > slots = new ArrayList<Long>(2);
+        for (long slot : new long[] { floor(first, units), floor(to - 1, units) }) {
+            if ((slot < first || next(slot, units) > to) && !slots.contains(slot)) {
+                slots.add(slot);
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Delete slots of a level.
+     *
+     * @param units
+     *      level
+     * @param from
+     *      beginning of first slot (included)
+     * @param to
+     *      end of last slot (excluded)
+     */
+    private void deleteSlots(TimeUnit units, long from, long to) {
+        Connection          sqlConn = null;
+        PreparedStatement   ps = null;
+        try {
+            sqlConn = dataSource.getConnection();
+            ps = sqlConn.prepareStatement(queryBuilder.getPurgeAuditRollup(units));
+            ps.setTimestamp(1, new Timestamp(from));
+            ps.setTimestamp(2, new Timestamp(to));
+            ps.executeUpdate();
+        } catch (SQLException sqlEX) {
+            throw new AuditAccessException("Cannot purge " + queryBuilder.getTableNameAuditRollup(units), sqlEX);
+        } finally {
+            closeStatement(ps);
+            closeConnection(sqlConn);
+        }
+    }
+
+    /**
+     * Split a window into segments read from the coarsest level covering them, up to 'coarsest'.
+     *
+     * @param from
+     *      beginning of window (included)
+     * @param to
+     *      end of window (excluded)
+     * @param coarsest
+     *      coarsest level allowed
+     * @return
+     *      segments, level is null for raw hits
+     */
+    List < Segment > split(long from, long to, TimeUnit coarsest) {
+        int maxLevel = -1;
+        for (int level = 0; level < LEVELS.length && LEVELS[level].compareTo(coarsest) <= 0; level++) {
+            maxLevel = level;
+        }
+        long[] compactedUntil = new long[maxLevel + 1];
+        for (int level = 0; level <= maxLevel; level++) {
+            Long last = readSlot(queryBuilder.getRollupLastSlot(LEVELS[level]), LEVELS[level]);
+            compactedUntil[level] = (last == null) ? Long.MIN_VALUE : last;
+        }
+        List < Segment > segments = new ArrayList<Segment>();
+        split(from, to, maxLevel, compactedUntil, segments);
+        return segments;
+    }
+
+    /** Recursive split, coarsest level first. */
+    private void split(long from, long to, int level, long[] compactedUntil, List < Segment > segments) {
+        if (from >= to) {
+            return;
+        }
+        if (level < 0) {
+            segments.add(new Segment(from, to, null));
+            return;
+        }
+        TimeUnit units = LEVELS[level];
+        long start = ceil(from, units);
+        long end   = Math.min(floor(to, units), compactedUntil[level]);
+        if (start >= end) {
+            split(from, to, level - 1, compactedUntil, segments);
+            return;
+        }
+        split(from, start, level - 1, compactedUntil, segments);
+        segments.add(new Segment(start, end, units));
+        split(end, to, level - 1, compactedUntil, segments);
+    }
+
+    /**
+     * Hit count of a segment by column (feature, host, source or user).
+     *
+     * @param segment
+     *      slots of a level
+     * @param columnName
+     *      grouping column
+     * @return
+     *      hit count by value of column
+     */
+    Map < String, MutableHitCount > getHitCount(Segment segment, String columnName) {
+        Connection          sqlConn = null;
+        PreparedStatement   ps = null;
+        ResultSet           rs = null;
+        Map < String, MutableHitCount > hitCount = new HashMap<String, MutableHitCount>();
+        try {
+            sqlConn = dataSource.getConnection();
+            ps = prepareCursor(sqlConn, queryBuilder.getRollupHitCount(segment.units, columnName), segment.from, segment.to);
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                String value = rs.getString(columnName);
+                if (COL_EVENT_USER.equals(columnName) && ROLLUP_NO_USER.equals(value)) {
+                    value = null;
+                }
+                hitCount.put(value, new MutableHitCount(rs.getInt("NB")));
+            }
+        } catch (SQLException sqlEX) {
+            throw new AuditAccessException(JdbcEventRepository.CANNOT_READ_AUDITTABLE, sqlEX);
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+            closeConnection(sqlConn);
+        }
+        return hitCount;
+    }
+
+    /**
+     * Add hits of a segment to a chart.
+     *
+     * @param tsc
+     *      target chart
+     * @param segment
+     *      slots of a level
+     * @param query
+     *      query definition (filters)
+     */
+    void addHistory(TimeSeriesChart tsc, Segment segment, EventQueryDefinition query) {
+        Connection          sqlConn = null;
+        PreparedStatement   ps = null;
+        ResultSet           rs = null;
+        try {
+            sqlConn = dataSource.getConnection();
+            ps = prepareCursor(sqlConn, queryBuilder.getRollupHistoryQuery(segment.units, query), segment.from, segment.to);
+            rs = ps.executeQuery();
+            long   lastSlotTime = 0;
+            String lastSlot     = null;
+            while (rs.next()) {
+                long slotTime = rs.getTimestamp(COL_ROLLUP_SLOT).getTime();
+                if (lastSlot == null || slotTime != lastSlotTime) {
+                    lastSlot     = tsc.getSdf().format(new Date(slotTime));
+                    lastSlotTime = slotTime;
+                }
+                tsc.addHits(rs.getString(COL_EVENT_NAME), lastSlot, rs.getInt("NB"));
+            }
+        } catch (SQLException sqlEX) {
+            throw new AuditAccessException(JdbcEventRepository.CANNOT_READ_AUDITTABLE, sqlEX);
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+            closeConnection(sqlConn);
+        }
+    }
+
+    /**
+     * Compact on a fixed delay basis, in a daemon thread. Storage errors are retried at next run, other errors stop the
+     * compaction. Both are counted, see {@link #getCompactionErrors()} and {@link #getLastCompactionError()}.
+     *
+     * @param delay
+     *      delay between 2 compactions in milliseconds
+     */
+    public synchronized void startCompaction(long delay) {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "FF4j_AuditRollupWorker");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+            executor.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        compact();
+                    } catch (AuditAccessException ex) {
+                        // Chunk rolled back (or compacted by another node), retry at next run
+                        compactionFailed(ex);
+                    } catch (RuntimeException ex) {
+                        // Not a storage error, retrying would fail the same way : stop compaction
+                        compactionFailed(ex);
+                        throw ex;
+                    }
+                }
+            }, delay, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stop compaction.
+     */
+    public synchronized void stopCompaction() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Record a failure of background compaction.
+     *
+     * @param ex
+     *      error raised by {@link #compact()}
+     */
+    private void compactionFailed(RuntimeException ex) {
+        lastCompactionError = ex;
+        compactionErrors.incrementAndGet();
+    }
+
+    /**
+     * Forward-only statement on a time interval.
+     */
+    private PreparedStatement prepareCursor(Connection sqlConn, String sqlQuery, long from, long to) throws SQLException {
+        PreparedStatement ps = sqlConn.prepareStatement(sqlQuery, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(FETCH_SIZE);
+        ps.setTimestamp(1, new Timestamp(from));
+        ps.setTimestamp(2, new Timestamp(to));
+        return ps;
+    }
+
+    /**
+     * Read a single time.
+     *
+     * @param sqlQuery
+     *      query returning one timestamp
+     * @return
+     *      time, null if no row
+     */
+    private Long readTime(String sqlQuery) {
+        Connection          sqlConn = null;
+        PreparedStatement   ps = null;
+        ResultSet           rs = null;
+        try {
+            sqlConn = dataSource.getConnection();
+            ps = sqlConn.prepareStatement(sqlQuery);
+            rs = ps.executeQuery();
+            if (rs.next() && rs.getTimestamp(1) != null) {
+                return rs.getTimestamp(1).getTime();
+            }
+            return null;
+        } catch (SQLException sqlEX) {
+            throw new AuditAccessException(JdbcEventRepository.CANNOT_READ_AUDITTABLE, sqlEX);
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+            closeConnection(sqlConn);
+        }
+    }
+
+    /**
+     * End of a slot read from a table.
+     *
+     * @param sqlQuery
+     *      query returning beginning of slot
+     * @param units
+     *      width of slot
+     * @return
+     *      end of slot, null if no row
+     */
+    private Long readSlot(String sqlQuery, TimeUnit units) {
+        Long slot = readTime(sqlQuery);
+        return (slot == null) ? null : next(slot, units);
+    }
+
+    /**
+     * Width of chunks compacted in one transaction, limits the number of keys held in memory.
+     */
+    private static long chunkWidth(TimeUnit units) {
+        switch (units) {
+            case MINUTES: return TimeUnit.HOURS.toMillis(1);
+            case HOURS:   return TimeUnit.DAYS.toMillis(1);
+            default:      return TimeUnit.DAYS.toMillis(31);
+        }
+    }
+
+    /**
+     * Beginning of the slot containing a time (local time).
+     *
+     * @param time
+     *      epoch millis
+     * @param units
+     *      width of slot : minutes, hours or days
+     * @return
+     *      beginning of slot
+     */
+    static long floor(long time, TimeUnit units) {
+        if (units == TimeUnit.MINUTES) {
+            // Time zones offsets are whole minutes
+            long width = TimeUnit.MINUTES.toMillis(1);
+            long mod   = time % width;
+            return time - ((mod < 0) ? mod + width : mod);
+        }
+        Calendar c = Calendar.getInstance();
+        c.setTimeInMillis(time);
+        c.set(Calendar.MILLISECOND, 0);
+        c.set(Calendar.SECOND, 0);
+        c.set(Calendar.MINUTE, 0);
+        if (units == TimeUnit.DAYS) {
+            c.set(Calendar.HOUR_OF_DAY, 0);
+        }
+        return c.getTimeInMillis();
+    }
+
+    /**
+     * Beginning of the first slot starting at or after a time.
+     */
+    static long ceil(long time, TimeUnit units) {
+        long floor = floor(time, units);
+        return (floor == time) ? floor : next(floor, units);
+    }
+
+    /**
+     * Beginning of next slot.
+     */
+    static long next(long slot, TimeUnit units) {
+        Calendar c = Calendar.getInstance();
+        c.setTimeInMillis(slot);
+        switch (units) {
+            case MINUTES: c.add(Calendar.MINUTE, 1);       break;
+            case HOURS:   c.add(Calendar.HOUR_OF_DAY, 1);  break;
+            default:      c.add(Calendar.DAY_OF_MONTH, 1); break;
+        }
+        return c.getTimeInMillis();
+    }
+
+    /**
+     * Getter accessor for attribute 'retention'.
+     *
+     * @return
+     *       current value of 'retention'
+     */
+    public long getRetention() {
+        return retention;
+    }
+
+    /**
+     * Setter accessor for attribute 'retention'.
+     * @param retention
+     *      new value for 'retention '
+     */
+    public void setRetention(long retention) {
+        this.retention = retention;
+    }
+
+    /**
+     * Getter accessor for attribute 'compactionDelay'.
+     *
+     * @return
+     *       current value of 'compactionDelay'
+     */
+    public long getCompactionDelay() {
+        return compactionDelay;
+    }
+
+    /**
+     * Setter accessor for attribute 'compactionDelay'.
+     * @param compactionDelay
+     *      new value for 'compactionDelay '
+     */
+    public void setCompactionDelay(long compactionDelay) {
+        this.compactionDelay = compactionDelay;
+    }
+
+    /**
+     * Getter accessor for attribute 'compactionErrors'.
+     *
+     * @return
+     *       number of failed background compactions
+     */
+    public long getCompactionErrors() {
+        return compactionErrors.get();
+    }
+
+    /**
+     * Getter accessor for attribute 'lastCompactionError'.
+     *
+     * @return
+     *       last failure of background compaction, null if none
+     */
+    public RuntimeException getLastCompactionError() {
+        return lastCompactionError;
+    }
+
+    /**
+     * Part of a window read from one level.
+     */
+    static final class Segment {
+
+        /** Beginning (included). */
+        final long from;
+
+        /** End (excluded). */
+        final long to;
+
+        /** Level, null for raw hits. */
+        final TimeUnit units;
+
+        /** Constructor with fields. */
+        Segment(long from, long to, TimeUnit units) {
+            this.from  = from;
+            this.to    = to;
+            this.units = units;
+        }
+    }
+
+    /**
+     * Key of a rollup row.
+     */
+    private static final class RollupKey {
+
+        /** Beginning of slot. */
+        private final long slot;
+
+        /** Feature. */
+        private final String name;
+
+        /** Host. */
+        private final String host;
+
+        /** Source. */
+        private final String source;
+
+        /** User, never null. */
+        private final String user;
+
+        /** Constructor with fields. */
+        private RollupKey(long slot, String name, String host, String source, String user) {
+            this.slot   = slot;
+            this.name   = name;
+            this.host   = host;
+            this.source = source;
+            this.user   = (user == null || user.length() == 0) ? ROLLUP_NO_USER : user;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof RollupKey)) {
+                return false;
+            }
+            RollupKey other = (RollupKey) obj;
+            return slot == other.slot && name.equals(other.name) && host.equals(other.host)
+                    && source.equals(other.source) && user.equals(other.user);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            int hash = (int) (slot ^ (slot >>> 32));
+            hash = 31 * hash + name.hashCode();
+            hash = 31 * hash + host.hashCode();
+            hash = 31 * hash + source.hashCode();
+            return 31 * hash + user.hashCode();
+        }
+    }
+
+}
@@ -0,0 +1,339 @@
+package org.ff4j.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.ff4j.audit.StripedCounter;
+
+/**
+ * Bounded and thread-safe key/value region used by {@link ConcurrentInMemoryCacheManager}.
+ *
+ * Values are held in a {@link ConcurrentHashMap}, reads never lock. When the region is full the
+ * eviction follows the CLOCK algorithm (second chance, an approximation of LRU) : a read only flags
+ * the entry as referenced, the clock hand evicts the first non-referenced entry and clears the flag
+ * of the others. Expiry is an absolute deadline computed at insertion, a read is a single comparison.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class BoundedCacheRegion < T > {
+
+    /** No expiry. */
+    private static final long NEVER = Long.MAX_VALUE;
+
+    /** Tolerated stale nodes in the clock before compaction. */
+    private static final int MIN_STALE = 64;
+
+    /** Values. */
+    private final ConcurrentMap < String, Node < T > > map = new ConcurrentHashMap<String, Node < T >>();
+
+    /** Clock ring (insertion order), may contain stale nodes removed from map. */
+    private final ConcurrentLinkedQueue < Node < T > > clock = new ConcurrentLinkedQueue<Node < T >>();
+
+    /** Size of clock ring (avoid O(n) size on queue). */
+    private final AtomicInteger clockSize = new AtomicInteger(0);
+
+    /** Only one thread moves the clock hand. */
+    private final AtomicBoolean sweeping = new AtomicBoolean(false);
+
+    /** Last miss of current thread, to compute load time. */
+    private final ThreadLocal < PendingLoad > pendingLoad = new ThreadLocal<PendingLoad>() {
+        @Override
+        protected PendingLoad initialValue() {
+            return new PendingLoad();
+        }
+    };
+
+    /** Maximum number of entries. */
+    private final int maxSize;
+
+    /** Default time to live in seconds, 0 or negative means no expiry. */
+    private final long timeToLive;
+
+    /** Statistics. */
+    private final StripedCounter hits        = new StripedCounter();
+    private final StripedCounter misses      = new StripedCounter();
+    private final StripedCounter evictions   = new StripedCounter();
+    private final StripedCounter expirations = new StripedCounter();
+    private final StripedCounter loads       = new StripedCounter();
+    private final StripedCounter loadTime    = new StripedCounter();
+
+    /**
+     * Region constructor.
+     *
+     * @param maxSize
+     *      maximum number of entries
+     * @param timeToLive
+     *      default time to live in seconds (0 or negative means no expiry)
+     */
+    public BoundedCacheRegion(int maxSize, long timeToLive) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache maximum size must be positive");
+        }
+        this.maxSize    = maxSize;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Read value.
+     *
+     * @param key
+     *      target key
+     * @return
+     *      value or null if absent or expired
+     */
+    public T get(String key) {
+        if (key == null) {
+            return null;
+        }
+        Node < T > node = map.get(key);
+        if (node != null) {
+            if (node.expireAt == NEVER || node.expireAt > System.currentTimeMillis()) {
+                if (!node.referenced) {
+                    // Avoid writing the shared cache line on every hit
+                    node.referenced = true;
+                }
+                hits.inc();
+                return node.value;
+            }
+            if (map.remove(key, node)) {
+                expirations.inc();
+            }
+        }
+        misses.inc();
+        PendingLoad pending = pendingLoad.get();
+        pending.key   = key;
+        pending.start = System.nanoTime();
+        return null;
+    }
+
+    /**
+     * Insert value with default time to live.
+     *
+     * @param key
+     *      target key
+     * @param value
+     *      target value
+     */
+    public void put(String key, T value) {
+        put(key, value, timeToLive);
+    }
+
+    /**
+     * Insert value.
+     *
+     * @param key
+     *      target key
+     * @param value
+     *      target value
+     * @param ttl
+     *      time to live in seconds (0 or negative means no expiry)
+     */
+    public void put(String key, T value, long ttl) {
+        long expireAt = (ttl > 0) ? System.currentTimeMillis() + ttl * InMemoryCacheEntry.TO_MILLIS : NEVER;
+        Node < T > node = new Node<T>(key, value, expireAt);
+        map.put(key, node);
+        clock.offer(node);
+        int nodes = clockSize.incrementAndGet();
+        // Value loaded after a miss of this thread
+        PendingLoad pending = pendingLoad.get();
+        if (key.equals(pending.key)) {
+            loads.inc();
+            loadTime.add(System.nanoTime() - pending.start);
+            pending.key = null;
+        }
+        int size = map.size();
+        if (size > maxSize || nodes > 2 * size + MIN_STALE) {
+            sweep();
+        }
+    }
+
+    /**
+     * Remove value.
+     *
+     * @param key
+     *      target key
+     */
+    public void remove(String key) {
+        if (key != null) {
+            // Node stays in the clock as stale and will be skipped
+            map.remove(key);
+        }
+    }
+
+    /**
+     * Remove everything.
+     */
+    public void clear() {
+        map.clear();
+        clock.clear();
+        clockSize.set(0);
+    }
+
+    /**
+     * Evict until size is under max and compact stale nodes.
+     */
+    private void sweep() {
+        // Puts of other threads during a sweep do not evict : check again once the hand is released
+        while (sweeping.compareAndSet(false, true)) {
+            boolean clockEmpty;
+            try {
+                clockEmpty = moveClockHand();
+            } finally {
+                sweeping.set(false);
+            }
+            if (clockEmpty || map.size() <= maxSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Move clock hand, must be called by a single thread.
+     *
+     * @return
+     *      if the clock ring is empty
+     */
+    private boolean moveClockHand() {
+        // Referenced nodes are seen twice at most
+        int budget = 2 * clockSize.get();
+        while (budget-- > 0) {
+            boolean overflow = map.size() > maxSize;
+            if (!overflow && clockSize.get() <= map.size()) {
+                return false;
+            }
+            Node < T > node = clock.poll();
+            if (node == null) {
+                return true;
+            }
+            clockSize.decrementAndGet();
+            if (map.get(node.key) != node) {
+                // Stale : removed, expired or replaced
+                continue;
+            }
+            if (overflow && !node.referenced) {
+                if (map.remove(node.key, node)) {
+                    evictions.inc();
+                }
+            } else {
+                // Second chance
+                node.referenced = false;
+                clock.offer(node);
+                clockSize.incrementAndGet();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Keys of current entries.
+     *
+     * @return
+     *      live view of keys
+     */
+    public Set < String > keySet() {
+        return map.keySet();
+    }
+
+    /**
+     * Number of entries.
+     *
+     * @return
+     *      current size
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Snapshot of statistics.
+     *
+     * @return
+     *      statistics
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum(),
+                expirations.sum(), loads.sum(), loadTime.sum(), map.size());
+    }
+
+    /**
+     * Getter accessor for attribute 'maxSize'.
+     *
+     * @return
+     *       current value of 'maxSize'
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Getter accessor for attribute 'timeToLive'.
+     *
+     * @return
+     *       current value of 'timeToLive'
+     */
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Cached value with its deadline and reference bit.
+     */
+    private static final class Node < T > {
+
+        /** key. */
+        private final String key;
+
+        /** value. */
+        private final T value;
+
+        /** Expiry deadline (epoch millis). */
+        private final long expireAt;
+
+        /** Accessed since last clock pass. */
+        private volatile boolean referenced;
+
+        /** Constructor. */
+        private Node(String key, T value, long expireAt) {
+            this.key      = key;
+            this.value    = value;
+            this.expireAt = expireAt;
+        }
+    }
+
+    /**
+     * Last miss of a thread.
+     */
+    private static final class PendingLoad {
+
+        /** Missed key. */
+        private String key;
+
+        /** Miss time (nanoseconds). */
+        private long start;
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.ff4j.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Broadcast cache invalidations between the {@link FF4jCacheProxy} of several nodes sharing the same store : a write on
+ * one node evicts the element from the local cache of every other node, so caches can keep long TTL without polling.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Send invalidation to all subscribers (including the sender).
+     *
+     * @param message
+     *      invalidation to broadcast
+     */
+    void publish(CacheInvalidationMessage message);
+
+    /**
+     * Register a listener for invalidations published by any node.
+     *
+     * @param listener
+     *      listener to notify
+     */
+    void subscribe(CacheInvalidationListener listener);
+
+    /**
+     * Stop listening and release resources.
+     */
+    void close();
+
+}
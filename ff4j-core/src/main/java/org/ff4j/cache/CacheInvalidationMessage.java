@@ -0,0 +1,168 @@
+package org.ff4j.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Serializable;
+
+import org.ff4j.utils.Util;
+
+/**
+ * Invalidation sent on the {@link CacheInvalidationBus}, serialized as a short string 'type:origin:name'.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public final class CacheInvalidationMessage implements Serializable {
+
+    /** serial. */
+    private static final long serialVersionUID = -2581305736492183315L;
+
+    /** Separator in serialized form. */
+    private static final char SEPARATOR = ':';
+
+    /** Kind of invalidation. */
+    public static enum Type {
+
+        /** Evict one feature. */
+        FEATURE('f'),
+
+        /** Evict one property. */
+        PROPERTY('p'),
+
+        /** Clear all features. */
+        ALL_FEATURES('F'),
+
+        /** Clear all properties. */
+        ALL_PROPERTIES('P');
+
+        /** Code in serialized form. */
+        private final char code;
+
+        /** Constructor. */
+        private Type(char code) {
+            this.code = code;
+        }
+
+        /**
+         * Type from its code.
+         *
+         * @param code
+         *      serialized code
+         * @return
+         *      type
+         */
+        public static Type fromCode(char code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Invalid invalidation type '" + code + "'");
+        }
+    }
+
+    /** Kind of invalidation. */
+    private final Type type;
+
+    /** Identifier of the node where the modification happened. */
+    private final String origin;
+
+    /** Feature or property name, empty to clear all. */
+    private final String name;
+
+    /**
+     * Full constructor.
+     *
+     * @param type
+     *      kind of invalidation
+     * @param origin
+     *      sender node identifier, cannot contain ':'
+     * @param name
+     *      feature or property name, may be null when clearing all
+     */
+    public CacheInvalidationMessage(Type type, String origin, String name) {
+        Util.assertNotNull(type);
+        Util.assertHasLength(origin);
+        if (origin.indexOf(SEPARATOR) >= 0) {
+            throw new IllegalArgumentException("Origin '" + origin + "' cannot contain '" + SEPARATOR + "'");
+        }
+        this.type   = type;
+        this.origin = origin;
+        this.name   = (name == null) ? "" : name;
+    }
+
+    /**
+     * Read serialized form.
+     *
+     * @param value
+     *      string produced by {@link #toString()}
+     * @return
+     *      message
+     */
+    public static CacheInvalidationMessage fromString(String value) {
+        Util.assertHasLength(value);
+        int idx = value.indexOf(SEPARATOR, 2);
+        if (value.length() < 3 || value.charAt(1) != SEPARATOR || idx < 0) {
+            throw new IllegalArgumentException("Invalid invalidation message '" + value + "'");
+        }
+        return new CacheInvalidationMessage(Type.fromCode(value.charAt(0)),
+                value.substring(2, idx), value.substring(idx + 1));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return new StringBuilder(name.length() + origin.length() + 4)
+                .append(type.code).append(SEPARATOR)
+                .append(origin).append(SEPARATOR)
+                .append(name).toString();
+    }
+
+    /**
+     * Getter accessor for attribute 'type'.
+     *
+     * @return
+     *       current value of 'type'
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Getter accessor for attribute 'origin'.
+     *
+     * @return
+     *       current value of 'origin'
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Getter accessor for attribute 'name'.
+     *
+     * @return
+     *       current value of 'name'
+     */
+    public String getName() {
+        return name;
+    }
+
+}
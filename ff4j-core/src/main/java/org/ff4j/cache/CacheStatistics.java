@@ -0,0 +1,202 @@
+package org.ff4j.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Serializable;
+
+/**
+ * Immutable snapshot of cache statistics, used to size caches (hit ratio, evictions, load penalty).
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public final class CacheStatistics implements Serializable {
+
+    /** serial. */
+    private static final long serialVersionUID = 4212587326744125487L;
+
+    /** Number of lookups returning a cached value. */
+    private final long hitCount;
+
+    /** Number of lookups returning nothing (absent or expired). */
+    private final long missCount;
+
+    /** Number of entries removed because the cache was full. */
+    private final long evictionCount;
+
+    /** Number of entries removed because time-to-live was reached. */
+    private final long expirationCount;
+
+    /** Number of values put in cache after a miss. */
+    private final long loadCount;
+
+    /** Cumulated time (nanoseconds) between a miss and the put of the loaded value. */
+    private final long totalLoadTime;
+
+    /** Number of entries at snapshot time. */
+    private final long size;
+
+    /**
+     * Full constructor.
+     *
+     * @param hitCount
+     *      number of hits
+     * @param missCount
+     *      number of misses
+     * @param evictionCount
+     *      number of size-based evictions
+     * @param expirationCount
+     *      number of expirations
+     * @param loadCount
+     *      number of loads
+     * @param totalLoadTime
+     *      cumulated load time in nanoseconds
+     * @param size
+     *      current size
+     */
+    public CacheStatistics(long hitCount, long missCount, long evictionCount,
+            long expirationCount, long loadCount, long totalLoadTime, long size) {
+        this.hitCount        = hitCount;
+        this.missCount       = missCount;
+        this.evictionCount   = evictionCount;
+        this.expirationCount = expirationCount;
+        this.loadCount       = loadCount;
+        this.totalLoadTime   = totalLoadTime;
+        this.size            = size;
+    }
+
+    /**
+     * Number of lookups (hits and misses).
+     *
+     * @return
+     *      request count
+     */
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Ratio of lookups returning a cached value, 1 when no request.
+     *
+     * @return
+     *      hit ratio between 0 and 1
+     */
+    public double getHitRatio() {
+        long requests = getRequestCount();
+        return (requests == 0) ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * Average time to load a value after a miss.
+     *
+     * @return
+     *      average load penalty in nanoseconds
+     */
+    public double getAverageLoadPenalty() {
+        return (loadCount == 0) ? 0.0 : (double) totalLoadTime / loadCount;
+    }
+
+    /**
+     * Getter accessor for attribute 'hitCount'.
+     *
+     * @return
+     *       current value of 'hitCount'
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Getter accessor for attribute 'missCount'.
+     *
+     * @return
+     *       current value of 'missCount'
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Getter accessor for attribute 'evictionCount'.
+     *
+     * @return
+     *       current value of 'evictionCount'
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Getter accessor for attribute 'expirationCount'.
+     *
+     * @return
+     *       current value of 'expirationCount'
+     */
+    public long getExpirationCount() {
+        return expirationCount;
+    }
+
+    /**
+     * Getter accessor for attribute 'loadCount'.
+     *
+     * @return
+     *       current value of 'loadCount'
+     */
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * Getter accessor for attribute 'totalLoadTime'.
+     *
+     * @return
+     *       current value of 'totalLoadTime'
+     */
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /**
+     * Getter accessor for attribute 'size'.
+     *
+     * @return
+     *       current value of 'size'
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        sb.append("\"size\":").append(size);
+        sb.append(",\"hitCount\":").append(hitCount);
+        sb.append(",\"missCount\":").append(missCount);
+        sb.append(",\"hitRatio\":").append(getHitRatio());
+        sb.append(",\"evictionCount\":").append(evictionCount);
+        sb.append(",\"expirationCount\":").append(expirationCount);
+        sb.append(",\"loadCount\":").append(loadCount);
+        sb.append(",\"averageLoadPenalty\":").append(getAverageLoadPenalty());
+        sb.append("}");
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,214 @@
+package org.ff4j.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Set;
+
+import org.ff4j.core.Feature;
+import org.ff4j.property.Property;
+
+/**
+ * Thread-safe and bounded inmemory cache implementation.
+ *
+ * Features and properties are stored in distinct {@link BoundedCacheRegion} : lock-free reads, maximum size
+ * with CLOCK (LRU approximation) eviction, time-to-live and statistics (hits, misses, evictions, load time).
+ *
+ * Same warning as {@link InMemoryCacheManager} : each node of a cluster holds its own cache, use a time-to-live
+ * or a distributed cache implementation when the store is shared.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class ConcurrentInMemoryCacheManager implements FF4JCacheManager {
+
+    /** Default maximum number of entries per region. */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    /** Cached features. */
+    private final BoundedCacheRegion < Feature > featuresCache;
+
+    /** Cached properties. */
+    private final BoundedCacheRegion < Property<?> > propertyCache;
+
+    /**
+     * Default constructor, {@link #DEFAULT_MAX_SIZE} entries and {@link InMemoryCacheEntry#DEFAULT_TTL}.
+     */
+    public ConcurrentInMemoryCacheManager() {
+        this(DEFAULT_MAX_SIZE, InMemoryCacheEntry.DEFAULT_TTL);
+    }
+
+    /**
+     * Constructor with maximum size.
+     *
+     * @param maxSize
+     *      maximum number of features (and properties)
+     */
+    public ConcurrentInMemoryCacheManager(int maxSize) {
+        this(maxSize, InMemoryCacheEntry.DEFAULT_TTL);
+    }
+
+    /**
+     * Constructor with maximum size and time to live.
+     *
+     * @param maxSize
+     *      maximum number of features (and properties)
+     * @param timeToLive
+     *      time to live in seconds, 0 or negative means no expiry
+     */
+    public ConcurrentInMemoryCacheManager(int maxSize, long timeToLive) {
+        this.featuresCache = new BoundedCacheRegion<Feature>(maxSize, timeToLive);
+        this.propertyCache = new BoundedCacheRegion<Property<?>>(maxSize, timeToLive);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getCacheProviderName() {
+        return "ConcurrentInMemory";
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clearFeatures() {
+        featuresCache.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clearProperties() {
+        propertyCache.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evictFeature(String featureId) {
+        featuresCache.remove(featureId);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evictProperty(String propertyName) {
+        propertyCache.remove(propertyName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void putFeature(Feature feat) {
+        putFeature(feat, featuresCache.getTimeToLive());
+    }
+
+    /**
+     * Add feature to cache with a dedicated time to live.
+     *
+     * @param feat
+     *      target feature
+     * @param timeToLive
+     *      time to live in seconds
+     */
+    public void putFeature(Feature feat, long timeToLive) {
+        if (feat == null) {
+            throw new IllegalArgumentException("ff4j-core: Cannot insert null feature into cache");
+        }
+        if (feat.getUid() == null || feat.getUid().isEmpty()) {
+            throw new IllegalArgumentException("ff4j-core: Cannot insert feature with null identifier into cache");
+        }
+        featuresCache.put(feat.getUid(), feat, timeToLive);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void putProperty(Property<?> prop) {
+        putProperty(prop, propertyCache.getTimeToLive());
+    }
+
+    /**
+     * Add property to cache with a dedicated time to live.
+     *
+     * @param prop
+     *      target property
+     * @param timeToLive
+     *      time to live in seconds
+     */
+    public void putProperty(Property<?> prop, long timeToLive) {
+        if (prop == null) {
+            throw new IllegalArgumentException("ff4j-core: Cannot insert null property into cache");
+        }
+        if (prop.getName() == null || prop.getName().isEmpty()) {
+            throw new IllegalArgumentException("ff4j-core: Cannot insert property with null identifier into cache");
+        }
+        propertyCache.put(prop.getName(), prop, timeToLive);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Feature getFeature(String featureId) {
+        return featuresCache.get(featureId);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Property<?> getProperty(String propertyName) {
+        return propertyCache.get(propertyName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<String> listCachedFeatureNames() {
+        return featuresCache.keySet();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<String> listCachedPropertyNames() {
+        return propertyCache.keySet();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Object getFeatureNativeCache() {
+        return featuresCache;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Object getPropertyNativeCache() {
+        return propertyCache;
+    }
+
+    /**
+     * Statistics of features cache.
+     *
+     * @return
+     *      snapshot of statistics
+     */
+    public CacheStatistics getFeatureStatistics() {
+        return featuresCache.getStatistics();
+    }
+
+    /**
+     * Statistics of properties cache.
+     *
+     * @return
+     *      snapshot of statistics
+     */
+    public CacheStatistics getPropertyStatistics() {
+        return propertyCache.getStatistics();
+    }
+
+}
@@ -13,13 +13,20 @@ import java.util.Collection;
  * governing permissions and limitations under the License. #L%
  */
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.ff4j.cache.CacheInvalidationMessage.Type;
 import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
 import org.ff4j.property.Property;
 import org.ff4j.property.store.PropertyStore;
+import org.ff4j.store.VersionedFeatureStore;
+import org.ff4j.utils.Util;
 
 /**
  * Access to {@link FeatureStore} could generate some overhead and decrease performances. This is the reason why cache is provided
@@ -30,7 +37,7 @@ import org.ff4j.property.store.PropertyStore;
  * 
  * @author Cedrick Lunven (@clunven)
  */
-public class FF4jCacheProxy implements FeatureStore, PropertyStore {
+public class FF4jCacheProxy implements VersionedFeatureStore, PropertyStore, CacheInvalidationListener {
 
     /** Target feature store to be proxified to cache features. */
     private FeatureStore targetFeatureStore;
@@ -43,6 +50,15 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     
     /** Daemon to fetch data from target store to cache on a fixed delay basis. */
     private Store2CachePollingScheduler store2CachePoller = null;
+    
+    /** Bus to propagate invalidations to the caches of other nodes, optional. */
+    private CacheInvalidationBus invalidationBus;
+    
+    /** Identifier of this proxy on the invalidation bus. */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /** Incremented on each modification, see {@link #getVersion()}. */
+    private final AtomicLong version = new AtomicLong();
 
     /**
      * Allow Ioc and defeine default constructor.
@@ -62,6 +78,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         this.targetFeatureStore  = fStore;
         this.targetPropertyStore = pStore;
         this.store2CachePoller   = new Store2CachePollingScheduler(fStore, pStore, cache);
+        shareNodeId();
     }
     
     /**
@@ -84,6 +101,123 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         getStore2CachePoller().stop();
     }
 
+    /**
+     * Stop the polling of target store and close the invalidation bus (if any), invoked by {@link org.ff4j.FF4j#stop()}.
+     */
+    public void stop() {
+        if (store2CachePoller != null) {
+            store2CachePoller.stop();
+        }
+        if (invalidationBus != null) {
+            invalidationBus.close();
+        }
+    }
+    
+    /**
+     * Propagate the modifications done through this proxy to the caches of other nodes, and apply theirs.
+     *
+     * @param bus
+     *      invalidation bus shared by all nodes
+     */
+    public void setInvalidationBus(CacheInvalidationBus bus) {
+        this.invalidationBus = bus;
+        shareNodeId();
+        if (bus != null) {
+            bus.subscribe(this);
+        }
+    }
+    
+    /**
+     * A {@link TwoLevelCacheManager} publishes with the identifier of the proxy : messages of this node are ignored by both.
+     */
+    private void shareNodeId() {
+        if (cacheManager instanceof TwoLevelCacheManager) {
+            ((TwoLevelCacheManager) cacheManager).setNodeId(nodeId);
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'invalidationBus'.
+     *
+     * @return
+     *       current value of 'invalidationBus'
+     */
+    public CacheInvalidationBus getInvalidationBus() {
+        return invalidationBus;
+    }
+    
+    /**
+     * Getter accessor for attribute 'nodeId'.
+     *
+     * @return
+     *       current value of 'nodeId'
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void onInvalidation(CacheInvalidationMessage message) {
+        // Local cache has already been updated by the write itself
+        if (nodeId.equals(message.getOrigin())) {
+            return;
+        }
+        version.incrementAndGet();
+        if (getCacheManager() instanceof CacheInvalidationListener) {
+            // Manager handles messages itself, without publishing them again
+            ((CacheInvalidationListener) getCacheManager()).onInvalidation(message);
+            return;
+        }
+        switch (message.getType()) {
+            case FEATURE:
+                getCacheManager().evictFeature(message.getName());
+            break;
+            case PROPERTY:
+                getCacheManager().evictProperty(message.getName());
+            break;
+            case ALL_FEATURES:
+                getCacheManager().clearFeatures();
+            break;
+            case ALL_PROPERTIES:
+                getCacheManager().clearProperties();
+            break;
+            default:
+            break;
+        }
+    }
+    
+    /**
+     * Increment version and notify other nodes of a modification, if a bus is defined.
+     *
+     * @param type
+     *      kind of invalidation
+     * @param name
+     *      feature or property name, null to clear all
+     */
+    private void broadcast(Type type, String name) {
+        version.incrementAndGet();
+        if (invalidationBus != null) {
+            invalidationBus.publish(new CacheInvalidationMessage(type, nodeId, name));
+        }
+    }
+
+    /**
+     * Version changes after each write through the proxy and each invalidation received from the bus, it includes the
+     * version of the target store if available.
+     *
+     * @return
+     *      current version
+     */
+    @Override
+    public long getVersion() {
+        long current = version.get();
+        if (getTargetFeatureStore() instanceof VersionedFeatureStore) {
+            current += ((VersionedFeatureStore) getTargetFeatureStore()).getVersion();
+        }
+        return current;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void enable(String featureId) {
@@ -91,6 +225,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         getTargetFeatureStore().enable(featureId);
         // Modification => flush cache
         getCacheManager().evictFeature(featureId);
+        broadcast(Type.FEATURE, featureId);
     }
 
     /** {@inheritDoc} */
@@ -100,6 +235,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         getTargetFeatureStore().disable(featureId);
         // Cache Operations : As modification, flush cache for this
         getCacheManager().evictFeature(featureId);
+        broadcast(Type.FEATURE, featureId);
     }
 
     /** {@inheritDoc} */
@@ -126,6 +262,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     public void create(Feature fp) {
         getTargetFeatureStore().create(fp);
         getCacheManager().putFeature(fp);
+        broadcast(Type.FEATURE, fp.getUid());
     }
 
     /** {@inheritDoc} */
@@ -140,6 +277,30 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         return fp;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readFeatures(Set<String> featureUids) {
+        Util.assertNotNull(featureUids);
+        Map<String, Feature> features = new HashMap<String, Feature>();
+        Set<String> missing = new HashSet<String>();
+        for (String uid : featureUids) {
+            Feature fp = getCacheManager().getFeature(uid);
+            if (null == fp) {
+                missing.add(uid);
+            } else {
+                features.put(uid, fp);
+            }
+        }
+        // Cache misses are fetched from target store in a single call
+        if (!missing.isEmpty()) {
+            for (Feature fp : getTargetFeatureStore().readFeatures(missing).values()) {
+                getCacheManager().putFeature(fp);
+                features.put(fp.getUid(), fp);
+            }
+        }
+        return features;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
@@ -161,6 +322,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         getTargetFeatureStore().delete(featureId);
         // even is not present, evict won't failed
         getCacheManager().evictFeature(featureId);
+        broadcast(Type.FEATURE, featureId);
     }
 
     /** {@inheritDoc} */
@@ -168,6 +330,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     public void update(Feature fp) {
         getTargetFeatureStore().update(fp);
         getCacheManager().evictFeature(fp.getUid());
+        broadcast(Type.FEATURE, fp.getUid());
     }
 
     /** {@inheritDoc} */
@@ -175,6 +338,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     public void grantRoleOnFeature(String featureId, String roleName) {
         getTargetFeatureStore().grantRoleOnFeature(featureId, roleName);
         getCacheManager().evictFeature(featureId);
+        broadcast(Type.FEATURE, featureId);
     }
 
     /** {@inheritDoc} */
@@ -182,6 +346,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     public void removeRoleFromFeature(String featureId, String roleName) {
         getTargetFeatureStore().removeRoleFromFeature(featureId, roleName);
         getCacheManager().evictFeature(featureId);
+        broadcast(Type.FEATURE, featureId);
     }
 
     /** {@inheritDoc} */
@@ -190,6 +355,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         getTargetFeatureStore().enableGroup(groupName);
         // Cannot know wich feature to work with (exceptional event) : flush cache
         getCacheManager().clearFeatures();
+        broadcast(Type.ALL_FEATURES, null);
     }
 
     /** {@inheritDoc} */
@@ -198,6 +364,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         getTargetFeatureStore().disableGroup(groupName);
         // Cannot know wich feature to work with (exceptional event) : flush cache
         getCacheManager().clearFeatures();
+        broadcast(Type.ALL_FEATURES, null);
     }
 
     /** {@inheritDoc} */
@@ -219,6 +386,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     public void addToGroup(String featureId, String groupName) {
         getTargetFeatureStore().addToGroup(featureId, groupName);
         getCacheManager().evictFeature(featureId);
+        broadcast(Type.FEATURE, featureId);
     }
 
     /** {@inheritDoc} */
@@ -226,6 +394,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     public void removeFromGroup(String featureId, String groupName) {
         getTargetFeatureStore().removeFromGroup(featureId, groupName);
         getCacheManager().evictFeature(featureId);
+        broadcast(Type.FEATURE, featureId);
     }
 
     /**
@@ -272,6 +441,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
      */
     public void setCacheManager(FF4JCacheManager cacheManager) {
         this.cacheManager = cacheManager;
+        shareNodeId();
     }
 
     // ------------ Cache related method --------------------
@@ -316,6 +486,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     public <T> void createProperty(Property<T> property) {
         getTargetPropertyStore().createProperty(property);
         getCacheManager().putProperty(property);
+        broadcast(Type.PROPERTY, property.getName());
     }
 
     /** {@inheritDoc} */
@@ -330,6 +501,30 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         return fp;
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Property<?>> readProperties(Set<String> names) {
+        Util.assertNotNull(names);
+        Map<String, Property<?>> properties = new HashMap<String, Property<?>>();
+        Set<String> missing = new HashSet<String>();
+        for (String name : names) {
+            Property<?> fp = getCacheManager().getProperty(name);
+            if (null == fp) {
+                missing.add(name);
+            } else {
+                properties.put(name, fp);
+            }
+        }
+        // Cache misses are fetched from target store in a single call
+        if (!missing.isEmpty()) {
+            for (Property<?> fp : getTargetPropertyStore().readProperties(missing).values()) {
+                getCacheManager().putProperty(fp);
+                properties.put(fp.getName(), fp);
+            }
+        }
+        return properties;
+    }
+    
     /** {@inheritDoc} */
     @Override
     public Property<?> readProperty(String name, Property<?> defaultValue) {
@@ -355,6 +550,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         getCacheManager().evictProperty(fp.getName());
         // Add new value in the cache
         getCacheManager().putProperty(fp);
+        broadcast(Type.PROPERTY, fp.getName());
     }
 
     /** {@inheritDoc} */
@@ -366,6 +562,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         getCacheManager().evictProperty(propertyValue.getName());
         // Update the property in cache
         getCacheManager().putProperty(propertyValue);
+        broadcast(Type.PROPERTY, propertyValue.getName());
     }
 
     /** {@inheritDoc} */
@@ -375,6 +572,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         getTargetPropertyStore().deleteProperty(name);
         // even is not present, evict name failed
         getCacheManager().evictProperty(name);
+        broadcast(Type.PROPERTY, name);
     }
 
     /** {@inheritDoc} */
@@ -399,18 +597,22 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         // Cache Operations : As modification, flush cache for this
         getCacheManager().clearFeatures();
         getTargetFeatureStore().clear();
+        broadcast(Type.ALL_PROPERTIES, null);
+        broadcast(Type.ALL_FEATURES, null);
     }
     
     /** {@inheritDoc} */
     public void importProperties(Collection<Property<?>> properties) {
         getCacheManager().clearProperties();
         getTargetPropertyStore().importProperties(properties);
+        broadcast(Type.ALL_PROPERTIES, null);
     }
 
     /** {@inheritDoc} */
     public void importFeatures(Collection<Feature> features) {
         getCacheManager().clearFeatures();
         getTargetFeatureStore().importFeatures(features);
+        broadcast(Type.ALL_FEATURES, null);
     }
 
     /**
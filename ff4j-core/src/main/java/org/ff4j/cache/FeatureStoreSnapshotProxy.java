@@ -0,0 +1,394 @@
+package org.ff4j.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.core.Feature;
+import org.ff4j.core.FeatureStore;
+import org.ff4j.exception.FeatureNotFoundException;
+import org.ff4j.exception.GroupNotFoundException;
+import org.ff4j.store.VersionedFeatureStore;
+import org.ff4j.utils.Util;
+
+/**
+ * Read-optimized proxy on a {@link FeatureStore}.
+ *
+ * All features (with their initialized strategies and permissions) are held in an immutable snapshot published through
+ * a single volatile reference : a read is a volatile read and a hash lookup, without lock nor call to the target store.
+ * Writes go to the target store, then a new snapshot is built (copy-on-write) and swapped atomically. Modifications made
+ * directly in the target store (other nodes of a cluster) are visible after {@link #refresh()}, see {@link #startPolling(long)}.
+ *
+ * Features are returned as copies, modifying them does not alter the snapshot. Flipping strategies (initialized once)
+ * and custom properties are shared with the snapshot and must not be modified : use the write operations of the store.
+ * {@link #lookup(String)} returns the feature of the snapshot itself, without copy, for read-only callers such as
+ * {@link org.ff4j.FF4j#check(String)}.
+ * Polling is stopped by {@link #stopPolling()}, invoked by {@link org.ff4j.FF4j#stop()}. The version of the store changes
+ * each time a snapshot is published.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class FeatureStoreSnapshotProxy implements VersionedFeatureStore {
+
+    /** Target store. */
+    private final FeatureStore target;
+
+    /** Current snapshot, never modified once published. */
+    private volatile Snapshot snapshot;
+
+    /** Incremented each time a snapshot is published. */
+    private volatile long version = 0;
+
+    /** Scheduler for refresh. */
+    private ScheduledExecutorService executor;
+
+    /**
+     * Initialization through constructor, the target store is read immediately.
+     *
+     * @param target
+     *      backing feature store
+     */
+    public FeatureStoreSnapshotProxy(FeatureStore target) {
+        Util.assertNotNull(target);
+        this.target = target;
+        refresh();
+    }
+
+    /**
+     * Reload every feature from target store and publish a new snapshot.
+     */
+    public synchronized void refresh() {
+        this.snapshot = new Snapshot(target.readAll());
+        version++;
+    }
+
+    /**
+     * Reload one feature from target store and publish a new snapshot.
+     *
+     * @param uid
+     *      feature identifier
+     */
+    private synchronized void refresh(String uid) {
+        Map < String, Feature > features = new LinkedHashMap<String, Feature>(snapshot.features);
+        try {
+            features.put(uid, target.read(uid));
+        } catch (FeatureNotFoundException fnfe) {
+            features.remove(uid);
+        }
+        this.snapshot = new Snapshot(features);
+        version++;
+    }
+
+    /**
+     * Copy of a feature of the snapshot, strategy and custom properties are shared.
+     *
+     * @param feature
+     *      feature of the snapshot
+     * @return
+     *      copy to be returned to callers
+     */
+    private static Feature copy(Feature feature) {
+        Feature copy = new Feature(feature.getUid(), feature.isEnable(), feature.getDescription(), feature.getGroup());
+        copy.getPermissions().addAll(feature.getPermissions());
+        copy.setFlippingStrategy(feature.getFlippingStrategy());
+        if (feature.getCustomProperties() != null) {
+            copy.getCustomProperties().putAll(feature.getCustomProperties());
+        }
+        return copy;
+    }
+
+    /**
+     * Refresh snapshot on a fixed delay basis.
+     *
+     * @param delay
+     *      delay between 2 refresh in milliseconds
+     */
+    public synchronized void startPolling(long delay) {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "FF4j_SnapshotRefreshWorker");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+            executor.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        refresh();
+                    } catch (RuntimeException ex) {
+                        // Keep previous snapshot, retry at next run
+                    }
+                }
+            }, delay, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stop refresh.
+     */
+    public synchronized void stopPolling() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean exist(String featId) {
+        Util.assertHasLength(featId);
+        return snapshot.features.containsKey(featId);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Feature read(String featureUid) {
+        Util.assertHasLength(featureUid);
+        Feature feature = snapshot.features.get(featureUid);
+        if (feature == null) {
+            throw new FeatureNotFoundException(featureUid);
+        }
+        return copy(feature);
+    }
+
+    /**
+     * Feature of the current snapshot, without copy : the result is shared and must not be modified.
+     *
+     * @param featureUid
+     *      feature identifier
+     * @return
+     *      feature of the snapshot or null if it does not exist
+     */
+    public Feature lookup(String featureUid) {
+        return snapshot.features.get(featureUid);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readFeatures(Set<String> featureUids) {
+        Util.assertNotNull(featureUids);
+        Snapshot current = snapshot;
+        Map < String, Feature > features = new HashMap<String, Feature>();
+        for (String uid : featureUids) {
+            Feature feature = current.features.get(uid);
+            if (feature != null) {
+                features.put(uid, copy(feature));
+            }
+        }
+        return features;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readAll() {
+        Map < String, Feature > features = new LinkedHashMap<String, Feature>();
+        for (Feature feature : snapshot.features.values()) {
+            features.put(feature.getUid(), copy(feature));
+        }
+        return features;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean existGroup(String groupName) {
+        Util.assertHasLength(groupName);
+        return snapshot.groups.containsKey(groupName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readGroup(String groupName) {
+        Util.assertHasLength(groupName);
+        Snapshot current = snapshot;
+        Set < String > uids = current.groups.get(groupName);
+        if (uids == null) {
+            throw new GroupNotFoundException(groupName);
+        }
+        Map < String, Feature > features = new HashMap<String, Feature>();
+        for (String uid : uids) {
+            features.put(uid, copy(current.features.get(uid)));
+        }
+        return features;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<String> readAllGroups() {
+        return new HashSet<String>(snapshot.groups.keySet());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void enable(String featureID) {
+        target.enable(featureID);
+        refresh(featureID);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void disable(String fId) {
+        target.disable(fId);
+        refresh(fId);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void create(Feature fp) {
+        target.create(fp);
+        refresh(fp.getUid());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void delete(String fpId) {
+        target.delete(fpId);
+        refresh(fpId);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void update(Feature fp) {
+        target.update(fp);
+        refresh(fp.getUid());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void grantRoleOnFeature(String flipId, String roleName) {
+        target.grantRoleOnFeature(flipId, roleName);
+        refresh(flipId);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void removeRoleFromFeature(String flipId, String roleName) {
+        target.removeRoleFromFeature(flipId, roleName);
+        refresh(flipId);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void enableGroup(String groupName) {
+        target.enableGroup(groupName);
+        refresh();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void disableGroup(String groupName) {
+        target.disableGroup(groupName);
+        refresh();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void addToGroup(String featureId, String groupName) {
+        target.addToGroup(featureId, groupName);
+        refresh(featureId);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void removeFromGroup(String featureId, String groupName) {
+        target.removeFromGroup(featureId, groupName);
+        refresh(featureId);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void clear() {
+        target.clear();
+        refresh();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void importFeatures(Collection<Feature> features) {
+        target.importFeatures(features);
+        refresh();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void createSchema() {
+        target.createSchema();
+    }
+
+    /**
+     * Getter accessor for attribute 'target'.
+     *
+     * @return
+     *       current value of 'target'
+     */
+    public FeatureStore getTarget() {
+        return target;
+    }
+
+    /**
+     * Immutable view of the store : features by uid and feature uids by group.
+     */
+    private static final class Snapshot {
+
+        /** Features. */
+        private final Map < String, Feature > features;
+
+        /** Feature uids per group. */
+        private final Map < String, Set < String > > groups;
+
+        /** Build indexes from features. */
+        private Snapshot(Map < String, Feature > source) {
+            Map < String, Feature > mapOfFeatures = new LinkedHashMap<String, Feature>(source);
+            Map < String, Set < String > > mapOfGroups = new HashMap<String, Set<String>>();
+            for (Feature feature : mapOfFeatures.values()) {
+                if (Util.hasLength(feature.getGroup())) {
+                    Set < String > uids = mapOfGroups.get(feature.getGroup());
+                    if (uids == null) {
+                        uids = new HashSet<String>();
+                        mapOfGroups.put(feature.getGroup(), uids);
+                    }
+                    uids.add(feature.getUid());
+                }
+            }
+            this.features = Collections.unmodifiableMap(mapOfFeatures);
+            this.groups   = Collections.unmodifiableMap(mapOfGroups);
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package org.ff4j.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Bus delivering invalidations synchronously to listeners of the same JVM, for several {@link FF4jCacheProxy} sharing
+ * a store within one application and for tests.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class InMemoryCacheInvalidationBus implements CacheInvalidationBus {
+
+    /** Registered listeners. */
+    private final List < CacheInvalidationListener > listeners = new CopyOnWriteArrayList<CacheInvalidationListener>();
+
+    /** {@inheritDoc} */
+    @Override
+    public void publish(CacheInvalidationMessage message) {
+        for (CacheInvalidationListener listener : listeners) {
+            listener.onInvalidation(message);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void subscribe(CacheInvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        listeners.clear();
+    }
+
+}
@@ -22,7 +22,7 @@ package org.ff4j.cache;
 
 import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.ff4j.core.Feature;
 import org.ff4j.property.Property;
@@ -33,6 +33,8 @@ import org.ff4j.property.Property;
  * Warn : DO NOT USE THIS CACHE WHEN WORKING WITH EXTERNAL FEATURESTORE (as Database) and cluster application : EACH NODE GOT ITS
  * MEMORY AND AN MODIFICATION IN STORE WON'T REFRESH THIS CACHE. Please use REDIS/MEMCACHED implementations.
  * 
+ * This cache is not bounded, see {@link ConcurrentInMemoryCacheManager} for maximum size, eviction and statistics.
+ * 
  * @author Cedrick Lunven (@clunven)
  */
 public class InMemoryCacheManager implements FF4JCacheManager {    
@@ -42,11 +44,11 @@ public class InMemoryCacheManager implements FF4JCacheManager {
 
     /** Cached Feature Map */
     private final Map<String, InMemoryCacheEntry<Feature>> featuresCache = 
-            new WeakHashMap<String, InMemoryCacheEntry<Feature>>();
+            new ConcurrentHashMap<String, InMemoryCacheEntry<Feature>>();
     
     /** Cached Property Map */
     private final Map<String, InMemoryCacheEntry<Property<?>>> propertyCache = 
-            new WeakHashMap<String, InMemoryCacheEntry<Property<?>>>();
+            new ConcurrentHashMap<String, InMemoryCacheEntry<Property<?>>>();
        
     /** {@inheritDoc} */
     @Override
@@ -75,7 +77,7 @@ public class InMemoryCacheManager implements FF4JCacheManager {
     /** {@inheritDoc} */
     @Override
     public void evictFeature(String featureId) {
-        if (getFeaturesCache().containsKey(featureId)) {
+        if (featureId != null && getFeaturesCache().containsKey(featureId)) {
             getFeaturesCache().remove(featureId);
         }
     }
@@ -83,7 +85,7 @@ public class InMemoryCacheManager implements FF4JCacheManager {
     /** {@inheritDoc} */
     @Override
     public void evictProperty(String propertyName) {
-        if (getPropertyCache().containsKey(propertyName)) {
+        if (propertyName != null && getPropertyCache().containsKey(propertyName)) {
             getPropertyCache().remove(propertyName);
         }
     }
@@ -137,6 +139,9 @@ public class InMemoryCacheManager implements FF4JCacheManager {
     /** {@inheritDoc} */
     @Override
     public Feature getFeature(String featureId) {
+        if (featureId == null) {
+            return null;
+        }
         InMemoryCacheEntry<Feature> cacheEntry = getFeaturesCache().get(featureId);
         if (cacheEntry != null) {
             if (cacheEntry.hasReachTimeToLive()) {
@@ -152,6 +157,9 @@ public class InMemoryCacheManager implements FF4JCacheManager {
     /** {@inheritDoc} */
     @Override
     public Property<?> getProperty(String pName) {
+        if (pName == null) {
+            return null;
+        }
         InMemoryCacheEntry<Property<?>> cacheEntry = getPropertyCache().get(pName);
         if (cacheEntry != null) {
             if (cacheEntry.hasReachTimeToLive()) {
@@ -96,6 +96,16 @@ public class Store2CachePollingScheduler implements Serializable{
         }
     }
 
+    /**
+     * Access worker, to read refresh metrics (duration, changes).
+     *
+     * @return
+     *       current value of 'worker'
+     */
+    public Store2CachePollingWorker getWorker() {
+        return worker;
+    }
+
     /**
      * Getter accessor for attribute 'pollingDelay'.
      *
@@ -1,7 +1,10 @@
 package org.ff4j.cache;
 
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /*
  * #%L
@@ -26,17 +29,32 @@ import java.util.Map;
 import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
 import org.ff4j.property.Property;
+import org.ff4j.property.store.IncrementalPropertyStore;
 import org.ff4j.property.store.PropertyStore;
+import org.ff4j.store.IncrementalFeatureStore;
 
 /**
  * Working thread to poll and fetch data from store and copy to local cache.
  *
+ * The cache is never cleared : the worker keeps a fingerprint (hash of JSON) of each element seen at last run and only puts
+ * new or changed elements and evicts deleted ones. Stores implementing {@link IncrementalFeatureStore} or
+ * {@link IncrementalPropertyStore} are only asked for the changes since last run (and the elements evicted from cache),
+ * deletions reported as tombstones are evicted at once. A full reload every 'fullRefreshInterval' runs detects deletions
+ * of stores without tombstones.
+ *
  * @author Cedrick LUNVEN (@clunven)
  */
 public class Store2CachePollingWorker implements Runnable, Serializable {
 
     /** Serial. */
     private static final long serialVersionUID = 8252550757489651166L;
+    
+    /** Default number of runs between 2 full reloads for incremental stores. */
+    public static final int DEFAULT_FULL_REFRESH_INTERVAL = 10;
+    
+    /** FNV-1a 64 bits. */
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME  = 0x100000001b3L;
 
     /** feature store. */
     private FeatureStore sourceFeatureStore;
@@ -47,6 +65,30 @@ public class Store2CachePollingWorker implements Runnable, Serializable {
     /** Target feature store to be proxified to cache features. */
     private FF4JCacheManager cacheManager;
     
+    /** Fingerprints of features at last run. */
+    private Map < String, Long > featureFingerprints = new HashMap<String, Long>();
+    
+    /** Fingerprints of properties at last run. */
+    private Map < String, Long > propertyFingerprints = new HashMap<String, Long>();
+    
+    /** Number of runs between 2 full reloads for incremental stores. */
+    private int fullRefreshInterval = DEFAULT_FULL_REFRESH_INTERVAL;
+    
+    /** Start date of last successful run (epoch millis), 0 before first. */
+    private long lastRefreshTime = 0;
+    
+    /** Number of successful runs. */
+    private volatile long refreshCount = 0;
+    
+    /** Duration of last run in milliseconds. */
+    private volatile long lastRefreshDuration = 0;
+    
+    /** Features put or evicted at last run. */
+    private volatile int lastChangedFeatures = 0;
+    
+    /** Properties put or evicted at last run. */
+    private volatile int lastChangedProperties = 0;
+    
     /**
      * Parameterized constructor.
      *
@@ -66,34 +108,243 @@ public class Store2CachePollingWorker implements Runnable, Serializable {
     /** {@inheritDoc} */
     @Override
     public void run() {
+        long start = System.currentTimeMillis();
         try {
-            
+            boolean full = (lastRefreshTime == 0) || (refreshCount % fullRefreshInterval == 0);
             if (sourceFeatureStore != null) {
-                // Access the store, if failed an error is raised and cache is not cleared.
-                Map < String, Feature > mapOfFeatures = sourceFeatureStore.readAll();
-                // Clear cache
-                cacheManager.clearFeatures();
-                // Fill Cache
-                for (Feature f : mapOfFeatures.values()) {
-                    cacheManager.putFeature(f);
-                }
+                // Access the store, if failed an error is raised and cache is untouched.
+                lastChangedFeatures = refreshFeatures(full);
             }
-            
             if (sourcePropertyStore != null) {
-                // Access the store, if failed an error is raised and cache is not cleared.
-                Map < String, Property<?> > mapOfProperties = sourcePropertyStore.readAllProperties();
-                // Clear cache
-                cacheManager.clearProperties();
-                // Fill Cache
-                for (Property<?> p : mapOfProperties.values()) {
-                    cacheManager.putProperty(p);
-                }
+                lastChangedProperties = refreshProperties(full);
             }
-            
+            // Next incremental query starts when this one started
+            lastRefreshTime = start;
+            refreshCount++;
         } catch (Exception ex) {
             // Work in background (worker) failed 'silently'
             ex.printStackTrace();
+        } finally {
+            lastRefreshDuration = System.currentTimeMillis() - start;
         }
     }
+    
+    /**
+     * Apply changes of features to cache.
+     *
+     * @param full
+     *      if a full reload is required
+     * @return
+     *      number of features put or evicted
+     */
+    private int refreshFeatures(boolean full) {
+        int changes = 0;
+        if (!full && sourceFeatureStore instanceof IncrementalFeatureStore) {
+            Map < String, Feature > updated = ((IncrementalFeatureStore) sourceFeatureStore).readAllUpdatedSince(lastRefreshTime);
+            Set < String > cached = new HashSet<String>(cacheManager.listCachedFeatureNames());
+            for (Map.Entry < String, Feature > entry : updated.entrySet()) {
+                Feature f = entry.getValue();
+                if (f == null) {
+                    // Deleted from store
+                    if (featureFingerprints.remove(entry.getKey()) != null || cached.contains(entry.getKey())) {
+                        cacheManager.evictFeature(entry.getKey());
+                        changes++;
+                    }
+                    continue;
+                }
+                Long fingerprint = fingerprint(f.toJson());
+                boolean changed = !fingerprint.equals(featureFingerprints.put(f.getUid(), fingerprint));
+                if (changed || !cached.contains(f.getUid())) {
+                    cacheManager.putFeature(f);
+                }
+                if (changed) {
+                    changes++;
+                }
+            }
+            // Put back elements not in cache anymore (evicted, expired)
+            Set < String > evicted = new HashSet<String>(featureFingerprints.keySet());
+            evicted.removeAll(cached);
+            evicted.removeAll(updated.keySet());
+            if (!evicted.isEmpty()) {
+                for (Feature f : sourceFeatureStore.readFeatures(evicted).values()) {
+                    cacheManager.putFeature(f);
+                }
+            }
+            return changes;
+        }
+        Map < String, Feature > mapOfFeatures = sourceFeatureStore.readAll();
+        Set < String > cached = new HashSet<String>(cacheManager.listCachedFeatureNames());
+        Map < String, Long > fingerprints = new HashMap<String, Long>();
+        for (Feature f : mapOfFeatures.values()) {
+            Long fingerprint = fingerprint(f.toJson());
+            fingerprints.put(f.getUid(), fingerprint);
+            boolean changed = !fingerprint.equals(featureFingerprints.get(f.getUid()));
+            // Also put elements not in cache anymore (evicted, expired)
+            if (changed || !cached.contains(f.getUid())) {
+                cacheManager.putFeature(f);
+            }
+            if (changed) {
+                changes++;
+            }
+        }
+        // Deleted from store
+        cached.addAll(featureFingerprints.keySet());
+        for (String uid : cached) {
+            if (!mapOfFeatures.containsKey(uid)) {
+                cacheManager.evictFeature(uid);
+                changes++;
+            }
+        }
+        featureFingerprints = fingerprints;
+        return changes;
+    }
+    
+    /**
+     * Apply changes of properties to cache.
+     *
+     * @param full
+     *      if a full reload is required
+     * @return
+     *      number of properties put or evicted
+     */
+    private int refreshProperties(boolean full) {
+        int changes = 0;
+        if (!full && sourcePropertyStore instanceof IncrementalPropertyStore) {
+            Map < String, Property<?> > updated = 
+                    ((IncrementalPropertyStore) sourcePropertyStore).readAllPropertiesUpdatedSince(lastRefreshTime);
+            Set < String > cached = new HashSet<String>(cacheManager.listCachedPropertyNames());
+            for (Map.Entry < String, Property<?> > entry : updated.entrySet()) {
+                Property<?> p = entry.getValue();
+                if (p == null) {
+                    // Deleted from store
+                    if (propertyFingerprints.remove(entry.getKey()) != null || cached.contains(entry.getKey())) {
+                        cacheManager.evictProperty(entry.getKey());
+                        changes++;
+                    }
+                    continue;
+                }
+                Long fingerprint = fingerprint(p.toJson());
+                boolean changed = !fingerprint.equals(propertyFingerprints.put(p.getName(), fingerprint));
+                if (changed || !cached.contains(p.getName())) {
+                    cacheManager.putProperty(p);
+                }
+                if (changed) {
+                    changes++;
+                }
+            }
+            Set < String > evicted = new HashSet<String>(propertyFingerprints.keySet());
+            evicted.removeAll(cached);
+            evicted.removeAll(updated.keySet());
+            if (!evicted.isEmpty()) {
+                for (Property<?> p : sourcePropertyStore.readProperties(evicted).values()) {
+                    cacheManager.putProperty(p);
+                }
+            }
+            return changes;
+        }
+        Map < String, Property<?> > mapOfProperties = sourcePropertyStore.readAllProperties();
+        Set < String > cached = new HashSet<String>(cacheManager.listCachedPropertyNames());
+        Map < String, Long > fingerprints = new HashMap<String, Long>();
+        for (Property<?> p : mapOfProperties.values()) {
+            Long fingerprint = fingerprint(p.toJson());
+            fingerprints.put(p.getName(), fingerprint);
+            boolean changed = !fingerprint.equals(propertyFingerprints.get(p.getName()));
+            if (changed || !cached.contains(p.getName())) {
+                cacheManager.putProperty(p);
+            }
+            if (changed) {
+                changes++;
+            }
+        }
+        cached.addAll(propertyFingerprints.keySet());
+        for (String name : cached) {
+            if (!mapOfProperties.containsKey(name)) {
+                cacheManager.evictProperty(name);
+                changes++;
+            }
+        }
+        propertyFingerprints = fingerprints;
+        return changes;
+    }
+    
+    /**
+     * Content hash (FNV-1a 64 bits).
+     *
+     * @param content
+     *      serialized element
+     * @return
+     *      hash
+     */
+    private static Long fingerprint(String content) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < content.length(); i++) {
+            hash ^= content.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Getter accessor for attribute 'fullRefreshInterval'.
+     *
+     * @return
+     *       current value of 'fullRefreshInterval'
+     */
+    public int getFullRefreshInterval() {
+        return fullRefreshInterval;
+    }
+
+    /**
+     * Setter accessor for attribute 'fullRefreshInterval'.
+     * 
+     * @param fullRefreshInterval
+     *          new value for 'fullRefreshInterval '
+     */
+    public void setFullRefreshInterval(int fullRefreshInterval) {
+        if (fullRefreshInterval < 1) {
+            throw new IllegalArgumentException("Full refresh interval must be positive");
+        }
+        this.fullRefreshInterval = fullRefreshInterval;
+    }
+
+    /**
+     * Getter accessor for attribute 'refreshCount'.
+     *
+     * @return
+     *       current value of 'refreshCount'
+     */
+    public long getRefreshCount() {
+        return refreshCount;
+    }
+
+    /**
+     * Getter accessor for attribute 'lastRefreshDuration'.
+     *
+     * @return
+     *       duration of last run in milliseconds
+     */
+    public long getLastRefreshDuration() {
+        return lastRefreshDuration;
+    }
+
+    /**
+     * Getter accessor for attribute 'lastChangedFeatures'.
+     *
+     * @return
+     *       features put or evicted at last run
+     */
+    public int getLastChangedFeatures() {
+        return lastChangedFeatures;
+    }
+
+    /**
+     * Getter accessor for attribute 'lastChangedProperties'.
+     *
+     * @return
+     *       properties put or evicted at last run
+     */
+    public int getLastChangedProperties() {
+        return lastChangedProperties;
+    }
 
 }
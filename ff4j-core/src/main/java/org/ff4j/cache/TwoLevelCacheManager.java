@@ -0,0 +1,389 @@
+package org.ff4j.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.ff4j.cache.CacheInvalidationMessage.Type;
+import org.ff4j.core.Feature;
+import org.ff4j.property.Property;
+import org.ff4j.utils.Util;
+
+/**
+ * Two levels cache : a bounded on-heap cache (L1, {@link ConcurrentInMemoryCacheManager}) in front of any other
+ * {@link FF4JCacheManager} (L2, usually remote like Redis, JCache, Hazelcast...).
+ *
+ * Reads are served by L1 when possible, otherwise by L2 and the value is then kept in L1 (read-through). Puts, evictions
+ * and clears are applied on both levels (write-through). Each level has its own time-to-live : the one of L1 is given
+ * here, the one of L2 is defined by the L2 implementation.
+ *
+ * L1 is local to the node : when L2 is modified by another node, L1 is stale until its time-to-live is reached. With an
+ * {@link CacheInvalidationBus} puts, evictions and clears are published and other nodes drop the related L1 entries
+ * only, the L2 has already been updated by the emitter. Evictions applied when receiving a message are not published again.
+ * When the bus is also given to {@link FF4jCacheProxy}, the proxy shares its node identifier with this manager and
+ * delegates received messages to {@link #onInvalidation(CacheInvalidationMessage)}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class TwoLevelCacheManager implements FF4JCacheManager, CacheInvalidationListener {
+
+    /** Default maximum number of entries in L1. */
+    public static final int DEFAULT_L1_MAX_SIZE = 1000;
+
+    /** Default time to live in L1 (seconds), short as L1 can be stale. */
+    public static final long DEFAULT_L1_TTL = 10L;
+
+    /** Near cache. */
+    private final ConcurrentInMemoryCacheManager l1;
+
+    /** Remote cache. */
+    private final FF4JCacheManager l2;
+
+    /** Identifier of this node on the invalidation bus. */
+    private volatile String nodeId = UUID.randomUUID().toString();
+
+    /** Bus to invalidate L1 of other nodes (optional). */
+    private CacheInvalidationBus invalidationBus;
+
+    /** L2 statistics for features. */
+    private final Level2Counters featureCounters = new Level2Counters();
+
+    /** L2 statistics for properties. */
+    private final Level2Counters propertyCounters = new Level2Counters();
+
+    /**
+     * Constructor with default L1 settings.
+     *
+     * @param l2
+     *      remote cache manager
+     */
+    public TwoLevelCacheManager(FF4JCacheManager l2) {
+        this(l2, DEFAULT_L1_MAX_SIZE, DEFAULT_L1_TTL);
+    }
+
+    /**
+     * Constructor with L1 settings.
+     *
+     * @param l2
+     *      remote cache manager
+     * @param l1MaxSize
+     *      maximum number of features (and properties) in L1
+     * @param l1TimeToLive
+     *      time to live in L1 in seconds, 0 or negative means no expiry
+     */
+    public TwoLevelCacheManager(FF4JCacheManager l2, int l1MaxSize, long l1TimeToLive) {
+        Util.assertNotNull(l2);
+        this.l1 = new ConcurrentInMemoryCacheManager(l1MaxSize, l1TimeToLive);
+        this.l2 = l2;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getCacheProviderName() {
+        return "TwoLevel(" + l2.getCacheProviderName() + ")";
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Feature getFeature(String featureId) {
+        Feature feature = l1.getFeature(featureId);
+        if (feature == null) {
+            long start = System.nanoTime();
+            feature = l2.getFeature(featureId);
+            featureCounters.record(feature != null, System.nanoTime() - start);
+            if (feature != null) {
+                l1.putFeature(feature);
+            }
+        }
+        return feature;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Property<?> getProperty(String propertyName) {
+        Property<?> property = l1.getProperty(propertyName);
+        if (property == null) {
+            long start = System.nanoTime();
+            property = l2.getProperty(propertyName);
+            propertyCounters.record(property != null, System.nanoTime() - start);
+            if (property != null) {
+                l1.putProperty(property);
+            }
+        }
+        return property;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void putFeature(Feature feat) {
+        l2.putFeature(feat);
+        l1.putFeature(feat);
+        broadcast(Type.FEATURE, feat.getUid());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void putProperty(Property<?> prop) {
+        l2.putProperty(prop);
+        l1.putProperty(prop);
+        broadcast(Type.PROPERTY, prop.getName());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evictFeature(String featureId) {
+        l2.evictFeature(featureId);
+        l1.evictFeature(featureId);
+        broadcast(Type.FEATURE, featureId);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evictProperty(String propertyName) {
+        l2.evictProperty(propertyName);
+        l1.evictProperty(propertyName);
+        broadcast(Type.PROPERTY, propertyName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clearFeatures() {
+        l2.clearFeatures();
+        l1.clearFeatures();
+        broadcast(Type.ALL_FEATURES, null);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clearProperties() {
+        l2.clearProperties();
+        l1.clearProperties();
+        broadcast(Type.ALL_PROPERTIES, null);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onInvalidation(CacheInvalidationMessage message) {
+        // L1 has already been updated by the write itself
+        if (nodeId.equals(message.getOrigin())) {
+            return;
+        }
+        switch (message.getType()) {
+            case FEATURE:
+                l1.evictFeature(message.getName());
+            break;
+            case PROPERTY:
+                l1.evictProperty(message.getName());
+            break;
+            case ALL_FEATURES:
+                l1.clearFeatures();
+            break;
+            case ALL_PROPERTIES:
+                l1.clearProperties();
+            break;
+            default:
+            break;
+        }
+    }
+
+    /**
+     * Notify other nodes of a modification, if a bus is defined.
+     *
+     * @param type
+     *      kind of invalidation
+     * @param name
+     *      feature or property name, null to clear all
+     */
+    private void broadcast(Type type, String name) {
+        if (invalidationBus != null) {
+            invalidationBus.publish(new CacheInvalidationMessage(type, nodeId, name));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<String> listCachedFeatureNames() {
+        Set < String > names = new HashSet<String>(l2.listCachedFeatureNames());
+        names.addAll(l1.listCachedFeatureNames());
+        return names;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<String> listCachedPropertyNames() {
+        Set < String > names = new HashSet<String>(l2.listCachedPropertyNames());
+        names.addAll(l1.listCachedPropertyNames());
+        return names;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Object getFeatureNativeCache() {
+        return l2.getFeatureNativeCache();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Object getPropertyNativeCache() {
+        return l2.getPropertyNativeCache();
+    }
+
+    /**
+     * Statistics of L1 for features.
+     *
+     * @return
+     *      snapshot of statistics
+     */
+    public CacheStatistics getL1FeatureStatistics() {
+        return l1.getFeatureStatistics();
+    }
+
+    /**
+     * Statistics of L1 for properties.
+     *
+     * @return
+     *      snapshot of statistics
+     */
+    public CacheStatistics getL1PropertyStatistics() {
+        return l1.getPropertyStatistics();
+    }
+
+    /**
+     * Statistics of L2 for features : only lookups after a L1 miss are counted, load time is the time spent in L2.
+     * Size, evictions and expirations are not known at this level and reported as 0.
+     *
+     * @return
+     *      snapshot of statistics
+     */
+    public CacheStatistics getL2FeatureStatistics() {
+        return featureCounters.snapshot();
+    }
+
+    /**
+     * Statistics of L2 for properties : only lookups after a L1 miss are counted, load time is the time spent in L2.
+     * Size, evictions and expirations are not known at this level and reported as 0.
+     *
+     * @return
+     *      snapshot of statistics
+     */
+    public CacheStatistics getL2PropertyStatistics() {
+        return propertyCounters.snapshot();
+    }
+
+    /**
+     * Getter accessor for attribute 'nodeId'.
+     *
+     * @return
+     *       current value of 'nodeId'
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Setter accessor for attribute 'nodeId', messages published with this identifier are ignored.
+     * @param nodeId
+     *      new value for 'nodeId '
+     */
+    public void setNodeId(String nodeId) {
+        Util.assertHasLength(nodeId);
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * Setter accessor for attribute 'invalidationBus', the manager subscribes to the bus.
+     *
+     * @param bus
+     *      invalidation bus shared by all nodes
+     */
+    public void setInvalidationBus(CacheInvalidationBus bus) {
+        this.invalidationBus = bus;
+        if (bus != null) {
+            bus.subscribe(this);
+        }
+    }
+
+    /**
+     * Getter accessor for attribute 'invalidationBus'.
+     *
+     * @return
+     *       current value of 'invalidationBus'
+     */
+    public CacheInvalidationBus getInvalidationBus() {
+        return invalidationBus;
+    }
+
+    /**
+     * Getter accessor for attribute 'l1'.
+     *
+     * @return
+     *       current value of 'l1'
+     */
+    public ConcurrentInMemoryCacheManager getL1() {
+        return l1;
+    }
+
+    /**
+     * Getter accessor for attribute 'l2'.
+     *
+     * @return
+     *       current value of 'l2'
+     */
+    public FF4JCacheManager getL2() {
+        return l2;
+    }
+
+    /**
+     * Hits, misses and time spent in L2.
+     */
+    private static final class Level2Counters {
+
+        /** Values found in L2. */
+        private final AtomicLong hitCount = new AtomicLong();
+
+        /** Values absent from L2. */
+        private final AtomicLong missCount = new AtomicLong();
+
+        /** Cumulated time in L2 (nanoseconds). */
+        private final AtomicLong totalTime = new AtomicLong();
+
+        /** Record a lookup. */
+        private void record(boolean hit, long duration) {
+            if (hit) {
+                hitCount.incrementAndGet();
+            } else {
+                missCount.incrementAndGet();
+            }
+            totalTime.addAndGet(duration);
+        }
+
+        /** Current values. */
+        private CacheStatistics snapshot() {
+            long hits   = hitCount.get();
+            long misses = missCount.get();
+            return new CacheStatistics(hits, misses, 0, 0, hits + misses, totalTime.get(), 0);
+        }
+    }
+
+}
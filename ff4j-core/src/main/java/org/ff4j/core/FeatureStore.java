@@ -71,6 +71,16 @@ public interface FeatureStore {
      */
     Feature read(String featureUid);
 
+    /**
+     * Read several features at once, stores should fetch them in a single call (IN clause, multi-get, pipeline).
+     * 
+     * @param featureUids
+     *            unique feature identifiers
+     * @return
+     *            features found by uid, identifiers of unknown features are not in the map
+     */
+    Map<String, Feature> readFeatures(Set<String> featureUids);
+
     /**
      * Access to all features to get information.
      * 
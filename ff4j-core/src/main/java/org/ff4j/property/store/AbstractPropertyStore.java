@@ -2,6 +2,7 @@ package org.ff4j.property.store;
 
 import java.io.InputStream;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -178,6 +179,25 @@ public abstract class AbstractPropertyStore implements PropertyStore {
         }
     }
     
+    /**
+     * Default implementation reads properties one by one, override when the store can fetch them in a single call.
+     * 
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Property<?>> readProperties(Set<String> names) {
+        Util.assertNotNull(names);
+        Map<String, Property<?>> properties = new HashMap<String, Property<?>>();
+        for (String name : names) {
+            try {
+                properties.put(name, readProperty(name));
+            } catch (PropertyNotFoundException pnf) {
+                // Unknown properties are not returned
+            }
+        }
+        return properties;
+    }
+    
     /** {@inheritDoc} */
     @Override
     public void createSchema() {
@@ -21,6 +21,7 @@ package org.ff4j.property.store;
  */
 
 import java.io.InputStream;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
@@ -32,13 +33,18 @@ import org.ff4j.utils.Util;
 /**
  * Implementation of {@link PropertyStore} to keep properties in memory.
  *
+ * Date of last modification is kept for each property written through the store (see {@link IncrementalPropertyStore}).
+ *
  * @author Cedrick Lunven (@clunven)
  */
-public class InMemoryPropertyStore extends AbstractPropertyStore {
+public class InMemoryPropertyStore extends AbstractPropertyStore implements IncrementalPropertyStore {
 
     /** InMemory Feature Map */
     private Map<String, Property<?>> properties = new LinkedHashMap<String, Property<?>>();
 
+    /** Date of last modification (epoch millis) per property, kept for deleted properties (tombstones). */
+    private Map<String, Long> lastModified = new HashMap<String, Long>();
+
     /** FileName used to retrieve properties. */
     private String fileName;
     
@@ -79,6 +85,7 @@ public class InMemoryPropertyStore extends AbstractPropertyStore {
      */
     public InMemoryPropertyStore(Map<String, Property<?>> maps) {
         this.properties = maps;
+        touchAll();
     }
     
     /**
@@ -103,6 +110,22 @@ public class InMemoryPropertyStore extends AbstractPropertyStore {
             throw new IllegalArgumentException("Cannot parse stream with properties");
         }
         this.properties = new XmlParser().parseConfigurationFile(xmlIN).getProperties();
+        touchAll();
+    }
+
+    /**
+     * Set date of last modification of every property, and of properties removed (on load).
+     */
+    private void touchAll() {
+        long now = System.currentTimeMillis();
+        for (String name : lastModified.keySet()) {
+            lastModified.put(name, now);
+        }
+        if (properties != null) {
+            for (String name : properties.keySet()) {
+                lastModified.put(name, now);
+            }
+        }
     }
     
     /** {@inheritDoc} */
@@ -120,6 +143,7 @@ public class InMemoryPropertyStore extends AbstractPropertyStore {
         assertPropertyNotExist(value.getName());
         // Create
         properties.put(value.getName(), value);
+        lastModified.put(value.getName(), System.currentTimeMillis());
     }
 
     /** {@inheritDoc} */
@@ -129,12 +153,27 @@ public class InMemoryPropertyStore extends AbstractPropertyStore {
         return properties.get(name);
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Property<?>> readProperties(Set<String> names) {
+        Util.assertNotNull(names);
+        Map<String, Property<?>> result = new HashMap<String, Property<?>>();
+        for (String name : names) {
+            Property<?> property = properties.get(name);
+            if (property != null) {
+                result.put(name, property);
+            }
+        }
+        return result;
+    }
+    
     /** {@inheritDoc} */
     @Override
     public void deleteProperty(String name) {
         assertPropertyExist(name);
         // Delete
         properties.remove(name);
+        lastModified.put(name, System.currentTimeMillis());
     }
     
     /** {@inheritDoc} */
@@ -152,6 +191,7 @@ public class InMemoryPropertyStore extends AbstractPropertyStore {
         if (properties != null) {
             properties.clear();
         }
+        touchAll();
     }
     
     /** {@inheritDoc} */
@@ -160,6 +200,19 @@ public class InMemoryPropertyStore extends AbstractPropertyStore {
        return properties;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Property<?>> readAllPropertiesUpdatedSince(long timestamp) {
+        Map<String, Property<?>> result = new HashMap<String, Property<?>>();
+        for (Map.Entry<String, Long> item : lastModified.entrySet()) {
+            if (item.getValue() >= timestamp) {
+                // Null for deleted property
+                result.put(item.getKey(), properties.get(item.getKey()));
+            }
+        }
+        return result;
+    }
+
     /**
      * Setter accessor for attribute 'properties'.
      * @param properties
@@ -167,6 +220,7 @@ public class InMemoryPropertyStore extends AbstractPropertyStore {
      */
     public void setProperties(Map<String, Property<?>> properties) {
         this.properties = properties;
+        touchAll();
     }
     
     /**
@@ -0,0 +1,46 @@
+package org.ff4j.property.store;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Map;
+
+import org.ff4j.property.Property;
+
+/**
+ * Optional capability of a {@link PropertyStore} able to list properties modified after a date. Used by
+ * pollers to fetch only the changes between two runs. Stores able to track deletions return them as tombstones (name
+ * mapped to null), deletions of other stores are detected on full reloads.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public interface IncrementalPropertyStore extends PropertyStore {
+
+    /**
+     * Properties created, updated or deleted since target date.
+     *
+     * @param timestamp
+     *      lower bound (epoch millis, included)
+     * @return
+     *      properties modified since the date by name, null for a deleted property
+     */
+    Map < String, Property<?> > readAllPropertiesUpdatedSince(long timestamp);
+
+}
@@ -20,19 +20,25 @@ package org.ff4j.property.store;
  * #L%
  */
 import static org.ff4j.store.JdbcStoreConstants.COL_PROPERTY_ID;
+import static org.ff4j.store.JdbcStoreConstants.MAX_IN_PARAMS;
 import static org.ff4j.utils.JdbcUtils.buildStatement;
 import static org.ff4j.utils.JdbcUtils.closeConnection;
 import static org.ff4j.utils.JdbcUtils.closeResultSet;
 import static org.ff4j.utils.JdbcUtils.closeStatement;
 import static org.ff4j.utils.JdbcUtils.executeUpdate;
 import static org.ff4j.utils.JdbcUtils.isTableExist;
+import static org.ff4j.utils.JdbcUtils.rollback;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -48,9 +54,14 @@ import org.ff4j.utils.Util;
 /**
  * Access information related to properties within database.
  *
+ * With 'trackUpdates' the date of last modification is written in column LAST_MODIFIED (created by
+ * {@link #createSchema()} and schema-ddl.sql, to be added to older schemas) and
+ * {@link #readAllPropertiesUpdatedSince(long)} only returns properties modified since the date, otherwise it returns
+ * all properties.
+ *
  * @author Cedrick Lunven (@clunven)
  */
-public class JdbcPropertyStore extends AbstractPropertyStore {
+public class JdbcPropertyStore extends AbstractPropertyStore implements IncrementalPropertyStore {
 
     /** Access to storage. */
     private DataSource dataSource;
@@ -61,6 +72,9 @@ public class JdbcPropertyStore extends AbstractPropertyStore {
     /** Mapper. */
     private JdbcPropertyMapper JDBC_MAPPER = new JdbcPropertyMapper();
 
+    /** Write date of last modification (database clock) on each update, within the same transaction. */
+    private boolean trackUpdates = false;
+
     /** Default Constructor. */
     public JdbcPropertyStore() {}
     
@@ -122,11 +136,14 @@ public class JdbcPropertyStore extends AbstractPropertyStore {
         Util.assertNotNull(ap);
         Connection sqlConn = null;
         PreparedStatement ps = null;
+        Boolean previousAutoCommit = null;
         try {
             sqlConn = getDataSource().getConnection();
             if (existProperty(ap.getName())) {
                 throw new PropertyAlreadyExistException(ap.getName());
             }
+            previousAutoCommit = sqlConn.getAutoCommit();
+            sqlConn.setAutoCommit(false);
             ps = sqlConn.prepareStatement(getQueryBuilder().createProperty());
             ps.setString(1, ap.getName());
             ps.setString(2, ap.getType());
@@ -139,12 +156,15 @@ public class JdbcPropertyStore extends AbstractPropertyStore {
                 ps.setString(5, null);
             }
             ps.executeUpdate();
+            touch(sqlConn, ap.getName());
+            sqlConn.commit();
         } catch (SQLException sqlEX) {
+            rollback(sqlConn);
             throw new PropertyAccessException("Cannot update properties database, SQL ERROR", sqlEX);
         } finally {
             // Connection is closed alse here within clos statement
             closeStatement(ps);
-            closeConnection(sqlConn);
+            closeConnection(sqlConn, previousAutoCommit);
         }
     }
 
@@ -173,24 +193,67 @@ public class JdbcPropertyStore extends AbstractPropertyStore {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Property<?>> readProperties(Set<String> names) {
+        Util.assertNotNull(names);
+        Map<String, Property<?>> properties = new HashMap<String, Property<?>>();
+        if (names.isEmpty()) {
+            return properties;
+        }
+        Connection   sqlConn = null;
+        PreparedStatement ps = null;
+        ResultSet         rs = null;
+        try {
+            sqlConn = getDataSource().getConnection();
+            List<String> listOfNames = new ArrayList<String>(names);
+            for (int from = 0; from < listOfNames.size(); from += MAX_IN_PARAMS) {
+                String[] chunk = listOfNames.subList(from, Math.min(from + MAX_IN_PARAMS, listOfNames.size())).toArray(new String[0]);
+                ps = buildStatement(sqlConn, getQueryBuilder().getPropertiesIn(chunk.length), chunk);
+                rs = ps.executeQuery();
+                while (rs.next()) {
+                    Property<?> ap = JDBC_MAPPER.map(rs);
+                    properties.put(ap.getName(), ap);
+                }
+                closeResultSet(rs);
+                closeStatement(ps);
+                rs = null;
+                ps = null;
+            }
+            return properties;
+        } catch (SQLException sqlEX) {
+            throw new PropertyAccessException("Cannot read properties, error related to database", sqlEX);
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+            closeConnection(sqlConn);
+        }
+    }
+
     /** {@inheritDoc} */
     public void updateProperty(String name, String newValue) {
         Util.assertHasLength(name);
         Connection   sqlConn = null;
         PreparedStatement ps = null;
+        Boolean previousAutoCommit = null;
         try {
             sqlConn = getDataSource().getConnection();
             // Check existence
             Property<?> ab = readProperty(name);
             // Check new value validity
             ab.fromString(newValue);
+            previousAutoCommit = sqlConn.getAutoCommit();
+            sqlConn.setAutoCommit(false);
             ps = buildStatement(sqlConn, getQueryBuilder().updateProperty(), newValue, name);
             ps.executeUpdate();
+            touch(sqlConn, name);
+            sqlConn.commit();
         } catch (SQLException sqlEX) {
+            rollback(sqlConn);
             throw new PropertyAccessException("Cannot update property database, SQL ERROR", sqlEX);
         } finally {
             closeStatement(ps);
-            closeConnection(sqlConn);
+            closeConnection(sqlConn, previousAutoCommit);
         }
     }
 
@@ -248,6 +311,57 @@ public class JdbcPropertyStore extends AbstractPropertyStore {
         return properties;
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Property<?>> readAllPropertiesUpdatedSince(long timestamp) {
+        if (!trackUpdates) {
+            return readAllProperties();
+        }
+        Set < String > names = new HashSet<String>();
+        Connection   sqlConn = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            sqlConn = getDataSource().getConnection();
+            ps = sqlConn.prepareStatement(getQueryBuilder().getPropertiesUpdatedSince());
+            ps.setTimestamp(1, new Timestamp(timestamp));
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                names.add(rs.getString(COL_PROPERTY_ID));
+            }
+        } catch (SQLException sqlEX) {
+            throw new PropertyAccessException("Cannot read properties within database, SQL ERROR", sqlEX);
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+            closeConnection(sqlConn);
+        }
+        return readProperties(names);
+    }
+    
+    /**
+     * Write date of last modification (if 'trackUpdates'), date of the database is used.
+     *
+     * @param sqlConn
+     *      current connection
+     * @param name
+     *      property name
+     * @throws SQLException
+     *      error during sql operation
+     */
+    private void touch(Connection sqlConn, String name) throws SQLException {
+        if (trackUpdates) {
+            PreparedStatement ps = null;
+            try {
+                ps = sqlConn.prepareStatement(getQueryBuilder().touchProperty());
+                ps.setString(1, name);
+                ps.executeUpdate();
+            } finally {
+                closeStatement(ps);
+            }
+        }
+    }
+    
     /** {@inheritDoc} */
     public Set<String> listPropertyNames() {
         Set < String > propertyNames = new HashSet<String>();
@@ -322,5 +436,24 @@ public class JdbcPropertyStore extends AbstractPropertyStore {
 	public void setQueryBuilder(JdbcQueryBuilder queryBuilder) {
 		this.queryBuilder = queryBuilder;
 	}
+
+    /**
+     * Getter accessor for attribute 'trackUpdates'.
+     *
+     * @return
+     *       current value of 'trackUpdates'
+     */
+    public boolean isTrackUpdates() {
+        return trackUpdates;
+    }
+
+    /**
+     * Setter accessor for attribute 'trackUpdates', requires column LAST_MODIFIED.
+     * @param trackUpdates
+     * 		new value for 'trackUpdates '
+     */
+    public void setTrackUpdates(boolean trackUpdates) {
+        this.trackUpdates = trackUpdates;
+    }
     
 }
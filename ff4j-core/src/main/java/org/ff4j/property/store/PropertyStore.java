@@ -71,6 +71,16 @@ public interface PropertyStore {
      */
     Property<?> readProperty(String name, Property < ? > defaultValue);
     
+    /**
+     * Read several properties at once, stores should fetch them in a single call (IN clause, multi-get, pipeline).
+     * 
+     * @param names
+     *      target property names
+     * @return
+     *      properties found by name, names of unknown properties are not in the map
+     */
+    Map<String, Property<?>> readProperties(Set<String> names);
+    
     /**
      * Update existing property.
      *
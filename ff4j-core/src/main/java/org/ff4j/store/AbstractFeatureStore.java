@@ -112,6 +112,25 @@ public abstract class AbstractFeatureStore implements FeatureStore {
         update(f);
     }
     
+    /**
+     * Default implementation reads features one by one, override when the store can fetch them in a single call.
+     * 
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Feature> readFeatures(Set<String> featureUids) {
+        Util.assertNotNull(featureUids);
+        Map<String, Feature> features = new HashMap<String, Feature>();
+        for (String uid : featureUids) {
+            try {
+                features.put(uid, read(uid));
+            } catch (FeatureNotFoundException fnfe) {
+                // Unknown features are not returned
+            }
+        }
+        return features;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readGroup(String groupName) {
@@ -20,16 +20,21 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.ff4j.conf.XmlParser;
 import org.ff4j.core.Feature;
+import org.ff4j.utils.Util;
 
 /**
  * Storing states of feature inmemory with initial values. Could be used mostly for testing purpose.
  * 
+ * Date of last modification is kept for each feature written through the store (see {@link IncrementalFeatureStore}),
+ * as well as a version of the whole store (see {@link VersionedFeatureStore}).
+ * 
  * @author Cedrick Lunven (@clunven)
  */
-public class InMemoryFeatureStore extends AbstractFeatureStore {
+public class InMemoryFeatureStore extends AbstractFeatureStore implements IncrementalFeatureStore, VersionedFeatureStore {
 
     /** XML File where features are load. */
     private String fileName = null;
@@ -40,6 +45,12 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
     /** Group structure for features. */
     private Map<String, Set<String>> featureGroups = new HashMap<String, Set<String>>();
 
+    /** Date of last modification (epoch millis) per feature, kept for deleted features (tombstones). */
+    private Map<String, Long> lastModified = new HashMap<String, Long>();
+
+    /** Incremented on each modification. */
+    private final AtomicLong version = new AtomicLong();
+
     /** Default constructor. */
     public InMemoryFeatureStore() {}
 
@@ -78,6 +89,7 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
         createSchema();
         this.featuresMap = maps;
         buildGroupsFromFeatures();
+        touchAll();
     }
 
     /**
@@ -103,6 +115,29 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
         }
         this.featuresMap = new XmlParser().parseConfigurationFile(xmlIN).getFeatures();
         buildGroupsFromFeatures();
+        touchAll();
+    }
+
+    /**
+     * Set date of last modification of a feature.
+     * 
+     * @param uid
+     *            target feature identifier
+     */
+    private void touch(String uid) {
+        lastModified.put(uid, System.currentTimeMillis());
+        version.incrementAndGet();
+    }
+
+    /**
+     * Set date of last modification of every feature, and of features removed (on load).
+     */
+    private void touchAll() {
+        Set<String> uids = new HashSet<String>(lastModified.keySet());
+        uids.addAll(featuresMap.keySet());
+        for (String uid : uids) {
+            touch(uid);
+        }
     }
 
     /**
@@ -130,6 +165,7 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
     private void updateFeature(Feature fp) {
         featuresMap.put(fp.getUid(), fp);
         buildGroupsFromFeatures();
+        touch(fp.getUid());
     }
 
     /** {@inheritDoc} */    
@@ -158,6 +194,7 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
     public void delete(String uid) {
         assertFeatureExist(uid);
         featuresMap.remove(uid);
+        touch(uid);
         buildGroupsFromFeatures();
     }
 
@@ -166,6 +203,7 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
         assertFeatureExist(uid);
         assertHasLength(roleName);
         featuresMap.get(uid).getPermissions().add(roleName);
+        touch(uid);
     }
 
     /** {@inheritDoc} */
@@ -173,6 +211,7 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
         assertFeatureExist(uid);
         assertHasLength(roleName);
         featuresMap.get(uid).getPermissions().remove(roleName);
+        touch(uid);
     }
 
     /** {@inheritDoc} */
@@ -185,12 +224,14 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
     public void enable(String uid) {
         assertFeatureExist(uid);
         featuresMap.get(uid).enable();
+        touch(uid);
     }
 
     /** {@inheritDoc} */    
     public void disable(String uid) {
         assertFeatureExist(uid);
         featuresMap.get(uid).disable();
+        touch(uid);
     }
 
     /** {@inheritDoc} */
@@ -199,6 +240,20 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
         return featuresMap.get(uid);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readFeatures(Set<String> featureUids) {
+        Util.assertNotNull(featureUids);
+        Map<String, Feature> features = new HashMap<String, Feature>();
+        for (String uid : featureUids) {
+            Feature feature = featuresMap.get(uid);
+            if (feature != null) {
+                features.put(uid, feature);
+            }
+        }
+        return features;
+    }
+
     /** {@inheritDoc} */
     public boolean existGroup(String groupName) {
         assertHasLength(groupName);
@@ -263,6 +318,13 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
     @Override
     public void clear() {
        featuresMap.clear();
+       touchAll();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getVersion() {
+        return version.get();
     }
 
     /** {@inheritDoc} */
@@ -271,6 +333,19 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
         return featuresMap;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readAllUpdatedSince(long timestamp) {
+        Map<String, Feature> features = new HashMap<String, Feature>();
+        for (Entry<String, Long> item : lastModified.entrySet()) {
+            if (item.getValue() >= timestamp) {
+                // Null for deleted feature
+                features.put(item.getKey(), featuresMap.get(item.getKey()));
+            }
+        }
+        return features;
+    }
+
     /** {@inheritDoc} */
     @Override
     public String toJson() {
@@ -1,8 +1,11 @@
 package org.ff4j.store;
 
 import static org.ff4j.store.JdbcStoreConstants.COL_FEAT_GROUPNAME;
+import static org.ff4j.store.JdbcStoreConstants.COL_FEAT_UID;
+import static org.ff4j.store.JdbcStoreConstants.COL_PROPERTY_FEATID;
 import static org.ff4j.store.JdbcStoreConstants.COL_ROLE_FEATID;
 import static org.ff4j.store.JdbcStoreConstants.COL_ROLE_ROLENAME;
+import static org.ff4j.store.JdbcStoreConstants.MAX_IN_PARAMS;
 import static org.ff4j.utils.JdbcUtils.buildStatement;
 
 /*
@@ -37,9 +40,13 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -49,6 +56,7 @@ import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
 import org.ff4j.exception.FeatureAccessException;
 import org.ff4j.exception.FeatureAlreadyExistException;
+import org.ff4j.exception.FeatureNotFoundException;
 import org.ff4j.property.Property;
 import org.ff4j.property.store.JdbcPropertyMapper;
 import org.ff4j.utils.JdbcUtils;
@@ -58,9 +66,13 @@ import org.ff4j.utils.Util;
 /**
  * Implementation of {@link FeatureStore} to work with RDBMS through JDBC.
  *
+ * With 'trackUpdates' the date of last modification is written in column LAST_MODIFIED (created by
+ * {@link #createSchema()} and schema-ddl.sql, to be added to older schemas) and {@link #readAllUpdatedSince(long)}
+ * only returns features modified since the date, otherwise it returns all features.
+ *
  * @author Cedrick Lunven (@clunven)
  */
-public class JdbcFeatureStore extends AbstractFeatureStore {
+public class JdbcFeatureStore extends AbstractFeatureStore implements IncrementalFeatureStore {
 
 	/** Error message 1. */
     public static final String CANNOT_CHECK_FEATURE_EXISTENCE_ERROR_RELATED_TO_DATABASE =
@@ -76,6 +88,9 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     /** Query builder. */
     private JdbcQueryBuilder queryBuilder;
 
+    /** Write date of last modification (database clock) on each update, within the same transaction. */
+    private boolean trackUpdates = false;
+
     /** Mapper. */
     private JdbcPropertyMapper JDBC_PROPERTY_MAPPER = new JdbcPropertyMapper();
 
@@ -126,14 +141,14 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     @Override
     public void enable(String uid) {
     	assertFeatureExist(uid);
-        update(getQueryBuilder().enableFeature(), uid);
+        updateAndTouch(getQueryBuilder().touchFeature(), uid, getQueryBuilder().enableFeature(), uid);
     }
 
     /** {@inheritDoc} */
     @Override
     public void disable(String uid) {
     	assertFeatureExist(uid);
-        update(getQueryBuilder().disableFeature(), uid);
+        updateAndTouch(getQueryBuilder().touchFeature(), uid, getQueryBuilder().disableFeature(), uid);
     }
 
     /** {@inheritDoc} */
@@ -161,48 +176,51 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     /** {@inheritDoc} */
    @Override
    public Feature read(String uid) {
-    	assertFeatureExist(uid);
-        Connection          sqlConn = null;
-        PreparedStatement   ps = null;
-        ResultSet           rs = null;
+        assertHasLength(uid);
+        Connection sqlConn = null;
         try {
+            // 3 queries on a single connection, existence is given by the first one
             sqlConn = getDataSource().getConnection();
-            ps = sqlConn.prepareStatement(getQueryBuilder().getFeature());
-            ps.setString(1, uid);
-            rs = ps.executeQuery();
-            // Existence is tested before
-            rs.next();
-            Feature f = JDBC_FEATURE_MAPPER.mapFeature(rs);
-            closeResultSet(rs);
-            rs = null;
-            closeStatement(ps);
-            ps = null;
-
-            // Enrich to get roles 2nd request
-            ps = sqlConn.prepareStatement(getQueryBuilder().getRoles());
-            ps.setString(1, uid);
-            rs = ps.executeQuery();
-            while (rs.next()) {
-                f.getPermissions().add(rs.getString("ROLE_NAME"));
+            Map<String, Feature> mapFP = readFeatures(sqlConn, getQueryBuilder().getFeature(), uid);
+            if (mapFP.isEmpty()) {
+                throw new FeatureNotFoundException(uid);
             }
-            closeResultSet(rs);
-            rs = null;
-            closeStatement(ps);
-            ps = null;
+            readRoles(sqlConn, mapFP, getQueryBuilder().getRolesOfFeature(), uid);
+            readCustomProperties(sqlConn, mapFP, getQueryBuilder().getFeatureProperties(), uid);
+            return mapFP.get(uid);
+        } catch (SQLException sqlEX) {
+            throw new FeatureAccessException(CANNOT_CHECK_FEATURE_EXISTENCE_ERROR_RELATED_TO_DATABASE, sqlEX);
+        } finally {
+            closeConnection(sqlConn);
+        }
+    }
 
-            // Enrich with properties 3d request to get custom properties by uid
-            ps = sqlConn.prepareStatement(getQueryBuilder().getFeatureProperties());
-            ps.setString(1, uid);
-            rs = ps.executeQuery();
-            while (rs.next()) {
-               f.addProperty(JDBC_PROPERTY_MAPPER.map(rs));
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readFeatures(Set<String> featureUids) {
+        Util.assertNotNull(featureUids);
+        Map<String, Feature> mapFP = new HashMap<String, Feature>();
+        if (featureUids.isEmpty()) {
+            return mapFP;
+        }
+        Connection sqlConn = null;
+        try {
+            // 3 queries per chunk of identifiers, on a single connection
+            sqlConn = getDataSource().getConnection();
+            List<String> uids = new ArrayList<String>(featureUids);
+            for (int from = 0; from < uids.size(); from += MAX_IN_PARAMS) {
+                String[] chunk = uids.subList(from, Math.min(from + MAX_IN_PARAMS, uids.size())).toArray(new String[0]);
+                Map<String, Feature> chunkFP = readFeatures(sqlConn, getQueryBuilder().getFeaturesIn(chunk.length), chunk);
+                if (!chunkFP.isEmpty()) {
+                    readRoles(sqlConn, chunkFP, getQueryBuilder().getRolesOfFeaturesIn(chunk.length), chunk);
+                    readCustomProperties(sqlConn, chunkFP, getQueryBuilder().getFeaturePropertiesIn(chunk.length), chunk);
+                    mapFP.putAll(chunkFP);
+                }
             }
-            return f;
+            return mapFP;
         } catch (SQLException sqlEX) {
             throw new FeatureAccessException(CANNOT_CHECK_FEATURE_EXISTENCE_ERROR_RELATED_TO_DATABASE, sqlEX);
         } finally {
-            closeResultSet(rs);
-            closeStatement(ps);
             closeConnection(sqlConn);
         }
     }
@@ -262,6 +280,7 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
                     ps = null;
                 }
             }
+            touch(sqlConn, getQueryBuilder().touchFeature(), fp.getUid());
 
             // Commit
             sqlConn.commit();
@@ -337,7 +356,7 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     public void grantRoleOnFeature(String uid, String roleName) {
     	assertFeatureExist(uid);
         assertHasLength(roleName);
-        update(getQueryBuilder().addRoleToFeature(), uid, roleName);
+        updateAndTouch(getQueryBuilder().touchFeature(), uid, getQueryBuilder().addRoleToFeature(), uid, roleName);
     }
 
     /** {@inheritDoc} */
@@ -345,65 +364,123 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     public void removeRoleFromFeature(String uid, String roleName) {
     	assertFeatureExist(uid);
         assertHasLength(roleName);
-        update(getQueryBuilder().deleteFeatureRole(), uid, roleName);
+        updateAndTouch(getQueryBuilder().touchFeature(), uid, getQueryBuilder().deleteFeatureRole(), uid, roleName);
     }
 
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
-        LinkedHashMap<String, Feature> mapFP = new LinkedHashMap<String, Feature>();
         Connection sqlConn = null;
+        try {
+            // 3 set-based queries (features, roles, custom properties) stitched in memory
+            sqlConn = dataSource.getConnection();
+            Map<String, Feature> mapFP = readFeatures(sqlConn, getQueryBuilder().getAllFeatures());
+            readRoles(sqlConn, mapFP, getQueryBuilder().getAllRoles());
+            readCustomProperties(sqlConn, mapFP, getQueryBuilder().getAllFeatureProperties());
+            return mapFP;
+        } catch (SQLException sqlEX) {
+            throw new FeatureAccessException(CANNOT_CHECK_FEATURE_EXISTENCE_ERROR_RELATED_TO_DATABASE, sqlEX);
+        } finally {
+            closeConnection(sqlConn);
+        }
+    }
+    
+    /**
+     * Read features (without roles and properties).
+     *
+     * @param sqlConn
+     *      current connection
+     * @param query
+     *      query on features table
+     * @param params
+     *      query parameters
+     * @return
+     *      features by uid, in query order
+     * @throws SQLException
+     *      error on query
+     */
+    private Map<String, Feature> readFeatures(Connection sqlConn, String query, String... params)
+    throws SQLException {
+        LinkedHashMap<String, Feature> mapFP = new LinkedHashMap<String, Feature>();
         PreparedStatement ps = null;
         ResultSet rs = null;
         try {
-
-        	// Returns features
-            sqlConn = dataSource.getConnection();
-            ps = sqlConn.prepareStatement(getQueryBuilder().getAllFeatures());
+            ps = buildStatement(sqlConn, query, params);
             rs = ps.executeQuery();
             while (rs.next()) {
                 Feature f = JDBC_FEATURE_MAPPER.mapFeature(rs);
                 mapFP.put(f.getUid(), f);
             }
+            return mapFP;
+        } finally {
             closeResultSet(rs);
-            rs = null;
             closeStatement(ps);
-            ps = null;
-
-            // Returns Roles
-            ps = sqlConn.prepareStatement(getQueryBuilder().getAllRoles());
+        }
+    }
+    
+    /**
+     * Enrich features with roles, rows of unknown features are ignored.
+     *
+     * @param sqlConn
+     *      current connection
+     * @param mapFP
+     *      features to enrich
+     * @param query
+     *      query on roles table
+     * @param params
+     *      query parameters
+     * @throws SQLException
+     *      error on query
+     */
+    private void readRoles(Connection sqlConn, Map<String, Feature> mapFP, String query, String... params)
+    throws SQLException {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            ps = buildStatement(sqlConn, query, params);
             rs = ps.executeQuery();
             while (rs.next()) {
-                String uid = rs.getString(COL_ROLE_FEATID);
-                mapFP.get(uid).getPermissions().add(rs.getString(COL_ROLE_ROLENAME));
+                Feature f = mapFP.get(rs.getString(COL_ROLE_FEATID));
+                if (f != null) {
+                    f.getPermissions().add(rs.getString(COL_ROLE_ROLENAME));
+                }
             }
+        } finally {
             closeResultSet(rs);
-            rs = null;
             closeStatement(ps);
-            ps = null;
-
-            // Read custom properties for each feature
-            for (Feature f : mapFP.values()) {
-                ps = sqlConn.prepareStatement(getQueryBuilder().getFeatureProperties());
-                ps.setString(1, f.getUid());
-                rs = ps.executeQuery();
-                while (rs.next()) {
+        }
+    }
+    
+    /**
+     * Enrich features with custom properties, rows of unknown features are ignored.
+     *
+     * @param sqlConn
+     *      current connection
+     * @param mapFP
+     *      features to enrich
+     * @param query
+     *      query on custom properties table
+     * @param params
+     *      query parameters
+     * @throws SQLException
+     *      error on query
+     */
+    private void readCustomProperties(Connection sqlConn, Map<String, Feature> mapFP, String query, String... params)
+    throws SQLException {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            ps = buildStatement(sqlConn, query, params);
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                Feature f = mapFP.get(rs.getString(COL_PROPERTY_FEATID));
+                if (f != null) {
                     f.addProperty(JDBC_PROPERTY_MAPPER.map(rs));
                 }
-                closeResultSet(rs);
-                rs = null;
-                closeStatement(ps);
-                ps = null;
             }
-
-            return mapFP;
-
-        } catch (SQLException sqlEX) {
-            throw new FeatureAccessException(CANNOT_CHECK_FEATURE_EXISTENCE_ERROR_RELATED_TO_DATABASE, sqlEX);
         } finally {
             closeResultSet(rs);
             closeStatement(ps);
-            closeConnection(sqlConn);
         }
     }
 
@@ -489,6 +566,7 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
                 closeStatement(ps);
                 ps = null;
             }
+            touch(sqlConn, getQueryBuilder().touchFeature(), fp.getUid());
         } catch (SQLException sqlEX) {
             throw new FeatureAccessException(CANNOT_CHECK_FEATURE_EXISTENCE_ERROR_RELATED_TO_DATABASE, sqlEX);
         } finally {
@@ -630,75 +708,31 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     @Override
     public void enableGroup(String groupName) {
     	assertGroupExist(groupName);
-        update(getQueryBuilder().enableGroup(), groupName);
+        updateAndTouch(getQueryBuilder().touchGroup(), groupName, getQueryBuilder().enableGroup(), groupName);
     }
 
     /** {@inheritDoc} */
     @Override
     public void disableGroup(String groupName) {
     	assertGroupExist(groupName);
-        update(getQueryBuilder().disableGroup(), groupName);
+        updateAndTouch(getQueryBuilder().touchGroup(), groupName, getQueryBuilder().disableGroup(), groupName);
     }
 
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readGroup(String groupName) {
     	assertGroupExist(groupName);
-        LinkedHashMap<String, Feature> mapFP = new LinkedHashMap<String, Feature>();
         Connection sqlConn = null;
-        PreparedStatement ps = null;
-        ResultSet rs = null;
         try {
-            // Returns features
+            // Roles and properties restricted to the group
             sqlConn = dataSource.getConnection();
-            ps = sqlConn.prepareStatement(getQueryBuilder().getFeatureOfGroup());
-            ps.setString(1, groupName);
-            rs = ps.executeQuery();
-            while (rs.next()) {
-                Feature f = JDBC_FEATURE_MAPPER.mapFeature(rs);
-                mapFP.put(f.getUid(), f);
-            }
-            closeResultSet(rs);
-            rs = null;
-            closeStatement(ps);
-            ps = null;
-
-            // Returns Roles
-            ps = sqlConn.prepareStatement(getQueryBuilder().getAllRoles());
-            rs = ps.executeQuery();
-            while (rs.next()) {
-                String uid = rs.getString(COL_ROLE_FEATID);
-                // only feature in the group must be processed
-                if (mapFP.containsKey(uid)) {
-                    mapFP.get(uid).getPermissions().add(rs.getString(COL_ROLE_ROLENAME));
-                }
-            }
-            closeResultSet(rs);
-            rs = null;
-            closeStatement(ps);
-            ps = null;
-
-            // Read custom properties for each feature
-            for (Feature f : mapFP.values()) {
-                ps = sqlConn.prepareStatement(getQueryBuilder().getFeatureProperties());
-                ps.setString(1, f.getUid());
-                rs = ps.executeQuery();
-                while (rs.next()) {
-                    f.addProperty(JDBC_PROPERTY_MAPPER.map(rs));
-                }
-                closeResultSet(rs);
-                rs = null;
-                closeStatement(ps);
-                ps = null;
-            }
-
+            Map<String, Feature> mapFP = readFeatures(sqlConn, getQueryBuilder().getFeatureOfGroup(), groupName);
+            readRoles(sqlConn, mapFP, getQueryBuilder().getRolesOfGroup(), groupName);
+            readCustomProperties(sqlConn, mapFP, getQueryBuilder().getFeaturePropertiesOfGroup(), groupName);
             return mapFP;
-
         } catch (SQLException sqlEX) {
             throw new FeatureAccessException(CANNOT_CHECK_FEATURE_EXISTENCE_ERROR_RELATED_TO_DATABASE, sqlEX);
         } finally {
-            closeResultSet(rs);
-            closeStatement(ps);
             closeConnection(sqlConn);
         }
     }
@@ -708,7 +742,7 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     public void addToGroup(String uid, String groupName) {
     	assertFeatureExist(uid);
         assertHasLength(groupName);
-        update(getQueryBuilder().addFeatureToGroup(), groupName, uid);
+        updateAndTouch(getQueryBuilder().touchFeature(), uid, getQueryBuilder().addFeatureToGroup(), groupName, uid);
     }
 
     /** {@inheritDoc} */
@@ -720,7 +754,94 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
         if (feat.getGroup() != null && !feat.getGroup().equals(groupName)) {
             throw new IllegalArgumentException("'" + uid + "' is not in group '" + groupName + "'");
         }
-        update(getQueryBuilder().addFeatureToGroup(), "", uid);
+        updateAndTouch(getQueryBuilder().touchFeature(), uid, getQueryBuilder().addFeatureToGroup(), "", uid);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readAllUpdatedSince(long timestamp) {
+        if (!trackUpdates) {
+            return readAll();
+        }
+        Set<String> uids = new HashSet<String>();
+        Connection sqlConn = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            sqlConn = getDataSource().getConnection();
+            ps = sqlConn.prepareStatement(getQueryBuilder().getFeaturesUpdatedSince());
+            ps.setTimestamp(1, new Timestamp(timestamp));
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                uids.add(rs.getString(COL_FEAT_UID));
+            }
+        } catch (SQLException sqlEX) {
+            throw new FeatureAccessException(CANNOT_CHECK_FEATURE_EXISTENCE_ERROR_RELATED_TO_DATABASE, sqlEX);
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+            closeConnection(sqlConn);
+        }
+        return readFeatures(uids);
+    }
+
+    /**
+     * Perform an UPDATE operation and write date of last modification (if 'trackUpdates')
+     * within the same transaction, the date is the one of the database.
+     *
+     * @param touchQuery
+     *            touch query on feature or group
+     * @param key
+     *            feature identifier or group name
+     * @param query
+     *            target query
+     * @param params
+     *            sql query params
+     */
+    private void updateAndTouch(String touchQuery, String key, String query, String... params) {
+        Connection sqlConn = null;
+        PreparedStatement ps = null;
+        Boolean previousAutoCommit = null;
+        try {
+            sqlConn = getDataSource().getConnection();
+            previousAutoCommit = sqlConn.getAutoCommit();
+            sqlConn.setAutoCommit(false);
+            ps = buildStatement(sqlConn, query, params);
+            ps.executeUpdate();
+            touch(sqlConn, touchQuery, key);
+            sqlConn.commit();
+        } catch (SQLException sqlEX) {
+            rollback(sqlConn);
+            throw new FeatureAccessException(CANNOT_UPDATE_FEATURES_DATABASE_SQL_ERROR, sqlEX);
+        } finally {
+            closeStatement(ps);
+            closeConnection(sqlConn, previousAutoCommit);
+        }
+    }
+
+    /**
+     * Write date of last modification (if 'trackUpdates') with current connection, date of the database is used.
+     *
+     * @param sqlConn
+     *            current connection
+     * @param query
+     *            touch query on feature or group
+     * @param key
+     *            feature identifier or group name
+     * @throws SQLException
+     *            error during sql operation
+     */
+    private void touch(Connection sqlConn, String query, String key) throws SQLException {
+        if (trackUpdates) {
+            PreparedStatement ps = null;
+            try {
+                ps = sqlConn.prepareStatement(query);
+                ps.setString(1, key);
+                ps.executeUpdate();
+            } finally {
+                closeStatement(ps);
+            }
+        }
     }
 
     /**
@@ -788,4 +909,23 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
 		this.queryBuilder = queryBuilder;
 	}
 
+    /**
+     * Getter accessor for attribute 'trackUpdates'.
+     *
+     * @return current value of 'trackUpdates'
+     */
+    public boolean isTrackUpdates() {
+        return trackUpdates;
+    }
+
+    /**
+     * Setter accessor for attribute 'trackUpdates', requires column LAST_MODIFIED.
+     *
+     * @param trackUpdates
+     *            new value for 'trackUpdates '
+     */
+    public void setTrackUpdates(boolean trackUpdates) {
+        this.trackUpdates = trackUpdates;
+    }
+
 }
@@ -17,8 +17,11 @@ import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_TIME;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_TYPE;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_UUID;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_USER;
+import static org.ff4j.store.JdbcStoreConstants.COL_ROLLUP_HITS;
+import static org.ff4j.store.JdbcStoreConstants.COL_ROLLUP_SLOT;
 
 import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 
 /*
  * #%L
@@ -138,6 +141,24 @@ public class JdbcQueryBuilder {
         return getTableName("PROPERTIES");
     }
     
+    /**
+     * Table name for hits of features aggregated by time slot.
+     *
+     * @param units
+     *     width of slot : minutes, hours or days
+     * @return
+     *     Table name for rollup
+     */
+    public String getTableNameAuditRollup(TimeUnit units) {
+        switch (units) {
+            case MINUTES: return getTableName("AUDIT_MINUTE");
+            case HOURS:   return getTableName("AUDIT_HOUR");
+            case DAYS:    return getTableName("AUDIT_DAY");
+            default:
+                throw new IllegalArgumentException("No rollup for " + units + " expected MINUTES, HOURS or DAYS");
+        }
+    }
+    
     /**
      * SQL to create Tables (won't work for all DB).
      *
@@ -153,6 +174,7 @@ public class JdbcQueryBuilder {
                   + "STRATEGY    VARCHAR(1000), "
                   + "EXPRESSION  VARCHAR(255), "
                   + "GROUPNAME   VARCHAR(100), "
+                  + "LAST_MODIFIED TIMESTAMP, "
                   + "PRIMARY KEY(FEAT_UID))");
         return sb.toString();
     }
@@ -206,6 +228,7 @@ public class JdbcQueryBuilder {
                  + " CURRENTVALUE VARCHAR(255),"
                  + " FIXEDVALUES  VARCHAR(1000),"
                  + " DESCRIPTION  VARCHAR(1000),"
+                 + " LAST_MODIFIED TIMESTAMP,"
                  + " PRIMARY KEY(PROPERTY_ID))");
         return sb.toString();
     }
@@ -234,6 +257,27 @@ public class JdbcQueryBuilder {
          return sb.toString();
     }
     
+    /**
+     * SQL to create rollup Tables (won't work for all DB).
+     *
+     * @param units
+     *      width of slot : minutes, hours or days
+     * @return
+     *      sql to create rollup table
+     */
+    public String sqlCreateTableAuditRollup(TimeUnit units) {
+        StringBuilder sb = new StringBuilder("CREATE TABLE ");
+        sb.append(getTableNameAuditRollup(units));
+        sb.append("( RU_SLOT     TIMESTAMP    NOT NULL,"
+                + " EVT_NAME     VARCHAR(30)  NOT NULL,"
+                + " EVT_HOSTNAME VARCHAR(100) NOT NULL,"
+                + " EVT_SOURCE   VARCHAR(30)  NOT NULL,"
+                + " EVT_USER     VARCHAR(30)  NOT NULL,"
+                + " RU_HITS      INTEGER      NOT NULL,"
+                + "PRIMARY KEY(RU_SLOT, EVT_NAME, EVT_HOSTNAME, EVT_SOURCE, EVT_USER))");
+        return sb.toString();
+    }
+    
     
 	public String getAllFeatures() {
 		StringBuilder sb = new StringBuilder();
@@ -265,6 +309,15 @@ public class JdbcQueryBuilder {
 		return sb.toString();
 	}
 	
+	public String getFeaturesIn(int nbFeatures) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SELECT FEAT_UID,ENABLE,DESCRIPTION,STRATEGY,EXPRESSION,GROUPNAME FROM ");
+		sb.append(getTableNameFeatures());
+		sb.append(" WHERE FEAT_UID IN ");
+		sb.append(inClause(nbFeatures));
+		return sb.toString();
+	}
+	
 	public String existFeature() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("SELECT COUNT(FEAT_UID) FROM ");
@@ -353,6 +406,30 @@ public class JdbcQueryBuilder {
 		return sb.toString();
 	}
 	
+	public String touchFeature() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("UPDATE ");
+		sb.append(getTableNameFeatures());
+		sb.append(" SET LAST_MODIFIED = CURRENT_TIMESTAMP WHERE FEAT_UID = ?");
+		return sb.toString();
+	}
+	
+	public String touchGroup() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("UPDATE ");
+		sb.append(getTableNameFeatures());
+		sb.append(" SET LAST_MODIFIED = CURRENT_TIMESTAMP WHERE GROUPNAME = ?");
+		return sb.toString();
+	}
+	
+	public String getFeaturesUpdatedSince() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SELECT FEAT_UID FROM ");
+		sb.append(getTableNameFeatures());
+		sb.append(" WHERE LAST_MODIFIED >= ?");
+		return sb.toString();
+	}
+	
 	public String addRoleToFeature() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("INSERT INTO ");
@@ -385,6 +462,23 @@ public class JdbcQueryBuilder {
 		return sb.toString();
 	}
 	
+	public String getRolesOfFeature() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SELECT FEAT_UID,ROLE_NAME FROM ");
+		sb.append(getTableNameRoles());
+		sb.append(" WHERE FEAT_UID = ?");
+		return sb.toString();
+	}
+	
+	public String getRolesOfFeaturesIn(int nbFeatures) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SELECT FEAT_UID,ROLE_NAME FROM ");
+		sb.append(getTableNameRoles());
+		sb.append(" WHERE FEAT_UID IN ");
+		sb.append(inClause(nbFeatures));
+		return sb.toString();
+	}
+	
 	public String getAllRoles() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("SELECT FEAT_UID,ROLE_NAME FROM ");
@@ -392,6 +486,16 @@ public class JdbcQueryBuilder {
 		return sb.toString(); 
 	}
 	
+	public String getRolesOfGroup() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SELECT FEAT_UID,ROLE_NAME FROM ");
+		sb.append(getTableNameRoles());
+		sb.append(" WHERE FEAT_UID IN (SELECT FEAT_UID FROM ");
+		sb.append(getTableNameFeatures());
+		sb.append(" WHERE GROUPNAME = ?)");
+		return sb.toString();
+	}
+	
     // ------- Properties -------------
     
 	public String getFeatureProperties() {
@@ -402,6 +506,32 @@ public class JdbcQueryBuilder {
 		return sb.toString();
 	}
 	
+	public String getAllFeatureProperties() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SELECT PROPERTY_ID,CLAZZ,CURRENTVALUE,DESCRIPTION,FIXEDVALUES,FEAT_UID FROM ");
+		sb.append(getTableNameCustomProperties());
+		return sb.toString();
+	}
+	
+	public String getFeaturePropertiesIn(int nbFeatures) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SELECT PROPERTY_ID,CLAZZ,CURRENTVALUE,DESCRIPTION,FIXEDVALUES,FEAT_UID FROM ");
+		sb.append(getTableNameCustomProperties());
+		sb.append(" WHERE FEAT_UID IN ");
+		sb.append(inClause(nbFeatures));
+		return sb.toString();
+	}
+	
+	public String getFeaturePropertiesOfGroup() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SELECT PROPERTY_ID,CLAZZ,CURRENTVALUE,DESCRIPTION,FIXEDVALUES,FEAT_UID FROM ");
+		sb.append(getTableNameCustomProperties());
+		sb.append(" WHERE FEAT_UID IN (SELECT FEAT_UID FROM ");
+		sb.append(getTableNameFeatures());
+		sb.append(" WHERE GROUPNAME = ?)");
+		return sb.toString();
+	}
+	
 	public String getFeatureProperty() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("SELECT PROPERTY_ID,CLAZZ,CURRENTVALUE,FIXEDVALUES,FEAT_UID FROM ");
@@ -502,6 +632,22 @@ public class JdbcQueryBuilder {
 		return sb.toString();
 	}
 	
+	public String touchProperty() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("UPDATE ");
+		sb.append(getTableNameProperties());
+		sb.append(" SET LAST_MODIFIED = CURRENT_TIMESTAMP WHERE PROPERTY_ID = ?");
+		return sb.toString();
+	}
+	
+	public String getPropertiesUpdatedSince() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SELECT PROPERTY_ID FROM ");
+		sb.append(getTableNameProperties());
+		sb.append(" WHERE LAST_MODIFIED >= ?");
+		return sb.toString();
+	}
+	
 	public String getAllProperties() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("SELECT PROPERTY_ID,CLAZZ,CURRENTVALUE,DESCRIPTION,FIXEDVALUES FROM ");
@@ -509,6 +655,15 @@ public class JdbcQueryBuilder {
 		return sb.toString();
 	}
 	
+	public String getPropertiesIn(int nbProperties) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SELECT PROPERTY_ID,CLAZZ,CURRENTVALUE,DESCRIPTION,FIXEDVALUES FROM ");
+		sb.append(getTableNameProperties());
+		sb.append(" WHERE PROPERTY_ID IN ");
+		sb.append(inClause(nbProperties));
+		return sb.toString();
+	}
+	
 	public String getAllPropertiesNames() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("SELECT PROPERTY_ID FROM ");
@@ -586,6 +741,103 @@ public class JdbcQueryBuilder {
         return getHitCount(COL_EVENT_SOURCE);
     }
 	
+	/**
+	 * SQL expression truncating event time to the beginning of its time slot, this is specific to each database.
+	 *
+	 * @param databaseProductName
+	 *         database as returned by {@link java.sql.DatabaseMetaData#getDatabaseProductName()}
+	 * @param units
+	 *         width of time slot as in {@link org.ff4j.audit.chart.TimeSeriesChart} (minutes, hours, days, seconds otherwise)
+	 * @return
+	 *         expression returning a timestamp, null if the database is not supported
+	 */
+	public String sqlTruncateEventTime(String databaseProductName, TimeUnit units) {
+	    if (databaseProductName == null) {
+	        return null;
+	    }
+	    String db = databaseProductName.toUpperCase();
+	    if (db.startsWith("HSQL") || db.startsWith("ORACLE")) {
+	        switch (units) {
+	            case MINUTES: return "TRUNC(" + COL_EVENT_TIME + ", 'MI')";
+	            case HOURS:   return "TRUNC(" + COL_EVENT_TIME + ", 'HH')";
+	            case DAYS:    return "TRUNC(" + COL_EVENT_TIME + ", 'DD')";
+	            // Casts round fractional seconds, let the caller aggregate
+	            default:      return null;
+	        }
+	    }
+	    if (db.startsWith("POSTGRES")) {
+	        switch (units) {
+	            case MINUTES: return "DATE_TRUNC('minute', " + COL_EVENT_TIME + ")";
+	            case HOURS:   return "DATE_TRUNC('hour', "   + COL_EVENT_TIME + ")";
+	            case DAYS:    return "DATE_TRUNC('day', "    + COL_EVENT_TIME + ")";
+	            default:      return "DATE_TRUNC('second', " + COL_EVENT_TIME + ")";
+	        }
+	    }
+	    if (db.startsWith("MYSQL") || db.startsWith("MARIADB")) {
+	        switch (units) {
+	            case MINUTES: return "TIMESTAMP(DATE_FORMAT(" + COL_EVENT_TIME + ", '%Y-%m-%d %H:%i:00'))";
+	            case HOURS:   return "TIMESTAMP(DATE_FORMAT(" + COL_EVENT_TIME + ", '%Y-%m-%d %H:00:00'))";
+	            case DAYS:    return "TIMESTAMP(DATE("        + COL_EVENT_TIME + "))";
+	            default:      return "TIMESTAMP(DATE_FORMAT(" + COL_EVENT_TIME + ", '%Y-%m-%d %H:%i:%s'))";
+	        }
+	    }
+	    if (db.startsWith("H2")) {
+	        String pattern;
+	        switch (units) {
+	            case MINUTES: pattern = "yyyy-MM-dd HH:mm";    break;
+	            case HOURS:   pattern = "yyyy-MM-dd HH";       break;
+	            case DAYS:    pattern = "yyyy-MM-dd";          break;
+	            default:      pattern = "yyyy-MM-dd HH:mm:ss"; break;
+	        }
+	        return "PARSEDATETIME(FORMATDATETIME(" + COL_EVENT_TIME + ", '" + pattern + "'), '" + pattern + "')";
+	    }
+	    if (db.startsWith("MICROSOFT SQL SERVER")) {
+	        switch (units) {
+	            case MINUTES: return "DATEADD(MINUTE, DATEDIFF(MINUTE, 0, " + COL_EVENT_TIME + "), 0)";
+	            case HOURS:   return "DATEADD(HOUR, DATEDIFF(HOUR, 0, "     + COL_EVENT_TIME + "), 0)";
+	            case DAYS:    return "DATEADD(DAY, DATEDIFF(DAY, 0, "       + COL_EVENT_TIME + "), 0)";
+	            default:      return "DATEADD(SECOND, DATEDIFF(SECOND, '2000-01-01', " + COL_EVENT_TIME + "), '2000-01-01')";
+	        }
+	    }
+	    return null;
+	}
+	
+	/**
+	 * Hit count of features by time slot, grouped by the database.
+	 *
+	 * @param eqd
+	 *         query definition (filters)
+	 * @param truncatedTime
+	 *         expression of time slot, see {@link #sqlTruncateEventTime(String, TimeUnit)}
+	 * @return
+	 *         query returning name, slot and hit count (NB)
+	 */
+	public String getFeatureUsageHistoryQuery(EventQueryDefinition eqd, String truncatedTime) {
+	    StringBuilder sb = new StringBuilder();
+	    sb.append("SELECT " + COL_EVENT_NAME + ", " + truncatedTime + " as SLOT, count(" + COL_EVENT_UUID + ") as NB FROM ");
+	    sb.append(getTableNameAudit());
+	    sb.append(buildWhereClause(eqd, true, false));
+	    sb.append(" GROUP BY " + COL_EVENT_NAME + ", " + truncatedTime);
+	    return sb.toString();
+	}
+	
+	/**
+	 * Names and times of feature usage ordered by time, to aggregate while reading when the database cannot group by slot.
+	 *
+	 * @param eqd
+	 *         query definition (filters)
+	 * @return
+	 *         query returning name and time
+	 */
+	public String getFeatureUsageTimesQuery(EventQueryDefinition eqd) {
+	    StringBuilder sb = new StringBuilder();
+	    sb.append("SELECT " + COL_EVENT_NAME + ", " + COL_EVENT_TIME + " FROM ");
+	    sb.append(getTableNameAudit());
+	    sb.append(buildWhereClause(eqd, true, false));
+	    sb.append(" ORDER BY " + COL_EVENT_TIME);
+	    return sb.toString();
+	}
+	
 	// -------
    
     public String getFeatureDistributionAudit() {
@@ -601,6 +853,19 @@ public class JdbcQueryBuilder {
     }
    
     
+	/** Bind parameters for an IN clause : (?,?,?). */
+	private String inClause(int nbParams) {
+	    StringBuilder sb = new StringBuilder("(");
+	    for (int i = 0; i < nbParams; i++) {
+	        if (i > 0) {
+	            sb.append(",");
+	        }
+	        sb.append("?");
+	    }
+	    sb.append(")");
+	    return sb.toString();
+	}
+	
 	private String buildClauseIn(Collection < String> elements) {
 	    boolean first = true;
 	    StringBuilder sb = new StringBuilder("(");
@@ -663,6 +928,110 @@ public class JdbcQueryBuilder {
     
     // ---------- Queries for AUDIT ----------------------
     
+    /** Filter on hits of features. */
+    private String whereFeatureUsage() {
+        return " WHERE (" + COL_EVENT_TYPE   + " LIKE '" + EventConstants.TARGET_FEATURE  + "') "
+             + " AND   (" + COL_EVENT_ACTION + " LIKE '" + EventConstants.ACTION_CHECK_OK + "') ";
+    }
+    
+    /** Columns of rollup key. */
+    private String rollupKeyColumns() {
+        return COL_EVENT_NAME + ", " + COL_EVENT_HOSTNAME + ", " + COL_EVENT_SOURCE + ", " + COL_EVENT_USER;
+    }
+    
+    public String getFeatureUsageFirstTime() {
+        return "SELECT MIN(" + COL_EVENT_TIME + ") FROM " + getTableNameAudit() + whereFeatureUsage();
+    }
+    
+    public String getFeatureUsageToCompact() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT " + rollupKeyColumns() + ", " + COL_EVENT_TIME + " FROM ");
+        sb.append(getTableNameAudit());
+        sb.append(whereFeatureUsage());
+        sb.append(" AND   (" + COL_EVENT_TIME + ">= ?) ");
+        sb.append(" AND   (" + COL_EVENT_TIME + "< ?)");
+        return sb.toString();
+    }
+    
+    public String getPurgeCompactedFeatureUsage() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("DELETE FROM ");
+        sb.append(getTableNameAudit());
+        sb.append(whereFeatureUsage());
+        sb.append(" AND   (" + COL_EVENT_TIME + "< ?)");
+        return sb.toString();
+    }
+    
+    public String getRollupFirstSlot(TimeUnit units) {
+        return "SELECT MIN(" + COL_ROLLUP_SLOT + ") FROM " + getTableNameAuditRollup(units);
+    }
+    
+    public String getRollupLastSlot(TimeUnit units) {
+        return "SELECT MAX(" + COL_ROLLUP_SLOT + ") FROM " + getTableNameAuditRollup(units);
+    }
+    
+    public String getRollupToCompact(TimeUnit units) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT " + rollupKeyColumns() + ", " + COL_ROLLUP_SLOT + ", " + COL_ROLLUP_HITS + " FROM ");
+        sb.append(getTableNameAuditRollup(units));
+        sb.append(" WHERE (" + COL_ROLLUP_SLOT + ">= ?) ");
+        sb.append(" AND   (" + COL_ROLLUP_SLOT + "< ?)");
+        return sb.toString();
+    }
+    
+    public String sqlSaveAuditRollup(TimeUnit units) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("INSERT INTO ");
+        sb.append(getTableNameAuditRollup(units));
+        sb.append("(" + COL_ROLLUP_SLOT + ", " + rollupKeyColumns() + ", " + COL_ROLLUP_HITS + ") VALUES(?, ?, ?, ?, ?, ?)");
+        return sb.toString();
+    }
+    
+    public String getPurgeAuditRollup(TimeUnit units) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("DELETE FROM ");
+        sb.append(getTableNameAuditRollup(units));
+        sb.append(" WHERE (" + COL_ROLLUP_SLOT + ">= ?) ");
+        sb.append(" AND   (" + COL_ROLLUP_SLOT + "< ?)");
+        return sb.toString();
+    }
+    
+    public String getRollupHitCount(TimeUnit units, String columName) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT SUM(" + COL_ROLLUP_HITS + ") as NB, " + columName + " FROM ");
+        sb.append(getTableNameAuditRollup(units));
+        sb.append(" WHERE (" + COL_ROLLUP_SLOT + ">= ?) ");
+        sb.append(" AND   (" + COL_ROLLUP_SLOT + "< ?)");
+        sb.append(" GROUP BY " + columName);
+        return sb.toString();
+    }
+    
+    public String getRollupHistoryQuery(TimeUnit units, EventQueryDefinition qDef) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT " + COL_EVENT_NAME + ", " + COL_ROLLUP_SLOT + ", SUM(" + COL_ROLLUP_HITS + ") as NB FROM ");
+        sb.append(getTableNameAuditRollup(units));
+        sb.append(" WHERE (" + COL_ROLLUP_SLOT + ">= ?) ");
+        sb.append(" AND   (" + COL_ROLLUP_SLOT + "< ?)");
+        if (qDef.getHostFilters() != null && !qDef.getHostFilters().isEmpty()) {
+            sb.append(" AND (" + COL_EVENT_HOSTNAME + " IN ");
+            sb.append(buildClauseIn(qDef.getHostFilters()));
+            sb.append(")");
+        }
+        if (qDef.getNamesFilter() != null && !qDef.getNamesFilter().isEmpty()) {
+            sb.append(" AND (" + COL_EVENT_NAME + " IN ");
+            sb.append(buildClauseIn(qDef.getNamesFilter()));
+            sb.append(")");
+        }
+        if (qDef.getSourceFilters() != null && !qDef.getSourceFilters().isEmpty()) {
+            sb.append(" AND (" + COL_EVENT_SOURCE + " IN ");
+            sb.append(buildClauseIn(qDef.getSourceFilters()));
+            sb.append(")");
+        }
+        sb.append(" GROUP BY " + COL_EVENT_NAME + ", " + COL_ROLLUP_SLOT);
+        return sb.toString();
+    }
+    
+    
     public String sqlSaveAudit() {
         StringBuilder sb = new StringBuilder();
         sb.append("INSERT INTO ");
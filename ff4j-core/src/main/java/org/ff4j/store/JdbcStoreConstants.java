@@ -174,6 +174,15 @@ public class JdbcStoreConstants {
     
     /** sql column name for table FF4J_AUDIT. */
     public static final String COL_EVENT_KEYS = "EVT_KEYS";
+    
+    /** sql column name for rollup tables of FF4J_AUDIT (beginning of time slot). */
+    public static final String COL_ROLLUP_SLOT = "RU_SLOT";
+    
+    /** sql column name for rollup tables of FF4J_AUDIT (number of hits in slot). */
+    public static final String COL_ROLLUP_HITS = "RU_HITS";
+    
+    /** User of anonymous hits in rollup tables, where user is part of the primary key. */
+    public static final String ROLLUP_NO_USER = "-";
      
     /** Creation. */
     public static final String SQL_AUDIT_COUNT = "SELECT COUNT(*) FROM " + TABLE_AUDIT;
@@ -227,6 +236,9 @@ public class JdbcStoreConstants {
     /** sql column name from table FF4J_FEATURES. */
     public static final String COL_FEAT_EXPRESSION = "EXPRESSION";
 
+    /** sql column name from tables FF4J_FEATURES and FF4J_PROPERTIES, date of last modification. */
+    public static final String COL_LAST_MODIFIED = "LAST_MODIFIED";
+
     /** sql column name from table FF4J_ROLES. */
     public static final String COL_ROLE_FEATID = "FEAT_UID";
 
@@ -250,6 +262,9 @@ public class JdbcStoreConstants {
     
     /** sql column name from table FF4J_PROPERTIES. */
     public static final String COL_PROPERTY_DESCRIPTION = "DESCRIPTION";
+    
+    /** Maximum number of parameters in a IN clause (Oracle limit is 1000). */
+    public static final int MAX_IN_PARAMS = 500;
 
     private JdbcStoreConstants() {}
 }
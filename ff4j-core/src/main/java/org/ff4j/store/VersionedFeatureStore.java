@@ -0,0 +1,42 @@
+package org.ff4j.store;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.ff4j.core.FeatureStore;
+
+/**
+ * Optional capability of a {@link FeatureStore} keeping a version incremented on each modification. Used by components
+ * holding states read from the store (see {@link org.ff4j.strategy.el.ExpressionFlipStrategy}) to detect writes,
+ * including the ones not going through {@link org.ff4j.FF4j}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public interface VersionedFeatureStore extends FeatureStore {
+
+    /**
+     * Current version of the store, changes after each modification.
+     *
+     * @return
+     *      current version
+     */
+    long getVersion();
+
+}
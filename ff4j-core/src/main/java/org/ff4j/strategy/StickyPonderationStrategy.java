@@ -0,0 +1,313 @@
+package org.ff4j.strategy;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Serializable;
+import java.util.Map;
+
+import org.ff4j.core.FeatureStore;
+import org.ff4j.core.FlippingExecutionContext;
+
+/**
+ * Deterministic percentage rollout : unlike {@link PonderationStrategy} the same user always gets the same answer.
+ *
+ * Values of the execution context listed in parameter 'key' (user id, session id, tenant...) are hashed with a salt
+ * (feature name by default) using MurmurHash3 into {@value #BUCKETS} buckets. The feature is flipped when the bucket is
+ * lower than 'weight' : increasing the weight only adds users, nobody already in the rollout is reshuffled. Result is the
+ * same on every node and after restarts, and evaluation does not allocate.
+ *
+ * Optional parameter 'variants' (ex: "A:0.5,B:0.3,C:0.2") splits users among variants with a second, independent hash,
+ * so that ramping up the weight does not change the variant of users already in the rollout, see {@link #getVariant}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class StickyPonderationStrategy extends AbstractFlipStrategy implements Serializable {
+
+    /** Serial number. */
+    private static final long serialVersionUID = 4216713926548412869L;
+
+    /** Number of buckets, granularity is 0.01%. */
+    public static final int BUCKETS = 10000;
+
+    /** Context keys to hash. */
+    public static final String PARAM_KEY = "key";
+
+    /** Percentage of flipped buckets. */
+    public static final String PARAM_WEIGHT = "weight";
+
+    /** Salt, feature name by default. */
+    public static final String PARAM_SALT = "salt";
+
+    /** Variants with their percentage. */
+    public static final String PARAM_VARIANTS = "variants";
+
+    /** Return equiprobability as 50%. */
+    private static final double HALF = 0.5;
+
+    /** Seed for rollout bucket. */
+    private static final int SEED_ROLLOUT = 0;
+
+    /** Seed for variant bucket, independent of rollout. */
+    private static final int SEED_VARIANT = 0x5bd1e995;
+
+    /** Separator between variant name and percentage. */
+    private static final String SEPARATOR = ":";
+
+    /** Splitter for keys and variants. */
+    private static final String SPLITTER = ",";
+
+    /** Context keys. */
+    private String[] keys = {};
+
+    /** Weight. */
+    private double weight = HALF;
+
+    /** Upper bucket (excluded) of rollout. */
+    private int threshold = (int) Math.round(HALF * BUCKETS);
+
+    /** Salt, null means feature name. */
+    private String salt;
+
+    /** Variant names. */
+    private String[] variantNames = {};
+
+    /** Upper bucket (excluded) of each variant. */
+    private int[] variantThresholds = {};
+
+    /**
+     * Default Constructor.
+     */
+    public StickyPonderationStrategy() {}
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param key
+     *            context keys to hash, comma separated
+     * @param weight
+     *            percentage of flipped users (0 < P < 1)
+     */
+    public StickyPonderationStrategy(String key, double weight) {
+        setKey(key);
+        setWeight(weight);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void init(String featureName, Map<String, String> initParams) {
+        if (initParams == null) {
+            throw new IllegalArgumentException("Parameter '" + PARAM_KEY + "' is required for this FlippingStrategy");
+        }
+        super.init(featureName, initParams);
+        assertRequiredParameter(PARAM_KEY);
+        setKey(initParams.get(PARAM_KEY));
+        if (initParams.containsKey(PARAM_WEIGHT)) {
+            setWeight(Double.parseDouble(initParams.get(PARAM_WEIGHT)));
+        }
+        if (initParams.containsKey(PARAM_SALT)) {
+            setSalt(initParams.get(PARAM_SALT));
+        }
+        if (initParams.containsKey(PARAM_VARIANTS)) {
+            setVariants(initParams.get(PARAM_VARIANTS));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean evaluate(String featureName, FeatureStore store, FlippingExecutionContext executionContext) {
+        int bucket = getBucket(featureName, executionContext, SEED_ROLLOUT);
+        return bucket >= 0 && bucket < threshold;
+    }
+
+    /**
+     * Variant of current user if flipped.
+     *
+     * @param featureName
+     *            current feature name
+     * @param executionContext
+     *            context holding keys
+     * @return
+     *            variant name or null if not flipped, without variants or outside variant ranges
+     */
+    public String getVariant(String featureName, FlippingExecutionContext executionContext) {
+        if (variantNames.length == 0 || !evaluate(featureName, null, executionContext)) {
+            return null;
+        }
+        int bucket = getBucket(featureName, executionContext, SEED_VARIANT);
+        for (int i = 0; i < variantThresholds.length; i++) {
+            if (bucket < variantThresholds[i]) {
+                return variantNames[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Bucket of context, in [0, BUCKETS[.
+     *
+     * @return
+     *            bucket or -1 if a key is missing in context
+     */
+    private int getBucket(String featureName, FlippingExecutionContext executionContext, int seed) {
+        if (executionContext == null || keys.length == 0) {
+            return -1;
+        }
+        int h = murmurHash3(seed, salt != null ? salt : featureName);
+        for (String key : keys) {
+            Object value = executionContext.getValue(key, false);
+            if (value == null) {
+                return -1;
+            }
+            // Chaining through the seed keeps ("ab", "c") and ("a", "bc") apart
+            h = murmurHash3(h, value instanceof String ? (String) value : value.toString());
+        }
+        return (h & Integer.MAX_VALUE) % BUCKETS;
+    }
+
+    /**
+     * Setter accessor for attribute 'key'.
+     *
+     * @param key
+     *            context keys, comma separated
+     */
+    public void setKey(String key) {
+        if (key == null || key.trim().isEmpty()) {
+            throw new IllegalArgumentException("Parameter '" + PARAM_KEY + "' must list at least one context key");
+        }
+        String[] chunks = key.split(SPLITTER);
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = chunks[i].trim();
+        }
+        this.keys = chunks;
+        this.initParams.put(PARAM_KEY, key);
+    }
+
+    /**
+     * Setter accessor for attribute 'weight'.
+     *
+     * @param weight
+     *            new value for 'weight '
+     */
+    public void setWeight(double weight) {
+        checkPercentage(weight);
+        this.weight    = weight;
+        this.threshold = (int) Math.round(weight * BUCKETS);
+        this.initParams.put(PARAM_WEIGHT, String.valueOf(weight));
+    }
+
+    /**
+     * Setter accessor for attribute 'salt'.
+     *
+     * @param salt
+     *            new value for 'salt ', same salt on several features gives them the same population
+     */
+    public void setSalt(String salt) {
+        this.salt = salt;
+        this.initParams.put(PARAM_SALT, salt);
+    }
+
+    /**
+     * Define variants.
+     *
+     * @param expression
+     *            variants with percentage like "A:0.5,B:0.3,C:0.2", total must not exceed 1
+     */
+    public void setVariants(String expression) {
+        String[] chunks = expression.split(SPLITTER);
+        String[] names  = new String[chunks.length];
+        int[] bounds    = new int[chunks.length];
+        double total    = 0;
+        for (int i = 0; i < chunks.length; i++) {
+            String[] variant = chunks[i].split(SEPARATOR);
+            if (variant.length != 2) {
+                throw new IllegalArgumentException("Invalid variant '" + chunks[i] + "' expected 'name:percentage'");
+            }
+            double percentage = Double.parseDouble(variant[1].trim());
+            checkPercentage(percentage);
+            total    += percentage;
+            names[i]  = variant[0].trim();
+            bounds[i] = (int) Math.round(total * BUCKETS);
+        }
+        checkPercentage(total);
+        this.variantNames      = names;
+        this.variantThresholds = bounds;
+        this.initParams.put(PARAM_VARIANTS, expression);
+    }
+
+    /**
+     * Check that the value is a proportion (0 < P < 1).
+     */
+    private static void checkPercentage(double value) {
+        if (value < 0 || value > 1) {
+            throw new IllegalArgumentException("The ponderation value is a percentage and should be set between 0 and 1");
+        }
+    }
+
+    /**
+     * Getter accessor for attribute 'weight'.
+     *
+     * @return
+     *       current value of 'weight'
+     */
+    public double getWeight() {
+        return weight;
+    }
+
+    /**
+     * MurmurHash3 (x86, 32 bits) of the UTF-16 chars of a string, two chars per block. Stable across JVMs
+     * and does not copy the string.
+     *
+     * @param seed
+     *            seed
+     * @param value
+     *            string to hash
+     * @return
+     *            hash
+     */
+    static int murmurHash3(int seed, String value) {
+        int h1  = seed;
+        int len = value.length();
+        for (int i = 1; i < len; i += 2) {
+            int k1 = mixK1(value.charAt(i - 1) | (value.charAt(i) << 16));
+            h1 ^= k1;
+            h1 = Integer.rotateLeft(h1, 13);
+            h1 = h1 * 5 + 0xe6546b64;
+        }
+        if ((len & 1) == 1) {
+            h1 ^= mixK1(value.charAt(len - 1));
+        }
+        h1 ^= 2 * len;
+        h1 ^= h1 >>> 16;
+        h1 *= 0x85ebca6b;
+        h1 ^= h1 >>> 13;
+        h1 *= 0xc2b2ae35;
+        h1 ^= h1 >>> 16;
+        return h1;
+    }
+
+    /** Mix a block. */
+    private static int mixK1(int k1) {
+        k1 *= 0xcc9e2d51;
+        k1 = Integer.rotateLeft(k1, 15);
+        return k1 * 0x1b873593;
+    }
+
+}
@@ -0,0 +1,214 @@
+package org.ff4j.strategy.el;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.ff4j.core.FeatureStore;
+import org.ff4j.exception.FeatureNotFoundException;
+
+/**
+ * Immutable and thread-safe form of an {@link ExpressionNode} tree.
+ *
+ * Feature names referenced in the expression are collected once and leaves point to their index,
+ * evaluation reads either a snapshot of states (array) or only the referenced features in the store,
+ * lazily and with short-circuit on AND/OR. No object is allocated during evaluation.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public final class CompiledExpression implements Serializable {
+
+    /** serial. */
+    private static final long serialVersionUID = -3387614823150493436L;
+
+    /** Root node. */
+    private final Node root;
+
+    /** Distinct feature names, leaves index this array. */
+    private final String[] featureNames;
+
+    /**
+     * Compile expression tree.
+     *
+     * @param expressionTree
+     *      parsed expression
+     */
+    public CompiledExpression(ExpressionNode expressionTree) {
+        List < String > names = new ArrayList<String>();
+        this.root         = compile(expressionTree, names);
+        this.featureNames = names.toArray(new String[names.size()]);
+    }
+
+    /**
+     * Parse and compile expression.
+     *
+     * @param expression
+     *      target expression
+     * @return
+     *      compiled expression
+     */
+    public static CompiledExpression compile(String expression) {
+        return new CompiledExpression(ExpressionParser.parseExpression(expression));
+    }
+
+    /**
+     * Walk the tree (same rules as {@link ExpressionNode#evalue(java.util.Map)}).
+     */
+    private static Node compile(ExpressionNode node, List < String > names) {
+        if (node.getValue() != null && !node.getValue().isEmpty()) {
+            int idx = names.indexOf(node.getValue());
+            if (idx < 0) {
+                idx = names.size();
+                names.add(node.getValue());
+            }
+            return new Node(Node.LEAF, idx, null);
+        }
+        Node[] children = new Node[node.getSubNodes().size()];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = compile(node.getSubNodes().get(i), names);
+        }
+        if (ExpressionOperator.NOT.equals(node.getOperator())) {
+            return new Node(Node.NOT, -1, children);
+        } else if (ExpressionOperator.AND.equals(node.getOperator())) {
+            return new Node(Node.AND, -1, children);
+        }
+        return new Node(Node.OR, -1, children);
+    }
+
+    /**
+     * Read status of referenced features in store, missing features are disabled.
+     *
+     * @param store
+     *      current feature store
+     * @return
+     *      states, same order as {@link #getFeatureNames()}
+     */
+    public boolean[] resolve(FeatureStore store) {
+        boolean[] states = new boolean[featureNames.length];
+        for (int i = 0; i < featureNames.length; i++) {
+            states[i] = isEnabled(store, featureNames[i]);
+        }
+        return states;
+    }
+
+    /**
+     * Evaluate against a snapshot of states.
+     *
+     * @param states
+     *      states of referenced features, see {@link #resolve(FeatureStore)}
+     * @return
+     *      expression value
+     */
+    public boolean evaluate(boolean[] states) {
+        return root.eval(states, null, featureNames);
+    }
+
+    /**
+     * Evaluate reading only the needed features in store.
+     *
+     * @param store
+     *      current feature store
+     * @return
+     *      expression value
+     */
+    public boolean evaluate(FeatureStore store) {
+        return root.eval(null, store, featureNames);
+    }
+
+    /**
+     * Status of a feature, false if it does not exist.
+     */
+    private static boolean isEnabled(FeatureStore store, String featureName) {
+        try {
+            return store.read(featureName).isEnable();
+        } catch (FeatureNotFoundException fnfe) {
+            return false;
+        }
+    }
+
+    /**
+     * Getter accessor for attribute 'featureNames'.
+     *
+     * @return
+     *       copy of 'featureNames'
+     */
+    public String[] getFeatureNames() {
+        return featureNames.clone();
+    }
+
+    /**
+     * Node of compiled tree.
+     */
+    private static final class Node implements Serializable {
+
+        /** serial. */
+        private static final long serialVersionUID = 2585316224931016395L;
+
+        /** Node kinds. */
+        private static final int LEAF = 0;
+        private static final int NOT  = 1;
+        private static final int AND  = 2;
+        private static final int OR   = 3;
+
+        /** kind. */
+        private final int kind;
+
+        /** Index of feature for leaves. */
+        private final int index;
+
+        /** Children for operators. */
+        private final Node[] children;
+
+        /** Constructor. */
+        private Node(int kind, int index, Node[] children) {
+            this.kind     = kind;
+            this.index    = index;
+            this.children = children;
+        }
+
+        /** Evaluation from states if not null, from store otherwise. */
+        private boolean eval(boolean[] states, FeatureStore store, String[] names) {
+            switch (kind) {
+                case LEAF:
+                    return (states != null) ? states[index] : isEnabled(store, names[index]);
+                case NOT:
+                    return !children[0].eval(states, store, names);
+                case AND:
+                    for (Node child : children) {
+                        if (!child.eval(states, store, names)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                default:
+                    for (Node child : children) {
+                        if (child.eval(states, store, names)) {
+                            return true;
+                        }
+                    }
+                    return false;
+            }
+        }
+    }
+
+}
@@ -13,19 +13,24 @@ import java.io.Serializable;
  * governing permissions and limitations under the License. #L%
  */
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
 import org.ff4j.core.FlippingExecutionContext;
+import org.ff4j.store.VersionedFeatureStore;
 import org.ff4j.strategy.AbstractFlipStrategy;
 
 /**
  * Allow to parse target expression.
  * 
+ * Expressions are parsed and compiled once ({@link CompiledExpression}), evaluation only reads the features referenced
+ * in the expression. With parameter 'snapshotTtl' (milliseconds) their states are kept in a snapshot reused until
+ * expiry, a change of store, a call to {@link #invalidateSnapshot()} or a new version of the store (see
+ * {@link VersionedFeatureStore}, in-memory store and proxies). Writes not seen by a versioned store (other nodes,
+ * stores without version) are seen once the snapshot expires.
+ * 
  * @author Cedrick Lunven (@clunven)
  */
 public class ExpressionFlipStrategy extends AbstractFlipStrategy implements Serializable {
@@ -35,12 +40,21 @@ public class ExpressionFlipStrategy extends AbstractFlipStrategy implements Seri
 
     /** Expected parameter. */
     public static final String PARAM_EXPRESSION = "expression";
+    
+    /** Optional parameter, time to live of features states snapshot in milliseconds (0 means no snapshot). */
+    public static final String PARAM_SNAPSHOT_TTL = "snapshotTtl";
 
     /** Cached init value. */
-    private static Map<String, String> mapOfValue = new HashMap<String, String>();
+    private final ConcurrentMap<String, String> mapOfValue = new ConcurrentHashMap<String, String>();
 
-    /** Cached syntax trees. */
-    private static Map<String, ExpressionNode> cachedExpression = new HashMap<String, ExpressionNode>();
+    /** Cached compiled expressions. */
+    private final ConcurrentMap<String, CompiledExpression> cachedExpression = new ConcurrentHashMap<String, CompiledExpression>();
+    
+    /** States of features per expression (not serialized, bound to a store). */
+    private transient volatile ConcurrentMap<String, StatesSnapshot> snapshots;
+    
+    /** Time to live of snapshots in milliseconds. */
+    private long snapshotTtl = 0;
 
     /**
      * Default constructor using introspection.
@@ -58,6 +72,9 @@ public class ExpressionFlipStrategy extends AbstractFlipStrategy implements Seri
         super.init(featureName, initValue);
         assertRequiredParameter(PARAM_EXPRESSION);
         mapOfValue.put(featureName, initValue.get(PARAM_EXPRESSION));
+        if (initValue.containsKey(PARAM_SNAPSHOT_TTL)) {
+            snapshotTtl = Long.parseLong(initValue.get(PARAM_SNAPSHOT_TTL));
+        }
     }
 
     /** {@inheritDoc} */
@@ -66,9 +83,11 @@ public class ExpressionFlipStrategy extends AbstractFlipStrategy implements Seri
         // If execution context specified overriding initvalue
         if ((null != executionContext) && executionContext.containsKey(PARAM_EXPRESSION)) {
             return evaluateExpression(executionContext.getString(PARAM_EXPRESSION), currentStore);
-        } else if (mapOfValue.containsKey(featureName)) {
-            // Else, check initial value of featureName (if exist)
-            return evaluateExpression(mapOfValue.get(featureName), currentStore);
+        }
+        // Else, check initial value of featureName (if exist)
+        String expression = mapOfValue.get(featureName);
+        if (expression != null) {
+            return evaluateExpression(expression, currentStore);
         }
         // FeatureName does not exit, no condition required
         return true;
@@ -82,27 +101,115 @@ public class ExpressionFlipStrategy extends AbstractFlipStrategy implements Seri
      * @return expression evaluation value
      */
     private boolean evaluateExpression(String expression, FeatureStore currentStore) {
-        if (!cachedExpression.containsKey(expression)) {
-            cachedExpression.put(expression, ExpressionParser.parseExpression(expression));
+        CompiledExpression compiled = cachedExpression.get(expression);
+        if (compiled == null) {
+            compiled = CompiledExpression.compile(expression);
+            cachedExpression.putIfAbsent(expression, compiled);
+        }
+        if (snapshotTtl <= 0) {
+            return compiled.evaluate(currentStore);
+        }
+        ConcurrentMap<String, StatesSnapshot> mapOfSnapshots = getSnapshots();
+        StatesSnapshot snapshot = mapOfSnapshots.get(expression);
+        if (snapshot == null || !snapshot.isValid(currentStore)) {
+            // Read version first, a concurrent write makes the new snapshot invalid
+            long version = versionOf(currentStore);
+            snapshot = new StatesSnapshot(currentStore, compiled.resolve(currentStore), snapshotTtl, version);
+            mapOfSnapshots.put(expression, snapshot);
         }
-        return cachedExpression.get(expression).evalue(getFeaturesStatus(currentStore));
+        return compiled.evaluate(snapshot.states);
+    }
+    
+    /**
+     * Drop snapshots of features states, to be invoked when features referenced in expressions are updated.
+     */
+    public void invalidateSnapshot() {
+        getSnapshots().clear();
+    }
+    
+    /**
+     * Version of the store, constant if the store is not versioned.
+     *
+     * @param store
+     *      current store
+     * @return
+     *      current version
+     */
+    private static long versionOf(FeatureStore store) {
+        if (store instanceof VersionedFeatureStore) {
+            return ((VersionedFeatureStore) store).getVersion();
+        }
+        return 0;
+    }
+    
+    /**
+     * Lazy initialization (field is transient).
+     *
+     * @return
+     *      snapshots per expression
+     */
+    private ConcurrentMap<String, StatesSnapshot> getSnapshots() {
+        ConcurrentMap<String, StatesSnapshot> current = snapshots;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshots == null) {
+                    snapshots = new ConcurrentHashMap<String, StatesSnapshot>();
+                }
+                current = snapshots;
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * Getter accessor for attribute 'snapshotTtl'.
+     *
+     * @return
+     *       current value of 'snapshotTtl'
+     */
+    public long getSnapshotTtl() {
+        return snapshotTtl;
     }
 
     /**
-     * Return status of all the features to calculate.
+     * Setter accessor for attribute 'snapshotTtl'.
      * 
-     * @param currentStore
-     *            current store for features
-     * @return current statuses for stores
+     * @param snapshotTtl
+     *          new value for 'snapshotTtl '
      */
-    private Map<String, Boolean> getFeaturesStatus(FeatureStore currentStore) {
-        Map<String, Boolean> bools = new HashMap<String, Boolean>();
-        List<Feature> listOfFlip = new ArrayList<Feature>();
-        listOfFlip.addAll(currentStore.readAll().values());
-        for (Feature fp : listOfFlip) {
-            bools.put(fp.getUid(), fp.isEnable());
+    public void setSnapshotTtl(long snapshotTtl) {
+        this.snapshotTtl = snapshotTtl;
+    }
+
+    /**
+     * Immutable states of referenced features for a store.
+     */
+    private static final class StatesSnapshot {
+        
+        /** Source store. */
+        private final FeatureStore store;
+        
+        /** States, see {@link CompiledExpression#resolve(FeatureStore)}. */
+        private final boolean[] states;
+        
+        /** Expiry deadline. */
+        private final long expireAt;
+        
+        /** Version of the store when states were read. */
+        private final long version;
+        
+        /** Constructor. */
+        private StatesSnapshot(FeatureStore store, boolean[] states, long ttl, long version) {
+            this.store    = store;
+            this.states   = states;
+            this.expireAt = System.currentTimeMillis() + ttl;
+            this.version  = version;
+        }
+        
+        /** Same store, no write since and not expired. */
+        private boolean isValid(FeatureStore currentStore) {
+            return store == currentStore && version == versionOf(currentStore) && System.currentTimeMillis() < expireAt;
         }
-        return bools;
     }
 
 }
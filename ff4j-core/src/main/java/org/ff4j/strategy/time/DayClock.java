@@ -0,0 +1,141 @@
+package org.ff4j.strategy.time;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Calendar;
+
+/**
+ * Calendar fields of the current day (local time), computed once a day and shared by time strategies : during the
+ * day, finding the time of day is a subtraction instead of a new {@link Calendar}.
+ *
+ * Days with a daylight saving change do not last 24 hours, the time of day is then computed with a {@link Calendar}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+final class DayClock {
+
+    /** Milliseconds in a regular day. */
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+    /** Current day. */
+    private static volatile DayClock today;
+
+    /** Beginning of day (epoch millis, included). */
+    private final long start;
+
+    /** Beginning of next day (epoch millis, excluded). */
+    private final long end;
+
+    /** Year. */
+    private final int year;
+
+    /** Day of year, starting at 1. */
+    private final int dayOfYear;
+
+    /** Day of week as {@link Calendar#DAY_OF_WEEK}. */
+    private final int dayOfWeek;
+
+    /**
+     * Compute the day of an instant.
+     *
+     * @param now
+     *      epoch millis
+     */
+    private DayClock(long now) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTimeInMillis(now);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        this.start     = cal.getTimeInMillis();
+        this.year      = cal.get(Calendar.YEAR);
+        this.dayOfYear = cal.get(Calendar.DAY_OF_YEAR);
+        this.dayOfWeek = cal.get(Calendar.DAY_OF_WEEK);
+        cal.add(Calendar.DAY_OF_MONTH, 1);
+        this.end       = cal.getTimeInMillis();
+    }
+
+    /**
+     * Day of an instant, usually now.
+     *
+     * @param now
+     *      epoch millis
+     * @return
+     *      day containing the instant
+     */
+    static DayClock at(long now) {
+        DayClock current = today;
+        if (current == null || now < current.start || now >= current.end) {
+            current = new DayClock(now);
+            today = current;
+        }
+        return current;
+    }
+
+    /**
+     * Milliseconds since beginning of day, as wall clock time.
+     *
+     * @param now
+     *      epoch millis within the day
+     * @return
+     *      time of day
+     */
+    int millisOfDay(long now) {
+        if (end - start == MILLIS_PER_DAY) {
+            return (int) (now - start);
+        }
+        Calendar cal = Calendar.getInstance();
+        cal.setTimeInMillis(now);
+        return HourInterval.millisOfDay(cal);
+    }
+
+    /**
+     * Getter accessor for attribute 'year'.
+     *
+     * @return
+     *       current value of 'year'
+     */
+    int getYear() {
+        return year;
+    }
+
+    /**
+     * Getter accessor for attribute 'dayOfYear'.
+     *
+     * @return
+     *       current value of 'dayOfYear'
+     */
+    int getDayOfYear() {
+        return dayOfYear;
+    }
+
+    /**
+     * Getter accessor for attribute 'dayOfWeek'.
+     *
+     * @return
+     *       current value of 'dayOfWeek'
+     */
+    int getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+}
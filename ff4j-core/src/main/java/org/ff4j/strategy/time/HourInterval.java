@@ -21,7 +21,6 @@ package org.ff4j.strategy.time;
  */
 
 
-import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
@@ -31,24 +30,28 @@ import org.ff4j.utils.Util;
 
 /**
  * Date Interval.
+ * 
+ * Bounds are kept as milliseconds since the beginning of the day (local time), matching a date is two integer
+ * comparisons and does not modify the interval : it can be shared by threads.
 *
 * @author <a href="mailto:cedrick.lunven@gmail.com">Cedrick LUNVEN</a>
 */
 public final class HourInterval {
     
-   /** Parsing expression. */
-   private static final DateFormat SDF_HOUR = new SimpleDateFormat("HH:mm");
+   /** Parsing expression, the format is not thread-safe : a new one is created for each parsing. */
+   private static final String HOUR_PATTERN = "HH:mm";
    
-   /** Lower bound of interval. */
-   private Calendar from = Calendar.getInstance();
+   /** Lower bound of interval (milliseconds of day, excluded). */
+   private int from;
    
-   /** Upper bound of interval. */
-   private Calendar to = Calendar.getInstance();
+   /** Upper bound of interval (milliseconds of day, excluded). */
+   private int to;
    
    /**
     * Default.
     */
    public HourInterval() {
+       this(new Date(), new Date());
    }
    
    /**
@@ -87,11 +90,11 @@ public final class HourInterval {
     */
    public HourInterval(Date froms, Date tos) {
        if (froms.before(tos)) {
-           from.setTime(froms);
-           to.setTime(tos);
+           from = millisOfDay(froms);
+           to   = millisOfDay(tos);
        } else {
-           from.setTime(tos);
-           to.setTime(froms);
+           from = millisOfDay(tos);
+           to   = millisOfDay(froms);
        }
    }
    
@@ -117,25 +120,56 @@ public final class HourInterval {
     */
    public void init(String f, String t) {
        try {
-           from.setTime(SDF_HOUR.parse(f));
-           to.setTime(SDF_HOUR.parse(t));
+           SimpleDateFormat sdf = new SimpleDateFormat(HOUR_PATTERN);
+           Date fromDate = sdf.parse(f);
+           Date toDate   = sdf.parse(t);
            // Exchang bound if required
-           if (!from.before(to)) {
-               Calendar cal = to;
-               to = from;
-               from = cal;
+           if (fromDate.before(toDate)) {
+               from = millisOfDay(fromDate);
+               to   = millisOfDay(toDate);
+           } else {
+               from = millisOfDay(toDate);
+               to   = millisOfDay(fromDate);
            }
        } catch (ParseException e) {
            throw new IllegalArgumentException("Cannot parse incoming expressions <" + f + ">, <" + t + ">", e);
        }
    }
    
+   /**
+    * Milliseconds since beginning of day, local time.
+    *
+    * @param date
+    *      date
+    * @return
+    *      milliseconds of day
+    */
+   private static int millisOfDay(Date date) {
+       Calendar cal = Calendar.getInstance();
+       cal.setTime(date);
+       return millisOfDay(cal);
+   }
+   
+   /**
+    * Milliseconds since beginning of day, local time.
+    *
+    * @param cal
+    *      calendar
+    * @return
+    *      milliseconds of day
+    */
+   static int millisOfDay(Calendar cal) {
+       return ((cal.get(Calendar.HOUR_OF_DAY) * 60 + cal.get(Calendar.MINUTE)) * 60 
+               + cal.get(Calendar.SECOND)) * 1000 + cal.get(Calendar.MILLISECOND);
+   }
+   
    /**
     * Check bounds against current date
     * @return
     */
    public boolean matches() {
-       return matches(Calendar.getInstance());
+       long now = System.currentTimeMillis();
+       return matches(DayClock.at(now).millisOfDay(now));
    }
    
    /**
@@ -144,12 +178,19 @@ public final class HourInterval {
     * @return
     */
    public boolean matches(Calendar cal) {
-       // Align date, compare only hours here
-       from.set(Calendar.YEAR, cal.get(Calendar.YEAR));
-       from.set(Calendar.DAY_OF_YEAR, cal.get(Calendar.DAY_OF_YEAR));
-       to.set(Calendar.YEAR, cal.get(Calendar.YEAR));
-       to.set(Calendar.DAY_OF_YEAR, cal.get(Calendar.DAY_OF_YEAR));
-       return from.before(cal) && to.after(cal);
+       return matches(millisOfDay(cal));
+   }
+   
+   /**
+    * Check bounds against a time of day.
+    *
+    * @param millisOfDay
+    *      milliseconds since beginning of day
+    * @return
+    *      if time is strictly within bounds
+    */
+   public boolean matches(int millisOfDay) {
+       return from < millisOfDay && millisOfDay < to;
    }
 
    /**
@@ -159,7 +200,7 @@ public final class HourInterval {
     *       current value of 'from'
     */
    public Calendar getFrom() {
-       return from;
+       return toCalendar(from);
    }
 
    /**
@@ -168,7 +209,7 @@ public final class HourInterval {
     *      new value for 'from '
     */
    public void setFrom(Calendar from) {
-       this.from = from;
+       this.from = millisOfDay(from);
    }
 
    /**
@@ -178,7 +219,7 @@ public final class HourInterval {
     *       current value of 'to'
     */
    public Calendar getTo() {
-       return to;
+       return toCalendar(to);
    }
 
    /**
@@ -187,7 +228,44 @@ public final class HourInterval {
     *      new value for 'to '
     */
    public void setTo(Calendar to) {
-       this.to = to;
+       this.to = millisOfDay(to);
+   }
+   
+   /**
+    * Getter accessor for lower bound.
+    *
+    * @return
+    *       milliseconds of day
+    */
+   public int getFromMillisOfDay() {
+       return from;
+   }
+   
+   /**
+    * Getter accessor for upper bound.
+    *
+    * @return
+    *       milliseconds of day
+    */
+   public int getToMillisOfDay() {
+       return to;
+   }
+   
+   /**
+    * Today at a time of day.
+    *
+    * @param millisOfDay
+    *      milliseconds of day
+    * @return
+    *      calendar
+    */
+   private static Calendar toCalendar(int millisOfDay) {
+       Calendar cal = Calendar.getInstance();
+       cal.set(Calendar.HOUR_OF_DAY, millisOfDay / 3600000);
+       cal.set(Calendar.MINUTE,      (millisOfDay / 60000) % 60);
+       cal.set(Calendar.SECOND,      (millisOfDay / 1000) % 60);
+       cal.set(Calendar.MILLISECOND, millisOfDay % 1000);
+       return cal;
    }
    
 }
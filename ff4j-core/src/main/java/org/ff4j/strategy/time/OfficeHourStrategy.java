@@ -24,10 +24,12 @@ import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Calendar;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import org.ff4j.core.FeatureStore;
 import org.ff4j.core.FlippingExecutionContext;
@@ -38,12 +40,16 @@ import org.ff4j.strategy.AbstractFlipStrategy;
  * 
  * Expression { "monday":["08:00-12:00", "13:30-18:00"], "tuesday":[], "wednesday":[], "thursday":[],"friday":[],"saturday":[] }
  *
+ * The expression is compiled at init : intervals as milliseconds of day by day of week, public holidays as day of year
+ * bitsets by year and special openings sorted by day. Evaluation only compares integers with the fields of the current
+ * day (see {@link DayClock}), no date is formatted and nothing is shared but read-only arrays.
+ *
  * @author Cedrick Lunven (@clunven)
  */
 public class OfficeHourStrategy extends AbstractFlipStrategy {
     
-    /** Parsing date expression. */
-    private static final DateFormat SDF_DATE = new SimpleDateFormat("yyyy-MM-dd");
+    /** Parsing date expression, the format is not thread-safe : a new one is created for each parsing. */
+    private static final String DATE_PATTERN = "yyyy-MM-dd";
     
     /** Constants. */
     private static final String MONDAY = "monday";
@@ -75,14 +81,23 @@ public class OfficeHourStrategy extends AbstractFlipStrategy {
     /** Contacts. */
     public static final String OVERRIDE_DATE = "overridedDate";
     
-    /** time table. */
-    private Map < Integer, List <HourInterval>> weekTimeTable = new HashMap<Integer, List<HourInterval>>();
+    /** No interval, always closed. */
+    private static final int[] CLOSED = new int[0];
+    
+    /** Time table, indexed by {@link Calendar#DAY_OF_WEEK} : bounds (milliseconds of day) of intervals, by pairs. */
+    private int[][] weekTimeTable = new int[Calendar.SATURDAY + 1][];
+    
+    /** Special openings days as year * 1000 + day of year, sorted. */
+    private int[] specialDays = new int[0];
     
-    /** openings. */
-    private Map < String, List < HourInterval>> specialTimeTable = new HashMap< String, List<HourInterval>>();
+    /** Intervals of special openings, same order as days. */
+    private int[][] specialTimeTable = new int[0][];
     
-    /** public holiday. */
-    private List < String > publicHolidays = new ArrayList<String>();
+    /** Year of first public holiday. */
+    private int publicHolidaysFirstYear;
+    
+    /** Public holidays, days of year by year from the first one. */
+    private BitSet[] publicHolidays = new BitSet[0];
     
     /** {@inheritDoc} */
     @Override
@@ -90,35 +105,44 @@ public class OfficeHourStrategy extends AbstractFlipStrategy {
         super.init(featureName, initParam);
         
         // Update week timetable
-        weekTimeTable.put(Calendar.MONDAY,      parseIntervalsExpression(initParam.get(MONDAY)));
-        weekTimeTable.put(Calendar.TUESDAY,     parseIntervalsExpression(initParam.get(TUESDAY)));
-        weekTimeTable.put(Calendar.WEDNESDAY,   parseIntervalsExpression(initParam.get(WEDNESDAY)));
-        weekTimeTable.put(Calendar.THURSDAY,    parseIntervalsExpression(initParam.get(THURSDAY)));
-        weekTimeTable.put(Calendar.FRIDAY,      parseIntervalsExpression(initParam.get(FRIDAY)));
-        weekTimeTable.put(Calendar.SATURDAY,    parseIntervalsExpression(initParam.get(SATURDAY)));
-        weekTimeTable.put(Calendar.SUNDAY,      parseIntervalsExpression(initParam.get(SUNDAY)));
+        int[][] week = new int[Calendar.SATURDAY + 1][];
+        week[Calendar.MONDAY]    = compile(parseIntervalsExpression(initParam.get(MONDAY)));
+        week[Calendar.TUESDAY]   = compile(parseIntervalsExpression(initParam.get(TUESDAY)));
+        week[Calendar.WEDNESDAY] = compile(parseIntervalsExpression(initParam.get(WEDNESDAY)));
+        week[Calendar.THURSDAY]  = compile(parseIntervalsExpression(initParam.get(THURSDAY)));
+        week[Calendar.FRIDAY]    = compile(parseIntervalsExpression(initParam.get(FRIDAY)));
+        week[Calendar.SATURDAY]  = compile(parseIntervalsExpression(initParam.get(SATURDAY)));
+        week[Calendar.SUNDAY]    = compile(parseIntervalsExpression(initParam.get(SUNDAY)));
+        this.weekTimeTable = week;
         
         // Update publiholidays
         if (initParam.containsKey(PUBLICHOLIDAY)) {
             String[] days = initParam.get(PUBLICHOLIDAY).split(",");
+            List < Calendar > holidays = new ArrayList<Calendar>();
+            int firstYear = Integer.MAX_VALUE;
+            int lastYear  = Integer.MIN_VALUE;
             for (String day : days) {
-               try {
-                   Calendar c = Calendar.getInstance();
-                   c.setTime(SDF_DATE.parse(day.trim()));
-                   c.set(Calendar.MILLISECOND, 0);
-                   c.set(Calendar.SECOND, 0);
-                   c.set(Calendar.MINUTE, 0);
-                   c.set(Calendar.HOUR_OF_DAY, 0);
-                   publicHolidays.add(SDF_DATE.format(c.getTime()));
-                } catch (ParseException e) {
-                   throw new IllegalArgumentException("Invalid Syntax for <" + day + "> expected 'yyyy-MM-dd'", e);
+                Calendar c = parseDate(day.trim(), "Invalid Syntax for <" + day + "> expected 'yyyy-MM-dd'");
+                holidays.add(c);
+                firstYear = Math.min(firstYear, c.get(Calendar.YEAR));
+                lastYear  = Math.max(lastYear,  c.get(Calendar.YEAR));
+            }
+            BitSet[] years = new BitSet[lastYear - firstYear + 1];
+            for (Calendar c : holidays) {
+                int idx = c.get(Calendar.YEAR) - firstYear;
+                if (years[idx] == null) {
+                    years[idx] = new BitSet(367);
                 }
+                years[idx].set(c.get(Calendar.DAY_OF_YEAR));
             }
+            this.publicHolidaysFirstYear = firstYear;
+            this.publicHolidays          = years;
         }
         
         // Update exclusive openings
         if (initParam.containsKey(SPECIAL_OPENINGS)) {
             String[] days = initParam.get(SPECIAL_OPENINGS).split(";");
+            Map < Integer, int[] > openings = new TreeMap<Integer, int[]>();
             for (String day : days) {
               String[] partDay = day.split("@");
               if (partDay.length != 2) {
@@ -127,15 +151,43 @@ public class OfficeHourStrategy extends AbstractFlipStrategy {
                     
               // Check format at loading
               String dateExpression = partDay[1].trim();
-              try {
-                  SDF_DATE.parse(dateExpression);
-                  String inter = partDay[0].trim();
-                  String extractIntervals = inter.substring(1, inter.length() -1);
-                  specialTimeTable.put(dateExpression,  parseIntervalsExpression(extractIntervals));
-               } catch (ParseException e) {
-                   throw new IllegalArgumentException("Invalid Syntax for '" + dateExpression + "' expected 'yyyy-MM-dd'", e);
-               }
+              Calendar c = parseDate(dateExpression, "Invalid Syntax for '" + dateExpression + "' expected 'yyyy-MM-dd'");
+              String inter = partDay[0].trim();
+              String extractIntervals = inter.substring(1, inter.length() -1);
+              openings.put(dayKey(c.get(Calendar.YEAR), c.get(Calendar.DAY_OF_YEAR)), 
+                      compile(parseIntervalsExpression(extractIntervals)));
+           }
+           int[] keys = new int[openings.size()];
+           int[][] intervals = new int[openings.size()][];
+           int idx = 0;
+           for (Map.Entry<Integer, int[]> opening : openings.entrySet()) {
+               keys[idx]      = opening.getKey();
+               intervals[idx] = opening.getValue();
+               idx++;
            }
+           this.specialDays      = keys;
+           this.specialTimeTable = intervals;
+        }
+    }
+    
+    /**
+     * Parse a date at midnight.
+     *
+     * @param expression
+     *      date as yyyy-MM-dd
+     * @param errorMessage
+     *      message if invalid
+     * @return
+     *      calendar
+     */
+    private Calendar parseDate(String expression, String errorMessage) {
+        try {
+            DateFormat sdf = new SimpleDateFormat(DATE_PATTERN);
+            Calendar c = Calendar.getInstance();
+            c.setTime(sdf.parse(expression));
+            return c;
+        } catch (ParseException e) {
+            throw new IllegalArgumentException(errorMessage, e);
         }
     }
     
@@ -160,6 +212,26 @@ public class OfficeHourStrategy extends AbstractFlipStrategy {
        
     }
     
+    /**
+     * Bounds of intervals by pairs.
+     *
+     * @param intervals
+     *      hour intervals
+     * @return
+     *      bounds as milliseconds of day
+     */
+    private static int[] compile(List < HourInterval > intervals) {
+        if (intervals.isEmpty()) {
+            return CLOSED;
+        }
+        int[] bounds = new int[intervals.size() * 2];
+        for (int i = 0; i < intervals.size(); i++) {
+            bounds[2 * i]     = intervals.get(i).getFromMillisOfDay();
+            bounds[2 * i + 1] = intervals.get(i).getToMillisOfDay();
+        }
+        return bounds;
+    }
+    
     /**
      * Check if present time is at least in of the hour Interval.
      *
@@ -179,29 +251,78 @@ public class OfficeHourStrategy extends AbstractFlipStrategy {
         return found;
     }
     
+    /**
+     * Check if a time of day is in one of the intervals.
+     *
+     * @param millisOfDay
+     *      milliseconds of day
+     * @param bounds
+     *      bounds of intervals by pairs
+     * @return
+     *      if one of the interval matches
+     */
+    private static boolean matches(int millisOfDay, int[] bounds) {
+        for (int i = 0; i < bounds.length; i += 2) {
+            if (bounds[i] < millisOfDay && millisOfDay < bounds[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Key of day for special openings.
+     */
+    private static int dayKey(int year, int dayOfYear) {
+        return year * 1000 + dayOfYear;
+    }
+    
     /** {@inheritDoc} */
     @Override
     public boolean evaluate(String featureName, FeatureStore store, FlippingExecutionContext executionContext) {
         // Check current date agains interval
-        Calendar now = Calendar.getInstance();
         if (executionContext != null && executionContext.containsKey(OVERRIDE_DATE)) {
-            now = (Calendar) executionContext.getValue(OVERRIDE_DATE, false);
+            Calendar now = (Calendar) executionContext.getValue(OVERRIDE_DATE, false);
+            return evaluate(now.get(Calendar.YEAR), now.get(Calendar.DAY_OF_YEAR), 
+                    now.get(Calendar.DAY_OF_WEEK), HourInterval.millisOfDay(now));
         }
-        
+        long now = System.currentTimeMillis();
+        DayClock today = DayClock.at(now);
+        return evaluate(today.getYear(), today.getDayOfYear(), today.getDayOfWeek(), today.millisOfDay(now));
+    }
+    
+    /**
+     * Evaluate with fields of current date.
+     *
+     * @param year
+     *      year
+     * @param dayOfYear
+     *      day of year
+     * @param dayOfWeek
+     *      day of week
+     * @param millisOfDay
+     *      time of day
+     * @return
+     *      if office is open
+     */
+    private boolean evaluate(int year, int dayOfYear, int dayOfWeek, int millisOfDay) {
         // Priority 1 : Special Opening
-        String currentDate = SDF_DATE.format(now.getTime());
-        if (specialTimeTable.containsKey(currentDate)) {
+        int special = Arrays.binarySearch(specialDays, dayKey(year, dayOfYear));
+        if (special >= 0) {
             // Today is in special openings, apply
-            return matches(now, specialTimeTable.get(currentDate));
+            return matches(millisOfDay, specialTimeTable[special]);
         }
         
         // Priority 2 : Public Holiday => CLOSED
-        if (publicHolidays.contains(currentDate)) {
+        int holidayYear = year - publicHolidaysFirstYear;
+        if (holidayYear >= 0 && holidayYear < publicHolidays.length 
+                && publicHolidays[holidayYear] != null && publicHolidays[holidayYear].get(dayOfYear)) {
             return false;
         }
         
         // Default behavior, get current day, retrive intervals and check
-        return matches(now, weekTimeTable.get(now.get(Calendar.DAY_OF_WEEK)));
+        int[] bounds = weekTimeTable[dayOfWeek];
+        return bounds != null && matches(millisOfDay, bounds);
     }
 
 }
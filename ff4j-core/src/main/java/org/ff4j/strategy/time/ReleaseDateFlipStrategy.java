@@ -32,20 +32,28 @@ import org.ff4j.strategy.AbstractFlipStrategy;
 /**
  * The feature will be flipped after release date is reached.
  * 
+ * The date is parsed once at init and kept as epoch milliseconds, evaluation compares it with current time.
+ * 
  * @author Cedrick Lunven (@clunven)
  */
 public class ReleaseDateFlipStrategy extends AbstractFlipStrategy {
     
     public static final String DATE_PATTERN = "yyyy-MM-dd-HH:mm";
     
-    /** Pattern to create a release Date. */
+    /**
+     * Pattern to create a release Date.
+     *
+     * @deprecated not thread-safe, kept for compatibility and no longer used by this strategy : create a new
+     *             {@link SimpleDateFormat} with {@link #DATE_PATTERN} instead.
+     */
+    @Deprecated
     public static final SimpleDateFormat SDF = new SimpleDateFormat(DATE_PATTERN);
 
     /** Constant for release Date. */
     private static final String PARAMNAME_RELEASEDATE = "releaseDate";
 
-    /** Release Date. */
-    private Date releaseDate = new Date();
+    /** Release Date, as epoch milliseconds. */
+    private long releaseTime = System.currentTimeMillis();
 
     /**
      * Default constructor for introspection.
@@ -58,11 +66,7 @@ public class ReleaseDateFlipStrategy extends AbstractFlipStrategy {
      * @param date
      */
     public ReleaseDateFlipStrategy(String strDate) {
-        try {
-            this.releaseDate = SDF.parse(strDate);
-        } catch (ParseException e) {
-            throw new IllegalArgumentException("Cannot parse release date, invalid format correct is '" + DATE_PATTERN + "'", e);
-        }
+        this.releaseTime = parseReleaseDate(strDate);
         getInitParams().put(PARAMNAME_RELEASEDATE, strDate);
     }
 
@@ -72,8 +76,8 @@ public class ReleaseDateFlipStrategy extends AbstractFlipStrategy {
      * @param releaseDate
      */
     public ReleaseDateFlipStrategy(Date releaseDate) {
-        this.releaseDate = releaseDate;
-        getInitParams().put(PARAMNAME_RELEASEDATE, SDF.format(releaseDate));
+        this.releaseTime = releaseDate.getTime();
+        getInitParams().put(PARAMNAME_RELEASEDATE, new SimpleDateFormat(DATE_PATTERN).format(releaseDate));
     }
 
     /** {@inheritDoc} */
@@ -81,8 +85,20 @@ public class ReleaseDateFlipStrategy extends AbstractFlipStrategy {
     public void init(String featureName, Map<String, String> initParam) {
         super.init(featureName, initParam);
         assertRequiredParameter(PARAMNAME_RELEASEDATE);
+        this.releaseTime = parseReleaseDate(initParam.get(PARAMNAME_RELEASEDATE));
+    }
+    
+    /**
+     * Parse release date expression.
+     *
+     * @param strDate
+     *      date as {@link #DATE_PATTERN}
+     * @return
+     *      epoch milliseconds
+     */
+    private static long parseReleaseDate(String strDate) {
         try {
-            this.releaseDate = SDF.parse(initParam.get(PARAMNAME_RELEASEDATE));
+            return new SimpleDateFormat(DATE_PATTERN).parse(strDate).getTime();
         } catch (ParseException e) {
             throw new IllegalArgumentException("Cannot parse release date, invalid format correct is '" + DATE_PATTERN + "'", e);
         }
@@ -94,7 +110,7 @@ public class ReleaseDateFlipStrategy extends AbstractFlipStrategy {
         // No use of featureName
         // No use of featureStore
         // No use of executionContext
-        return new Date().after(releaseDate);
+        return System.currentTimeMillis() > releaseTime;
     }
     
     /**
@@ -104,7 +120,7 @@ public class ReleaseDateFlipStrategy extends AbstractFlipStrategy {
      *            new value for 'releaseDate '
      */
     public void setReleaseDate(Date releaseDate) {
-        this.releaseDate = releaseDate;
+        this.releaseTime = releaseDate.getTime();
     }
 
 }
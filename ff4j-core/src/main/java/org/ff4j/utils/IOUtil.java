@@ -23,6 +23,10 @@ package org.ff4j.utils;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utilities to work with IO and Networking.
@@ -34,6 +38,15 @@ public class IOUtil {
     /** Would like to use the Inet Component. */
     private static boolean useInetAddress = true;
     
+    /** Delay between 2 resolutions of the cached hostname (milliseconds). */
+    public static final long HOSTNAME_REFRESH_DELAY = 5 * 60 * 1000L;
+    
+    /** Hostname resolved once and refreshed in background. */
+    private static volatile String cachedHostName;
+    
+    /** Refresh of cached hostname. */
+    private static ScheduledExecutorService hostNameRefresher;
+    
     /**
      * Static
      */
@@ -57,6 +70,52 @@ public class IOUtil {
         }
     }
 
+    /**
+     * Read hostName resolved once, without any lookup : it is refreshed in background every
+     * {@link #HOSTNAME_REFRESH_DELAY} milliseconds and the previous value is kept if resolution fails.
+     * 
+     * @return
+     *      current hostname
+     */
+    public static String getHostName() {
+        String hostName = cachedHostName;
+        if (hostName == null) {
+            hostName = initHostName();
+        }
+        return hostName;
+    }
+    
+    /**
+     * First resolution of hostname, start refresh.
+     * 
+     * @return
+     *      current hostname
+     */
+    private static synchronized String initHostName() {
+        if (cachedHostName == null) {
+            cachedHostName = resolveHostName();
+            hostNameRefresher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "FF4j_HostNameRefreshWorker");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+            hostNameRefresher.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        cachedHostName = resolveHostName();
+                    } catch (RuntimeException ex) {
+                        // Keep previous hostname, retry at next run
+                    }
+                }
+            }, HOSTNAME_REFRESH_DELAY, HOSTNAME_REFRESH_DELAY, TimeUnit.MILLISECONDS);
+        }
+        return cachedHostName;
+    }
+
     public static boolean isUseInetAddress() {
         return useInetAddress;
     }
@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 import org.ff4j.FF4j;
 import org.ff4j.audit.Event;
@@ -36,6 +37,8 @@ import org.ff4j.audit.EventConstants;
 import org.ff4j.audit.EventPublisher;
 import org.ff4j.audit.proxy.PropertyStoreAuditProxy;
 import org.ff4j.audit.repository.InMemoryEventRepository;
+import org.ff4j.cache.CacheInvalidationListener;
+import org.ff4j.cache.CacheInvalidationMessage;
 import org.ff4j.cache.InMemoryCacheManager;
 import org.ff4j.core.Feature;
 import org.ff4j.core.FlippingExecutionContext;
@@ -433,4 +436,58 @@ public class FF4jTest extends AbstractFf4jTest {
         Assert.assertNotNull(ff4j);
     }
 
+    @Test
+    public void testCheckAll() {
+        FF4j ff4j = new FF4j("ff4j.xml");
+        ff4j.cache(new InMemoryCacheManager());
+        Map<String, Boolean> results = ff4j.checkAll(Arrays.asList(F1, F2, F3), null);
+        Assert.assertEquals(Arrays.asList(F1, F2, F3), new ArrayList<String>(results.keySet()));
+        for (Map.Entry<String, Boolean> result : results.entrySet()) {
+            Assert.assertEquals(ff4j.check(result.getKey()), result.getValue());
+        }
+    }
+    
+    @Test(expected = FeatureNotFoundException.class)
+    public void testCheckAllFeatureNotFound() {
+        FF4j ff4j = new FF4j("ff4j.xml");
+        ff4j.checkAll(Arrays.asList(F1, "i-dont-exist"), null);
+    }
+    
+    @Test
+    public void testCheckAllAutoCreate() {
+        FF4j ff4j = new FF4j("ff4j.xml").autoCreate();
+        Assert.assertFalse(ff4j.checkAll(Arrays.asList(F1, "i-dont-exist"), null).get("i-dont-exist"));
+        Assert.assertTrue(ff4j.exist("i-dont-exist"));
+    }
+
+    @Test
+    public void testFeatureListener() {
+        FF4j ff4j = new FF4j("ff4j.xml");
+        final List < CacheInvalidationMessage > messages = new ArrayList<CacheInvalidationMessage>();
+        CacheInvalidationListener listener = new CacheInvalidationListener() {
+            public void onInvalidation(CacheInvalidationMessage message) {
+                messages.add(message);
+            }
+        };
+        ff4j.addFeatureListener(listener);
+        ff4j.enable(F1);
+        ff4j.disableGroup(G1);
+        Assert.assertEquals(2, messages.size());
+        Assert.assertEquals(CacheInvalidationMessage.Type.FEATURE, messages.get(0).getType());
+        Assert.assertEquals(F1, messages.get(0).getName());
+        Assert.assertEquals(CacheInvalidationMessage.Type.ALL_FEATURES, messages.get(1).getType());
+        Feature f1 = ff4j.getFeature(F1);
+        f1.setDescription("updated");
+        ff4j.updateFeature(f1);
+        Assert.assertEquals(3, messages.size());
+        Assert.assertEquals(F1, messages.get(2).getName());
+        Assert.assertEquals("updated", ff4j.getFeature(F1).getDescription());
+        // Direct store writes are not notified
+        ff4j.getFeatureStore().disable(F1);
+        Assert.assertEquals(3, messages.size());
+        ff4j.removeFeatureListener(listener);
+        ff4j.disable(F1);
+        Assert.assertEquals(3, messages.size());
+    }
+
 }
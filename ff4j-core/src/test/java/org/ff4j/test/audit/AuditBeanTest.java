@@ -2,6 +2,7 @@ package org.ff4j.test.audit;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -85,6 +86,43 @@ public class AuditBeanTest {
         Assert.assertEquals("SampleValue", evt.getKey("SampleKey"));
     }
     
+    @Test
+    public void testEventIdsAreTimeOrdered() {
+        String previous = new Event().getUuid();
+        for (int i = 0; i < 10000; i++) {
+            String current = new Event().getUuid();
+            Assert.assertEquals(36, current.length());
+            Assert.assertEquals('7', current.charAt(14));
+            Assert.assertTrue(current.compareTo(previous) > 0);
+            previous = current;
+        }
+    }
+    
+    @Test
+    public void testEventCustomKeysCreatedWhenUsed() {
+        Event evt = new Event();
+        Assert.assertFalse(evt.hasCustomKeys());
+        Assert.assertNull(evt.getKey("SampleKey"));
+        Assert.assertFalse(evt.hasCustomKeys());
+        evt.put("SampleKey", "SampleValue");
+        Assert.assertTrue(evt.hasCustomKeys());
+        Assert.assertTrue(evt.toJson().contains("SampleValue"));
+    }
+    
+    @Test
+    public void testEventBuilderWithRecycledEvent() {
+        Event recycled = new EventBuilder().name("f1").action(EventConstants.ACTION_CHECK_OK).build();
+        recycled.put("SampleKey", "SampleValue");
+        String uuid = recycled.getUuid();
+        Event evt = new EventBuilder(new FF4j(), recycled).feature("f2").build();
+        Assert.assertSame(recycled, evt);
+        Assert.assertEquals("f2", evt.getName());
+        Assert.assertNull(evt.getAction());
+        Assert.assertFalse(evt.hasCustomKeys());
+        Assert.assertFalse(uuid.equals(evt.getUuid()));
+        Assert.assertNotNull(evt.getHostName());
+    }
+    
     @Test
     public void testEventQueryDefinition() {
         EventQueryDefinition eqd = new EventQueryDefinition();
@@ -173,4 +211,16 @@ public class AuditBeanTest {
     }
     
     
+    @Test
+    public void testTimeSerieChartAddHits() {
+        long top = System.currentTimeMillis();
+        TimeSeriesChart tsc = new TimeSeriesChart(top - 100000, top + 100000, TimeUnit.MINUTES);
+        String slot = tsc.getSdf().format(new Date(top));
+        tsc.addHits("f1", slot, 3);
+        tsc.addHits("f1", slot, 2);
+        tsc.addHits("f2", "unknownSlot", 2);
+        Assert.assertEquals(5, tsc.getSeries().get("f1").getValue().get(slot).get());
+        Assert.assertTrue(tsc.getSeries().containsKey("f2"));
+    }
+    
 }
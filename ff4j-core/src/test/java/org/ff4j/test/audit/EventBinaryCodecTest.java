@@ -0,0 +1,192 @@
+package org.ff4j.test.audit;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventBinaryCodec;
+import org.ff4j.audit.EventConstants;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Testing class of {@link EventBinaryCodec} class.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class EventBinaryCodecTest {
+
+    private Event newEvent(String feature, String action) {
+        Event evt = new Event(EventConstants.SOURCE_JAVA, EventConstants.TARGET_FEATURE, feature, action);
+        evt.setUser("john");
+        evt.setDuration(12);
+        return evt;
+    }
+
+    private void assertSameEvent(Event expected, Event actual) {
+        Assert.assertEquals(expected.getUuid(), actual.getUuid());
+        Assert.assertEquals(expected.getTimestamp(), actual.getTimestamp());
+        Assert.assertEquals(expected.getDuration(), actual.getDuration());
+        Assert.assertEquals(expected.getHostName(), actual.getHostName());
+        Assert.assertEquals(expected.getSource(), actual.getSource());
+        Assert.assertEquals(expected.getUser(), actual.getUser());
+        Assert.assertEquals(expected.getName(), actual.getName());
+        Assert.assertEquals(expected.getType(), actual.getType());
+        Assert.assertEquals(expected.getAction(), actual.getAction());
+        Assert.assertEquals(expected.getValue(), actual.getValue());
+        Assert.assertEquals(expected.hasCustomKeys(), actual.hasCustomKeys());
+        if (expected.hasCustomKeys()) {
+            Assert.assertEquals(expected.getCustomKeys(), actual.getCustomKeys());
+        }
+    }
+
+    @Test
+    public void testSingleEvent() {
+        Event evt = newEvent("f1", EventConstants.ACTION_CHECK_OK);
+        evt.setValue("été");
+        evt.put("region", "EMEA");
+        byte[] bytes = EventBinaryCodec.encode(evt);
+        Assert.assertTrue(EventBinaryCodec.isBinary(bytes));
+        Assert.assertTrue(bytes.length < evt.toJson().length() / 2);
+        assertSameEvent(evt, EventBinaryCodec.decode(bytes));
+    }
+
+    @Test
+    public void testNullsAndCustomIdentifier() {
+        Event evt = new Event();
+        evt.setUuid(String.valueOf(evt.getTimestamp()));
+        evt.setHostName(null);
+        Event decoded = EventBinaryCodec.decode(EventBinaryCodec.encode(evt));
+        assertSameEvent(evt, decoded);
+        Assert.assertNull(decoded.getName());
+    }
+
+    @Test
+    public void testBatchSharesStrings() {
+        List<Event> events = new ArrayList<Event>();
+        for (int i = 0; i < 1000; i++) {
+            events.add(newEvent("feature" + (i % 10), (i % 2 == 0) ? EventConstants.ACTION_CHECK_OK : EventConstants.ACTION_CHECK_OFF));
+        }
+        byte[] bytes = EventBinaryCodec.encodeBatch(events);
+        // identifier (17), timestamp, duration and references : about 30 bytes per event
+        Assert.assertTrue(bytes.length < 1000 * 32);
+        List<Event> decoded = EventBinaryCodec.decodeBatch(bytes);
+        Assert.assertEquals(events.size(), decoded.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertSameEvent(events.get(i), decoded.get(i));
+        }
+    }
+
+    @Test
+    public void testFramesInStream() throws Exception {
+        Event e1 = newEvent("f1", EventConstants.ACTION_CHECK_OK);
+        Event e2 = newEvent("f2", EventConstants.ACTION_CHECK_OFF);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EventBinaryCodec.writeFrame(out, Arrays.asList(e1));
+        EventBinaryCodec.writeFrame(out, Arrays.asList(e1, e2));
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        Assert.assertEquals(1, EventBinaryCodec.readFrame(in).size());
+        List<Event> second = EventBinaryCodec.readFrame(in);
+        assertSameEvent(e2, second.get(1));
+        Assert.assertNull(EventBinaryCodec.readFrame(in));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotBinary() {
+        EventBinaryCodec.decode(new Event().toJson().getBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncated() {
+        byte[] bytes = EventBinaryCodec.encode(newEvent("f1", EventConstants.ACTION_CHECK_OK));
+        EventBinaryCodec.decode(Arrays.copyOf(bytes, bytes.length - 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCountAboveRemainingBytes() {
+        // 2^31 - 1 events announced, nothing allocated
+        EventBinaryCodec.decodeBatch(new byte[] {EventBinaryCodec.MAGIC, EventBinaryCodec.VERSION,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStringLengthAboveRemainingBytes() {
+        EventBinaryCodec.decodeBatch(new byte[] {EventBinaryCodec.MAGIC, EventBinaryCodec.VERSION,
+                1, 2, 5, (byte) 0xFF, (byte) 0xFF, 0x7F, 'a'});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testVarintAboveTenBytes() {
+        byte[] bytes = new byte[14];
+        Arrays.fill(bytes, (byte) 0x80);
+        bytes[0] = EventBinaryCodec.MAGIC;
+        bytes[1] = EventBinaryCodec.VERSION;
+        EventBinaryCodec.decodeBatch(bytes);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOversizedFrame() throws Exception {
+        int length = EventBinaryCodec.MAX_FRAME_SIZE + 1;
+        byte[] header = {(byte) ((length & 0x7F) | 0x80), (byte) (((length >>> 7) & 0x7F) | 0x80),
+                (byte) (((length >>> 14) & 0x7F) | 0x80), (byte) (length >>> 21)};
+        EventBinaryCodec.readFrame(new ByteArrayInputStream(header));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeFrameLength() throws Exception {
+        byte[] header = new byte[10];
+        Arrays.fill(header, (byte) 0xFF);
+        header[9] = 0x01;
+        EventBinaryCodec.readFrame(new ByteArrayInputStream(header));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFrameLengthAboveTenBytes() throws Exception {
+        byte[] header = new byte[11];
+        Arrays.fill(header, (byte) 0x80);
+        EventBinaryCodec.readFrame(new ByteArrayInputStream(header));
+    }
+
+    @Test(expected = EOFException.class)
+    public void testTruncatedFrameInStream() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EventBinaryCodec.writeFrame(out, Arrays.asList(newEvent("f1", EventConstants.ACTION_CHECK_OK)));
+        byte[] bytes = out.toByteArray();
+        EventBinaryCodec.readFrame(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 3)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformedFrameInStream() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EventBinaryCodec.writeFrame(out, Arrays.asList(newEvent("f1", EventConstants.ACTION_CHECK_OK)));
+        byte[] bytes = out.toByteArray();
+        // Announce 3 bytes less, events are cut
+        bytes[0] = (byte) (bytes[0] - 3);
+        EventBinaryCodec.readFrame(new ByteArrayInputStream(bytes));
+    }
+
+}
@@ -0,0 +1,152 @@
+package org.ff4j.test.audit;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
+import static org.ff4j.audit.EventConstants.SOURCE_JAVA;
+import static org.ff4j.audit.EventConstants.TARGET_FEATURE;
+
+import org.ff4j.FF4j;
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventOverflowPolicy;
+import org.ff4j.audit.EventPublisher;
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.EventRingBuffer;
+import org.ff4j.audit.repository.EventRepository;
+import org.ff4j.audit.repository.InMemoryEventRepository;
+import org.ff4j.core.Feature;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit testing of asynchronous publication through {@link EventRingBuffer}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class EventRingBufferTest {
+
+    /** Build sample event. */
+    private Event evt(String name) {
+        return new Event(SOURCE_JAVA, TARGET_FEATURE, name, ACTION_CHECK_OK);
+    }
+
+    @Test
+    public void testCapacityRoundedToPowerOfTwo() {
+        Assert.assertEquals(8, new EventRingBuffer(5, EventOverflowPolicy.DROP_NEWEST).getCapacity());
+        Assert.assertEquals(1, new EventRingBuffer(1, EventOverflowPolicy.DROP_NEWEST).getCapacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new EventRingBuffer(0, EventOverflowPolicy.DROP_NEWEST);
+    }
+
+    @Test
+    public void testFifoOrder() {
+        EventRingBuffer rb = new EventRingBuffer(4, EventOverflowPolicy.DROP_NEWEST);
+        Assert.assertTrue(rb.isEmpty());
+        Assert.assertTrue(rb.publish(evt("f1")));
+        Assert.assertTrue(rb.publish(evt("f2")));
+        Assert.assertEquals(2, rb.size());
+        Assert.assertEquals("f1", rb.poll().getName());
+        Assert.assertEquals("f2", rb.poll().getName());
+        Assert.assertNull(rb.poll());
+        Assert.assertEquals(2, rb.getEnqueuedCount());
+    }
+
+    @Test
+    public void testDropNewest() {
+        EventRingBuffer rb = new EventRingBuffer(2, EventOverflowPolicy.DROP_NEWEST);
+        rb.publish(evt("f1"));
+        rb.publish(evt("f2"));
+        Assert.assertFalse(rb.publish(evt("f3")));
+        Assert.assertEquals(1, rb.getDroppedCount());
+        Assert.assertEquals("f1", rb.poll().getName());
+    }
+
+    @Test
+    public void testDropOldest() {
+        EventRingBuffer rb = new EventRingBuffer(2, EventOverflowPolicy.DROP_OLDEST);
+        rb.publish(evt("f1"));
+        rb.publish(evt("f2"));
+        Assert.assertTrue(rb.publish(evt("f3")));
+        Assert.assertEquals(1, rb.getDroppedCount());
+        Assert.assertEquals("f2", rb.poll().getName());
+        Assert.assertEquals("f3", rb.poll().getName());
+    }
+
+    @Test
+    public void testSample() {
+        EventRingBuffer rb = new EventRingBuffer(2, EventOverflowPolicy.SAMPLE, 2);
+        rb.publish(evt("f1"));
+        rb.publish(evt("f2"));
+        // 1st overflow is sampled, 2nd is dropped
+        Assert.assertTrue(rb.publish(evt("f3")));
+        Assert.assertFalse(rb.publish(evt("f4")));
+        Assert.assertEquals(2, rb.getDroppedCount());
+        Assert.assertEquals(3, rb.getEnqueuedCount());
+    }
+
+    @Test
+    public void testAsynchronousPublisher() throws InterruptedException {
+        EventRepository er = new InMemoryEventRepository();
+        EventPublisher ep  = new EventPublisher(er, new EventRingBuffer(1024, EventOverflowPolicy.DROP_NEWEST), 1);
+        Assert.assertTrue(ep.isAsynchronous());
+        for (int i = 0; i < 10; i++) {
+            ep.publish(evt("f1"));
+        }
+        ep.stop();
+        Thread.sleep(200);
+        Assert.assertEquals(10, ep.getEnqueuedCount());
+        Assert.assertEquals(0, ep.getDroppedCount());
+        Assert.assertEquals(10, er.getFeatureUsageTotalHitCount(new EventQueryDefinition()));
+    }
+
+    @Test
+    public void testAsynchronousPublisherBatches() throws InterruptedException {
+        EventRepository er = new InMemoryEventRepository();
+        EventPublisher ep  = new EventPublisher(er, new EventRingBuffer(64, EventOverflowPolicy.DROP_NEWEST), 1, 5, 10);
+        for (int i = 0; i < 12; i++) {
+            ep.publish(evt("f1"));
+        }
+        // Partial batch is flushed after the time window
+        Thread.sleep(200);
+        Assert.assertEquals(12, er.getFeatureUsageTotalHitCount(new EventQueryDefinition()));
+        ep.stop();
+    }
+
+    @Test
+    public void testCheckWithAsynchronousPublisher() throws InterruptedException {
+        EventRepository er = new InMemoryEventRepository();
+        FF4j ff4j = new FF4j();
+        ff4j.setEventRepository(er);
+        ff4j.setEventPublisher(new EventPublisher(er, 16, EventOverflowPolicy.DROP_OLDEST));
+        ff4j.audit(true);
+        ff4j.createFeature(new Feature("f1", true));
+        Assert.assertTrue(ff4j.check("f1"));
+        ff4j.getEventPublisher().stop();
+        Thread.sleep(200);
+        // create + check
+        Assert.assertEquals(2, ff4j.getEventPublisher().getEnqueuedCount());
+        Assert.assertEquals(1, er.getFeatureUsageTotalHitCount(new EventQueryDefinition()));
+    }
+
+}
@@ -0,0 +1,198 @@
+package org.ff4j.test.audit;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OFF;
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
+import static org.ff4j.audit.EventConstants.ACTION_CREATE;
+import static org.ff4j.audit.EventConstants.SOURCE_JAVA;
+import static org.ff4j.audit.EventConstants.SOURCE_WEB;
+import static org.ff4j.audit.EventConstants.TARGET_FEATURE;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.StripedCounter;
+import org.ff4j.audit.chart.TimeSeriesChart;
+import org.ff4j.audit.repository.InMemoryCounterEventRepository;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test for counter based InMemory Event repository.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class InMemoryCounterEventRepositoryTest {
+
+    /** Tested repository. */
+    private InMemoryCounterEventRepository repo;
+
+    /** Start of test. */
+    private long start;
+
+    @Before
+    public void setUp() {
+        repo  = new InMemoryCounterEventRepository();
+        start = System.currentTimeMillis() - 120000;
+    }
+
+    /** Utility to create event. */
+    private Event check(String uid, String source, String host, String user) {
+        Event evt = new Event(source, TARGET_FEATURE, uid, ACTION_CHECK_OK);
+        evt.setHostName(host);
+        evt.setUser(user);
+        return evt;
+    }
+
+    /** Query from start of test. */
+    private EventQueryDefinition query() {
+        return new EventQueryDefinition(start, System.currentTimeMillis() + 1000);
+    }
+
+    @Test
+    public void testStripedCounter() throws InterruptedException {
+        final StripedCounter counter = new StripedCounter();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < 1000; j++) {
+                        counter.inc();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(4000, counter.sum());
+    }
+
+    @Test
+    public void testHitCounts() {
+        repo.saveEvent(check("f1", SOURCE_JAVA, "h1", "u1"));
+        repo.saveEvent(check("f1", SOURCE_JAVA, "h2", null));
+        repo.saveEvent(check("f2", SOURCE_WEB,  "h1", "u1"));
+        repo.saveEvent(new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CHECK_OFF));
+
+        Map<String, MutableHitCount> features = repo.getFeatureUsageHitCount(query());
+        Assert.assertEquals(2, features.get("f1").get());
+        Assert.assertEquals(1, features.get("f2").get());
+        Assert.assertEquals(3, repo.getFeatureUsageTotalHitCount(query()));
+
+        Map<String, MutableHitCount> hosts = repo.getHostHitCount(query());
+        Assert.assertEquals(2, hosts.get("h1").get());
+        Assert.assertEquals(1, hosts.get("h2").get());
+
+        Map<String, MutableHitCount> sources = repo.getSourceHitCount(query());
+        Assert.assertEquals(2, sources.get(SOURCE_JAVA).get());
+
+        Map<String, MutableHitCount> users = repo.getUserHitCount(query());
+        Assert.assertEquals(2, users.get("u1").get());
+        Assert.assertEquals(1, users.get("anonymous").get());
+    }
+
+    @Test
+    public void testHitCountsWithFilters() {
+        repo.saveEvent(check("f1", SOURCE_JAVA, "h1", "u1"));
+        repo.saveEvent(check("f1", SOURCE_JAVA, "h2", "u1"));
+        repo.saveEvent(check("f2", SOURCE_WEB,  "h1", "u1"));
+        Map<String, MutableHitCount> features = repo.getFeatureUsageHitCount(query().addFilterHost("h1"));
+        Assert.assertEquals(1, features.get("f1").get());
+        Assert.assertEquals(1, features.get("f2").get());
+        Assert.assertFalse(repo.getHostHitCount(query().addFilterName("f2")).containsKey("h2"));
+    }
+
+    @Test
+    public void testHistory() {
+        repo.saveEvent(check("f1", SOURCE_JAVA, "h1", "u1"));
+        repo.saveEvent(check("f1", SOURCE_JAVA, "h1", "u1"));
+        TimeSeriesChart tsc = repo.getFeatureUsageHistory(query(), TimeUnit.MINUTES);
+        int total = 0;
+        for (MutableHitCount mhc : tsc.getSeries().get("f1").getValue().values()) {
+            total += mhc.get();
+        }
+        Assert.assertEquals(2, total);
+    }
+
+    @Test
+    public void testHostAndSourceFiltersCombined() {
+        repo.saveEvent(check("f1", SOURCE_JAVA, "h1", "u1"));
+        repo.saveEvent(check("f1", SOURCE_WEB,  "h1", "u1"));
+        repo.saveEvent(check("f1", SOURCE_JAVA, "h2", "u1"));
+        EventQueryDefinition q = query().addFilterHost("h1").addFilterSource(SOURCE_JAVA);
+        Assert.assertEquals(1, repo.getFeatureUsageHitCount(q).get("f1").get());
+        Assert.assertEquals(1, repo.getFeatureUsageTotalHitCount(q));
+    }
+
+    @Test
+    public void testMaxUsers() {
+        repo.setMaxUsers(2);
+        repo.saveEvent(check("f1", SOURCE_JAVA, "h1", "u1"));
+        repo.saveEvent(check("f1", SOURCE_JAVA, "h1", "u2"));
+        repo.saveEvent(check("f1", SOURCE_JAVA, "h1", "u3"));
+        repo.saveEvent(check("f1", SOURCE_JAVA, "h1", "u1"));
+        Map<String, MutableHitCount> users = repo.getUserHitCount(query());
+        Assert.assertEquals(2, users.get("u1").get());
+        Assert.assertFalse(users.containsKey("u3"));
+        Assert.assertEquals(1, users.get(InMemoryCounterEventRepository.OTHER_USERS).get());
+        // Disabled breakdown
+        repo.setMaxUsers(0);
+        repo.saveEvent(check("f2", SOURCE_JAVA, "h1", "u4"));
+        Assert.assertFalse(repo.getUserHitCount(query()).containsKey("u4"));
+        Assert.assertEquals(5, repo.getFeatureUsageTotalHitCount(query()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxUsersNegative() {
+        repo.setMaxUsers(-1);
+    }
+
+    @Test
+    public void testRetention() {
+        InMemoryCounterEventRepository small = new InMemoryCounterEventRepository(1000, 2);
+        long now = System.currentTimeMillis();
+        Event old = check("f1", SOURCE_JAVA, "h1", "u1");
+        old.setTimestamp(now - 10000);
+        Assert.assertTrue(small.saveEvent(old));
+        Assert.assertTrue(small.saveEvent(check("f1", SOURCE_JAVA, "h1", "u1")));
+        // Old bucket evicted, late events rejected
+        Assert.assertFalse(small.saveEvent(old));
+        Assert.assertEquals(1, small.getFeatureUsageTotalHitCount(new EventQueryDefinition(now - 20000, now + 1000)));
+    }
+
+    @Test
+    public void testPurgeAndAuditTrail() {
+        repo.saveEvent(check("f1", SOURCE_JAVA, "h1", "u1"));
+        repo.saveEvent(new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CREATE));
+        repo.purgeFeatureUsage(query());
+        Assert.assertEquals(0, repo.getFeatureUsageTotalHitCount(query()));
+        Assert.assertTrue(repo.searchFeatureUsageEvents(query()).isEmpty());
+        Assert.assertEquals(1, repo.getAuditTrail(query()).size());
+    }
+
+}
@@ -20,10 +20,22 @@ package org.ff4j.test.audit;
  * #L%
  */
 
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
+import static org.ff4j.audit.EventConstants.SOURCE_JAVA;
+import static org.ff4j.audit.EventConstants.TARGET_FEATURE;
+
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.chart.TimeSeriesChart;
 import org.ff4j.audit.repository.EventRepository;
 import org.ff4j.audit.repository.JdbcEventRepository;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Test;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
@@ -70,4 +82,22 @@ public class JdbcEventRepositoryTest extends AbstractEventRepositoryTest {
         return new JdbcEventRepository(db);
     }
 
+    @Test
+    public void testGetFeatureUsageHistoryCountedByDatabase() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        for(int i = 0;i<5;i++) {
+            repo.saveEvent(new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CHECK_OK));
+        }
+        repo.saveEvent(new Event(SOURCE_JAVA, TARGET_FEATURE, "f2", ACTION_CHECK_OK));
+        Thread.sleep(100);
+        EventQueryDefinition testQuery = new EventQueryDefinition(start - 20, System.currentTimeMillis());
+        TimeSeriesChart tsc = repo.getFeatureUsageHistory(testQuery, TimeUnit.MINUTES);
+        int hitsF1 = 0;
+        for (MutableHitCount hc : tsc.getSeries().get("f1").getValue().values()) {
+            hitsF1 += hc.get();
+        }
+        Assert.assertEquals(5, hitsF1);
+        Assert.assertTrue(tsc.getSeries().containsKey("f2"));
+    }
+
 }
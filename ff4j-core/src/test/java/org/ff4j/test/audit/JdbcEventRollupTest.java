@@ -0,0 +1,219 @@
+package org.ff4j.test.audit;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
+import static org.ff4j.audit.EventConstants.SOURCE_JAVA;
+import static org.ff4j.audit.EventConstants.TARGET_FEATURE;
+import static org.ff4j.utils.JdbcUtils.isTableExist;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.chart.TimeSeriesChart;
+import org.ff4j.audit.repository.JdbcEventRepository;
+import org.ff4j.exception.AuditAccessException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Unit testing of rollup tables of {@link JdbcEventRepository}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class JdbcEventRollupTest {
+
+    /** One day. */
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    /** DataBase. */
+    private EmbeddedDatabase db;
+
+    /** Tested repository. */
+    private JdbcEventRepository repo;
+
+    /** Current time. */
+    private long now;
+
+    /** {@inheritDoc} */
+    @Before
+    public void setUp() throws Exception {
+        db = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.HSQL).build();
+        repo = new JdbcEventRepository(db);
+        repo.enableRollup();
+        repo.createSchema();
+        now = System.currentTimeMillis();
+    }
+
+    /** {@inheritDoc} */
+    @After
+    public void tearDown() throws Exception {
+        db.shutdown();
+    }
+
+    private void hits(String feature, long time, int count) {
+        for (int i = 0; i < count; i++) {
+            Event evt = new Event(SOURCE_JAVA, TARGET_FEATURE, feature, ACTION_CHECK_OK);
+            evt.setTimestamp(time + i * 1000);
+            repo.saveEvent(evt);
+        }
+    }
+
+    private int total(Map < String, MutableHitCount > hitCount, String key) {
+        return hitCount.containsKey(key) ? hitCount.get(key).get() : 0;
+    }
+
+    @Test
+    public void testCreateSchema() {
+        for (TimeUnit units : new TimeUnit[] { TimeUnit.MINUTES, TimeUnit.HOURS, TimeUnit.DAYS }) {
+            Assert.assertTrue(isTableExist(db, repo.getQueryBuilder().getTableNameAuditRollup(units)));
+        }
+        // When (no error)
+        repo.createSchema();
+    }
+
+    @Test
+    public void testCompactKeepsHitCount() {
+        hits("f1", now - 2 * DAY, 5);
+        hits("f2", now - TimeUnit.HOURS.toMillis(3), 3);
+        hits("f1", now, 2);
+        EventQueryDefinition query = new EventQueryDefinition(now - 3 * DAY, now + DAY);
+        Map < String, MutableHitCount > before = repo.getFeatureUsageHitCount(query);
+        Assert.assertEquals(7, total(before, "f1"));
+        Assert.assertEquals(3, total(before, "f2"));
+        // When
+        repo.getRollup().compact();
+        // Then
+        Map < String, MutableHitCount > after = repo.getFeatureUsageHitCount(query);
+        Assert.assertEquals(7, total(after, "f1"));
+        Assert.assertEquals(3, total(after, "f2"));
+        Assert.assertEquals(10, repo.getFeatureUsageTotalHitCount(query));
+        // When (nothing new to compact)
+        repo.getRollup().compact();
+        Assert.assertEquals(10, repo.getFeatureUsageTotalHitCount(query));
+    }
+
+    @Test
+    public void testPurgeCompactedRawHits() {
+        repo.getRollup().setRetention(DAY);
+        hits("f1", now - 2 * DAY, 5);
+        hits("f1", now, 2);
+        // When
+        repo.getRollup().compact();
+        // Then
+        EventQueryDefinition old = new EventQueryDefinition(now - 3 * DAY, now - DAY);
+        Assert.assertTrue(repo.searchFeatureUsageEvents(old).isEmpty());
+        Assert.assertEquals(5, repo.getFeatureUsageTotalHitCount(new EventQueryDefinition(now - 3 * DAY, now - DAY)));
+        Assert.assertEquals(7, repo.getFeatureUsageTotalHitCount(new EventQueryDefinition(now - 3 * DAY, now + DAY)));
+    }
+
+    @Test
+    public void testHistoryFromRollup() {
+        hits("f1", now - 2 * DAY, 5);
+        hits("f1", now, 2);
+        repo.getRollup().compact();
+        // When
+        TimeSeriesChart tsc = repo.getFeatureUsageHistory(new EventQueryDefinition(now - 3 * DAY, now + DAY), TimeUnit.DAYS);
+        // Then
+        int hitsF1 = 0;
+        for (MutableHitCount hc : tsc.getSeries().get("f1").getValue().values()) {
+            hitsF1 += hc.get();
+        }
+        Assert.assertEquals(7, hitsF1);
+    }
+
+    @Test
+    public void testPurgeWindowCuttingSlots() {
+        long start = now - 2 * DAY;
+        hits("f1", start, 5);
+        hits("f1", now, 2);
+        repo.getRollup().compact();
+        EventQueryDefinition query = new EventQueryDefinition(now - 3 * DAY, now + DAY);
+        Assert.assertEquals(7, repo.getFeatureUsageTotalHitCount(query));
+        // When (hits at start + 2s and start + 3s)
+        repo.purgeFeatureUsage(new EventQueryDefinition(start + 1500, start + 3500));
+        // Then slots cut by window are computed again
+        Assert.assertEquals(5, repo.getFeatureUsageTotalHitCount(query));
+        Assert.assertEquals(3, repo.getFeatureUsageTotalHitCount(new EventQueryDefinition(now - 3 * DAY, now - DAY)));
+    }
+
+    @Test
+    public void testPurgeWindowWithFullSlots() {
+        hits("f1", now - 2 * DAY, 5);
+        hits("f1", now - 5 * DAY, 4);
+        hits("f1", now, 2);
+        repo.getRollup().compact();
+        // When
+        repo.purgeFeatureUsage(new EventQueryDefinition(now - 3 * DAY, now - DAY));
+        // Then
+        Assert.assertEquals(6, repo.getFeatureUsageTotalHitCount(new EventQueryDefinition(now - 6 * DAY, now + DAY)));
+        Assert.assertEquals(4, repo.getFeatureUsageTotalHitCount(new EventQueryDefinition(now - 6 * DAY, now - DAY)));
+    }
+
+    @Test
+    public void testPurgeRejectsCutMinuteWithoutRawHits() {
+        repo.getRollup().setRetention(DAY);
+        long start = now - 2 * DAY;
+        hits("f1", start, 5);
+        repo.getRollup().compact();
+        EventQueryDefinition query = new EventQueryDefinition(now - 3 * DAY, now);
+        try {
+            // When
+            repo.purgeFeatureUsage(new EventQueryDefinition(start + 1500, start + 3500));
+            Assert.fail();
+        } catch (IllegalArgumentException ex) {
+            // Then nothing is deleted
+            Assert.assertEquals(5, repo.getFeatureUsageTotalHitCount(query));
+        }
+        // When aligned on minutes
+        long minute = TimeUnit.MINUTES.toMillis(1);
+        repo.purgeFeatureUsage(new EventQueryDefinition(start - start % minute - 2 * minute - 1, start - start % minute + 2 * minute));
+        Assert.assertEquals(0, repo.getFeatureUsageTotalHitCount(query));
+    }
+
+    @Test
+    public void testCompactionErrorsAreCounted() throws InterruptedException {
+        EmbeddedDatabase emptyDb = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.HSQL).setName("rollupNoSchema").build();
+        try {
+            // No table
+            JdbcEventRepository noSchema = new JdbcEventRepository(emptyDb);
+            noSchema.enableRollup().startCompaction(10);
+            for (int i = 0; i < 100 && noSchema.getRollup().getCompactionErrors() < 2; i++) {
+                Thread.sleep(20);
+            }
+            noSchema.getRollup().stopCompaction();
+            // Storage errors are retried
+            Assert.assertTrue(noSchema.getRollup().getCompactionErrors() >= 2);
+            Assert.assertTrue(noSchema.getRollup().getLastCompactionError() instanceof AuditAccessException);
+        } finally {
+            emptyDb.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,128 @@
+package org.ff4j.test.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.ff4j.FF4j;
+import org.ff4j.cache.CacheInvalidationBus;
+import org.ff4j.cache.CacheInvalidationMessage;
+import org.ff4j.cache.CacheInvalidationMessage.Type;
+import org.ff4j.cache.FF4jCacheProxy;
+import org.ff4j.cache.InMemoryCacheInvalidationBus;
+import org.ff4j.cache.InMemoryCacheManager;
+import org.ff4j.core.Feature;
+import org.ff4j.property.PropertyString;
+import org.ff4j.property.store.InMemoryPropertyStore;
+import org.ff4j.store.InMemoryFeatureStore;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Propagation of invalidations between {@link FF4jCacheProxy} through a {@link CacheInvalidationBus}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class CacheInvalidationBusTest {
+
+    /** Node 1. */
+    private FF4jCacheProxy node1;
+
+    /** Node 2. */
+    private FF4jCacheProxy node2;
+
+    @Before
+    public void initNodes() {
+        // Both nodes share the same stores
+        InMemoryFeatureStore  fs = new InMemoryFeatureStore("ff4j.xml");
+        InMemoryPropertyStore ps = new InMemoryPropertyStore("ff4j.xml");
+        CacheInvalidationBus bus = new InMemoryCacheInvalidationBus();
+        node1 = new FF4jCacheProxy(fs, ps, new InMemoryCacheManager());
+        node2 = new FF4jCacheProxy(fs, ps, new InMemoryCacheManager());
+        node1.setInvalidationBus(bus);
+        node2.setInvalidationBus(bus);
+    }
+
+    @Test
+    public void testFeatureInvalidation() {
+        Assert.assertTrue(node2.read("first").isEnable());
+        Assert.assertNotNull(node2.getCacheManager().getFeature("first"));
+        node1.disable("first");
+        Assert.assertNull(node2.getCacheManager().getFeature("first"));
+        Assert.assertFalse(node2.read("first").isEnable());
+    }
+
+    @Test
+    public void testGroupInvalidation() {
+        node2.read("first");
+        node1.enableGroup("GRP1");
+        Assert.assertTrue(node2.getCacheManager().listCachedFeatureNames().isEmpty());
+    }
+
+    @Test
+    public void testPropertyInvalidation() {
+        node1.createProperty(new PropertyString("p1", "v1"));
+        Assert.assertEquals("v1", node2.readProperty("p1").asString());
+        node1.updateProperty("p1", "v2");
+        Assert.assertEquals("v2", node2.readProperty("p1").asString());
+        node1.deleteProperty("p1");
+        Assert.assertFalse(node2.existProperty("p1"));
+    }
+
+    @Test
+    public void testOwnMessagesIgnored() {
+        node1.create(new Feature("new", true));
+        Assert.assertNotNull(node1.getCacheManager().getFeature("new"));
+    }
+
+    @Test
+    public void testBusClosedOnStop() {
+        final AtomicInteger closed = new AtomicInteger();
+        CacheInvalidationBus bus = new InMemoryCacheInvalidationBus() {
+            @Override
+            public void close() {
+                closed.incrementAndGet();
+                super.close();
+            }
+        };
+        FF4j ff4j = new FF4j("ff4j.xml").cache(new InMemoryCacheManager(), bus).snapshot();
+        ff4j.stop();
+        Assert.assertEquals(1, closed.get());
+    }
+
+    @Test
+    public void testMessageSerialization() {
+        CacheInvalidationMessage msg = new CacheInvalidationMessage(Type.FEATURE, "node1", "my:feature");
+        CacheInvalidationMessage read = CacheInvalidationMessage.fromString(msg.toString());
+        Assert.assertEquals("f:node1:my:feature", msg.toString());
+        Assert.assertEquals(Type.FEATURE, read.getType());
+        Assert.assertEquals("node1", read.getOrigin());
+        Assert.assertEquals("my:feature", read.getName());
+        Assert.assertEquals("", CacheInvalidationMessage.fromString("F:node1:").getName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMessage() {
+        CacheInvalidationMessage.fromString("x:node1:f1");
+    }
+
+}
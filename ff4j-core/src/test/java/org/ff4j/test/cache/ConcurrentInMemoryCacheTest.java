@@ -0,0 +1,161 @@
+package org.ff4j.test.cache;
+
+import org.ff4j.cache.CacheStatistics;
+import org.ff4j.cache.ConcurrentInMemoryCacheManager;
+import org.ff4j.cache.FF4jCacheProxy;
+import org.ff4j.core.Feature;
+import org.ff4j.core.FeatureStore;
+import org.ff4j.property.PropertyString;
+import org.ff4j.property.store.InMemoryPropertyStore;
+import org.ff4j.store.InMemoryFeatureStore;
+import org.ff4j.test.store.CoreFeatureStoreTestSupport;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Testing class of {@link ConcurrentInMemoryCacheManager} class.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class ConcurrentInMemoryCacheTest extends CoreFeatureStoreTestSupport {
+
+    /** {@inheritDoc} */
+    @Override
+    public FeatureStore initStore() {
+        return new FF4jCacheProxy(
+                new InMemoryFeatureStore("ff4j.xml"),
+                new InMemoryPropertyStore("ff4j.xml"),
+                new ConcurrentInMemoryCacheManager());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxSize() {
+        new ConcurrentInMemoryCacheManager(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPutNullisIlegal() {
+        new ConcurrentInMemoryCacheManager().putFeature(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPutEmptyPropertyName() {
+        PropertyString p1 = new PropertyString("p1");
+        p1.setName("");
+        new ConcurrentInMemoryCacheManager().putProperty(p1);
+    }
+
+    @Test
+    public void testStatistics() {
+        ConcurrentInMemoryCacheManager cm = new ConcurrentInMemoryCacheManager();
+        Assert.assertNull(cm.getFeature("f1"));
+        cm.putFeature(new Feature("f1"));
+        Assert.assertNotNull(cm.getFeature("f1"));
+        Assert.assertNotNull(cm.getFeature("f1"));
+        CacheStatistics stats = cm.getFeatureStatistics();
+        Assert.assertEquals(2, stats.getHitCount());
+        Assert.assertEquals(1, stats.getMissCount());
+        Assert.assertEquals(1, stats.getLoadCount());
+        Assert.assertEquals(1, stats.getSize());
+        Assert.assertEquals(2.0 / 3, stats.getHitRatio(), 0.001);
+        Assert.assertTrue(stats.getTotalLoadTime() >= 0);
+        Assert.assertEquals(0, cm.getPropertyStatistics().getRequestCount());
+    }
+
+    @Test
+    public void testEvictionKeepsReferencedEntries() {
+        ConcurrentInMemoryCacheManager cm = new ConcurrentInMemoryCacheManager(3);
+        cm.putFeature(new Feature("f1"));
+        cm.putFeature(new Feature("f2"));
+        cm.putFeature(new Feature("f3"));
+        // f1 is used, f2 is the oldest unused
+        Assert.assertNotNull(cm.getFeature("f1"));
+        cm.putFeature(new Feature("f4"));
+        Assert.assertEquals(3, cm.listCachedFeatureNames().size());
+        Assert.assertTrue(cm.listCachedFeatureNames().contains("f1"));
+        Assert.assertFalse(cm.listCachedFeatureNames().contains("f2"));
+        Assert.assertEquals(1, cm.getFeatureStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        ConcurrentInMemoryCacheManager cm = new ConcurrentInMemoryCacheManager(10);
+        for (int i = 0; i < 1000; i++) {
+            cm.putProperty(new PropertyString("p" + i, "v"));
+            cm.getProperty("p" + (i / 2));
+        }
+        Assert.assertTrue(cm.listCachedPropertyNames().size() <= 10);
+        Assert.assertEquals(990, cm.getPropertyStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void testReplaceAndEvict() {
+        ConcurrentInMemoryCacheManager cm = new ConcurrentInMemoryCacheManager(2);
+        for (int i = 0; i < 500; i++) {
+            cm.putFeature(new Feature("f1"));
+            cm.evictFeature("f2");
+            cm.putFeature(new Feature("f2"));
+        }
+        Assert.assertEquals(2, cm.listCachedFeatureNames().size());
+        Assert.assertEquals(0, cm.getFeatureStatistics().getEvictionCount());
+        cm.clearFeatures();
+        Assert.assertTrue(cm.listCachedFeatureNames().isEmpty());
+    }
+
+    @Test
+    public void testTimeToLive() throws InterruptedException {
+        ConcurrentInMemoryCacheManager cm = new ConcurrentInMemoryCacheManager(10, 0);
+        cm.putFeature(new Feature("f1"), 1);
+        cm.putFeature(new Feature("f2"));
+        Thread.sleep(1100);
+        Assert.assertNull(cm.getFeature("f1"));
+        Assert.assertNotNull(cm.getFeature("f2"));
+        Assert.assertEquals(1, cm.getFeatureStatistics().getExpirationCount());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws InterruptedException {
+        final ConcurrentInMemoryCacheManager cm = new ConcurrentInMemoryCacheManager(50);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(new Runnable() {
+                public void run() {
+                    for (int i = 0; i < 2000; i++) {
+                        String uid = "f" + (i % 100);
+                        if (cm.getFeature(uid) == null) {
+                            cm.putFeature(new Feature(uid));
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertTrue(cm.listCachedFeatureNames().size() <= 50);
+        Assert.assertEquals(8000, cm.getFeatureStatistics().getRequestCount());
+    }
+
+}
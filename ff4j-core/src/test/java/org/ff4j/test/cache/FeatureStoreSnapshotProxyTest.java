@@ -0,0 +1,122 @@
+package org.ff4j.test.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Arrays;
+
+import org.ff4j.FF4j;
+import org.ff4j.cache.FeatureStoreSnapshotProxy;
+import org.ff4j.core.Feature;
+import org.ff4j.core.FeatureStore;
+import org.ff4j.store.InMemoryFeatureStore;
+import org.ff4j.test.store.CoreFeatureStoreTestSupport;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Testing class of {@link FeatureStoreSnapshotProxy} class.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class FeatureStoreSnapshotProxyTest extends CoreFeatureStoreTestSupport {
+
+    /** {@inheritDoc} */
+    @Override
+    public FeatureStore initStore() {
+        return new FeatureStoreSnapshotProxy(new InMemoryFeatureStore("ff4j.xml"));
+    }
+
+    @Test
+    public void testSnapshotMode() {
+        FF4j ff4j = new FF4j("ff4j.xml").snapshot();
+        Assert.assertTrue(ff4j.getFeatureStore() instanceof FeatureStoreSnapshotProxy);
+        Assert.assertTrue(ff4j.getConcreteFeatureStore() instanceof InMemoryFeatureStore);
+        ff4j.createFeature(new Feature("snap", false));
+        Assert.assertFalse(ff4j.check("snap"));
+        ff4j.enable("snap");
+        Assert.assertTrue(ff4j.check("snap"));
+        ff4j.delete("snap");
+        Assert.assertFalse(ff4j.exist("snap"));
+    }
+
+    @Test
+    public void testTargetChangesVisibleAfterRefresh() {
+        InMemoryFeatureStore target = new InMemoryFeatureStore("ff4j.xml");
+        FeatureStoreSnapshotProxy proxy = new FeatureStoreSnapshotProxy(target);
+        target.create(new Feature("direct", true));
+        Assert.assertFalse(proxy.exist("direct"));
+        proxy.refresh();
+        Assert.assertTrue(proxy.read("direct").isEnable());
+    }
+
+    @Test
+    public void testSnapshotIsNotModifiedByReaders() {
+        FeatureStoreSnapshotProxy proxy = new FeatureStoreSnapshotProxy(new InMemoryFeatureStore("ff4j.xml"));
+        proxy.readAll().clear();
+        Assert.assertFalse(proxy.readAll().isEmpty());
+    }
+
+    @Test
+    public void testReadReturnsCopy() {
+        FeatureStoreSnapshotProxy proxy = new FeatureStoreSnapshotProxy(new InMemoryFeatureStore("ff4j.xml"));
+        boolean enabled = proxy.read(F1).isEnable();
+        proxy.read(F1).toggle();
+        proxy.read(F1).getPermissions().add("HACKER");
+        proxy.readAll().get(F1).toggle();
+        Assert.assertEquals(enabled, proxy.read(F1).isEnable());
+        Assert.assertFalse(proxy.read(F1).getPermissions().contains("HACKER"));
+    }
+
+    @Test
+    public void testLookupIsNotCopied() {
+        FeatureStoreSnapshotProxy proxy = new FeatureStoreSnapshotProxy(new InMemoryFeatureStore("ff4j.xml"));
+        Assert.assertSame(proxy.lookup(F1), proxy.lookup(F1));
+        Assert.assertNotSame(proxy.lookup(F1), proxy.read(F1));
+        Assert.assertNull(proxy.lookup("invalid"));
+        proxy.disable(F1);
+        Assert.assertFalse(proxy.lookup(F1).isEnable());
+    }
+
+    @Test
+    public void testCheckWithAuditAndAutocreate() {
+        FF4j ff4j = new FF4j("ff4j.xml").snapshot().audit();
+        ff4j.setAutocreate(true);
+        ff4j.enable(F1);
+        Assert.assertTrue(ff4j.check(F1));
+        Assert.assertFalse(ff4j.check("autocreated"));
+        Assert.assertTrue(ff4j.exist("autocreated"));
+        Assert.assertFalse(ff4j.checkAll(Arrays.asList(F1, "autocreated2"), null).get("autocreated2"));
+    }
+
+    @Test
+    public void testStopPollingOnShutdown() throws InterruptedException {
+        InMemoryFeatureStore target = new InMemoryFeatureStore("ff4j.xml");
+        FF4j ff4j = new FF4j();
+        ff4j.setFeatureStore(target);
+        ff4j.snapshot(20);
+        ff4j.stop();
+        Thread.sleep(50);
+        target.create(new Feature("afterStop", true));
+        Thread.sleep(100);
+        Assert.assertFalse(ff4j.exist("afterStop"));
+    }
+
+}
@@ -0,0 +1,152 @@
+package org.ff4j.test.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Map;
+
+import org.ff4j.cache.FF4JCacheManager;
+import org.ff4j.cache.InMemoryCacheManager;
+import org.ff4j.cache.Store2CachePollingWorker;
+import org.ff4j.core.Feature;
+import org.ff4j.property.PropertyString;
+import org.ff4j.property.store.InMemoryPropertyStore;
+import org.ff4j.store.InMemoryFeatureStore;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Delta based refresh of cache by {@link Store2CachePollingWorker}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class Store2CachePollingWorkerTest {
+
+    /** Store counting incremental queries. */
+    private static class IncrementalStore extends InMemoryFeatureStore {
+
+        /** Number of incremental queries. */
+        private int nbCalls = 0;
+
+        /** Constructor. */
+        public IncrementalStore(String fileName) {
+            super(fileName);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Map<String, Feature> readAllUpdatedSince(long timestamp) {
+            nbCalls++;
+            return super.readAllUpdatedSince(timestamp);
+        }
+    }
+
+    @Test
+    public void testOnlyChangesAreApplied() {
+        InMemoryFeatureStore  fs = new InMemoryFeatureStore("ff4j.xml");
+        InMemoryPropertyStore ps = new InMemoryPropertyStore("ff4j.xml");
+        FF4JCacheManager      cm = new InMemoryCacheManager();
+        Store2CachePollingWorker worker = new Store2CachePollingWorker(fs, ps, cm);
+
+        worker.run();
+        Assert.assertEquals(fs.readAll().size(), worker.getLastChangedFeatures());
+        Assert.assertEquals(ps.readAllProperties().size(), worker.getLastChangedProperties());
+        Assert.assertEquals(fs.readAll().keySet(), cm.listCachedFeatureNames());
+
+        // Nothing changed
+        worker.run();
+        Assert.assertEquals(0, worker.getLastChangedFeatures());
+        Assert.assertEquals(0, worker.getLastChangedProperties());
+        Assert.assertEquals(2, worker.getRefreshCount());
+
+        // Update and delete
+        fs.disable("first");
+        fs.delete("AwesomeFeature");
+        ps.createProperty(new PropertyString("newProperty", "value"));
+        worker.run();
+        Assert.assertEquals(2, worker.getLastChangedFeatures());
+        Assert.assertEquals(1, worker.getLastChangedProperties());
+        Assert.assertFalse(cm.getFeature("first").isEnable());
+        Assert.assertNull(cm.getFeature("AwesomeFeature"));
+        Assert.assertNotNull(cm.getProperty("newProperty"));
+        Assert.assertTrue(worker.getLastRefreshDuration() >= 0);
+    }
+
+    @Test
+    public void testEvictedElementsArePutBack() {
+        InMemoryFeatureStore fs = new InMemoryFeatureStore("ff4j.xml");
+        FF4JCacheManager     cm = new InMemoryCacheManager();
+        Store2CachePollingWorker worker = new Store2CachePollingWorker(fs, null, cm);
+        worker.run();
+        cm.evictFeature("first");
+        worker.run();
+        Assert.assertEquals(0, worker.getLastChangedFeatures());
+        Assert.assertNotNull(cm.getFeature("first"));
+    }
+
+    @Test
+    public void testIncrementalStore() {
+        IncrementalStore fs = new IncrementalStore("ff4j.xml");
+        FF4JCacheManager cm = new InMemoryCacheManager();
+        Store2CachePollingWorker worker = new Store2CachePollingWorker(fs, null, cm);
+        worker.setFullRefreshInterval(3);
+        // Full, incremental, incremental, full
+        worker.run();
+        worker.run();
+        fs.disable("first");
+        worker.run();
+        Assert.assertEquals(1, worker.getLastChangedFeatures());
+        worker.run();
+        Assert.assertEquals(2, fs.nbCalls);
+        Assert.assertEquals(0, worker.getLastChangedFeatures());
+    }
+
+    @Test
+    public void testInMemoryStoresAreIncremental() {
+        InMemoryFeatureStore  fs = new InMemoryFeatureStore("ff4j.xml");
+        InMemoryPropertyStore ps = new InMemoryPropertyStore("ff4j.xml");
+        FF4JCacheManager      cm = new InMemoryCacheManager();
+        Store2CachePollingWorker worker = new Store2CachePollingWorker(fs, ps, cm);
+        worker.setFullRefreshInterval(3);
+        worker.run();
+        // Incremental : updates and deletions (tombstones) applied
+        fs.disable("first");
+        fs.delete("AwesomeFeature");
+        ps.createProperty(new PropertyString("newProperty", "value"));
+        ps.deleteProperty("a");
+        worker.run();
+        Assert.assertEquals(2, worker.getLastChangedFeatures());
+        Assert.assertEquals(2, worker.getLastChangedProperties());
+        Assert.assertFalse(cm.getFeature("first").isEnable());
+        Assert.assertNull(cm.getFeature("AwesomeFeature"));
+        Assert.assertNotNull(cm.getProperty("newProperty"));
+        Assert.assertNull(cm.getProperty("a"));
+        // Tombstones are reported once
+        worker.run();
+        Assert.assertEquals(0, worker.getLastChangedFeatures());
+        Assert.assertEquals(0, worker.getLastChangedProperties());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidFullRefreshInterval() {
+        new Store2CachePollingWorker(null, null, null).setFullRefreshInterval(0);
+    }
+
+}
@@ -0,0 +1,166 @@
+package org.ff4j.test.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.ff4j.FF4j;
+import org.ff4j.cache.CacheInvalidationBus;
+import org.ff4j.cache.FF4jCacheProxy;
+import org.ff4j.cache.InMemoryCacheInvalidationBus;
+import org.ff4j.cache.InMemoryCacheManager;
+import org.ff4j.cache.TwoLevelCacheManager;
+import org.ff4j.core.Feature;
+import org.ff4j.core.FeatureStore;
+import org.ff4j.property.PropertyString;
+import org.ff4j.property.store.InMemoryPropertyStore;
+import org.ff4j.store.InMemoryFeatureStore;
+import org.ff4j.test.store.CoreFeatureStoreTestSupport;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Testing class of {@link TwoLevelCacheManager} class.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class TwoLevelCacheTest extends CoreFeatureStoreTestSupport {
+
+    /** {@inheritDoc} */
+    @Override
+    public FeatureStore initStore() {
+        return new FF4jCacheProxy(
+                new InMemoryFeatureStore("ff4j.xml"),
+                new InMemoryPropertyStore("ff4j.xml"),
+                new TwoLevelCacheManager(new InMemoryCacheManager()));
+    }
+
+    @Test
+    public void testReadThrough() {
+        InMemoryCacheManager l2 = new InMemoryCacheManager();
+        TwoLevelCacheManager cm = new TwoLevelCacheManager(l2);
+        l2.putFeature(new Feature("f1"));
+        Assert.assertNull(cm.getL1().getFeature("f1"));
+        Assert.assertNotNull(cm.getFeature("f1"));
+        Assert.assertNotNull(cm.getL1().getFeature("f1"));
+        // Served by L1 only
+        l2.evictFeature("f1");
+        Assert.assertNotNull(cm.getFeature("f1"));
+        Assert.assertEquals(1, cm.getL2FeatureStatistics().getHitCount());
+        Assert.assertEquals(0, cm.getL2FeatureStatistics().getMissCount());
+    }
+
+    @Test
+    public void testWriteThrough() {
+        InMemoryCacheManager l2 = new InMemoryCacheManager();
+        TwoLevelCacheManager cm = new TwoLevelCacheManager(l2);
+        cm.putFeature(new Feature("f1"));
+        cm.putProperty(new PropertyString("p1", "v1"));
+        Assert.assertNotNull(l2.getFeature("f1"));
+        Assert.assertNotNull(l2.getProperty("p1"));
+        cm.evictFeature("f1");
+        Assert.assertNull(l2.getFeature("f1"));
+        Assert.assertNull(cm.getFeature("f1"));
+        cm.clearProperties();
+        Assert.assertTrue(l2.listCachedPropertyNames().isEmpty());
+        Assert.assertTrue(cm.listCachedPropertyNames().isEmpty());
+    }
+
+    @Test
+    public void testStatisticsPerLevel() {
+        InMemoryCacheManager l2 = new InMemoryCacheManager();
+        TwoLevelCacheManager cm = new TwoLevelCacheManager(l2);
+        l2.putProperty(new PropertyString("p1", "v1"));
+        Assert.assertNull(cm.getProperty("p2"));
+        Assert.assertNotNull(cm.getProperty("p1"));
+        Assert.assertNotNull(cm.getProperty("p1"));
+        Assert.assertEquals(1, cm.getL1PropertyStatistics().getHitCount());
+        Assert.assertEquals(2, cm.getL1PropertyStatistics().getMissCount());
+        Assert.assertEquals(1, cm.getL2PropertyStatistics().getHitCount());
+        Assert.assertEquals(1, cm.getL2PropertyStatistics().getMissCount());
+        Assert.assertEquals(0.5, cm.getL2PropertyStatistics().getHitRatio(), 0.001);
+        Assert.assertEquals(0, cm.getL2FeatureStatistics().getRequestCount());
+    }
+
+    @Test
+    public void testL1InvalidationThroughBus() {
+        // Two nodes sharing the same L2
+        InMemoryCacheManager l2 = new InMemoryCacheManager();
+        CacheInvalidationBus bus = new InMemoryCacheInvalidationBus();
+        TwoLevelCacheManager node1 = new TwoLevelCacheManager(l2);
+        TwoLevelCacheManager node2 = new TwoLevelCacheManager(l2);
+        node1.setInvalidationBus(bus);
+        node2.setInvalidationBus(bus);
+        node1.putFeature(new Feature("f1", true));
+        Assert.assertTrue(node2.getFeature("f1").isEnable());
+        // Put without evict invalidates L1 of other nodes
+        node1.putFeature(new Feature("f1", false));
+        Assert.assertFalse(node2.getFeature("f1").isEnable());
+        node1.putProperty(new PropertyString("p1", "v1"));
+        Assert.assertEquals("v1", node2.getProperty("p1").asString());
+        node1.putProperty(new PropertyString("p1", "v2"));
+        Assert.assertEquals("v2", node2.getProperty("p1").asString());
+        node1.evictFeature("f1");
+        Assert.assertNull(node2.getFeature("f1"));
+        node1.putFeature(new Feature("f1", true));
+        Assert.assertNotNull(node2.getFeature("f1"));
+        node1.clearFeatures();
+        Assert.assertNull(node2.getL1().getFeature("f1"));
+    }
+
+    @Test
+    public void testSameBusOnProxyAndManager() {
+        // Two nodes sharing store and L2, bus given to both proxy and manager
+        FeatureStore store = new InMemoryFeatureStore("ff4j.xml");
+        InMemoryCacheManager l2 = new InMemoryCacheManager();
+        CacheInvalidationBus bus = new InMemoryCacheInvalidationBus();
+        TwoLevelCacheManager twoLevel1 = new TwoLevelCacheManager(l2);
+        TwoLevelCacheManager twoLevel2 = new TwoLevelCacheManager(l2);
+        twoLevel1.setInvalidationBus(bus);
+        twoLevel2.setInvalidationBus(bus);
+        FF4j ff4j1 = new FF4j();
+        ff4j1.setFeatureStore(store);
+        ff4j1.cache(twoLevel1, bus);
+        FF4j ff4j2 = new FF4j();
+        ff4j2.setFeatureStore(store);
+        ff4j2.cache(twoLevel2, bus);
+        Assert.assertEquals(ff4j1.getCacheProxy().getNodeId(), twoLevel1.getNodeId());
+        Assert.assertTrue(ff4j2.check(F1));
+        // When (no endless publication)
+        ff4j1.disable(F1);
+        // Then
+        Assert.assertFalse(ff4j1.check(F1));
+        Assert.assertNull(twoLevel2.getL1().getFeature(F1));
+        Assert.assertFalse(ff4j2.check(F1));
+        ff4j2.enable(F1);
+        Assert.assertTrue(ff4j1.check(F1));
+    }
+
+    @Test
+    public void testProviderName() {
+        Assert.assertEquals("TwoLevel(InMemory)",
+                new TwoLevelCacheManager(new InMemoryCacheManager()).getCacheProviderName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullL2() {
+        new TwoLevelCacheManager(null);
+    }
+
+}
@@ -219,6 +219,31 @@ public abstract class AbstractPropertyStoreJunitTest {
         Assert.assertNotNull(log.getFixedValues());
     }
     
+    @Test
+    public void readPropertiesOK() {
+        // Given
+        testedStore.createProperty(new PropertyString("toto", "ff4j"));
+        testedStore.createProperty(new PropertyLogLevel("log", LogLevel.ERROR));
+        Set<String> names = new HashSet<String>();
+        names.add("toto");
+        names.add("log");
+        names.add("invalid");
+        // When
+        Map<String, Property<?>> props = testedStore.readProperties(names);
+        // Then
+        Assert.assertEquals(2, props.size());
+        Assert.assertEquals("ff4j", props.get("toto").asString());
+        Assert.assertEquals(LogLevel.ERROR, props.get("log").getValue());
+        Assert.assertTrue(testedStore.readProperties(new HashSet<String>()).isEmpty());
+    }
+    
+    /** TDD. */
+    @Test(expected = IllegalArgumentException.class)
+    public void readPropertiesKOnull() {
+        // Given
+        testedStore.readProperties(null);
+    }
+    
     /** TDD. */
     @Test(expected = IllegalArgumentException.class)
     public void readKOnull() {
@@ -164,6 +164,24 @@ public class InMemoryPropertiesStoreTest extends AbstractPropertyStoreJunitTest
         f.importPropertiesFromXmlFile("ff4j.xml");
     }
     
+    @Test
+    public void testReadAllPropertiesUpdatedSince() throws InterruptedException {
+        InMemoryPropertyStore f = new InMemoryPropertyStore("ff4j.xml");
+        Assert.assertEquals(f.readAllProperties().keySet(), f.readAllPropertiesUpdatedSince(0).keySet());
+        Thread.sleep(5);
+        long mark = System.currentTimeMillis();
+        Assert.assertTrue(f.readAllPropertiesUpdatedSince(mark).isEmpty());
+        f.updateProperty("b", "13");
+        f.createProperty(new PropertyString("new", "value"));
+        f.deleteProperty("a");
+        Assert.assertEquals(3, f.readAllPropertiesUpdatedSince(mark).size());
+        // Tombstone
+        Assert.assertTrue(f.readAllPropertiesUpdatedSince(mark).containsKey("a"));
+        Assert.assertNull(f.readAllPropertiesUpdatedSince(mark).get("a"));
+        Assert.assertEquals("13", f.readAllPropertiesUpdatedSince(mark).get("b").asString());
+        Assert.assertTrue(f.readAllPropertiesUpdatedSince(mark).containsKey("new"));
+    }
+    
     
 
 }
@@ -20,6 +20,7 @@ package org.ff4j.test.property;
  * #L%
  */
 
+import org.ff4j.property.PropertyString;
 import org.ff4j.property.store.JdbcPropertyStore;
 import org.ff4j.property.store.PropertyStore;
 import org.junit.After;
@@ -72,6 +73,21 @@ public class JdbcPropertyStoreTest  extends AbstractPropertyStoreJunitTest {
         db.shutdown();
     }
     
+    @Test
+    public void testReadAllPropertiesUpdatedSince() {
+        JdbcPropertyStore jdbcStore = (JdbcPropertyStore) testedStore;
+        // Without tracking, all properties
+        Assert.assertEquals(jdbcStore.readAllProperties().keySet(),
+                jdbcStore.readAllPropertiesUpdatedSince(System.currentTimeMillis()).keySet());
+        jdbcStore.setTrackUpdates(true);
+        long mark = System.currentTimeMillis();
+        Assert.assertTrue(jdbcStore.readAllPropertiesUpdatedSince(mark).isEmpty());
+        jdbcStore.updateProperty("b", "13");
+        jdbcStore.createProperty(new PropertyString("new", "value"));
+        Assert.assertEquals(2, jdbcStore.readAllPropertiesUpdatedSince(mark).size());
+        Assert.assertEquals("13", jdbcStore.readAllPropertiesUpdatedSince(mark).get("b").asString());
+    }
+    
     @Test
     public void initJdbcPropertyStore() {
         EmbeddedDatabaseBuilder b2 = new EmbeddedDatabaseBuilder();
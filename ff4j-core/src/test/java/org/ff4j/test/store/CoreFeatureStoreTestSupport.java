@@ -145,6 +145,37 @@ public abstract class CoreFeatureStoreTestSupport implements TestConstantsFF4j {
         testedStore.read("INVALID");
     }
 
+    /**
+     * TDD.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadFeaturesNull() {
+        // Given
+        // When
+        testedStore.readFeatures(null);
+        // Then, expected error...
+    }
+
+    /**
+     * TDD.
+     */
+    @Test
+    public void testReadFeatures() {
+        // Given
+        assertFf4j.assertThatFeatureExist(F1);
+        assertFf4j.assertThatFeatureExist(F4);
+        assertFf4j.assertThatFeatureDoesNotExist("INVALID");
+        // When
+        Map<String, Feature> features = testedStore.readFeatures(new HashSet<String>(Arrays.asList(F1, F4, "INVALID")));
+        // Then
+        Assert.assertEquals(2, features.size());
+        Assert.assertEquals(F1, features.get(F1).getUid());
+        Assert.assertTrue(features.get(F4).getPermissions().contains(ROLE_ADMIN));
+        Assert.assertEquals(G1, features.get(F4).getGroup());
+        Assert.assertEquals(testedStore.read(F4).getCustomProperties().keySet(), features.get(F4).getCustomProperties().keySet());
+        Assert.assertTrue(testedStore.readFeatures(new HashSet<String>()).isEmpty());
+    }
+
     /**
      * TDD.
      */
@@ -11,7 +11,10 @@ package org.ff4j.test.store;
  * governing permissions and limitations under the License. #L%
  */
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
@@ -102,4 +105,35 @@ public class InMemoryFeatureStoreTest extends CoreFeatureStoreTestSupport {
         Assert.assertFalse(f.readAll().isEmpty());
     }
     
+    @Test
+    public void testReadAllUpdatedSince() throws InterruptedException {
+        InMemoryFeatureStore f = new InMemoryFeatureStore("ff4j.xml");
+        Assert.assertEquals(f.readAll().keySet(), f.readAllUpdatedSince(0).keySet());
+        Thread.sleep(5);
+        long mark = System.currentTimeMillis();
+        Assert.assertTrue(f.readAllUpdatedSince(mark).isEmpty());
+        f.disable(F1);
+        f.grantRoleOnFeature(F2, "ADMIN");
+        f.create(new Feature("new", true));
+        f.delete(F3);
+        Map<String, Feature> updated = f.readAllUpdatedSince(mark);
+        Assert.assertEquals(new HashSet<String>(Arrays.asList(F1, F2, "new", F3)), updated.keySet());
+        // Tombstone
+        Assert.assertNull(updated.get(F3));
+        Assert.assertFalse(updated.get(F1).isEnable());
+    }
+
+    @Test
+    public void testVersion() {
+        InMemoryFeatureStore f = new InMemoryFeatureStore("ff4j.xml");
+        long version = f.getVersion();
+        f.read(F1);
+        Assert.assertEquals(version, f.getVersion());
+        f.enable(F1);
+        Assert.assertTrue(f.getVersion() > version);
+        version = f.getVersion();
+        f.disableGroup(G1);
+        Assert.assertTrue(f.getVersion() > version);
+    }
+    
 }
@@ -13,12 +13,18 @@ import org.ff4j.audit.EventQueryDefinition;
  * governing permissions and limitations under the License. #L%
  */
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
 import org.ff4j.exception.FeatureNotFoundException;
 import org.ff4j.exception.GroupNotFoundException;
 import org.ff4j.store.JdbcFeatureStore;
 import org.ff4j.store.JdbcQueryBuilder;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
@@ -88,6 +94,9 @@ public class JdbcFeatureStoreCoreTest extends CoreFeatureStoreTestSupport {
         builder.getHostHitCount();
         builder.getUserHitCount();
         builder.getSourceHitCount();
+        Assert.assertTrue(builder.getRolesOfGroup().contains("GROUPNAME = ?"));
+        Assert.assertTrue(builder.getFeaturePropertiesOfGroup().contains("GROUPNAME = ?"));
+        Assert.assertFalse(builder.getAllFeatureProperties().contains("WHERE"));
         
         EventQueryDefinition e1 = new EventQueryDefinition();
         builder.buildWhereClause(e1, true, false);
@@ -104,4 +113,38 @@ public class JdbcFeatureStoreCoreTest extends CoreFeatureStoreTestSupport {
     }
     
     
+    @Test
+    public void testReadAllWithRolesAndProperties() {
+        Map<String, Feature> features = testedStore.readAll();
+        Assert.assertEquals(8, features.get("first").getCustomProperties().size());
+        Assert.assertEquals(testedStore.read("first").getCustomProperties().keySet(),
+                features.get("first").getCustomProperties().keySet());
+        Assert.assertEquals(1, features.get("AwesomeFeature").getCustomProperties().size());
+        Assert.assertTrue(features.get("forth").getPermissions().contains("BETA-TESTER"));
+        Assert.assertTrue(features.get("second").getCustomProperties().isEmpty());
+    }
+
+    @Test
+    public void testReadGroupWithRoles() {
+        Map<String, Feature> group = testedStore.readGroup("GRP1");
+        Assert.assertEquals(2, group.size());
+        Assert.assertEquals(2, group.get("third").getPermissions().size());
+        Assert.assertEquals(2, group.get("forth").getPermissions().size());
+    }
+
+    @Test
+    public void testReadAllUpdatedSince() {
+        JdbcFeatureStore jdbcStore = (JdbcFeatureStore) testedStore;
+        // Without tracking, all features
+        Assert.assertEquals(jdbcStore.readAll().keySet(), jdbcStore.readAllUpdatedSince(System.currentTimeMillis()).keySet());
+        jdbcStore.setTrackUpdates(true);
+        long mark = System.currentTimeMillis();
+        Assert.assertTrue(jdbcStore.readAllUpdatedSince(mark).isEmpty());
+        jdbcStore.disable("first");
+        jdbcStore.enableGroup("GRP1");
+        jdbcStore.create(new Feature("new", true));
+        Assert.assertEquals(new HashSet<String>(Arrays.asList("first", "third", "forth", "new")),
+                jdbcStore.readAllUpdatedSince(mark).keySet());
+    }
+
 }
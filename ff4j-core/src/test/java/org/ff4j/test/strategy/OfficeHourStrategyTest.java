@@ -24,6 +24,7 @@ import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.ff4j.FF4j;
 import org.ff4j.core.FlippingExecutionContext;
@@ -223,5 +224,47 @@ public class OfficeHourStrategyTest extends AbstractFf4jTest {
      }
      
      
+     @Test
+     public void testOfficeHourBoundaries() {
+         OfficeHourStrategy ohs = new OfficeHourStrategy();
+         Map < String, String > initParams = new HashMap<String, String>();
+         initParams.put("monday", "08:00-12:00");
+         ohs.init("f1", initParams);
+         FlippingExecutionContext fec = overrideDate(2015, Calendar.MARCH, 9, 8);
+         Calendar c = (Calendar) fec.getValue(OfficeHourStrategy.OVERRIDE_DATE, true);
+         c.set(Calendar.SECOND, 0);
+         c.set(Calendar.MILLISECOND, 0);
+         // Bounds are excluded
+         Assert.assertFalse(ohs.evaluate("f1", null, fec));
+         c.set(Calendar.MILLISECOND, 1);
+         Assert.assertTrue(ohs.evaluate("f1", null, fec));
+         c.set(Calendar.HOUR_OF_DAY, 12);
+         c.set(Calendar.MILLISECOND, 0);
+         Assert.assertFalse(ohs.evaluate("f1", null, fec));
+     }
+     
+     @Test
+     public void testConcurrentEvaluation() throws InterruptedException {
+         final AtomicInteger errors = new AtomicInteger(0);
+         Thread[] workers = new Thread[8];
+         for (int i = 0; i < workers.length; i++) {
+             workers[i] = new Thread(new Runnable() {
+                 public void run() {
+                     for (int j = 0; j < 200; j++) {
+                         if (!ff4j.check("first", overrideDate(2015, Calendar.MARCH, 9, 9)) 
+                                 || ff4j.check("first", overrideDate(2015, Calendar.DECEMBER, 25, 9))) {
+                             errors.incrementAndGet();
+                         }
+                     }
+                 }
+             });
+             workers[i].start();
+         }
+         for (Thread worker : workers) {
+             worker.join();
+         }
+         Assert.assertEquals(0, errors.get());
+     }
+     
 }
 
@@ -0,0 +1,175 @@
+package org.ff4j.test.strategy;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.ff4j.FF4j;
+import org.ff4j.core.FlippingExecutionContext;
+import org.ff4j.strategy.StickyPonderationStrategy;
+import org.ff4j.test.AbstractFf4jTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Testing class of {@link StickyPonderationStrategy} class.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class StickyPonderationStrategyTest extends AbstractFf4jTest {
+
+    /** {@inheritDoc} */
+    @Override
+    public FF4j initFF4j() {
+        return new FF4j("test-stickyPonderationStrategy.xml");
+    }
+
+    /** Context for a user. */
+    private static FlippingExecutionContext user(String userId) {
+        FlippingExecutionContext ctx = new FlippingExecutionContext();
+        ctx.addValue("userId", userId);
+        ctx.addValue("tenant", "t1");
+        return ctx;
+    }
+
+    @Test
+    public void testSameUserSameResult() {
+        for (int i = 0; i < 100; i++) {
+            FlippingExecutionContext ctx = user("user" + i);
+            boolean first = ff4j.check("sticky_3", ctx);
+            for (int j = 0; j < 10; j++) {
+                Assert.assertEquals(first, ff4j.check("sticky_3", ctx));
+            }
+        }
+    }
+
+    @Test
+    public void testDistribution() {
+        int nbOK = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (ff4j.check("sticky_3", user("user" + i))) {
+                nbOK++;
+            }
+        }
+        Assert.assertTrue("about 30% flipped, got " + nbOK, nbOK > 2700 && nbOK < 3300);
+    }
+
+    @Test
+    public void testMissingKeyNotFlipped() {
+        Assert.assertFalse(ff4j.check("sticky_3"));
+        Assert.assertFalse(ff4j.check("sticky_3", new FlippingExecutionContext()));
+    }
+
+    @Test
+    public void testRampUpKeepsUsers() {
+        StickyPonderationStrategy strategy = new StickyPonderationStrategy("userId", 0.2);
+        Map < String, Boolean > before = new HashMap<String, Boolean>();
+        for (int i = 0; i < 1000; i++) {
+            before.put("user" + i, strategy.evaluate("f1", null, user("user" + i)));
+        }
+        strategy.setWeight(0.5);
+        for (int i = 0; i < 1000; i++) {
+            if (before.get("user" + i)) {
+                Assert.assertTrue(strategy.evaluate("f1", null, user("user" + i)));
+            }
+        }
+    }
+
+    @Test
+    public void testSaltSeparatesFeatures() {
+        StickyPonderationStrategy strategy = new StickyPonderationStrategy("userId", 0.5);
+        int nbDiff = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (strategy.evaluate("f1", null, user("user" + i)) != strategy.evaluate("f2", null, user("user" + i))) {
+                nbDiff++;
+            }
+        }
+        Assert.assertTrue(nbDiff > 0);
+        strategy.setSalt("shared");
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(
+                    strategy.evaluate("f1", null, user("user" + i)),
+                    strategy.evaluate("f2", null, user("user" + i)));
+        }
+    }
+
+    @Test
+    public void testVariants() {
+        StickyPonderationStrategy strategy = (StickyPonderationStrategy)
+                ff4j.getFeature("sticky_variants").getFlippingStrategy();
+        Map < String, Integer > counts = new HashMap<String, Integer>();
+        for (int i = 0; i < 10000; i++) {
+            String variant = strategy.getVariant("sticky_variants", user("user" + i));
+            Assert.assertNotNull(variant);
+            Assert.assertEquals(variant, strategy.getVariant("sticky_variants", user("user" + i)));
+            counts.put(variant, counts.containsKey(variant) ? counts.get(variant) + 1 : 1);
+        }
+        Assert.assertTrue(counts.get("A") > 4700 && counts.get("A") < 5300);
+        Assert.assertTrue(counts.get("B") > 2700 && counts.get("B") < 3300);
+        Assert.assertTrue(counts.get("C") > 1700 && counts.get("C") < 2300);
+    }
+
+    @Test
+    public void testVariantsStableDuringRampUp() {
+        StickyPonderationStrategy strategy = new StickyPonderationStrategy("userId", 0.3);
+        strategy.setVariants("A:0.5,B:0.5");
+        Map < String, String > before = new HashMap<String, String>();
+        for (int i = 0; i < 1000; i++) {
+            before.put("user" + i, strategy.getVariant("f1", user("user" + i)));
+        }
+        strategy.setWeight(0.8);
+        for (int i = 0; i < 1000; i++) {
+            if (before.get("user" + i) != null) {
+                Assert.assertEquals(before.get("user" + i), strategy.getVariant("f1", user("user" + i)));
+            }
+        }
+    }
+
+    @Test
+    public void testInitParams() {
+        Map < String, String > params = ff4j.getFeature("sticky_variants").getFlippingStrategy().getInitParams();
+        Assert.assertEquals("tenant,userId", params.get(StickyPonderationStrategy.PARAM_KEY));
+        Assert.assertEquals("1.0", params.get(StickyPonderationStrategy.PARAM_WEIGHT));
+        Assert.assertEquals("experiment42", params.get(StickyPonderationStrategy.PARAM_SALT));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingKeyParameter() {
+        new FF4j("test-stickyPonderationStrategy-ko.xml");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidWeight() {
+        new StickyPonderationStrategy("userId", 1.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testVariantsAbove100Percent() {
+        new StickyPonderationStrategy("userId", 1).setVariants("A:0.6,B:0.6");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidVariant() {
+        new StickyPonderationStrategy("userId", 1).setVariants("A:0.6,B");
+    }
+
+}
@@ -11,8 +11,16 @@ package org.ff4j.test.strategy.el;
  * governing permissions and limitations under the License. #L%
  */
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.ff4j.FF4j;
+import org.ff4j.audit.proxy.FeatureStoreAuditProxy;
+import org.ff4j.core.Feature;
+import org.ff4j.core.FeatureStore;
 import org.ff4j.core.FlippingExecutionContext;
+import org.ff4j.strategy.el.CompiledExpression;
 import org.ff4j.strategy.el.ExpressionFlipStrategy;
 import org.ff4j.test.AssertFf4j;
 import org.junit.Assert;
@@ -67,4 +75,85 @@ public class ExpressionFlipStategyTest {
         Assert.assertFalse(efs.evaluate("D", ff4j.getFeatureStore(), fex));
     }
 
+    @Test
+    public void testCompiledExpressionReferencedFeatures() {
+        CompiledExpression ce = CompiledExpression.compile("A & B | !C | B");
+        Assert.assertEquals(Arrays.asList("A", "B", "C"), Arrays.asList(ce.getFeatureNames()));
+        Assert.assertTrue(ce.evaluate(new boolean[] {true, true, true}));
+        Assert.assertFalse(ce.evaluate(new boolean[] {true, false, true}));
+        Assert.assertTrue(ce.evaluate(ff4j.getFeatureStore()));
+        Assert.assertFalse(CompiledExpression.compile("A & TOTO").evaluate(ff4j.getFeatureStore()));
+    }
+
+    @Test
+    public void testSnapshot() {
+        ExpressionFlipStrategy efs = new ExpressionFlipStrategy();
+        Map<String, String> params = new HashMap<String, String>();
+        params.put(ExpressionFlipStrategy.PARAM_EXPRESSION, "!C");
+        params.put(ExpressionFlipStrategy.PARAM_SNAPSHOT_TTL, "60000");
+        efs.init("E", params);
+        Assert.assertEquals(60000, efs.getSnapshotTtl());
+        Assert.assertTrue(efs.evaluate("E", ff4j.getFeatureStore(), null));
+        // Write through FF4j invalidates the snapshot
+        ff4j.enable("C");
+        Assert.assertFalse(efs.evaluate("E", ff4j.getFeatureStore(), null));
+        ff4j.disable("C");
+        Assert.assertTrue(efs.evaluate("E", ff4j.getFeatureStore(), null));
+    }
+
+    @Test
+    public void testSnapshotInvalidatedOnDirectStoreWrite() {
+        ExpressionFlipStrategy efs = new ExpressionFlipStrategy();
+        Map<String, String> params = new HashMap<String, String>();
+        params.put(ExpressionFlipStrategy.PARAM_EXPRESSION, "!C");
+        params.put(ExpressionFlipStrategy.PARAM_SNAPSHOT_TTL, "60000");
+        efs.init("E", params);
+        Assert.assertTrue(efs.evaluate("E", ff4j.getFeatureStore(), null));
+        // Direct write to a versioned store is seen
+        Feature c = ff4j.getFeatureStore().read("C");
+        c.enable();
+        ff4j.getFeatureStore().update(c);
+        Assert.assertFalse(efs.evaluate("E", ff4j.getFeatureStore(), null));
+    }
+
+    @Test
+    public void testSnapshotStaleOnUnversionedStore() {
+        final FeatureStore target = ff4j.getFeatureStore();
+        // Proxy hiding the version of the target store
+        FeatureStore unversioned = new FeatureStoreAuditProxy(ff4j, target) {
+            @Override
+            public long getVersion() {
+                return 0;
+            }
+        };
+        ExpressionFlipStrategy efs = new ExpressionFlipStrategy("E", "!C");
+        efs.setSnapshotTtl(60000);
+        Assert.assertTrue(efs.evaluate("E", unversioned, null));
+        // Not seen until expiry or explicit invalidation
+        target.enable("C");
+        Assert.assertTrue(efs.evaluate("E", unversioned, null));
+        efs.invalidateSnapshot();
+        Assert.assertFalse(efs.evaluate("E", unversioned, null));
+    }
+
+    @Test
+    public void testSnapshotExpiry() throws InterruptedException {
+        ExpressionFlipStrategy efs = new ExpressionFlipStrategy("E", "!C");
+        efs.setSnapshotTtl(50);
+        Assert.assertTrue(efs.evaluate("E", ff4j.getFeatureStore(), null));
+        Feature c = ff4j.getFeatureStore().read("C");
+        c.enable();
+        ff4j.getFeatureStore().update(c);
+        Thread.sleep(100);
+        Assert.assertFalse(efs.evaluate("E", ff4j.getFeatureStore(), null));
+    }
+
+    @Test
+    public void testExpressionsAreNotShared() {
+        ExpressionFlipStrategy efs1 = new ExpressionFlipStrategy("E", "C");
+        ExpressionFlipStrategy efs2 = new ExpressionFlipStrategy("E", "!C");
+        Assert.assertFalse(efs1.evaluate("E", ff4j.getFeatureStore(), null));
+        Assert.assertTrue(efs2.evaluate("E", ff4j.getFeatureStore(), null));
+    }
+
 }
@@ -82,6 +82,12 @@ public class FeatureStoreMBeanSpring implements FeatureStore {
         return internalStore.read(feature_UID);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readFeatures(Set<String> featureUids) {
+        return internalStore.readFeatures(featureUids);
+    }
+
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
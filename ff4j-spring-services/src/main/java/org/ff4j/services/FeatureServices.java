@@ -63,10 +63,10 @@ public class FeatureServices {
         initFlippingStrategy(featureApiBean, feature);
         initProperties(featureApiBean, feature);
         if (ff4j.getFeatureStore().exist(featureUID)) {
-            ff4j.getFeatureStore().update(feature);
+            ff4j.updateFeature(feature);
             return FeatureActions.UPDATED;
         } else {
-            ff4j.getFeatureStore().create(feature);
+            ff4j.createFeature(feature);
             return FeatureActions.CREATED;
         }
     }
@@ -99,17 +99,17 @@ public class FeatureServices {
 
     public void deleteFeature(String featureUID) {
         featureValidator.assertFeatureExists(featureUID);
-        ff4j.getFeatureStore().delete(featureUID);
+        ff4j.delete(featureUID);
     }
 
     public void enableFeature(String featureUID) {
         featureValidator.assertFeatureExists(featureUID);
-        ff4j.getFeatureStore().enable(featureUID);
+        ff4j.enable(featureUID);
     }
 
     public void disableFeature(String featureUID) {
         featureValidator.assertFeatureExists(featureUID);
-        ff4j.getFeatureStore().disable(featureUID);
+        ff4j.disable(featureUID);
     }
 
     public void grantRoleToFeature(String featureUID, String role) {
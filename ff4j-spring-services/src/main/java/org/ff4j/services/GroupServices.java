@@ -55,11 +55,11 @@ public class GroupServices {
 
     public void enableGroup(String groupName) {
         featureValidator.assertGroupExist(groupName);
-        ff4j.getFeatureStore().enableGroup(groupName);
+        ff4j.enableGroup(groupName);
     }
 
     public void disableGroup(String groupName) {
         featureValidator.assertGroupExist(groupName);
-        ff4j.getFeatureStore().disableGroup(groupName);
+        ff4j.disableGroup(groupName);
     }
 }
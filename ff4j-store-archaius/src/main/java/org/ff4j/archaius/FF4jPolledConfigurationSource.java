@@ -26,6 +26,7 @@ import java.util.Map;
 
 import org.apache.commons.configuration.Configuration;
 import org.ff4j.property.Property;
+import org.ff4j.property.store.IncrementalPropertyStore;
 import org.ff4j.property.store.PropertyStore;
 
 import com.netflix.config.PollResult;
@@ -36,15 +37,32 @@ import com.netflix.config.PolledConfigurationSource;
  * 
  * Archaius polling InMemoru
  * 
+ * Values returned at last poll are kept : after the initial (full) poll only added, changed and deleted keys are returned
+ * as an incremental result, listeners are not triggered for unchanged keys. Stores implementing
+ * {@link IncrementalPropertyStore} are only asked for the changes since the checkpoint (start of last poll), deletions
+ * being reported as tombstones, with a full read every 'fullRefreshInterval' polls for stores unable to report them.
+ * 
  * @author Cedrick Lunven (@clunven)</a>
  */
 public class FF4jPolledConfigurationSource implements PolledConfigurationSource {
     
+    /** Default number of polls between 2 full reads for incremental stores. */
+    public static final int DEFAULT_FULL_REFRESH_INTERVAL = 10;
+    
     /**
      * Source
      */
     private PropertyStore ff4jStore;
     
+    /** Values returned at last poll, null before first poll. */
+    private Map < String, String > lastValues;
+    
+    /** Number of polls between 2 full reads for incremental stores. */
+    private int fullRefreshInterval = DEFAULT_FULL_REFRESH_INTERVAL;
+    
+    /** Number of successful polls. */
+    private long pollCount = 0;
+    
     /**
      * Default constructor.
      */
@@ -63,17 +81,128 @@ public class FF4jPolledConfigurationSource implements PolledConfigurationSource
     
     /** {@inheritDoc} */
     @Override
-    public PollResult poll(boolean check, Object arg1) throws Exception {
+    public synchronized PollResult poll(boolean initial, Object checkPoint) throws Exception {
         if (getFf4jStore() == null) {
             throw new IllegalStateException("PropertyStore should not be null (to poll it !)");
         }
-        // Cannot convert to Map < String, Object >
-        Map < String, Object > properties = new HashMap<String, Object>();
+        long start = System.currentTimeMillis();
+        boolean full = initial || lastValues == null || !(checkPoint instanceof Long) || (pollCount % fullRefreshInterval == 0);
+        PollResult result;
+        if (full) {
+            result = pollFull(initial || lastValues == null, start);
+        } else if (getFf4jStore() instanceof IncrementalPropertyStore) {
+            result = pollUpdatedSince((Long) checkPoint, start);
+        } else {
+            result = pollFull(false, start);
+        }
+        pollCount++;
+        return result;
+    }
+    
+    /**
+     * Read all properties and compare with last values.
+     *
+     * @param complete
+     *      return all values (first poll) instead of differences
+     * @param start
+     *      start of current poll, next checkpoint
+     * @return
+     *      poll result
+     */
+    private PollResult pollFull(boolean complete, long start) {
+        Map < String, String > values = new HashMap<String, String>();
         for(Map.Entry<String, Property<?>> property : getFf4jStore().readAllProperties().entrySet()) {
             // All properties are String in commons-configuration
-            properties.put(property.getKey(), property.getValue().asString());   
+            values.put(property.getKey(), property.getValue().asString());   
+        }
+        Map < String, String > previous = lastValues;
+        lastValues = values;
+        if (complete) {
+            return PollResult.createFull(new HashMap<String, Object>(values));
+        }
+        Map < String, Object > added   = new HashMap<String, Object>();
+        Map < String, Object > changed = new HashMap<String, Object>();
+        Map < String, Object > deleted = new HashMap<String, Object>();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            diff(previous, entry.getKey(), entry.getValue(), added, changed);
+        }
+        for (Map.Entry<String, String> entry : previous.entrySet()) {
+            if (!values.containsKey(entry.getKey())) {
+                deleted.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return PollResult.createIncremental(added, changed, deleted, start);
+    }
+    
+    /**
+     * Read properties modified or deleted since checkpoint.
+     *
+     * @param checkPoint
+     *      start of last poll
+     * @param start
+     *      start of current poll, next checkpoint
+     * @return
+     *      poll result
+     */
+    private PollResult pollUpdatedSince(long checkPoint, long start) {
+        Map < String, Object > added   = new HashMap<String, Object>();
+        Map < String, Object > changed = new HashMap<String, Object>();
+        Map < String, Object > deleted = new HashMap<String, Object>();
+        Map < String, Property<?> > updated = 
+                ((IncrementalPropertyStore) getFf4jStore()).readAllPropertiesUpdatedSince(checkPoint);
+        for (Map.Entry<String, Property<?>> property : updated.entrySet()) {
+            if (property.getValue() == null) {
+                // Tombstone
+                if (lastValues.containsKey(property.getKey())) {
+                    deleted.put(property.getKey(), lastValues.remove(property.getKey()));
+                }
+                continue;
+            }
+            String value = property.getValue().asString();
+            diff(lastValues, property.getKey(), value, added, changed);
+            lastValues.put(property.getKey(), value);
+        }
+        return PollResult.createIncremental(added, changed, deleted, start);
+    }
+    
+    /**
+     * Classify a value as added or changed compared to previous values, nothing if unchanged.
+     */
+    private static void diff(Map < String, String > previous, String key, String value, 
+            Map < String, Object > added, Map < String, Object > changed) {
+        if (!previous.containsKey(key)) {
+            added.put(key, value);
+        } else if (!equals(previous.get(key), value)) {
+            changed.put(key, value);
+        }
+    }
+    
+    /** Null-safe equality. */
+    private static boolean equals(String v1, String v2) {
+        return (v1 == null) ? v2 == null : v1.equals(v2);
+    }
+
+    /**
+     * Getter accessor for attribute 'fullRefreshInterval'.
+     *
+     * @return
+     *       current value of 'fullRefreshInterval'
+     */
+    public int getFullRefreshInterval() {
+        return fullRefreshInterval;
+    }
+
+    /**
+     * Setter accessor for attribute 'fullRefreshInterval'.
+     * 
+     * @param fullRefreshInterval
+     *          number of polls between 2 full reads for incremental stores
+     */
+    public void setFullRefreshInterval(int fullRefreshInterval) {
+        if (fullRefreshInterval < 1) {
+            throw new IllegalArgumentException("Full refresh interval must be positive");
         }
-        return PollResult.createFull(properties);
+        this.fullRefreshInterval = fullRefreshInterval;
     }
 
     /**
@@ -23,6 +23,7 @@ package org.ff4j.archaius;
 import org.ff4j.property.Property;
 import org.ff4j.property.PropertyLogLevel;
 import org.ff4j.property.PropertyLogLevel.LogLevel;
+import org.ff4j.property.PropertyString;
 import org.ff4j.property.store.InMemoryPropertyStore;
 import org.ff4j.property.store.PropertyStore;
 import org.ff4j.test.propertystore.PropertyStoreTestSupport;
@@ -34,6 +35,7 @@ import org.junit.Test;
 import com.netflix.config.AbstractPollingScheduler;
 import com.netflix.config.DynamicConfiguration;
 import com.netflix.config.FixedDelayPollingScheduler;
+import com.netflix.config.PollResult;
 import com.netflix.config.PolledConfigurationSource;
 
 /**
@@ -63,6 +65,33 @@ public class PropertyStoreArchaiusPolledSourceTest extends PropertyStoreTestSupp
         ff4jSource.poll(true, null);
     }
     
+    @Test
+    public void testPollIncremental() throws Exception {
+        PropertyStore store = new InMemoryPropertyStore("ff4j-properties.xml");
+        PolledConfigurationSource ff4jSource = new FF4jPolledConfigurationSource(store);
+        PollResult first = ff4jSource.poll(true, null);
+        Assert.assertFalse(first.isIncremental());
+        Assert.assertEquals(store.listPropertyNames().size(), first.getComplete().size());
+        // Nothing changed
+        PollResult second = ff4jSource.poll(false, first.getCheckPoint());
+        Assert.assertTrue(second.isIncremental());
+        Assert.assertTrue(second.getAdded().isEmpty());
+        Assert.assertTrue(second.getChanged().isEmpty());
+        Assert.assertTrue(second.getDeleted().isEmpty());
+        // Add, update, delete
+        String deleted = store.listPropertyNames().iterator().next();
+        store.deleteProperty(deleted);
+        store.createProperty(new PropertyString("newProperty", "v1"));
+        PollResult third = ff4jSource.poll(false, second.getCheckPoint());
+        Assert.assertEquals("v1", third.getAdded().get("newProperty"));
+        Assert.assertTrue(third.getChanged().isEmpty());
+        Assert.assertTrue(third.getDeleted().containsKey(deleted));
+        store.updateProperty("newProperty", "v2");
+        PollResult fourth = ff4jSource.poll(false, third.getCheckPoint());
+        Assert.assertEquals(1, fourth.getChanged().size());
+        Assert.assertEquals("v2", fourth.getChanged().get("newProperty"));
+    }
+    
     /** {@inheritDoc} */
     @Override
     protected PropertyStore initPropertyStore() {
@@ -162,6 +162,11 @@ public class CassandraQueryBuilder {
                " WHERE " + COL_FEAT_UID + " = ?";
     }
     
+    public String cqlReadFeatures() {
+        return "SELECT * FROM " + connection.getKeySpace() + "." + COLUMN_FAMILY_FEATURES + 
+               " WHERE " + COL_FEAT_UID + " IN ?";
+    }
+    
     public String cqlTruncateFeatures() {
         return "TRUNCATE TABLE " + connection.getKeySpace() + "." + COLUMN_FAMILY_FEATURES;
     }
@@ -260,6 +265,11 @@ public class CassandraQueryBuilder {
                " WHERE " + COL_PROPERTY_ID + " = ?";
     }
     
+    public String cqlReadProperties() {
+        return "SELECT * FROM " + connection.getKeySpace() + "." + COLUMN_FAMILY_PROPERTIES + 
+               " WHERE " + COL_PROPERTY_ID + " IN ?";
+    }
+    
     public String cqlDeleteProperty() {
         return "DELETE FROM " + connection.getKeySpace() + "." + COLUMN_FAMILY_PROPERTIES + 
                " WHERE " + COL_PROPERTY_ID + " = ?";
@@ -14,6 +14,7 @@ import static org.ff4j.cassandra.CassandraConstants.COL_EVENT_SOURCE;
 import static org.ff4j.cassandra.CassandraConstants.COL_EVENT_USER;
 import static org.ff4j.cassandra.CassandraConstants.COL_EVENT_ACTION;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -53,6 +54,8 @@ import org.ff4j.utils.Util;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 
@@ -77,6 +80,9 @@ public class EventRepositoryCassandra extends AbstractEventRepository {
     /** Connection to store Cassandra. */
     private CassandraConnection conn;
     
+    /** Insert statement for batches, prepared once. */
+    private volatile PreparedStatement psCreateEvent;
+    
     /**
      * Default constructor.
      */
@@ -115,6 +121,40 @@ public class EventRepositoryCassandra extends AbstractEventRepository {
         return true;
     }   
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean saveEvents(Collection<Event> events) {
+        if (events == null || events.isEmpty()) {
+            return true;
+        }
+        // Events do not share partitions, unlogged batch saves round trips without batchlog overhead
+        BatchStatement batch = new BatchStatement(BatchStatement.Type.UNLOGGED);
+        PreparedStatement ps = getPreparedCreateEvent();
+        for (Event e : events) {
+            Util.assertEvent(e);
+            batch.add(ps.bind(e.getUuid(), KDF.format(e.getDate()), e.getDate(),
+                    e.getType(), e.getName(), e.getAction(),
+                    e.getHostName(), e.getSource(), e.getDuration(),
+                    e.getUser(), e.getValue(), e.getCustomKeys()));
+        }
+        conn.getSession().execute(batch);
+        LOGGER.debug("{} events logged", events.size());
+        return true;
+    }
+    
+    /**
+     * Prepare insert statement once.
+     *
+     * @return
+     *      prepared statement to insert events
+     */
+    private PreparedStatement getPreparedCreateEvent() {
+        if (psCreateEvent == null) {
+            psCreateEvent = conn.getSession().prepare(getBuilder().cqlCreateEvent(ttl));
+        }
+        return psCreateEvent;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Event getEventByUUID(String uuid, Long timestamp) {
@@ -291,6 +331,7 @@ public class EventRepositoryCassandra extends AbstractEventRepository {
      */
     public void setTtl(int ttl) {
         this.ttl = ttl;
+        this.psCreateEvent = null;
     }
     
     /**
@@ -310,6 +351,7 @@ public class EventRepositoryCassandra extends AbstractEventRepository {
      */
     public void setConn(CassandraConnection conn) {
         this.conn = conn;
+        this.psCreateEvent = null;
     }
    
 }
@@ -23,6 +23,7 @@ import static org.ff4j.cassandra.CassandraConstants.COLUMN_FAMILY_FEATURES;
 import static org.ff4j.cassandra.CassandraConstants.COL_FEAT_GROUPNAME;
 import static org.ff4j.cassandra.CassandraConstants.COL_FEAT_UID;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -161,6 +162,22 @@ public class FeatureStoreCassandra extends AbstractFeatureStore {
         return CassandraMapper.mapFeature(rs.one());
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readFeatures(Set<String> featureUids) {
+        Util.assertNotNull(featureUids);
+        Map < String, Feature> features = new HashMap<String, Feature>();
+        if (!featureUids.isEmpty()) {
+            // Single query on partition keys, bound as a list
+            ResultSet resultSet = conn.getSession().execute(getBuilder().cqlReadFeatures(), new ArrayList<String>(featureUids));
+            for (Row row : resultSet.all()) {
+                Feature f = CassandraMapper.mapFeature(row);
+                features.put(f.getUid(), f);
+            }
+        }
+        return features;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
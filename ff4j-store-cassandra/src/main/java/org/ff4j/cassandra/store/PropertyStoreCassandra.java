@@ -3,6 +3,7 @@ package org.ff4j.cassandra.store;
 import static org.ff4j.cassandra.CassandraConstants.COLUMN_FAMILY_PROPERTIES;
 import static org.ff4j.cassandra.CassandraConstants.COL_PROPERTY_ID;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 
@@ -116,6 +117,21 @@ public class PropertyStoreCassandra extends AbstractPropertyStore {
         return CassandraMapper.mapProperty(rs.one());
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Property<?>> readProperties(Set<String> names) {
+        Util.assertNotNull(names);
+        Map < String, Property<?>> properties = new HashMap<String, Property<?>>();
+        if (!names.isEmpty()) {
+            ResultSet resultSet = conn.getSession().execute(getBuilder().cqlReadProperties(), new ArrayList<String>(names));
+            for (Row row : resultSet.all()) {
+                Property<?> p  = CassandraMapper.mapProperty(row);
+                properties.put(p.getName(), p);
+            }
+        }
+        return properties;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void deleteProperty(String name) {
@@ -20,6 +20,7 @@ package org.ff4j.elastic;
  * #L%
  */
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +38,7 @@ import org.ff4j.core.Feature;
 import org.ff4j.property.Property;
 
 import io.searchbox.client.JestResult;
+import io.searchbox.core.Bulk;
 import io.searchbox.core.Delete;
 import io.searchbox.core.Index;
 import io.searchbox.core.Search;
@@ -279,6 +281,15 @@ public class ElasticQueryBuilder {
 				.build();
 	}
 
+	public Bulk queryCreateEvents(Collection<Event> events) {
+		Bulk.Builder bulk = new Bulk.Builder().defaultIndex(connection.getIndexName())
+				.defaultType(ElasticConstants.TYPE_EVENT).refresh(true);
+		for (Event event : events) {
+			bulk.addAction(new Index.Builder(event).build());
+		}
+		return bulk.build();
+	}
+
 	public Search queryGetEventById(String uuid) {
 		SearchSourceBuilder source = new SearchSourceBuilder();
 		source.query(QueryBuilders.matchQuery("uuid", uuid));
@@ -29,6 +29,7 @@ import static org.ff4j.audit.EventConstants.ACTION_TOGGLE_OFF;
 import static org.ff4j.audit.EventConstants.ACTION_TOGGLE_ON;
 import static org.ff4j.audit.EventConstants.ACTION_UPDATE;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -69,6 +70,19 @@ public class EventRepositoryElastic extends AbstractEventRepository {
 		return (result != null && result.isSucceeded());
 	}
 
+	@Override
+	public boolean saveEvents(Collection<Event> events) {
+		if (events == null || events.isEmpty()) {
+			return true;
+		}
+		for (Event event : events) {
+			Util.assertEvent(event);
+		}
+		// Single bulk request for the whole batch
+		JestResult result = getConnection().execute(getBuilder().queryCreateEvents(events));
+		return (result != null && result.isSucceeded());
+	}
+
 	@Override
 	public Event getEventByUUID(String uuid, Long timestamp) {
 		return getConnection().execute(getBuilder().queryGetEventById(uuid)).getSourceAsObject(Event.class);
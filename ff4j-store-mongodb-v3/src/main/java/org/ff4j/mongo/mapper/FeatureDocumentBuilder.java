@@ -51,6 +51,18 @@ public final class FeatureDocumentBuilder {
         return new Document(FEATURE_UUID, value);
     }
 
+    /**
+     * Mongo query matching several identifiers.
+     *
+     * @param values
+     *      target identifiers
+     * @return
+     *      internal mong object
+     */
+    public Document getFeatUidIn(Set<String> values) {
+        return new Document(FEATURE_UUID, new Document(MONGO_IN, new ArrayList<String>(values)));
+    }
+
     /**
      * Chain add to build object.
      *
@@ -1,5 +1,6 @@
 package org.ff4j.mongo.mapper;
 
+import static org.ff4j.mongo.MongoDbConstants.MONGO_IN;
 import static org.ff4j.mongo.MongoDbConstants.PROPERTY_DESCRIPTION;
 import static org.ff4j.mongo.MongoDbConstants.PROPERTY_FIXEDVALUES;
 import static org.ff4j.mongo.MongoDbConstants.PROPERTY_NAME;
@@ -26,6 +27,7 @@ import static org.ff4j.mongo.MongoDbConstants.PROPERTY_VALUE;
  * #L%
  */
 
+import java.util.ArrayList;
 import java.util.Set;
 
 import org.bson.Document;
@@ -56,6 +58,18 @@ public final class PropertyDocumentBuilder {
         return new Document(PROPERTY_NAME, value);
     }
 
+    /**
+     * Mongo query matching several names.
+     *
+     * @param values
+     *      target names
+     * @return
+     *      internal mong object
+     */
+    public Document getNameIn(Set<String> values) {
+        return new Document(PROPERTY_NAME, new Document(MONGO_IN, new ArrayList<String>(values)));
+    }
+
     /**
      * Chain add to build object.
      * 
@@ -1,7 +1,10 @@
 package org.ff4j.mongo.store;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 
 /*
  * #%L
@@ -154,6 +157,23 @@ public class EventRepositoryMongo extends AbstractEventRepository {
         return true;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean saveEvents(Collection<Event> events) {
+        if (events == null || events.isEmpty()) {
+            return true;
+        }
+        List<Document> documents = new ArrayList<Document>(events.size());
+        for (Event e : events) {
+            if (e == null) {
+                throw new IllegalArgumentException("Event cannot be null nor empty");
+            }
+            documents.add(EMAPPER.toStore(e));
+        }
+        eventsCollection.insertMany(documents);
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Map<String, MutableHitCount> getFeatureUsageHitCount(EventQueryDefinition query) {
@@ -2,6 +2,7 @@ package org.ff4j.mongo.store;
 
 import static org.ff4j.mongo.MongoDbConstants.MONGO_SET;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -206,6 +207,20 @@ public class FeatureStoreMongo extends AbstractFeatureStore {
         return FMAPPER.fromStore(object);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readFeatures(Set<String> featureUids) {
+        Util.assertNotNull(featureUids);
+        Map<String, Feature> mapFP = new HashMap<String, Feature>();
+        if (!featureUids.isEmpty()) {
+            for (Document document : getFeaturesCollection().find(BUILDER.getFeatUidIn(featureUids))) {
+                Feature feature = FMAPPER.fromStore(document);
+                mapFP.put(feature.getUid(), feature);
+            }
+        }
+        return mapFP;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void create(Feature fp) {
@@ -24,6 +24,7 @@ import java.util.HashSet;
  * #L%
  */
 
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
@@ -177,6 +178,20 @@ public class PropertyStoreMongo extends AbstractPropertyStore {
         return PMAPPER.fromStore(object);
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Property<?>> readProperties(Set<String> names) {
+        Util.assertNotNull(names);
+        Map<String, Property<?>> mapP = new HashMap<String, Property<?>>();
+        if (!names.isEmpty()) {
+            for (Document document : getPropertiesCollection().find(BUILDER.getNameIn(names))) {
+                Property<?> prop = PMAPPER.fromStore(document);
+                mapP.put(prop.getName(), prop);
+            }
+        }
+        return mapP;
+    }
+    
     /** {@inheritDoc} */
     public void deleteProperty(String name) {
         assertPropertyExist(name);
@@ -16,6 +16,7 @@ import static org.ff4j.store.mongodb.FeatureStoreMongoConstants.MONGO_SET;
  * governing permissions and limitations under the License. #L%
  */
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -174,6 +175,20 @@ public class FeatureStoreMongoDB extends AbstractFeatureStore {
         return MAPPER.mapFeature(object);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readFeatures(Set<String> featureUids) {
+        Util.assertNotNull(featureUids);
+        Map<String, Feature> mapFP = new HashMap<String, Feature>();
+        if (!featureUids.isEmpty()) {
+            for(DBObject dbObject : getFeaturesCollection().find(BUILDER.getFeatUidIn(featureUids))) {
+                Feature feature = MAPPER.mapFeature(dbObject);
+                mapFP.put(feature.getUid(), feature);
+            }
+        }
+        return mapFP;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void create(Feature fp) {
@@ -25,6 +25,7 @@ import static org.ff4j.store.mongodb.FeatureStoreMongoConstants.PROPERTY_NAME;
  * #L%
  */
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -148,6 +149,19 @@ public class PropertyStoreMongoDB extends AbstractPropertyStore {
         return MAPPER.mapProperty(object);
     }
     
+    /** {@inheritDoc} */
+    public Map<String, Property<?>> readProperties(Set<String> names) {
+        Util.assertNotNull(names);
+        Map<String, Property<?>> mapP = new HashMap<String, Property<?>>();
+        if (!names.isEmpty()) {
+            for(DBObject dbObject : getPropertiesCollection().find(BUILDER.getNameIn(names))) {
+                Property<?> prop = MAPPER.mapProperty(dbObject);
+                mapP.put(prop.getName(), prop);
+            }
+        }
+        return mapP;
+    }
+    
     /** {@inheritDoc} */
     public void deleteProperty(String name) {
         assertPropertyExist(name);
@@ -52,6 +52,20 @@ public final class FeatureDBObjectBuilder {
         return new BasicDBObjectBuilder().add(UUID, value).get();
     }
 
+    /**
+     * Mongo query matching several identifiers.
+     *
+     * @param values
+     *      target identifiers
+     * @return
+     *      internal mong object
+     */
+    public DBObject getFeatUidIn(Set<String> values) {
+        BasicDBList list = new BasicDBList();
+        list.addAll(values);
+        return new BasicDBObjectBuilder().push(UUID).add(MONGO_IN, list).get();
+    }
+
     /**
      * Chain add to build object.
      * 
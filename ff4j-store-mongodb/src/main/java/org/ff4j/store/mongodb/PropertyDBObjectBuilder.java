@@ -52,6 +52,20 @@ public final class PropertyDBObjectBuilder {
         return new BasicDBObjectBuilder().add(PROPERTY_NAME, value).get();
     }
 
+    /**
+     * Mongo query matching several names.
+     *
+     * @param values
+     *      target names
+     * @return
+     *      internal mong object
+     */
+    public DBObject getNameIn(Set<String> values) {
+        BasicDBList list = new BasicDBList();
+        list.addAll(values);
+        return new BasicDBObjectBuilder().push(PROPERTY_NAME).add(MONGO_IN, list).get();
+    }
+
     /**
      * Chain add to build object.
      * 
@@ -0,0 +1,276 @@
+package org.ff4j.cache;
+
+/*
+ * #%L
+ * ff4j-store-redis
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.redis.RedisContants.CHANNEL_CACHE_INVALIDATION;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.ff4j.cache.CacheInvalidationMessage.Type;
+import org.ff4j.redis.RedisConnection;
+import org.ff4j.utils.Util;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPubSub;
+
+/**
+ * Invalidation bus based on REDIS publish/subscribe.
+ *
+ * Messages are published with a connection of the pool. A daemon thread holds a dedicated connection subscribed to
+ * the channel and notifies listeners. Messages sent while the subscription was lost cannot be replayed : on
+ * reconnection, listeners are asked to clear their whole cache.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class CacheInvalidationBusRedis implements CacheInvalidationBus {
+
+    /** Default delay before reconnecting after a failure. */
+    private static final long DEFAULT_RECONNECT_DELAY = 5000;
+
+    /** Wrapping of redis connection (isolation). */
+    private final RedisConnection redisConnection;
+
+    /** Pub/sub channel. */
+    private final String channel;
+
+    /** Identifier of the bus when it emits messages itself. */
+    private final String busId = UUID.randomUUID().toString();
+
+    /** Registered listeners. */
+    private final List < CacheInvalidationListener > listeners = new CopyOnWriteArrayList<CacheInvalidationListener>();
+
+    /** Delay before reconnecting after a failure. */
+    private long reconnectDelay = DEFAULT_RECONNECT_DELAY;
+
+    /** Subscriber. */
+    private final JedisPubSub subscriber = new JedisPubSub() {
+
+        /** {@inheritDoc} */
+        @Override
+        public void onMessage(String channel, String message) {
+            try {
+                dispatch(CacheInvalidationMessage.fromString(message));
+            } catch (IllegalArgumentException ex) {
+                // Not an invalidation, ignore
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void onSubscribe(String channel, int subscribedChannels) {
+            if (!running) {
+                // Closed before the subscription was effective, release the connection
+                unsubscribe();
+                return;
+            }
+            if (subscribedOnce) {
+                // Some invalidations may have been lost
+                dispatch(new CacheInvalidationMessage(Type.ALL_FEATURES, busId, null));
+                dispatch(new CacheInvalidationMessage(Type.ALL_PROPERTIES, busId, null));
+            }
+            subscribedOnce = true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void onPMessage(String pattern, String channel, String message) {}
+
+        /** {@inheritDoc} */
+        @Override
+        public void onUnsubscribe(String channel, int subscribedChannels) {}
+
+        /** {@inheritDoc} */
+        @Override
+        public void onPUnsubscribe(String pattern, int subscribedChannels) {}
+
+        /** {@inheritDoc} */
+        @Override
+        public void onPSubscribe(String pattern, int subscribedChannels) {}
+    };
+
+    /** Subscribing thread, started with first listener. */
+    private Thread subscriberThread;
+
+    /** Flag to stop the subscribing thread. */
+    private volatile boolean running = false;
+
+    /** Flag to detect reconnections. */
+    private volatile boolean subscribedOnce = false;
+
+    /**
+     * Default constructor.
+     */
+    public CacheInvalidationBusRedis() {
+        this(new RedisConnection());
+    }
+
+    /**
+     * Constructor with connection.
+     *
+     * @param redisConnection
+     *      connection to redis
+     */
+    public CacheInvalidationBusRedis(RedisConnection redisConnection) {
+        this(redisConnection, CHANNEL_CACHE_INVALIDATION);
+    }
+
+    /**
+     * Constructor with connection and channel.
+     *
+     * @param redisConnection
+     *      connection to redis
+     * @param channel
+     *      pub/sub channel, nodes sharing the same store must use the same channel
+     */
+    public CacheInvalidationBusRedis(RedisConnection redisConnection, String channel) {
+        Util.assertNotNull(redisConnection);
+        Util.assertHasLength(channel);
+        this.redisConnection = redisConnection;
+        this.channel         = channel;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void publish(CacheInvalidationMessage message) {
+        Util.assertNotNull(message);
+        Jedis jedis = null;
+        try {
+            jedis = redisConnection.getJedis();
+            redisConnection.countRoundTrips(1);
+            jedis.publish(channel, message.toString());
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void subscribe(CacheInvalidationListener listener) {
+        Util.assertNotNull(listener);
+        listeners.add(listener);
+        if (subscriberThread == null) {
+            running = true;
+            subscriberThread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    listen();
+                }
+            }, "FF4j_CacheInvalidationBusRedis");
+            subscriberThread.setDaemon(true);
+            subscriberThread.start();
+        }
+    }
+
+    /**
+     * Hold the subscription, reconnecting on failures until closed.
+     */
+    private void listen() {
+        while (running) {
+            Jedis jedis = null;
+            try {
+                jedis = redisConnection.getJedis();
+                // Blocking until unsubscribe or connection failure
+                jedis.subscribe(subscriber, channel);
+            } catch (RuntimeException ex) {
+                if (running) {
+                    pause();
+                }
+            } finally {
+                if (jedis != null) {
+                    jedis.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Wait before reconnecting.
+     */
+    private void pause() {
+        try {
+            Thread.sleep(reconnectDelay);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    /**
+     * Notify listeners.
+     *
+     * @param message
+     *      received message
+     */
+    private void dispatch(CacheInvalidationMessage message) {
+        for (CacheInvalidationListener listener : listeners) {
+            listener.onInvalidation(message);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void close() {
+        running = false;
+        listeners.clear();
+        if (subscriber.isSubscribed()) {
+            subscriber.unsubscribe();
+        }
+        if (subscriberThread != null) {
+            subscriberThread.interrupt();
+            subscriberThread = null;
+        }
+    }
+
+    /**
+     * Getter accessor for attribute 'channel'.
+     *
+     * @return
+     *       current value of 'channel'
+     */
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * Getter accessor for attribute 'reconnectDelay'.
+     *
+     * @return
+     *       current value of 'reconnectDelay'
+     */
+    public long getReconnectDelay() {
+        return reconnectDelay;
+    }
+
+    /**
+     * Setter accessor for attribute 'reconnectDelay'.
+     *
+     * @param reconnectDelay
+     *      delay in milliseconds before reconnecting after a failure
+     */
+    public void setReconnectDelay(long reconnectDelay) {
+        this.reconnectDelay = reconnectDelay;
+    }
+
+}
@@ -20,6 +20,9 @@ package org.ff4j.cache;
  * #L%
  */
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.ff4j.core.Feature;
@@ -30,21 +33,34 @@ import org.ff4j.utils.json.FeatureJsonParser;
 import org.ff4j.utils.json.PropertyJsonParser;
 
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
 import static org.ff4j.redis.RedisContants.*;
 
 /**
  * Implementation of ditributed cache to limit overhead, with REDIS (JEDIS).
  * 
+ * Names of cached features and properties are kept in index sets, listing or clearing the cache never scans
+ * the keyspace (no KEYS command). Entries expired by their time-to-live are removed from index when listing.
+ * Cache keys use their own prefixes and never collide with keys of {@link org.ff4j.store.FeatureStoreRedis}.
+ * 
  * @author <a href="mailto:cedrick.lunven@gmail.com">Cedrick LUNVEN</a>
  */
 public class FF4jCacheManagerRedis implements FF4JCacheManager {
     
+    /** Default number of keys deleted or checked per pipeline. */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    
     /** Wrapping of redis connection (isolation). */
     private RedisConnection redisConnection;
     
     /** time to live for cache on top of store. */
     protected int timeToLive = DEFAULT_TTL;
     
+    /** Number of keys deleted or checked per pipeline. */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    
     /**
      * Default constructor
      */
@@ -66,15 +82,7 @@ public class FF4jCacheManagerRedis implements FF4JCacheManager {
     /** {@inheritDoc} */
     @Override
     public Set<String> listCachedFeatureNames() {
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            return jedis.keys(KEY_FEATURE + "*");
-        } finally {
-            if (jedis != null) {
-                jedis.close();
-            }
-        }
+        return listCachedNames(KEY_CACHE_FEATURE_INDEX, KEY_CACHE_FEATURE);
     }
 
     /** {@inheritDoc} */
@@ -86,146 +94,240 @@ public class FF4jCacheManagerRedis implements FF4JCacheManager {
     /** {@inheritDoc} */
     @Override
     public void clearFeatures() {
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            jedis.del(KEY_FEATURE + "*");
-        } finally {
-            if (jedis != null) {
-                jedis.close();
-            }
-        }
+        clear(KEY_CACHE_FEATURE_INDEX, KEY_CACHE_FEATURE);
     }
 
     /** {@inheritDoc} */
     @Override
     public void clearProperties() {
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            jedis.del(KEY_PROPERTY + "*");
-        } finally {
-            if (jedis != null) {
-                jedis.close();
-            }
-        }
+        clear(KEY_CACHE_PROPERTY_INDEX, KEY_CACHE_PROPERTY);
     }
 
     /** {@inheritDoc} */
     @Override
     public void evictFeature(String uid) {
         Util.assertParamHasLength(uid, " feature identifier");
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            jedis.del(KEY_FEATURE + uid);
-        } finally {
-            if (jedis != null) {
-                jedis.close();
-            }
-        }
+        evict(KEY_CACHE_FEATURE_INDEX, KEY_CACHE_FEATURE, uid);
     }
 
     /** {@inheritDoc} */
     @Override
     public void evictProperty(String propertyName) {
         Util.assertParamHasLength(propertyName, " property name");
-        if (propertyName == null || propertyName.isEmpty()) {
-            throw new IllegalArgumentException("PropertyName cannot be null nor empty");
-        }
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            jedis.del(KEY_PROPERTY + propertyName);
-        } finally {
-            if (jedis != null) {
-                jedis.close();
-            }
-        } 
+        evict(KEY_CACHE_PROPERTY_INDEX, KEY_CACHE_PROPERTY, propertyName);
     }
 
     /** {@inheritDoc} */
     @Override
     public void putFeature(Feature fp) {
         Util.assertNotNull(fp);
+        put(KEY_CACHE_FEATURE_INDEX, KEY_CACHE_FEATURE, fp.getUid(), fp.toJson());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void putProperty(Property<?> property) {
+        Util.assertNotNull(property);
+        put(KEY_CACHE_PROPERTY_INDEX, KEY_CACHE_PROPERTY, property.getName(), property.toJson());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Feature getFeature(String uid) {
+        Util.assertParamHasLength(uid, "feature uid");
+        String value = get(KEY_CACHE_FEATURE + uid);
+        return (value == null) ? null : FeatureJsonParser.parseFeature(value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Property<?> getProperty(String propertyName) {
+        Util.assertParamHasLength(propertyName, "property name");
+        String value = get(KEY_CACHE_PROPERTY + propertyName);
+        return (value == null) ? null : PropertyJsonParser.parseProperty(value);
+    }
+
+    /** {@inheritDoc} */
+    public Set<String> listCachedPropertyNames() {
+        return listCachedNames(KEY_CACHE_PROPERTY_INDEX, KEY_CACHE_PROPERTY);
+    }
+    
+    /**
+     * Read a value.
+     *
+     * @param key
+     *      target key
+     * @return
+     *      json value or null if not in cache
+     */
+    private String get(String key) {
         Jedis jedis = null;
         try {
             jedis = getJedis();
-            jedis.set(KEY_FEATURE + fp.getUid(), fp.toJson());
-            jedis.expire(KEY_FEATURE + fp.getUid(), getTimeToLive());
+            redisConnection.countRoundTrips(1);
+            return jedis.get(key);
         } finally {
             if (jedis != null) {
                 jedis.close();
             }
-        } 
+        }
     }
-
-    /** {@inheritDoc} */
-    @Override
-    public void putProperty(Property<?> property) {
-        Util.assertNotNull(property);
+    
+    /**
+     * Store a value with time to live and reference it in index, in one round trip.
+     *
+     * @param index
+     *      index set
+     * @param prefix
+     *      prefix of keys
+     * @param name
+     *      feature or property name
+     * @param json
+     *      value
+     */
+    private void put(String index, String prefix, String name, String json) {
         Jedis jedis = null;
         try {
             jedis = getJedis();
-            jedis.set(KEY_PROPERTY + property.getName(), property.toJson());
-            jedis.expire(KEY_PROPERTY + property.getName(), getTimeToLive());
+            Pipeline pipe = jedis.pipelined();
+            pipe.setex(prefix + name, getTimeToLive(), json);
+            pipe.sadd(index, name);
+            redisConnection.countRoundTrips(1);
+            pipe.sync();
         } finally {
             if (jedis != null) {
                 jedis.close();
             }
         } 
     }
-
-    /** {@inheritDoc} */
-    @Override
-    public Feature getFeature(String uid) {
-        Util.assertParamHasLength(uid, "feature uid");
+    
+    /**
+     * Remove a value and its reference in index, in one round trip.
+     *
+     * @param index
+     *      index set
+     * @param prefix
+     *      prefix of keys
+     * @param name
+     *      feature or property name
+     */
+    private void evict(String index, String prefix, String name) {
         Jedis jedis = null;
         try {
             jedis = getJedis();
-            String value = jedis.get(KEY_FEATURE + uid);
-            if (value != null) {
-                return FeatureJsonParser.parseFeature(value);
-            }
+            Pipeline pipe = jedis.pipelined();
+            pipe.del(prefix + name);
+            pipe.srem(index, name);
+            redisConnection.countRoundTrips(1);
+            pipe.sync();
         } finally {
             if (jedis != null) {
                 jedis.close();
             }
         } 
-        return null;
     }
-
-    /** {@inheritDoc} */
-    @Override
-    public Property<?> getProperty(String propertyName) {
-        Util.assertParamHasLength(propertyName, "property name");
+    
+    /**
+     * Remove every value referenced in index, {@link #batchSize} keys per round trip. Only names read from index are
+     * removed from it, values added meanwhile are kept.
+     *
+     * @param index
+     *      index set
+     * @param prefix
+     *      prefix of keys
+     */
+    private void clear(String index, String prefix) {
         Jedis jedis = null;
         try {
             jedis = getJedis();
-            String value = jedis.get(KEY_PROPERTY + propertyName);
-            if (value != null) {
-                return PropertyJsonParser.parseProperty(value);
+            redisConnection.countRoundTrips(1);
+            for (List < String > names : partition(jedis.smembers(index))) {
+                String[] keys = new String[names.size()];
+                for (int i = 0; i < keys.length; i++) {
+                    keys[i] = prefix + names.get(i);
+                }
+                Pipeline pipe = jedis.pipelined();
+                pipe.del(keys);
+                pipe.srem(index, names.toArray(new String[names.size()]));
+                redisConnection.countRoundTrips(1);
+                pipe.sync();
             }
         } finally {
             if (jedis != null) {
                 jedis.close();
             }
-        }   
-        return null;
+        }
     }
-
-    /** {@inheritDoc} */
-    public Set<String> listCachedPropertyNames() {
+    
+    /**
+     * List names referenced in index whose value is still in cache, {@link #batchSize} keys checked per round trip.
+     * Names of expired values are removed from index.
+     *
+     * @param index
+     *      index set
+     * @param prefix
+     *      prefix of keys
+     * @return
+     *      cached names
+     */
+    private Set < String > listCachedNames(String index, String prefix) {
         Jedis jedis = null;
         try {
             jedis = getJedis();
-            return jedis.keys(KEY_PROPERTY + "*");
+            Set < String > cached = new HashSet<String>();
+            List < String > expired = new ArrayList<String>();
+            redisConnection.countRoundTrips(1);
+            for (List < String > names : partition(jedis.smembers(index))) {
+                Pipeline pipe = jedis.pipelined();
+                List < Response < Boolean > > exists = new ArrayList<Response<Boolean>>(names.size());
+                for (String name : names) {
+                    exists.add(pipe.exists(prefix + name));
+                }
+                redisConnection.countRoundTrips(1);
+                pipe.sync();
+                for (int i = 0; i < names.size(); i++) {
+                    if (Boolean.TRUE.equals(exists.get(i).get())) {
+                        cached.add(names.get(i));
+                    } else {
+                        expired.add(names.get(i));
+                    }
+                }
+            }
+            if (!expired.isEmpty()) {
+                redisConnection.countRoundTrips(1);
+                jedis.srem(index, expired.toArray(new String[expired.size()]));
+            }
+            return cached;
         } finally {
             if (jedis != null) {
                 jedis.close();
             }
         }
     }
+    
+    /**
+     * Split names into lists of {@link #batchSize} elements.
+     *
+     * @param names
+     *      names read in index
+     * @return
+     *      batches
+     */
+    private List < List < String > > partition(Set < String > names) {
+        List < List < String > > batches = new ArrayList<List<String>>();
+        List < String > current = new ArrayList<String>(Math.min(batchSize, names.size()));
+        for (String name : names) {
+            current.add(name);
+            if (current.size() == batchSize) {
+                batches.add(current);
+                current = new ArrayList<String>(batchSize);
+            }
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
 
     /** {@inheritDoc} */
     public Object getFeatureNativeCache() {
@@ -236,7 +338,6 @@ public class FF4jCacheManagerRedis implements FF4JCacheManager {
     public Object getPropertyNativeCache() {
         return getJedis();
     } 
-    
     /**
      * Safe acces to Jedis, avoid JNPE.
      *
@@ -290,4 +391,27 @@ public class FF4jCacheManagerRedis implements FF4JCacheManager {
         this.timeToLive = timeToLive;
     }
 
+    /**
+     * Getter accessor for attribute 'batchSize'.
+     *
+     * @return
+     *       current value of 'batchSize'
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Setter accessor for attribute 'batchSize'.
+     *
+     * @param batchSize
+     *      number of keys deleted or checked per pipeline
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be greater than 0");
+        }
+        this.batchSize = batchSize;
+    }
+
 }
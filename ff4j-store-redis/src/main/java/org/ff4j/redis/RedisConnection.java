@@ -20,6 +20,7 @@ package org.ff4j.redis;
  * #L%
  */
 
+import java.util.concurrent.atomic.AtomicLong;
 
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
@@ -58,6 +59,12 @@ public class RedisConnection {
      */
     protected Pool < Jedis > jedisPool;
     
+    /** Number of connections borrowed from the pool. */
+    private final AtomicLong poolCheckoutCount = new AtomicLong();
+    
+    /** Number of network round trips reported by stores. */
+    private final AtomicLong roundTripCount = new AtomicLong();
+    
     /**
      * Default constructor.
      */
@@ -141,9 +148,48 @@ public class RedisConnection {
                 this.jedisPool = new JedisPool(redisHost, redisport);
             }
         }
+        poolCheckoutCount.incrementAndGet();
         return jedisPool.getResource();
     }
     
+    /**
+     * Report network round trips performed with a borrowed connection.
+     *
+     * @param nbRoundTrips
+     *      number of request/response exchanges (a pipeline or a script counts for one)
+     */
+    public void countRoundTrips(int nbRoundTrips) {
+        roundTripCount.addAndGet(nbRoundTrips);
+    }
+    
+    /**
+     * Number of connections borrowed from the pool since creation or last reset.
+     *
+     * @return
+     *      pool checkout count
+     */
+    public long getPoolCheckoutCount() {
+        return poolCheckoutCount.get();
+    }
+    
+    /**
+     * Number of network round trips reported since creation or last reset.
+     *
+     * @return
+     *      round trip count
+     */
+    public long getRoundTripCount() {
+        return roundTripCount.get();
+    }
+    
+    /**
+     * Reset checkout and round trip counters.
+     */
+    public void resetMetrics() {
+        poolCheckoutCount.set(0);
+        roundTripCount.set(0);
+    }
+    
     /**
      * Clean up connections after tests.
      */
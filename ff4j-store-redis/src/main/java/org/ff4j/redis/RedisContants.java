@@ -39,12 +39,104 @@ public class RedisContants {
     /** prefix of keys. */
     public static final String KEY_PROPERTY = "FF4J_PROPERTY_";
 
+    /** prefix of features keys in cache, distinct from store keys. */
+    public static final String KEY_CACHE_FEATURE = "FF4J_CACHE_FEATURE_";
+
+    /** Index (set) of feature names in cache. */
+    public static final String KEY_CACHE_FEATURE_INDEX = "FF4J_CACHE_FEATURES";
+
+    /** prefix of properties keys in cache, distinct from store keys. */
+    public static final String KEY_CACHE_PROPERTY = "FF4J_CACHE_PROPERTY_";
+
+    /** Index (set) of property names in cache. */
+    public static final String KEY_CACHE_PROPERTY_INDEX = "FF4J_CACHE_PROPERTIES";
+
     /** prefix of keys. */
     public static final String KEY_EVENT = "FF4J_EVENT_";
 
     /** prefix of keys. */
     public static final String KEY_EVENT_AUDIT = "AUDITRAIL";
 
+    /**
+     * Create element if absent, add it to the mapping set.
+     * KEYS[1] mapping set, KEYS[2] element key, ARGV[1] element name, ARGV[2] json.
+     */
+    public static final String LUA_CREATE = 
+            "if redis.call('EXISTS', KEYS[2]) == 1 then return 0 end "
+          + "redis.call('SADD', KEYS[1], ARGV[1]) "
+          + "redis.call('SET', KEYS[2], ARGV[2]) "
+          + "return 1";
+    
+    /**
+     * Replace element if present, SET also removes any TTL.
+     * KEYS[1] element key, ARGV[1] json.
+     */
+    public static final String LUA_UPDATE = 
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end "
+          + "redis.call('SET', KEYS[1], ARGV[1]) "
+          + "return 1";
+    
+    /**
+     * Delete element if present and remove it from the mapping set.
+     * KEYS[1] mapping set, KEYS[2] element key, ARGV[1] element name.
+     */
+    public static final String LUA_DELETE = 
+            "if redis.call('DEL', KEYS[2]) == 0 then return 0 end "
+          + "redis.call('SREM', KEYS[1], ARGV[1]) "
+          + "return 1";
+    
+    /**
+     * Values of all elements of the mapping set.
+     * KEYS[1] mapping set, ARGV[1] prefix of element keys.
+     */
+    public static final String LUA_READ_ALL = 
+            "local values = {} "
+          + "for i, name in ipairs(redis.call('SMEMBERS', KEYS[1])) do "
+          + "  values[i] = redis.call('GET', ARGV[1] .. name) "
+          + "end "
+          + "return values";
+    
+    /**
+     * Delete all elements of the mapping set and the set itself.
+     * KEYS[1] mapping set, ARGV[1] prefix of element keys.
+     */
+    public static final String LUA_CLEAR = 
+            "for i, name in ipairs(redis.call('SMEMBERS', KEYS[1])) do "
+          + "  redis.call('DEL', ARGV[1] .. name) "
+          + "end "
+          + "redis.call('DEL', KEYS[1]) "
+          + "return 1";
+    
+    /**
+     * Set the 'enable' flag of a feature without parsing the json.
+     * KEYS[1] feature key, ARGV[1] 'true' or 'false'.
+     */
+    public static final String LUA_TOGGLE = 
+            "local json = redis.call('GET', KEYS[1]) "
+          + "if not json then return 0 end "
+          + "json = string.gsub(json, '\"enable\":%a+', '\"enable\":' .. ARGV[1], 1) "
+          + "redis.call('SET', KEYS[1], json) "
+          + "return 1";
+    
+    /**
+     * Set the 'enable' flag of all features of a group, returns the number of features in the group.
+     * KEYS[1] mapping set, ARGV[1] prefix of feature keys, ARGV[2] group name, ARGV[3] 'true' or 'false'.
+     */
+    public static final String LUA_TOGGLE_GROUP = 
+            "local count = 0 "
+          + "for i, name in ipairs(redis.call('SMEMBERS', KEYS[1])) do "
+          + "  local json = redis.call('GET', ARGV[1] .. name) "
+          + "  if json and cjson.decode(json)['group'] == ARGV[2] then "
+          + "    json = string.gsub(json, '\"enable\":%a+', '\"enable\":' .. ARGV[3], 1) "
+          + "    redis.call('SET', ARGV[1] .. name, json) "
+          + "    count = count + 1 "
+          + "  end "
+          + "end "
+          + "return count";
+
+    /** Pub/sub channel for cache invalidations. */
+    public static final String CHANNEL_CACHE_INVALIDATION = "FF4J_CACHE_INVALIDATION";
+
     /** default ttl. */
     public static int DEFAULT_TTL = 900000000;
 
@@ -27,6 +27,7 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.ff4j.audit.Event;
+import org.ff4j.audit.EventBinaryCodec;
 import org.ff4j.audit.EventConstants;
 import org.ff4j.audit.EventQueryDefinition;
 import org.ff4j.audit.EventSeries;
@@ -37,13 +38,17 @@ import org.ff4j.redis.RedisConnection;
 import org.ff4j.redis.RedisContants;
 import org.ff4j.utils.Util;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import static org.ff4j.redis.RedisContants.KEY_EVENT;
@@ -73,6 +78,16 @@ public class EventRepositoryRedis extends AbstractEventRepository {
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     }
 
+    /** Encoding of keys for binary commands. */
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * Store events with {@link EventBinaryCodec} instead of Json (smaller and faster), both formats are always read.
+     * Each event is a member of a sorted set scored by its timestamp and is encoded in its own frame, even in
+     * {@link #saveEvents(Collection)} : the size limit ({@link EventBinaryCodec#MAX_FRAME_SIZE}) applies per event.
+     */
+    private boolean useBinaryCodec = false;
+
     /** Enumeration containing the type of the attribute. */
     private enum Types {
         SOURCE,
@@ -141,7 +156,11 @@ public class EventRepositoryRedis extends AbstractEventRepository {
             long timeStamp = evt.getTimestamp();
             String hashId = this.getHashKey(evt.getTimestamp(), evt.getAction());
             evt.setUuid(String.valueOf(timeStamp));
-            jedis.zadd(hashId, timeStamp, objectMapper.writeValueAsString(evt));
+            if (useBinaryCodec) {
+                jedis.zadd(hashId.getBytes(UTF8), timeStamp, EventBinaryCodec.encode(evt));
+            } else {
+                jedis.zadd(hashId, timeStamp, objectMapper.writeValueAsString(evt));
+            }
             return true;
         } catch (JsonProcessingException e) {
             // We do not returned false, it will be retried 3 times for nothing, faile immediately
@@ -153,6 +172,41 @@ public class EventRepositoryRedis extends AbstractEventRepository {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean saveEvents(Collection<Event> events) {
+        if (events == null || events.isEmpty()) {
+            return true;
+        }
+        Jedis jedis = null;
+        try {
+            jedis = getJedis();
+            // Single round trip for the whole batch
+            Pipeline pipe = jedis.pipelined();
+            for (Event evt : events) {
+                if (evt == null) {
+                    throw new IllegalArgumentException("Event cannot be null nor empty");
+                }
+                long timeStamp = evt.getTimestamp();
+                evt.setUuid(String.valueOf(timeStamp));
+                if (useBinaryCodec) {
+                    // One frame per event, members are read back one by one within a time range
+                    pipe.zadd(getHashKey(timeStamp, evt.getAction()).getBytes(UTF8), timeStamp, EventBinaryCodec.encode(evt));
+                } else {
+                    pipe.zadd(getHashKey(timeStamp, evt.getAction()), timeStamp, objectMapper.writeValueAsString(evt));
+                }
+            }
+            pipe.sync();
+            return true;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot save event : invalid object", e);
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
+        }
+    }
+
     private String getHashKey(long timestamp, String action) {
         String hashId = KEY_EVENT;
         if (action != null) {
@@ -174,11 +228,10 @@ public class EventRepositoryRedis extends AbstractEventRepository {
             String hashKey = getHashKey(timestamp, null);
             
             // Check for the event within 100ms time range passed, hoping there won't be more than 10 for this.
-            Set<String> events = jedis.zrangeByScore(hashKey, timestamp - 100L, timestamp + 100L, 0, 10);
+            List<Event> events = readEvents(jedis, hashKey, timestamp - 100L, timestamp + 100L, 0, 10);
 
             // Loop through the result set and match the timestamp passed in.
-            for (String evt : events) {
-                Event event = marshallEvent(evt);
+            for (Event event : events) {
                 if (timestamp == event.getTimestamp()) {
                     return event;
                 }
@@ -191,6 +244,34 @@ public class EventRepositoryRedis extends AbstractEventRepository {
         return redisEvent;
     }
     
+    /**
+     * Read events of a key within a time range, Json or binary (each member is checked).
+     *
+     * @param jedis
+     *      current connection
+     * @param hashKey
+     *      key of sorted set
+     * @param min
+     *      lower timestamp
+     * @param max
+     *      upper timestamp
+     * @param offset
+     *      first event
+     * @param count
+     *      maximum number of events
+     * @return
+     *      events ordered by timestamp
+     */
+    private List<Event> readEvents(Jedis jedis, String hashKey, double min, double max, int offset, int count) {
+        List<Event> events = new ArrayList<Event>();
+        // Format is detected per member, whatever 'useBinaryCodec' : sets written with the other setting stay readable
+        for (byte[] member : jedis.zrangeByScore(hashKey.getBytes(UTF8), min, max, offset, count)) {
+            events.add(EventBinaryCodec.isBinary(member) ? 
+                    EventBinaryCodec.decode(member) : marshallEvent(new String(member, UTF8)));
+        }
+        return events;
+    }
+    
     private Event marshallEvent(String eventString) {
         try {
             return objectMapper.readValue(eventString, Event.class);
@@ -230,10 +311,9 @@ public class EventRepositoryRedis extends AbstractEventRepository {
     private Map<String, MutableHitCount> getUsageCount(EventQueryDefinition query, Types type) {
         Map<String, MutableHitCount> hitCount = new HashMap<>();
        // Get events from Redis between the time range.
-            Set<String> events = getEventsFromRedis(query);
+            List<Event> events = getEventsFromRedis(query);
             // Loop through create the buckets.
-            for (String event : events) {
-                Event eventObject = marshallEvent(event);
+            for (Event eventObject : events) {
                 String value = getValueFromAttribute(type, eventObject);
                 MutableHitCount mutableHitCount = hitCount.get(value);
                 if (mutableHitCount != null) {
@@ -250,9 +330,8 @@ public class EventRepositoryRedis extends AbstractEventRepository {
     @Override
     public TimeSeriesChart getFeatureUsageHistory(EventQueryDefinition query, TimeUnit tu) {
         TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), tu);
-        Set<String> events = getEventsFromRedis(query);
-        for (String event : events) {
-            tsc.addEvent(marshallEvent(event));
+        for (Event event : getEventsFromRedis(query)) {
+            tsc.addEvent(event);
         }
         return tsc;
     }
@@ -272,11 +351,11 @@ public class EventRepositoryRedis extends AbstractEventRepository {
         try {
             jedis = getJedis();
             String hashKey = getHashKey(query.getFrom(), EventConstants.ACTION_CHECK_OK);
-            Set<String> events = jedis.zrangeByScore(hashKey, query.getFrom(), query.getTo(), 0, 100);
+            List<Event> events = readEvents(jedis, hashKey, query.getFrom(), query.getTo(), 0, 100);
             
             // FIXME: Server side pagination model isn't present? This could be a lot of data.
-            for (String event : events) {
-                eventSeries.add(marshallEvent(event));
+            for (Event event : events) {
+                eventSeries.add(event);
             }
         } finally {
             if (jedis != null) {
@@ -318,15 +397,15 @@ public class EventRepositoryRedis extends AbstractEventRepository {
      * Method that reads the raw event stream from Redis.
      *
      * @param query - The query object containing details about the query.
-     * @return Set containing raw events.
+     * @return List containing events.
      */
-    private Set<String> getEventsFromRedis(EventQueryDefinition query) {
+    private List<Event> getEventsFromRedis(EventQueryDefinition query) {
         Jedis jedis = null;
-        Set<String> events = null;
+        List<Event> events = null;
         try {
             jedis = getJedis();
             String hashKey = getHashKey(query.getFrom(), null);
-            events = jedis.zrangeByScore(hashKey, query.getFrom(), query.getTo(), 0, UPPER_LIMIT);
+            events = readEvents(jedis, hashKey, query.getFrom(), query.getTo(), 0, UPPER_LIMIT);
         } finally {
             if (jedis != null) {
                 jedis.close();
@@ -335,6 +414,25 @@ public class EventRepositoryRedis extends AbstractEventRepository {
         return events;
     }
 
+    /**
+     * Getter accessor for attribute 'useBinaryCodec'.
+     *
+     * @return
+     *       current value of 'useBinaryCodec'
+     */
+    public boolean isUseBinaryCodec() {
+        return useBinaryCodec;
+    }
+
+    /**
+     * Setter accessor for attribute 'useBinaryCodec'.
+     * @param useBinaryCodec
+     *      new value for 'useBinaryCodec '
+     */
+    public void setUseBinaryCodec(boolean useBinaryCodec) {
+        this.useBinaryCodec = useBinaryCodec;
+    }
+
     /**
      * Method that maps the enum to the appropriate event method (instead of using Reflection).
      *
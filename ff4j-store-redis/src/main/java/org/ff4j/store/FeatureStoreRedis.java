@@ -32,11 +32,19 @@ import redis.clients.jedis.Jedis;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static org.ff4j.redis.RedisContants.KEY_FEATURE;
 import static org.ff4j.redis.RedisContants.KEY_FEATURE_MAP;
+import static org.ff4j.redis.RedisContants.LUA_CLEAR;
+import static org.ff4j.redis.RedisContants.LUA_CREATE;
+import static org.ff4j.redis.RedisContants.LUA_DELETE;
+import static org.ff4j.redis.RedisContants.LUA_READ_ALL;
+import static org.ff4j.redis.RedisContants.LUA_TOGGLE;
+import static org.ff4j.redis.RedisContants.LUA_TOGGLE_GROUP;
+import static org.ff4j.redis.RedisContants.LUA_UPDATE;
 
 /**
  * {@link FeatureStore} to persist data into
@@ -116,6 +124,7 @@ public class FeatureStoreRedis extends AbstractFeatureStore {
         Jedis jedis = null;
         try {
             jedis = getJedis();
+            redisConnection.countRoundTrips(1);
             return jedis.exists(KEY_FEATURE + uid);
         } finally {
             if (jedis != null) {
@@ -127,13 +136,77 @@ public class FeatureStoreRedis extends AbstractFeatureStore {
     /** {@inheritDoc} */
     @Override
     public Feature read(String uid) {
-        if (!exist(uid)) {
+        Util.assertParamHasLength(uid, "Feature identifier");
+        Jedis jedis = null;
+        try {
+            jedis = getJedis();
+            return readFeature(jedis, uid);
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
+        }
+    }
+    
+    /**
+     * Read a feature with a borrowed connection, null value means not found.
+     *
+     * @param jedis
+     *      current connection
+     * @param uid
+     *      feature identifier
+     * @return
+     *      feature
+     */
+    private Feature readFeature(Jedis jedis, String uid) {
+        redisConnection.countRoundTrips(1);
+        String json = jedis.get(KEY_FEATURE + uid);
+        if (json == null) {
             throw new FeatureNotFoundException(uid);
         }
+        return FeatureJsonParser.parseFeature(json);
+    }
+    
+    /**
+     * Replace a feature with a borrowed connection, in a single round trip.
+     *
+     * @param jedis
+     *      current connection
+     * @param fp
+     *      feature
+     */
+    private void updateFeature(Jedis jedis, Feature fp) {
+        redisConnection.countRoundTrips(1);
+        if (0 == (Long) jedis.eval(LUA_UPDATE, 1, KEY_FEATURE + fp.getUid(), fp.toJson())) {
+            throw new FeatureNotFoundException(fp.getUid());
+        }
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readFeatures(Set<String> featureUids) {
+        Util.assertNotNull(featureUids);
+        Map<String, Feature> features = new HashMap<String, Feature>();
+        if (featureUids.isEmpty()) {
+            return features;
+        }
+        String[] keys = new String[featureUids.size()];
+        int idx = 0;
+        for (String uid : featureUids) {
+            keys[idx++] = KEY_FEATURE + uid;
+        }
         Jedis jedis = null;
         try {
+            // Single round trip, missing keys are returned as null
             jedis = getJedis();
-            return FeatureJsonParser.parseFeature(jedis.get(KEY_FEATURE + uid));
+            redisConnection.countRoundTrips(1);
+            for (String json : jedis.mget(keys)) {
+                if (json != null) {
+                    Feature feature = FeatureJsonParser.parseFeature(json);
+                    features.put(feature.getUid(), feature);
+                }
+            }
+            return features;
         } finally {
             if (jedis != null) {
                 jedis.close();
@@ -145,14 +218,10 @@ public class FeatureStoreRedis extends AbstractFeatureStore {
     @Override
     public void update(Feature fp) {
         Util.assertNotNull("Feature" , fp);
-        if (!exist(fp.getUid())) {
-            throw new FeatureNotFoundException(fp.getUid());
-        }
         Jedis jedis = null;
         try {
             jedis = getJedis();
-            jedis.set(KEY_FEATURE + fp.getUid(), fp.toJson());
-            jedis.persist(KEY_FEATURE + fp.getUid());
+            updateFeature(jedis, fp);
         } finally {
             if (jedis != null) {
                 jedis.close();
@@ -163,41 +232,52 @@ public class FeatureStoreRedis extends AbstractFeatureStore {
     /** {@inheritDoc} */
     @Override
     public void enable(String uid) {
-        // Read from redis, feature not found if no present
-        Feature f = read(uid);
-        // Update within Object
-        f.enable();
-        // Serialization and update key, update TTL
-        update(f);
+        toggle(uid, true);
     }
 
     /** {@inheritDoc} */
     @Override
     public void disable(String uid) {
-        // Read from redis, feature not found if no present
-        Feature f = read(uid);
-        // Update within Object
-        f.disable();
-        // Serialization and update key, update TTL
-        update(f);
+        toggle(uid, false);
+    }
+    
+    /**
+     * Update flag 'enable' on server side, atomic and in a single round trip.
+     *
+     * @param uid
+     *      feature identifier
+     * @param enable
+     *      new value for flag
+     */
+    private void toggle(String uid, boolean enable) {
+        Util.assertParamHasLength(uid, "Feature identifier");
+        Jedis jedis = null;
+        try {
+            jedis = getJedis();
+            redisConnection.countRoundTrips(1);
+            if (0 == (Long) jedis.eval(LUA_TOGGLE, 1, KEY_FEATURE + uid, String.valueOf(enable))) {
+                throw new FeatureNotFoundException(uid);
+            }
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
+        }
     }
 
     /** {@inheritDoc} */
     @Override
     public void create(Feature fp) {
         Util.assertNotNull("Feature", fp);
-        if (exist(fp.getUid())) {
-            throw new FeatureAlreadyExistException(fp.getUid());
-        }
         Jedis jedis = null;
         try {
             String id = fp.getUid();
             jedis = getJedis();
-
-            // Store the feature in the mapping bucket.
-            jedis.sadd(KEY_FEATURE_MAP, id);
-            jedis.set(KEY_FEATURE + id, fp.toJson());
-            jedis.persist(KEY_FEATURE + id);
+            // Store the feature in the mapping bucket, if not already there
+            redisConnection.countRoundTrips(1);
+            if (0 == (Long) jedis.eval(LUA_CREATE, 2, KEY_FEATURE_MAP, KEY_FEATURE + id, id, fp.toJson())) {
+                throw new FeatureAlreadyExistException(id);
+            }
         } finally {
             if (jedis != null) {
                 jedis.close();
@@ -211,34 +291,46 @@ public class FeatureStoreRedis extends AbstractFeatureStore {
         Jedis jedis = null;
         try {
             jedis = getJedis();
-
-            Set<String> features = jedis.smembers(KEY_FEATURE_MAP);
-
-            Map<String, Feature> featuresMap = new HashMap<>();
-            if (features != null) {
-                for (String key : features) {
-                    featuresMap.put(key, read(key));
-                }
-            }
-            return featuresMap;
+            return readAllFeatures(jedis);
         } finally {
             if (jedis != null) {
                 jedis.close();
             }
         }
     }
+    
+    /**
+     * Members of the mapping set and their values in a single round trip.
+     *
+     * @param jedis
+     *      current connection
+     * @return
+     *      all features
+     */
+    private Map<String, Feature> readAllFeatures(Jedis jedis) {
+        redisConnection.countRoundTrips(1);
+        List<?> values = (List<?>) jedis.eval(LUA_READ_ALL, 1, KEY_FEATURE_MAP, KEY_FEATURE);
+        Map<String, Feature> featuresMap = new HashMap<String, Feature>();
+        for (Object json : values) {
+            if (json != null) {
+                Feature feature = FeatureJsonParser.parseFeature((String) json);
+                featuresMap.put(feature.getUid(), feature);
+            }
+        }
+        return featuresMap;
+    }
 
     /** {@inheritDoc} */
     public void delete(String fpId) {
-        if (!exist(fpId)) {
-            throw new FeatureNotFoundException(fpId);
-        }
+        Util.assertParamHasLength(fpId, "Feature identifier");
         Jedis jedis = null;
         try {
             jedis = getJedis();
-            // Store the feature in the mapping bucket.
-            jedis.srem(KEY_FEATURE_MAP, fpId);
-            jedis.del(KEY_FEATURE + fpId);
+            // Remove the feature from the mapping bucket
+            redisConnection.countRoundTrips(1);
+            if (0 == (Long) jedis.eval(LUA_DELETE, 2, KEY_FEATURE_MAP, KEY_FEATURE + fpId, fpId)) {
+                throw new FeatureNotFoundException(fpId);
+            }
         } finally {
             if (jedis != null) {
                 jedis.close();
@@ -249,24 +341,42 @@ public class FeatureStoreRedis extends AbstractFeatureStore {
     /** {@inheritDoc} */
     @Override
     public void grantRoleOnFeature(String flipId, String roleName) {
+        Util.assertParamHasLength(flipId, "Feature identifier");
         Util.assertParamHasLength(roleName, "roleName (#2)");
-        // retrieve
-        Feature f = read(flipId);
-        // modify
-        f.getPermissions().add(roleName);
-        // persist modification
-        update(f);
+        Jedis jedis = null;
+        try {
+            jedis = getJedis();
+            // retrieve
+            Feature f = readFeature(jedis, flipId);
+            // modify
+            f.getPermissions().add(roleName);
+            // persist modification
+            updateFeature(jedis, f);
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
+        }
     }
 
     /** {@inheritDoc} */
     @Override
     public void removeRoleFromFeature(String flipId, String roleName) {
+        Util.assertParamHasLength(flipId, "Feature identifier");
         Util.assertParamHasLength(roleName, "roleName (#2)");
-        // retrieve
-        Feature f = read(flipId);
-        f.getPermissions().remove(roleName);
-        // persist modification
-        update(f);
+        Jedis jedis = null;
+        try {
+            jedis = getJedis();
+            // retrieve
+            Feature f = readFeature(jedis, flipId);
+            f.getPermissions().remove(roleName);
+            // persist modification
+            updateFeature(jedis, f);
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
+        }
     }
     
     /** {@inheritDoc} */
@@ -290,59 +400,109 @@ public class FeatureStoreRedis extends AbstractFeatureStore {
     @Override
     public boolean existGroup(String groupName) {
         Util.assertParamHasLength(groupName, "groupName");
-        Map < String, Feature > features = readAll();
-        Map < String, Feature > group = new HashMap<String, Feature>();
-        for (Map.Entry<String,Feature> uid : features.entrySet()) {
-            if (groupName.equals(uid.getValue().getGroup())) {
-                group.put(uid.getKey(), uid.getValue());
+        return existGroup(readAll(), groupName);
+    }
+    
+    /**
+     * Check if at least one feature belongs to the group.
+     *
+     * @param features
+     *      all features
+     * @param groupName
+     *      group name
+     * @return
+     *      if the group exists
+     */
+    private boolean existGroup(Map<String, Feature> features, String groupName) {
+        for (Feature feature : features.values()) {
+            if (groupName.equals(feature.getGroup())) {
+                return true;
             }
         }
-        return !group.isEmpty();
+        return false;
     }
 
     /** {@inheritDoc} */
     @Override
     public void enableGroup(String groupName) {
-        Map < String, Feature > features = readGroup(groupName);
-        for (Map.Entry<String,Feature> uid : features.entrySet()) {
-            uid.getValue().enable();
-            update(uid.getValue());
-        }
+        toggleGroup(groupName, true);
     }
 
     /** {@inheritDoc} */
     @Override
     public void disableGroup(String groupName) {
-        Map < String, Feature > features = readGroup(groupName);
-        for (Map.Entry<String,Feature> uid : features.entrySet()) {
-            uid.getValue().disable();
-            update(uid.getValue());
+        toggleGroup(groupName, false);
+    }
+    
+    /**
+     * Update flag 'enable' of every feature in the group on server side, atomic and in a single round trip.
+     *
+     * @param groupName
+     *      group name
+     * @param enable
+     *      new value for flag
+     */
+    private void toggleGroup(String groupName, boolean enable) {
+        Util.assertParamHasLength(groupName, "groupName");
+        Jedis jedis = null;
+        try {
+            jedis = getJedis();
+            redisConnection.countRoundTrips(1);
+            if (0 == (Long) jedis.eval(LUA_TOGGLE_GROUP, 1, KEY_FEATURE_MAP, KEY_FEATURE, groupName, String.valueOf(enable))) {
+                throw new GroupNotFoundException(groupName);
+            }
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
         }
     }
 
     /** {@inheritDoc} */
     @Override
     public void addToGroup(String featureId, String groupName) {
+        Util.assertParamHasLength(featureId, "Feature identifier");
         Util.assertParamHasLength(groupName, "groupName (#2)");
-        // retrieve
-        Feature f = read(featureId);
-        f.setGroup(groupName);
-        // persist modification
-        update(f);
+        Jedis jedis = null;
+        try {
+            jedis = getJedis();
+            // retrieve
+            Feature f = readFeature(jedis, featureId);
+            f.setGroup(groupName);
+            // persist modification
+            updateFeature(jedis, f);
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
+        }
     }
 
     /** {@inheritDoc} */
     @Override
     public void removeFromGroup(String featureId, String groupName) {
+        Util.assertParamHasLength(featureId, "Feature identifier");
         Util.assertParamHasLength(groupName, "groupName (#2)");
-        if (!existGroup(groupName)) {
-            throw new GroupNotFoundException(groupName);
+        Jedis jedis = null;
+        try {
+            jedis = getJedis();
+            // retrieve
+            Map < String, Feature > features = readAllFeatures(jedis);
+            if (!existGroup(features, groupName)) {
+                throw new GroupNotFoundException(groupName);
+            }
+            Feature f = features.get(featureId);
+            if (f == null) {
+                throw new FeatureNotFoundException(featureId);
+            }
+            f.setGroup(null);
+            // persist modification
+            updateFeature(jedis, f);
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
         }
-        // retrieve
-        Feature f = read(featureId);
-        f.setGroup(null);
-        // persist modification
-        update(f);
     }
 
     /** {@inheritDoc} */
@@ -364,10 +524,8 @@ public class FeatureStoreRedis extends AbstractFeatureStore {
         Jedis jedis = null;
         try {
             jedis = getJedis();
-            Set<String> myKeys = jedis.smembers(KEY_FEATURE_MAP);
-            for (String key : myKeys) {
-                delete(key);
-            }
+            redisConnection.countRoundTrips(1);
+            jedis.eval(LUA_CLEAR, 1, KEY_FEATURE_MAP, KEY_FEATURE);
         } finally {
             if (jedis != null) {
                 jedis.close();
@@ -1,6 +1,7 @@
 package org.ff4j.store;
 
 import org.ff4j.exception.PropertyAlreadyExistException;
+import org.ff4j.exception.PropertyNotFoundException;
 import org.ff4j.property.Property;
 import org.ff4j.property.store.AbstractPropertyStore;
 import org.ff4j.redis.RedisConnection;
@@ -8,12 +9,19 @@ import org.ff4j.utils.Util;
 import org.ff4j.utils.json.PropertyJsonParser;
 import redis.clients.jedis.Jedis;
 
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static org.ff4j.redis.RedisContants.KEY_PROPERTY;
 import static org.ff4j.redis.RedisContants.KEY_PROPERTY_MAP;
+import static org.ff4j.redis.RedisContants.LUA_CLEAR;
+import static org.ff4j.redis.RedisContants.LUA_CREATE;
+import static org.ff4j.redis.RedisContants.LUA_DELETE;
+import static org.ff4j.redis.RedisContants.LUA_READ_ALL;
+import static org.ff4j.redis.RedisContants.LUA_UPDATE;
 
 /*
  * #%L
@@ -110,6 +118,7 @@ public class PropertyStoreRedis extends AbstractPropertyStore {
         Jedis jedis = null;
         try {
             jedis = getJedis();
+            redisConnection.countRoundTrips(1);
             return jedis.exists(KEY_PROPERTY + name);
         } finally {
             if (jedis != null) {
@@ -123,17 +132,16 @@ public class PropertyStoreRedis extends AbstractPropertyStore {
      */
     public <T> void createProperty(Property<T> prop) {
         Util.assertNotNull(prop);
-        if (existProperty(prop.getName())) {
-            throw new PropertyAlreadyExistException(prop.getName());
-        }
+        Util.assertHasLength(prop.getName());
         Jedis jedis = null;
         try {
             jedis = getJedis();
             String name = prop.getName();
-            // Store the feature in the mapping bucket.
-            jedis.sadd(KEY_PROPERTY_MAP, name);
-            jedis.set(KEY_PROPERTY + name, prop.toJson());
-            jedis.persist(KEY_PROPERTY + name);
+            // Store the property in the mapping bucket, if not already there
+            redisConnection.countRoundTrips(1);
+            if (0 == (Long) jedis.eval(LUA_CREATE, 2, KEY_PROPERTY_MAP, KEY_PROPERTY + name, name, prop.toJson())) {
+                throw new PropertyAlreadyExistException(name);
+            }
         } finally {
             if (jedis != null) {
                 jedis.close();
@@ -145,11 +153,110 @@ public class PropertyStoreRedis extends AbstractPropertyStore {
      * {@inheritDoc}
      */
     public Property<?> readProperty(String name) {
-        assertPropertyExist(name);
+        Util.assertHasLength(name);
         Jedis jedis = null;
         try {
             jedis = getJedis();
-            return PropertyJsonParser.parseProperty(jedis.get(KEY_PROPERTY + name));
+            return readProperty(jedis, name);
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
+        }
+    }
+    
+    /**
+     * Read a property with a borrowed connection, null value means not found.
+     *
+     * @param jedis
+     *      current connection
+     * @param name
+     *      property name
+     * @return
+     *      property
+     */
+    private Property<?> readProperty(Jedis jedis, String name) {
+        redisConnection.countRoundTrips(1);
+        String json = jedis.get(KEY_PROPERTY + name);
+        if (json == null) {
+            throw new PropertyNotFoundException(name);
+        }
+        return PropertyJsonParser.parseProperty(json);
+    }
+    
+    /**
+     * Replace a property with a borrowed connection, in a single round trip.
+     *
+     * @param jedis
+     *      current connection
+     * @param prop
+     *      property
+     */
+    private void updateProperty(Jedis jedis, Property<?> prop) {
+        redisConnection.countRoundTrips(1);
+        if (0 == (Long) jedis.eval(LUA_UPDATE, 1, KEY_PROPERTY + prop.getName(), prop.toJson())) {
+            throw new PropertyNotFoundException(prop.getName());
+        }
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Property<?>> readProperties(Set<String> names) {
+        Util.assertNotNull(names);
+        Map<String, Property<?>> properties = new HashMap<String, Property<?>>();
+        if (names.isEmpty()) {
+            return properties;
+        }
+        String[] keys = new String[names.size()];
+        int idx = 0;
+        for (String name : names) {
+            keys[idx++] = KEY_PROPERTY + name;
+        }
+        Jedis jedis = null;
+        try {
+            // Single round trip, missing keys are returned as null
+            jedis = getJedis();
+            redisConnection.countRoundTrips(1);
+            for (String json : jedis.mget(keys)) {
+                if (json != null) {
+                    Property<?> property = PropertyJsonParser.parseProperty(json);
+                    properties.put(property.getName(), property);
+                }
+            }
+            return properties;
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
+        }
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public <T> void updateProperty(Property<T> prop) {
+        Util.assertNotNull(prop);
+        Util.assertHasLength(prop.getName());
+        Jedis jedis = null;
+        try {
+            jedis = getJedis();
+            updateProperty(jedis, prop);
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
+        }
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void updateProperty(String name, String newValue) {
+        Util.assertHasLength(name);
+        Jedis jedis = null;
+        try {
+            jedis = getJedis();
+            Property<?> p = readProperty(jedis, name);
+            p.setValueFromString(newValue);
+            updateProperty(jedis, p);
         } finally {
             if (jedis != null) {
                 jedis.close();
@@ -161,12 +268,14 @@ public class PropertyStoreRedis extends AbstractPropertyStore {
      * {@inheritDoc}
      */
     public void deleteProperty(String name) {
-        assertPropertyExist(name);
+        Util.assertHasLength(name);
         Jedis jedis = null;
         try {
             jedis = getJedis();
-            jedis.srem(KEY_PROPERTY_MAP, name);
-            jedis.del(KEY_PROPERTY + name);
+            redisConnection.countRoundTrips(1);
+            if (0 == (Long) jedis.eval(LUA_DELETE, 2, KEY_PROPERTY_MAP, KEY_PROPERTY + name, name)) {
+                throw new PropertyNotFoundException(name);
+            }
         } finally {
             if (jedis != null) {
                 jedis.close();
@@ -182,10 +291,13 @@ public class PropertyStoreRedis extends AbstractPropertyStore {
         Jedis jedis = null;
         try {
             jedis = getJedis();
-            Set<String> properties = jedis.smembers(KEY_PROPERTY_MAP);
-            if (properties != null) {
-                for (String key : properties) {
-                    mapP.put(key, readProperty(key));
+            // Members of the mapping set and their values in a single round trip
+            redisConnection.countRoundTrips(1);
+            List<?> values = (List<?>) jedis.eval(LUA_READ_ALL, 1, KEY_PROPERTY_MAP, KEY_PROPERTY);
+            for (Object json : values) {
+                if (json != null) {
+                    Property<?> prop = PropertyJsonParser.parseProperty((String) json);
+                    mapP.put(prop.getName(), prop);
                 }
             }
             return mapP;
@@ -203,6 +315,7 @@ public class PropertyStoreRedis extends AbstractPropertyStore {
         Jedis jedis = null;
         try {
             jedis = getJedis();
+            redisConnection.countRoundTrips(1);
             Set<String> propertyNames = jedis.smembers(KEY_PROPERTY_MAP);
             return propertyNames;
         } finally {
@@ -219,10 +332,8 @@ public class PropertyStoreRedis extends AbstractPropertyStore {
         Jedis jedis = null;
         try {
             jedis = getJedis();
-            Set<String> myKeys = jedis.smembers(KEY_PROPERTY_MAP);
-            for (String key : myKeys) {
-                deleteProperty(key);
-            }
+            redisConnection.countRoundTrips(1);
+            jedis.eval(LUA_CLEAR, 1, KEY_PROPERTY_MAP, KEY_PROPERTY);
         } finally {
             if (jedis != null) {
                 jedis.close();
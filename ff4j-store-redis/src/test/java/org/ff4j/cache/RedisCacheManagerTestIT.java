@@ -50,4 +50,21 @@ public class RedisCacheManagerTestIT {
         Assert.assertEquals(fcached.getPermissions(), fold.getPermissions());
 
     }
+
+    @Test
+    public void testListAndClearWithIndex() {
+        FF4jCacheManagerRedis cache = new FF4jCacheManagerRedis();
+        cache.setBatchSize(2);
+        cache.clearFeatures();
+        cache.putFeature(new Feature("f1"));
+        cache.putFeature(new Feature("f2"));
+        cache.putFeature(new Feature("f3"));
+        Assert.assertEquals(3, cache.listCachedFeatureNames().size());
+        Assert.assertTrue(cache.listCachedFeatureNames().contains("f1"));
+        cache.evictFeature("f1");
+        Assert.assertEquals(2, cache.listCachedFeatureNames().size());
+        cache.clearFeatures();
+        Assert.assertTrue(cache.listCachedFeatureNames().isEmpty());
+        Assert.assertNull(cache.getFeature("f2"));
+    }
 }
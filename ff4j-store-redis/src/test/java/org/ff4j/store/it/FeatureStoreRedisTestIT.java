@@ -25,8 +25,11 @@ import java.util.Map;
 import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
 import org.ff4j.store.FeatureStoreRedis;
+import org.ff4j.redis.RedisConnection;
 import org.ff4j.test.store.FeatureStoreTestSupport;
 import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
 
 /**
  * Test to work with Redis as a store.
@@ -56,4 +59,19 @@ public class FeatureStoreRedisTestIT extends FeatureStoreTestSupport {
         ((FeatureStoreRedis) ff4j.getConcreteFeatureStore()).getRedisConnection().destroyPool();
     }
 
+    /**
+     * Reads and toggles use one connection and one round trip.
+     */
+    @Test
+    public void testSingleRoundTrip() {
+        RedisConnection conn = ((FeatureStoreRedis) testedStore).getRedisConnection();
+        conn.resetMetrics();
+        testedStore.read(F1);
+        testedStore.readAll();
+        testedStore.enable(F1);
+        Assert.assertEquals(3, conn.getPoolCheckoutCount());
+        Assert.assertEquals(3, conn.getRoundTripCount());
+        Assert.assertTrue(testedStore.read(F1).isEnable());
+    }
+
 }
@@ -22,6 +22,7 @@ package org.ff4j.spring.cloudconfig.source;
 
 import org.ff4j.FF4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -45,13 +46,24 @@ public class FF4jBootstrapConfiguration {
         
         private FF4j ff4j = null;
         
+        /** Load properties once, see {@link FF4jPropertySource}. */
+        @Value("${ff4j.propertysource.snapshot:false}")
+        private boolean snapshot;
+        
+        /** Delay between 2 reloads of the snapshot in milliseconds. */
+        @Value("${ff4j.propertysource.refreshDelay:0}")
+        private long refreshDelay;
+        
         public FF4jPropertySourceConfiguration(FF4j ff4j) {
             this.ff4j = ff4j;
             System.out.println(ff4j);
         }
         @Bean
         public FF4jPropertySourceLocator customPropertySourceLocator() {
-            return new FF4jPropertySourceLocator(ff4j);
+            FF4jPropertySourceLocator locator = new FF4jPropertySourceLocator(ff4j);
+            locator.setSnapshot(snapshot);
+            locator.setRefreshDelay(refreshDelay);
+            return locator;
         }
     }
 }
@@ -20,9 +20,19 @@ package org.ff4j.spring.cloudconfig.source;
  * #L%
  */
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import org.ff4j.FF4j;
+import org.ff4j.cache.CacheInvalidationBus;
+import org.ff4j.cache.CacheInvalidationListener;
+import org.ff4j.cache.CacheInvalidationMessage;
+import org.ff4j.exception.PropertyNotFoundException;
 import org.ff4j.property.Property;
 import org.springframework.cloud.config.environment.PropertySource;
 import org.springframework.core.env.EnumerablePropertySource;
@@ -30,15 +40,25 @@ import org.springframework.core.env.EnumerablePropertySource;
 /**
  * Implementation of spring config {@link PropertySource} to inject properties from FF4j (property Store). 
  *
+ * In snapshot mode all properties are loaded once and lookups are answered from an immutable map, without any call
+ * to the store : Spring resolves placeholders many times during startup. The snapshot is reloaded by {@link #refresh()},
+ * on a fixed delay with {@link #startPolling(long)} or when an invalidation is received from a {@link CacheInvalidationBus}.
+ *
  * @author Cedrick LUNVEN (@clunven)
  */
-public class FF4jPropertySource extends EnumerablePropertySource<Map<String, Property<?>>> {
+public class FF4jPropertySource extends EnumerablePropertySource<Map<String, Property<?>>> implements CacheInvalidationListener {
    
     /**  FF4j as source for Spring Config. */
     private static final String PROPERTY_SOURCE_NAME = "FF4JSource";
     
     /** Reference to FF4J. */
     private FF4j ff4j;
+
+    /** Current snapshot, null when reading the store for each lookup. */
+    private volatile Snapshot snapshot;
+
+    /** Scheduler for refresh. */
+    private ScheduledExecutorService executor;
     
     /**
      * Expected constructor to populate {@link FF4j}
@@ -47,8 +67,23 @@ public class FF4jPropertySource extends EnumerablePropertySource<Map<String, Pro
      *      current instance of {@link FF4j}
      */
     public FF4jPropertySource(FF4j ff4j) {
+        this(ff4j, false);
+    }
+
+    /**
+     * Constructor with mode.
+     *
+     * @param ff4j
+     *      current instance of {@link FF4j}
+     * @param useSnapshot
+     *      load properties once and read them from memory
+     */
+    public FF4jPropertySource(FF4j ff4j, boolean useSnapshot) {
         this(PROPERTY_SOURCE_NAME);
         this.ff4j = ff4j;
+        if (useSnapshot) {
+            refresh();
+        }
     }
     
     /**
@@ -64,15 +99,172 @@ public class FF4jPropertySource extends EnumerablePropertySource<Map<String, Pro
     /** {@inheritDoc} */
     @Override
     public String[] getPropertyNames() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current.names.clone();
+        }
         return ff4j.getPropertiesStore().listPropertyNames().toArray(new String[0]);
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public boolean containsProperty(String name) {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current.properties.containsKey(name);
+        }
+        return ff4j.getPropertiesStore().existProperty(name);
+    }
+
     /** {@inheritDoc} */
     @Override
     public Object getProperty(String name) {
-        if (!ff4j.getPropertiesStore().existProperty(name)) return null;        
-        Property<?> p = ff4j.getPropertiesStore().readProperty(name);
-        return p;
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current.properties.get(name);
+        }
+        try {
+            // Single call to the store, missing property is an exception
+            return ff4j.getPropertiesStore().readProperty(name);
+        } catch (PropertyNotFoundException pnf) {
+            return null;
+        }
+    }
+
+    /**
+     * Reload every property from store and publish a new snapshot, switch to snapshot mode if needed.
+     */
+    public synchronized void refresh() {
+        this.snapshot = new Snapshot(ff4j.getPropertiesStore().readAllProperties());
+    }
+
+    /**
+     * Reload one property from store and publish a new snapshot.
+     *
+     * @param name
+     *      property name
+     */
+    private synchronized void refresh(String name) {
+        if (snapshot == null) {
+            return;
+        }
+        Map < String, Property<?> > properties = new LinkedHashMap<String, Property<?>>(snapshot.properties);
+        try {
+            properties.put(name, ff4j.getPropertiesStore().readProperty(name));
+        } catch (PropertyNotFoundException pnf) {
+            properties.remove(name);
+        }
+        this.snapshot = new Snapshot(properties);
+    }
+
+    /**
+     * Refresh snapshot on a fixed delay basis.
+     *
+     * @param delay
+     *      delay between 2 refresh in milliseconds
+     */
+    public synchronized void startPolling(long delay) {
+        if (snapshot == null) {
+            refresh();
+        }
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "FF4j_PropertySourceRefreshWorker");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+            executor.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        refresh();
+                    } catch (RuntimeException ex) {
+                        // Keep previous snapshot, retry at next run
+                    }
+                }
+            }, delay, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stop refresh.
+     */
+    public synchronized void stopPolling() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Getter accessor for attribute 'polling'.
+     *
+     * @return
+     *       if the snapshot is refreshed by a worker
+     */
+    public synchronized boolean isPolling() {
+        return executor != null;
+    }
+
+    /**
+     * Refresh snapshot when properties are modified, the source subscribes to the bus.
+     *
+     * @param bus
+     *      invalidation bus shared by all nodes
+     */
+    public void setInvalidationBus(CacheInvalidationBus bus) {
+        if (bus != null) {
+            bus.subscribe(this);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onInvalidation(CacheInvalidationMessage message) {
+        switch (message.getType()) {
+            case PROPERTY:
+                refresh(message.getName());
+            break;
+            case ALL_PROPERTIES:
+                if (snapshot != null) {
+                    refresh();
+                }
+            break;
+            default:
+            break;
+        }
+    }
+
+    /**
+     * Getter accessor for attribute 'snapshot' mode.
+     *
+     * @return
+     *       if lookups are answered from memory
+     */
+    public boolean isSnapshot() {
+        return snapshot != null;
+    }
+
+    /**
+     * Immutable view of the properties.
+     */
+    private static final class Snapshot {
+
+        /** Properties. */
+        private final Map < String, Property<?> > properties;
+
+        /** Property names. */
+        private final String[] names;
+
+        /** Copy properties. */
+        private Snapshot(Map < String, Property<?> > source) {
+            Map < String, Property<?> > map = new LinkedHashMap<String, Property<?>>(source);
+            this.properties = Collections.unmodifiableMap(map);
+            this.names      = map.keySet().toArray(new String[map.size()]);
+        }
     }
     
 }
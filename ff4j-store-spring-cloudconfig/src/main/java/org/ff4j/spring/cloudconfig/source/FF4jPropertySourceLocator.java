@@ -21,6 +21,7 @@ package org.ff4j.spring.cloudconfig.source;
  */
 
 import org.ff4j.FF4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.PropertySource;
@@ -28,21 +29,96 @@ import org.springframework.core.env.PropertySource;
 /**
  * Provide a bridge to load FF4J properties as source for Spring Cloud Config.
  *
+ * A single {@link FF4jPropertySource} is created and returned on each call to {@link #locate(Environment)} (environment
+ * refresh), its snapshot is then reloaded. Polling is stopped by {@link #destroy()}.
+ *
  * @author Cedrick LUNVEN (@clunven)
  */
-public class FF4jPropertySourceLocator implements PropertySourceLocator {
+public class FF4jPropertySourceLocator implements PropertySourceLocator, DisposableBean {
   
     /** Instance of FF4J to be used. */
     private FF4j ff4j;
     
+    /** Load properties once and answer lookups from memory. */
+    private boolean snapshot = false;
+    
+    /** Delay between 2 reloads of the snapshot in milliseconds, 0 means never. */
+    private long refreshDelay = 0;
+    
+    /** Source returned by the locator. */
+    private FF4jPropertySource source;
+    
     public FF4jPropertySourceLocator(FF4j ff4j) {
         this.ff4j = ff4j;
     }
     
     /** {@inheritDoc} */
     @Override
-    public PropertySource<?> locate(Environment environment) {
-        return new FF4jPropertySource(ff4j);
+    public synchronized PropertySource<?> locate(Environment environment) {
+        if (source == null) {
+            source = new FF4jPropertySource(ff4j, snapshot);
+            if (snapshot && refreshDelay > 0) {
+                source.startPolling(refreshDelay);
+            }
+        } else if (source.isSnapshot()) {
+            source.refresh();
+        }
+        return source;
+    }
+    
+    /**
+     * Stop the refresh of the source.
+     */
+    public synchronized void stop() {
+        if (source != null) {
+            source.stopPolling();
+        }
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void destroy() {
+        stop();
+    }
+
+    /**
+     * Getter accessor for attribute 'snapshot'.
+     *
+     * @return
+     *       current value of 'snapshot'
+     */
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Setter accessor for attribute 'snapshot'.
+     *
+     * @param snapshot
+     *      new value for 'snapshot '
+     */
+    public void setSnapshot(boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Getter accessor for attribute 'refreshDelay'.
+     *
+     * @return
+     *       current value of 'refreshDelay'
+     */
+    public long getRefreshDelay() {
+        return refreshDelay;
+    }
+
+    /**
+     * Setter accessor for attribute 'refreshDelay'.
+     *
+     * @param refreshDelay
+     *      new value for 'refreshDelay '
+     */
+    public void setRefreshDelay(long refreshDelay) {
+        this.refreshDelay = refreshDelay;
     }
 
 }
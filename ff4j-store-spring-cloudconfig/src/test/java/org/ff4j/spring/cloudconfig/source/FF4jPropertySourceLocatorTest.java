@@ -0,0 +1,74 @@
+package org.ff4j.spring.cloudconfig.source;
+
+/*
+ * #%L
+ * ff4j-store-spring-cloudconfig
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.ff4j.FF4j;
+import org.ff4j.property.PropertyString;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Lifecycle of the source returned by {@link FF4jPropertySourceLocator}.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class FF4jPropertySourceLocatorTest {
+
+    /** Tested ff4j. */
+    private FF4j ff4j;
+
+    /** Init properties. */
+    @Before
+    public void initFF4j() {
+        ff4j = new FF4j();
+        ff4j.createProperty(new PropertyString("a", "AMER"));
+    }
+
+    @Test
+    public void testSameSourceIsReturned() {
+        FF4jPropertySourceLocator locator = new FF4jPropertySourceLocator(ff4j);
+        Assert.assertSame(locator.locate(null), locator.locate(null));
+    }
+
+    @Test
+    public void testLocateRefreshesSnapshot() {
+        FF4jPropertySourceLocator locator = new FF4jPropertySourceLocator(ff4j);
+        locator.setSnapshot(true);
+        FF4jPropertySource source = (FF4jPropertySource) locator.locate(null);
+        ff4j.createProperty(new PropertyString("b", "EAST"));
+        Assert.assertFalse(source.containsProperty("b"));
+        Assert.assertSame(source, locator.locate(null));
+        Assert.assertTrue(source.containsProperty("b"));
+    }
+
+    @Test
+    public void testDestroyStopsPolling() throws Exception {
+        FF4jPropertySourceLocator locator = new FF4jPropertySourceLocator(ff4j);
+        locator.setSnapshot(true);
+        locator.setRefreshDelay(1000);
+        FF4jPropertySource source = (FF4jPropertySource) locator.locate(null);
+        locator.locate(null);
+        Assert.assertTrue(source.isPolling());
+        locator.destroy();
+        Assert.assertFalse(source.isPolling());
+    }
+}
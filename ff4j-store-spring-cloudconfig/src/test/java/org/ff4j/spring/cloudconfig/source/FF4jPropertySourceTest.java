@@ -0,0 +1,105 @@
+package org.ff4j.spring.cloudconfig.source;
+
+/*
+ * #%L
+ * ff4j-store-spring-cloudconfig
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Arrays;
+
+import org.ff4j.FF4j;
+import org.ff4j.property.PropertyString;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Lookups of {@link FF4jPropertySource} in live and snapshot modes.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class FF4jPropertySourceTest {
+
+    /** Tested ff4j. */
+    private FF4j ff4j;
+
+    /** Init properties. */
+    @Before
+    public void initFF4j() {
+        ff4j = new FF4j();
+        ff4j.createProperty(new PropertyString("a", "AMER"));
+        ff4j.createProperty(new PropertyString("b", "EAST"));
+    }
+
+    @Test
+    public void testLiveLookup() {
+        FF4jPropertySource source = new FF4jPropertySource(ff4j);
+        Assert.assertFalse(source.isSnapshot());
+        Assert.assertTrue(source.containsProperty("a"));
+        Assert.assertFalse(source.containsProperty("z"));
+        Assert.assertNull(source.getProperty("z"));
+        Assert.assertEquals("AMER", ((PropertyString) source.getProperty("a")).getValue());
+        // Store is read for each lookup
+        ff4j.createProperty(new PropertyString("c", "WEST"));
+        Assert.assertTrue(source.containsProperty("c"));
+    }
+
+    @Test
+    public void testSnapshotLookup() {
+        FF4jPropertySource source = new FF4jPropertySource(ff4j, true);
+        Assert.assertTrue(source.isSnapshot());
+        Assert.assertTrue(source.containsProperty("a"));
+        Assert.assertFalse(source.containsProperty("z"));
+        Assert.assertNull(source.getProperty("z"));
+        Assert.assertEquals("EAST", ((PropertyString) source.getProperty("b")).getValue());
+        String[] names = source.getPropertyNames();
+        Arrays.sort(names);
+        Assert.assertArrayEquals(new String[] {"a", "b"}, names);
+    }
+
+    @Test
+    public void testSnapshotRefresh() {
+        FF4jPropertySource source = new FF4jPropertySource(ff4j, true);
+        ff4j.createProperty(new PropertyString("c", "WEST"));
+        ff4j.deleteProperty("a");
+        // Snapshot is stale until refresh
+        Assert.assertFalse(source.containsProperty("c"));
+        Assert.assertTrue(source.containsProperty("a"));
+        source.refresh();
+        Assert.assertTrue(source.containsProperty("c"));
+        Assert.assertFalse(source.containsProperty("a"));
+        Assert.assertEquals(2, source.getPropertyNames().length);
+    }
+
+    @Test
+    public void testPollingRefresh() throws InterruptedException {
+        FF4jPropertySource source = new FF4jPropertySource(ff4j, true);
+        source.startPolling(10);
+        try {
+            Assert.assertTrue(source.isPolling());
+            ff4j.createProperty(new PropertyString("c", "WEST"));
+            for (int i = 0; i < 100 && !source.containsProperty("c"); i++) {
+                Thread.sleep(10);
+            }
+            Assert.assertTrue(source.containsProperty("c"));
+        } finally {
+            source.stopPolling();
+        }
+        Assert.assertFalse(source.isPolling());
+    }
+}
@@ -11,6 +11,13 @@ package org.ff4j.springjdbc.store;
  * governing permissions and limitations under the License. #L%
  */
 
+import static org.ff4j.store.JdbcStoreConstants.COL_PROPERTY_FEATID;
+import static org.ff4j.store.JdbcStoreConstants.MAX_IN_PARAMS;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -36,6 +43,7 @@ import org.ff4j.utils.Util;
 import org.springframework.beans.factory.annotation.Required;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
@@ -120,6 +128,39 @@ public class FeatureStoreSpringJdbc extends AbstractFeatureStore {
         }
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readFeatures(Set<String> featureUids) {
+        Util.assertNotNull(featureUids);
+        final Map<String, Feature> mapFP = new HashMap<String, Feature>();
+        List<String> uids = new ArrayList<String>(featureUids);
+        for (int from = 0; from < uids.size(); from += MAX_IN_PARAMS) {
+            Object[] chunk = uids.subList(from, Math.min(from + MAX_IN_PARAMS, uids.size())).toArray();
+            for (Feature flipPoint : getJdbcTemplate().query(getQueryBuilder().getFeaturesIn(chunk.length), FMAPPER, chunk)) {
+                mapFP.put(flipPoint.getUid(), flipPoint);
+            }
+            // Populating Roles
+            RoleRowMapper rrm = new RoleRowMapper();
+            getJdbcTemplate().query(getQueryBuilder().getRolesOfFeaturesIn(chunk.length), rrm, chunk);
+            for (Map.Entry<String,Set<String>> featId : rrm.getRoles().entrySet()) {
+                if (mapFP.containsKey(featId.getKey())) {
+                    mapFP.get(featId.getKey()).getPermissions().addAll(featId.getValue());
+                }
+            }
+            // Populating custom properties
+            getJdbcTemplate().query(getQueryBuilder().getFeaturePropertiesIn(chunk.length), new RowCallbackHandler() {
+                public void processRow(ResultSet rs) throws SQLException {
+                    Feature feature = mapFP.get(rs.getString(COL_PROPERTY_FEATID));
+                    if (feature != null) {
+                        Property<?> ap = PMAPPER.mapRow(rs, 0);
+                        feature.getCustomProperties().put(ap.getName(), ap);
+                    }
+                }
+            }, chunk);
+        }
+        return mapFP;
+    }
+    
     /**
      * Query children properties.
      *
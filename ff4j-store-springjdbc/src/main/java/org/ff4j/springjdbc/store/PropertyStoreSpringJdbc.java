@@ -1,8 +1,12 @@
 package org.ff4j.springjdbc.store;
 
+import static org.ff4j.store.JdbcStoreConstants.MAX_IN_PARAMS;
+
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -116,6 +120,20 @@ public class PropertyStoreSpringJdbc extends AbstractPropertyStore {
         		queryForObject(getQueryBuilder().getProperty(), PMAPPER, name);
     }
 
+    /** {@inheritDoc} */
+    public Map<String, Property<?>> readProperties(Set<String> names) {
+        Util.assertNotNull(names);
+        Map<String, Property<?>> mapP = new HashMap<String, Property<?>>();
+        List<String> listOfNames = new ArrayList<String>(names);
+        for (int from = 0; from < listOfNames.size(); from += MAX_IN_PARAMS) {
+            Object[] chunk = listOfNames.subList(from, Math.min(from + MAX_IN_PARAMS, listOfNames.size())).toArray();
+            for (Property<?> prop : getJdbcTemplate().query(getQueryBuilder().getPropertiesIn(chunk.length), PMAPPER, chunk)) {
+                mapP.put(prop.getName(), prop);
+            }
+        }
+        return mapP;
+    }
+
     /** {@inheritDoc} */
     public void updateProperty(String name, String newValue) {
         Util.assertHasLength(name);
@@ -71,6 +71,15 @@ public class MockFeatureStore implements FeatureStore {
         return null;
     }
 
+    /** {@inheritDoc} */
+    public Map<String, Feature> readFeatures(Set<String> featureUids) {
+        Map < String, Feature> map = new HashMap<String, Feature>();
+        if (featureUids.contains("first")) {
+            map.put("first", new Feature("first"));
+        }
+        return map;
+    }
+
     /** {@inheritDoc} */
     public Map<String, Feature> readAll() {
         Map < String, Feature> map = new HashMap<String, Feature>();
@@ -62,6 +62,15 @@ public class MockPropertyStore implements PropertyStore {
         return null;
     }
     
+    /** {@inheritDoc} */
+    public Map<String, Property<?>> readProperties(Set<String> names) {
+        Map < String, Property<?>> map = new HashMap<String, Property<?>>();
+        if (names.contains("a")) {
+            map.put("a", new PropertyString("a", "AMER"));
+        }
+        return map;
+    }
+    
     /** {@inheritDoc} */
     @Override
     public Property<?> readProperty(String name, Property<?> defaultValue) {
@@ -108,7 +108,7 @@ public class FeaturesController extends AbstractController {
                     String permName = req.getParameter(WebConstants.PERMISSION);
                     Feature feature = getFf4j().getFeatureStore().read(featureId);
                     feature.getPermissions().add(permName);
-                    getFf4j().getFeatureStore().update(feature);
+                    getFf4j().updateFeature(feature);
                     LOGGER.info("Add new " + permName + " to " + featureId );
                 }
                 
@@ -116,14 +116,14 @@ public class FeaturesController extends AbstractController {
                     String permName = req.getParameter(WebConstants.PERMISSION);
                     Feature feature = getFf4j().getFeatureStore().read(featureId);
                     feature.getPermissions().remove(permName);
-                    getFf4j().getFeatureStore().update(feature);
+                    getFf4j().updateFeature(feature);
                     LOGGER.info("Remove " + permName + " to " + featureId );
                 }
                 
                 if (OP_CLEAR_PERMISSIONS.equalsIgnoreCase(operation)) {
                     Feature feature = getFf4j().getFeatureStore().read(featureId);
                     feature.getPermissions().clear();
-                    getFf4j().getFeatureStore().update(feature);
+                    getFf4j().updateFeature(feature);
                     LOGGER.info("Clear permissions for " + featureId);
                 }
                 
@@ -131,7 +131,7 @@ public class FeaturesController extends AbstractController {
                     String propertyName = req.getParameter(WebConstants.NAME);
                     Feature feature     = getFf4j().getFeatureStore().read(featureId);
                     feature.getCustomProperties().remove(propertyName);
-                    getFf4j().getFeatureStore().update(feature);
+                    getFf4j().updateFeature(feature);
                     LOGGER.info("Remove Property " + propertyName + " to " + featureId );
                 }
                     
@@ -162,7 +162,7 @@ public class FeaturesController extends AbstractController {
             msg = featureId + " has been CREATED";
             
         } else if (OP_RMV_FEATURE.equalsIgnoreCase(operation)) {
-            getFf4j().getFeatureStore().delete(featureId);
+            getFf4j().delete(featureId);
             msg = featureId + " has been DELETED";
             
         } else if (OP_RENAME_FEATURE.equalsIgnoreCase(operation)) {
@@ -174,8 +174,8 @@ public class FeaturesController extends AbstractController {
             } else {
                 Feature newFeature = getFf4j().getFeatureStore().read(featureId);
                 newFeature.setUid(newName);
-                getFf4j().getFeatureStore().delete(featureId);
-                getFf4j().getFeatureStore().create(newFeature);
+                getFf4j().delete(featureId);
+                getFf4j().createFeature(newFeature);
                 msg = "Feature " + featureId + " has been renamed to " + newName;
             }
             
@@ -188,7 +188,7 @@ public class FeaturesController extends AbstractController {
             } else {
                 Feature newFeature = new Feature(getFf4j().getFeatureStore().read(featureId));
                 newFeature.setUid(newName);
-                getFf4j().getFeatureStore().create(newFeature);
+                getFf4j().createFeature(newFeature);
                 msg = "Feature " + featureId + " has been copied to " + newName;
             }
             
@@ -197,11 +197,11 @@ public class FeaturesController extends AbstractController {
             if (groupName != null && !groupName.isEmpty()) {
                 String operationGroup = req.getParameter(SUBOPERATION);
                 if (OP_ENABLE.equalsIgnoreCase(operationGroup)) {
-                    getFf4j().getFeatureStore().enableGroup(groupName);
+                    getFf4j().enableGroup(groupName);
                     msg = groupName + " has been ENABLED";
                     LOGGER.info("Group '" + groupName + "' has been ENABLED.");
                 } else if (OP_DISABLE.equalsIgnoreCase(operationGroup)) {
-                    getFf4j().getFeatureStore().disableGroup(groupName);
+                    getFf4j().disableGroup(groupName);
                     msg = groupName + " has been DISABLED";
                     LOGGER.info("Group '" + groupName + "' has been DISABLED.");
                 }
@@ -237,7 +237,7 @@ public class FeaturesController extends AbstractController {
             fp.setGroup(groupName);
         }
         // Creation
-        ff4j.getFeatureStore().update(fp);
+        ff4j.updateFeature(fp);
     }
   
     /**
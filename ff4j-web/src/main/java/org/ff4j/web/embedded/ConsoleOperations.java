@@ -126,7 +126,7 @@ public final class ConsoleOperations {
             }
 
             // Creation
-            ff4j.getFeatureStore().create(fp);
+            ff4j.createFeature(fp);
             LOGGER.info(featureId + " has been created");
         }
     }
@@ -162,7 +162,7 @@ public final class ConsoleOperations {
                 ap = PropertyFactory.createProperty(name, type, value);
                 LOGGER.warn("By changing property type you loose the fixedValues, cannot evaluate ? at runtime");
             }
-            ff4j.getFeatureStore().update(current);
+            ff4j.updateFeature(current);
              
         } else if (ff4j.getPropertiesStore().existProperty(uid)) {
             
@@ -215,7 +215,7 @@ public final class ConsoleOperations {
         if (Util.hasLength(featureId)) {
             Feature current = ff4j.getFeatureStore().read(featureId);
             current.addProperty(ap);
-            ff4j.getFeatureStore().update(current);
+            ff4j.updateFeature(current);
         } else {
             ff4j.getPropertiesStore().createProperty(ap);
         }
@@ -297,7 +297,7 @@ public final class ConsoleOperations {
             }
 
             // Creation
-            ff4j.getFeatureStore().update(fp);
+            ff4j.updateFeature(fp);
             LOGGER.info(featureId + " has been updated");
         }
     }
@@ -422,6 +422,12 @@ public final class ConsoleRenderer {
         	sb.append("<td>" + event.getAction() + "</td>");
         	sb.append("</tr>");
 		}
+    	if (sb.length() == 0) {
+    	    // Repositories counting usage without keeping events have nothing to list
+    	    sb.append("<tr><td colspan=\"4\" style=\"text-align:center\">");
+    	    sb.append("No event to display (the event repository may only keep counters)");
+    	    sb.append("</td></tr>");
+    	}
     	return sb.toString();
     }
     
@@ -279,7 +279,7 @@ public class ConsoleServlet extends HttpServlet {
         
         // As no return the page is draw
         if (OP_RMV_FEATURE.equalsIgnoreCase(operation)) {
-            getFf4j().getFeatureStore().delete(uid);
+            getFf4j().delete(uid);
             LOGGER.info(uid + " has been deleted");
             message = msg(uid, "DELETED");
         }
@@ -340,11 +340,11 @@ public class ConsoleServlet extends HttpServlet {
                         if (groupName != null && !groupName.isEmpty()) {
                             String operationGroup = req.getParameter(SUBOPERATION);
                             if (OP_ENABLE.equalsIgnoreCase(operationGroup)) {
-                                getFf4j().getFeatureStore().enableGroup(groupName);
+                                getFf4j().enableGroup(groupName);
                                 message = renderMsgGroup(groupName, "ENABLED");
                                 LOGGER.info("Group '" + groupName + "' has been ENABLED.");
                             } else if (OP_DISABLE.equalsIgnoreCase(operationGroup)) {
-                                getFf4j().getFeatureStore().disableGroup(groupName);
+                                getFf4j().disableGroup(groupName);
                                 message = renderMsgGroup(groupName, "DISABLED");
                                 LOGGER.info("Group '" + groupName + "' has been DISABLED.");
                             }
@@ -138,7 +138,7 @@ public class FeatureResource extends AbstractResource {
         
         // Update or create ? 
         if (!getFeatureStore().exist(feat.getUid())) {
-            getFeatureStore().create(feat);
+            ff4j.createFeature(feat);
             String location = String.format("%s", uriInfo.getAbsolutePath().toString());
             try {
                 return Response.created(new URI(location)).build();
@@ -148,7 +148,7 @@ public class FeatureResource extends AbstractResource {
         }
         
         // Create
-        getFeatureStore().update(feat);
+        ff4j.updateFeature(feat);
         return Response.noContent().build();
     }
 
@@ -175,7 +175,7 @@ public class FeatureResource extends AbstractResource {
             String errMsg = new FeatureNotFoundException(id).getMessage();
             return Response.status(Response.Status.NOT_FOUND).entity(errMsg).build();
         }
-        getFeatureStore().delete(id);
+        ff4j.delete(id);
         return Response.noContent().build();
     }
 
@@ -196,7 +196,7 @@ public class FeatureResource extends AbstractResource {
             String errMsg = new FeatureNotFoundException(id).getMessage();
             return Response.status(Response.Status.NOT_FOUND).entity(errMsg).build();
         }
-        getFeatureStore().enable(id);
+        ff4j.enable(id);
         return Response.noContent().build();
     }
 
@@ -217,7 +217,7 @@ public class FeatureResource extends AbstractResource {
             String errMsg = new FeatureNotFoundException(id).getMessage();
             return Response.status(Response.Status.NOT_FOUND).entity(errMsg).build();
         }
-        getFeatureStore().disable(id);
+        ff4j.disable(id);
         return Response.noContent().build();
     }
 
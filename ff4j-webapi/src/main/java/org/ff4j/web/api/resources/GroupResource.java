@@ -79,7 +79,7 @@ public class GroupResource extends AbstractResource {
     @ApiOperation(value= "Enable a group", response=Response.class)
     @ApiResponses(@ApiResponse(code = 204, message= "Group has been updated"))
     public Response operationEnable(@PathParam("groupName") String groupName) {
-        getFeatureStore().enableGroup(groupName);
+        ff4j.enableGroup(groupName);
         return Response.noContent().build();
     }
 
@@ -94,7 +94,7 @@ public class GroupResource extends AbstractResource {
     @ApiOperation(value= "Disable a group", response=Response.class)
     @ApiResponses(@ApiResponse(code = 204, message= "Group has been disabled"))
     public Response operationDisableGroup(@PathParam("groupName") String groupName) {
-        getFeatureStore().disableGroup(groupName);
+        ff4j.disableGroup(groupName);
         return Response.noContent().build();
     }
 